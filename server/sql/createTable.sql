@@ -1,11 +1,15 @@
 CREATE TABLE transaction_tab(
 	transaction_id	VARCHAR2(10)	CONSTRAINT transaction_tab_trid_pk	PRIMARY KEY,
 	type 		VARCHAR2(10)	CONSTRAINT transaction_tab_type_nn	NOT NULL,
-	amount		NUMBER(*,2)	CONSTRAINT transaction_tab_amt_nn	NOT NULL,
+	amount		NUMBER(*,2),
 	status		VARCHAR2(10)	CONSTRAINT transaction_tab_status_nn	NOT NULL,
 	tr_date		DATE		CONSTRAINT transaction_tab_date_nn	NOT NULL
 );
 
+CREATE INDEX transaction_tab_date_ix	ON transaction_tab (tr_date, transaction_id);
+CREATE INDEX transaction_tab_type_ix	ON transaction_tab (type, tr_date, transaction_id);
+CREATE INDEX transaction_tab_status_ix	ON transaction_tab (status, tr_date, transaction_id);
+
 CREATE TABLE  transaction_status_tab(
 	transaction_status_id	VARCHAR2(10)	CONSTRAINT transaction_status_tab_trsts_id_pk	 	PRIMARY KEY,
 	statusType		VARCHAR2(10)	CONSTRAINT transaction_status_tab_statusType_nn 	NOT NULL,
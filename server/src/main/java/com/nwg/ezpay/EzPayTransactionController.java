@@ -1,18 +1,25 @@
 package com.nwg.ezpay;
 
-import java.util.List;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Scanner;
+import java.util.Set;
 
 import com.nwg.ezpay.entity.Transaction;
 import com.nwg.ezpay.exception.InvalidDateFormatException;
+import com.nwg.ezpay.exception.InvalidPageRequestException;
 import com.nwg.ezpay.exception.InvalidRangeException;
 import com.nwg.ezpay.exception.InvalidTransactionIDException;
 import com.nwg.ezpay.exception.InvalidTransactionObjectException;
 import com.nwg.ezpay.exception.InvalidTransactionStatusException;
 import com.nwg.ezpay.exception.InvalidTransactionTypeException;
+import com.nwg.ezpay.repository.aggregate.AggregateRow;
+import com.nwg.ezpay.repository.aggregate.GroupBy;
+import com.nwg.ezpay.repository.page.Page;
+import com.nwg.ezpay.repository.query.TransactionQuery;
 import com.nwg.ezpay.service.ITransactionService;
 import com.nwg.ezpay.service.TransactionServiceImpl;
 
@@ -21,6 +28,8 @@ public class EzPayTransactionController {
 	public static ITransactionService itransactionService = new TransactionServiceImpl();
 	public static Scanner scanner = new Scanner(System.in);
 	public static SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd");
+	// Number of transactions the filters print at a time.
+	public static int pageSize = Integer.getInteger("ezpay.pageSize", 25);
 	
 	public static void choiceOneHandler() {
 		System.out.println("Enter type:");
@@ -45,6 +54,27 @@ public class EzPayTransactionController {
 		
 	}
 	
+	/**
+	 * Asks whether to print the next page of a filter.
+	 *
+	 * @return {@code boolean} : false once the user types "q"
+	 */
+	static boolean nextPage() {
+		System.out.println("Press Enter for the next page, or q to stop");
+		return !scanner.nextLine().trim().equalsIgnoreCase("q");
+	}
+
+	/**
+	 * Asks for an optional filter value.
+	 *
+	 * @return {@code String} : the value typed, or null if the line was left blank
+	 */
+	static String optionalLine(String prompt) {
+		System.out.println(prompt);
+		String line = scanner.nextLine().trim();
+		return line.isEmpty() ? null : line;
+	}
+
 	public static void choiceTwoHandler() {
 		System.out.println("Set Filters");
 		System.out.println("1. Get Transactions by date");
@@ -52,6 +82,7 @@ public class EzPayTransactionController {
 		System.out.println("3. Get Transactions by amount range");
 		System.out.println("4. Get Transactions by status");
 		System.out.println("5. Get Transactions by type");
+		System.out.println("6. Get Transactions by combined filters");
 		int choice = Integer.parseInt(scanner.nextLine());
 		switch(choice) {
 		case 1:
@@ -59,11 +90,15 @@ public class EzPayTransactionController {
 			String dateString = scanner.nextLine();
 			try {
 				Date date = simpleDateFormat.parse(dateString);
-				List<Transaction> transactionsByDate = itransactionService.getTransactionByDateService(date);
-				for (Transaction transaction : transactionsByDate) {
-					System.out.println(transaction);
-				}
-			} catch (ParseException | InvalidDateFormatException e) {
+				String pageToken = null;
+				do {
+					Page<Transaction> transactionsByDate = itransactionService.getTransactionByDateService(date, pageSize, pageToken);
+					for (Transaction transaction : transactionsByDate) {
+						System.out.println(transaction);
+					}
+					pageToken = transactionsByDate.getNextPageToken();
+				} while (pageToken != null && nextPage());
+			} catch (ParseException | InvalidDateFormatException | InvalidPageRequestException e) {
 				e.printStackTrace();
 			}
 			break;
@@ -73,11 +108,16 @@ public class EzPayTransactionController {
 				Date startDate = simpleDateFormat.parse(scanner.nextLine());
 				System.out.println("Enter end date in (yyyy-MM-dd) format");
 				Date endDate = simpleDateFormat.parse(scanner.nextLine());
-				List<Transaction> transactionsByDate = itransactionService.getTransactionByDateRangeService(startDate, endDate);
-				for (Transaction transaction : transactionsByDate) {
-					System.out.println(transaction);
-				}
-			} catch (ParseException | InvalidDateFormatException | InvalidRangeException e) {
+				String pageToken = null;
+				do {
+					Page<Transaction> transactionsByDate = itransactionService.getTransactionByDateRangeService(startDate, endDate,
+							pageSize, pageToken);
+					for (Transaction transaction : transactionsByDate) {
+						System.out.println(transaction);
+					}
+					pageToken = transactionsByDate.getNextPageToken();
+				} while (pageToken != null && nextPage());
+			} catch (ParseException | InvalidDateFormatException | InvalidRangeException | InvalidPageRequestException e) {
 				e.printStackTrace();
 			}
 			break;
@@ -88,11 +128,16 @@ public class EzPayTransactionController {
 				Double startAmount = Double.parseDouble(scanner.nextLine());
 				System.out.println("Enter end amount");
 				Double endAmount = Double.parseDouble(scanner.nextLine());
-				List<Transaction> transactionsByAmount = itransactionService.getTransactionByAmountRangeService(startAmount, endAmount);				
-				for (Transaction transaction : transactionsByAmount) {
-					System.out.println(transaction);
-				}
-			} catch (InvalidRangeException e){
+				String pageToken = null;
+				do {
+					Page<Transaction> transactionsByAmount = itransactionService.getTransactionByAmountRangeService(startAmount,
+							endAmount, pageSize, pageToken);
+					for (Transaction transaction : transactionsByAmount) {
+						System.out.println(transaction);
+					}
+					pageToken = transactionsByAmount.getNextPageToken();
+				} while (pageToken != null && nextPage());
+			} catch (InvalidRangeException | InvalidPageRequestException e){
 				e.printStackTrace();
 			}
 			break;
@@ -101,12 +146,17 @@ public class EzPayTransactionController {
 			try {
 				System.out.println("Enter status");
 				String status = scanner.nextLine();
-				List<Transaction> transactionsByStatus = itransactionService.getTransactionByStatusService(status);
-				for (Transaction transaction : transactionsByStatus) {
-					System.out.println(transaction);
-				}
+				String pageToken = null;
+				do {
+					Page<Transaction> transactionsByStatus = itransactionService.getTransactionByStatusService(status, pageSize,
+							pageToken);
+					for (Transaction transaction : transactionsByStatus) {
+						System.out.println(transaction);
+					}
+					pageToken = transactionsByStatus.getNextPageToken();
+				} while (pageToken != null && nextPage());
 				
-			} catch (InvalidTransactionStatusException e) {
+			} catch (InvalidTransactionStatusException | InvalidPageRequestException e) {
 				e.printStackTrace();
 			}
 			break;
@@ -114,11 +164,41 @@ public class EzPayTransactionController {
 			try {
 				System.out.println("Enter the type to show");
 				String type = scanner.nextLine();
-				List<Transaction> transactionsByType = itransactionService.getTransactionByTypeService(type);
-				for (Transaction transaction : transactionsByType) {
-					System.out.println(transaction);
+				String pageToken = null;
+				do {
+					Page<Transaction> transactionsByType = itransactionService.getTransactionByTypeService(type, pageSize, pageToken);
+					for (Transaction transaction : transactionsByType) {
+						System.out.println(transaction);
+					}
+					pageToken = transactionsByType.getNextPageToken();
+				} while (pageToken != null && nextPage());
+			} catch (InvalidTransactionTypeException | InvalidPageRequestException e) {
+				e.printStackTrace();
+			}
+			break;
+		case 6:
+			try {
+				TransactionQuery query = TransactionQuery.all()
+						.withType(optionalLine("Enter type, or leave blank for any"))
+						.withStatus(optionalLine("Enter status, or leave blank for any"));
+				String startDate = optionalLine("Enter start date in (yyyy-MM-dd) format, or leave blank for no start");
+				String endDate = optionalLine("Enter end date in (yyyy-MM-dd) format, or leave blank for no end");
+				query = query.onDays(startDate == null ? null : simpleDateFormat.parse(startDate),
+						endDate == null ? null : simpleDateFormat.parse(endDate));
+				String minAmount = optionalLine("Enter minimum amount, or leave blank for none");
+				String maxAmount = optionalLine("Enter maximum amount, or leave blank for none");
+				query = query.withAmountBetween(minAmount == null ? null : Double.parseDouble(minAmount),
+						maxAmount == null ? null : Double.parseDouble(maxAmount));
+				List<Transaction> transactions = itransactionService.getTransactionByQueryService(query);
+				System.out.println(transactions.size() + " transactions match");
+				for (int i = 0; i < transactions.size(); i++) {
+					if (i > 0 && i % pageSize == 0 && !nextPage()) {
+						break;
+					}
+					System.out.println(transactions.get(i));
 				}
-			} catch (InvalidTransactionTypeException e) {
+			} catch (ParseException | InvalidTransactionTypeException | InvalidTransactionStatusException
+					| InvalidRangeException e) {
 				e.printStackTrace();
 			}
 			break;
@@ -163,6 +243,32 @@ public class EzPayTransactionController {
 			e.printStackTrace();
 		}
 	}
+	public static void choiceFiveHandler() {
+		try {
+			Set<GroupBy> groupBy = EnumSet.noneOf(GroupBy.class);
+			String keys = optionalLine("Enter keys to group on separated by commas (type, status, day, month), or leave blank for overall totals");
+			if (keys != null) {
+				for (String key : keys.split(",")) {
+					groupBy.add(GroupBy.valueOf(key.trim().toUpperCase()));
+				}
+			}
+			TransactionQuery query = TransactionQuery.all()
+					.withType(optionalLine("Enter type, or leave blank for any"))
+					.withStatus(optionalLine("Enter status, or leave blank for any"));
+			String startDate = optionalLine("Enter start date in (yyyy-MM-dd) format, or leave blank for no start");
+			String endDate = optionalLine("Enter end date in (yyyy-MM-dd) format, or leave blank for no end");
+			query = query.onDays(startDate == null ? null : simpleDateFormat.parse(startDate),
+					endDate == null ? null : simpleDateFormat.parse(endDate));
+			for (AggregateRow row : itransactionService.aggregateTransactionsService(query, groupBy)) {
+				System.out.println(row);
+			}
+		} catch (IllegalArgumentException e) {
+			System.out.println("Invalid key to group on");
+		} catch (ParseException | InvalidTransactionTypeException | InvalidTransactionStatusException
+				| InvalidRangeException e) {
+			e.printStackTrace();
+		}
+	}
 	
 	
 	
@@ -172,6 +278,7 @@ public class EzPayTransactionController {
 		System.out.println("2. Fetch transaction");
 		System.out.println("3. Update transaction");
 		System.out.println("4. Delte transaction");
+		System.out.println("5. Transaction totals");
 		int choice = Integer.parseInt(scanner.nextLine());
 		
 		switch(choice) {
@@ -187,6 +294,9 @@ public class EzPayTransactionController {
 		case 4:
 			choiceFourHandler();
 			break;
+		case 5:
+			choiceFiveHandler();
+			break;
 		}
 		scanner.close();
 	}
@@ -1,6 +1,5 @@
 package com.nwg.ezpay;
 
-import java.util.List;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
@@ -8,10 +7,12 @@ import java.util.Scanner;
 
 import com.nwg.ezpay.entity.TransactionStatus;
 import com.nwg.ezpay.exception.InvalidDateFormatException;
+import com.nwg.ezpay.exception.InvalidPageRequestException;
 import com.nwg.ezpay.exception.InvalidRangeException;
 import com.nwg.ezpay.exception.InvalidTransactionStatusIdException;
 import com.nwg.ezpay.exception.InvalidTransactionStatusObjectException;
 import com.nwg.ezpay.exception.InvalidTransactionStatusException;
+import com.nwg.ezpay.repository.page.Page;
 import com.nwg.ezpay.service.ITransactionStatusService;
 import com.nwg.ezpay.service.TransactionStatusServiceImpl;
 
@@ -35,6 +36,9 @@ public class EzPayTransactionStatusController {
     /** Date formatter for parsing dates in yyyy-MM-dd format. */
     public static SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd");
 
+    /** Number of statuses the filters print at a time, set with {@code -Dezpay.pageSize}. */
+    public static int pageSize = Integer.getInteger("ezpay.pageSize", 25);
+
     /**
      * Handles creation of a new {@code TransactionStatus} record.
      * <p>Prompts user for status type, reason, and timestamp, then invokes
@@ -60,9 +64,20 @@ public class EzPayTransactionStatusController {
         }
     }
 
+    /**
+     * Asks whether to print the next page of a filter.
+     *
+     * @return {@code false} once the user types "q"
+     */
+    static boolean nextPage() {
+        System.out.println("Press Enter for the next page, or q to stop");
+        return !scanner.nextLine().trim().equalsIgnoreCase("q");
+    }
+
     /**
      * Handles fetching of {@code TransactionStatus} records with filter options.
-     * <p>Supports filtering by date, date range, status type, or reason.</p>
+     * <p>Supports filtering by date, date range, status type, or reason, printed
+     * one page of {@link #pageSize} records at a time.</p>
      */
     public static void choiceTwoHandler() {
         System.out.println("Set Filters");
@@ -77,11 +92,16 @@ public class EzPayTransactionStatusController {
                 String dateString = scanner.nextLine();
                 try {
                     Date date = simpleDateFormat.parse(dateString);
-                    List<TransactionStatus> statusesByDate = iTransactionStatusService.getStatusesByDateService(date);
-                    for (TransactionStatus status : statusesByDate) {
-                        System.out.println(status);
-                    }
-                } catch (ParseException | InvalidDateFormatException e) {
+                    String pageToken = null;
+                    do {
+                        Page<TransactionStatus> statusesByDate = iTransactionStatusService.getStatusesByDateService(date,
+                                pageSize, pageToken);
+                        for (TransactionStatus status : statusesByDate) {
+                            System.out.println(status);
+                        }
+                        pageToken = statusesByDate.getNextPageToken();
+                    } while (pageToken != null && nextPage());
+                } catch (ParseException | InvalidDateFormatException | InvalidPageRequestException e) {
                     e.printStackTrace();
                 }
                 break;
@@ -91,12 +111,16 @@ public class EzPayTransactionStatusController {
                     Date startDate = simpleDateFormat.parse(scanner.nextLine());
                     System.out.println("Enter end date in (yyyy-MM-dd) format");
                     Date endDate = simpleDateFormat.parse(scanner.nextLine());
-                    List<TransactionStatus> statusesByDateRange = iTransactionStatusService.getStatusesByDateRangeService(startDate,
-                            endDate);
-                    for (TransactionStatus status : statusesByDateRange) {
-                        System.out.println(status);
-                    }
-                } catch (ParseException | InvalidDateFormatException | InvalidRangeException e) {
+                    String pageToken = null;
+                    do {
+                        Page<TransactionStatus> statusesByDateRange = iTransactionStatusService.getStatusesByDateRangeService(
+                                startDate, endDate, pageSize, pageToken);
+                        for (TransactionStatus status : statusesByDateRange) {
+                            System.out.println(status);
+                        }
+                        pageToken = statusesByDateRange.getNextPageToken();
+                    } while (pageToken != null && nextPage());
+                } catch (ParseException | InvalidDateFormatException | InvalidRangeException | InvalidPageRequestException e) {
                     e.printStackTrace();
                 }
                 break;
@@ -104,11 +128,16 @@ public class EzPayTransactionStatusController {
                 try {
                     System.out.println("Enter status type");
                     String statusType = scanner.nextLine();
-                    List<TransactionStatus> statusesByType = iTransactionStatusService.getStatusesByTypeService(statusType);
-                    for (TransactionStatus status : statusesByType) {
-                        System.out.println(status);
-                    }
-                } catch (InvalidTransactionStatusException e) {
+                    String pageToken = null;
+                    do {
+                        Page<TransactionStatus> statusesByType = iTransactionStatusService.getStatusesByTypeService(statusType,
+                                pageSize, pageToken);
+                        for (TransactionStatus status : statusesByType) {
+                            System.out.println(status);
+                        }
+                        pageToken = statusesByType.getNextPageToken();
+                    } while (pageToken != null && nextPage());
+                } catch (InvalidTransactionStatusException | InvalidPageRequestException e) {
                     e.printStackTrace();
                 }
                 break;
@@ -116,11 +145,16 @@ public class EzPayTransactionStatusController {
                 try {
                     System.out.println("Enter reason");
                     String reason = scanner.nextLine();
-                    List<TransactionStatus> statusesByReason = iTransactionStatusService.getStatusesByReasonService(reason);
-                    for (TransactionStatus status : statusesByReason) {
-                        System.out.println(status);
-                    }
-                } catch (InvalidTransactionStatusException e) {
+                    String pageToken = null;
+                    do {
+                        Page<TransactionStatus> statusesByReason = iTransactionStatusService.getStatusesByReasonService(reason,
+                                pageSize, pageToken);
+                        for (TransactionStatus status : statusesByReason) {
+                            System.out.println(status);
+                        }
+                        pageToken = statusesByReason.getNextPageToken();
+                    } while (pageToken != null && nextPage());
+                } catch (InvalidTransactionStatusException | InvalidPageRequestException e) {
                     e.printStackTrace();
                 }
                 break;
@@ -2,21 +2,45 @@ package com.nwg.ezpay.entity;
 
 import java.util.Date;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
 /**
  * This class {@code Transaction} represents a transaction statement which is
  * generated for every payment/bank transfer
  * 
+ * It is mapped to the {@code transaction_tab} table for Hibernate, and kept in
+ * the {@value #CACHE_REGION} region of the second-level cache.
+ * 
  * 
  * @author : Sourav Behera
  * @version : 0.0.1
  * 
  */
 
+@Entity
+@Table(name = "transaction_tab")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Transaction.CACHE_REGION)
 public class Transaction {
+	public static final String CACHE_REGION = "ezpay.transaction";
+
+	@Id
+	@Column(name = "transaction_id")
 	private String transactionId;
+	@Column(name = "type", nullable = false)
 	private String type;
+	@Column(name = "amount")
 	private Double amount;
+	@Column(name = "status", nullable = false)
 	private String status;
+	@Column(name = "tr_date", nullable = false)
 	private Date date;
 
 	public Transaction() {
@@ -3,20 +3,40 @@ package com.nwg.ezpay.entity;
 //import java.io.Serializable;
 import java.util.Date;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "transaction_status_tab")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TransactionStatus.CACHE_REGION)
 public class TransactionStatus{
 	/**
 	 * This class {@code TransactionStatus} represents the status of a transaction,
 	 * including the status type, reason, and timestamp of when the status was updated.
+	 * It is mapped to the {@code transaction_status_tab} table for Hibernate.
 	 * 
 	 * 
 	 * @author : Palak Deb Patra
 	 * @version : 0.0.1
 	 * 
 	 */
+	public static final String CACHE_REGION = "ezpay.transactionStatus";
 	
+	@Id
+	@Column(name = "transaction_status_id")
 	private String transactionStatusId;
+	@Column(name = "statusType", nullable = false)
 	private String statusType;
+	@Column(name = "reason", nullable = false)
 	private String reason;
+	@Column(name = "timestamp", nullable = false)
 	private Date timestamp;
 	
 	// Default Constructor
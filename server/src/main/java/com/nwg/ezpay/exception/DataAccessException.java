@@ -0,0 +1,14 @@
+package com.nwg.ezpay.exception;
+
+/**
+ * Thrown when a store backed by a database can't run a statement, for example
+ * because the connection was lost. Unchecked, like {@link DataLoadException}, so
+ * that the {@code ITransactionDAO} methods keep their signatures.
+ */
+public class DataAccessException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	public DataAccessException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
@@ -0,0 +1,14 @@
+package com.nwg.ezpay.exception;
+
+/**
+ * Thrown when a store can't load its data, for example because its CSV file is
+ * missing. Unchecked, because it surfaces from any DAO call that has to wait for
+ * the store to finish loading.
+ */
+public class DataLoadException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	public DataLoadException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
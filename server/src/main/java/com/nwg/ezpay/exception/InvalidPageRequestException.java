@@ -0,0 +1,9 @@
+package com.nwg.ezpay.exception;
+
+public class InvalidPageRequestException extends Exception {
+	private static final long serialVersionUID = 1L;
+	
+	public InvalidPageRequestException(String message) {
+		super(message);
+	}
+}
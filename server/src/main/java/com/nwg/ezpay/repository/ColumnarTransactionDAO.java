@@ -0,0 +1,734 @@
+package com.nwg.ezpay.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.nwg.ezpay.entity.Transaction;
+import com.nwg.ezpay.repository.aggregate.AggregateRow;
+import com.nwg.ezpay.repository.aggregate.Aggregator;
+import com.nwg.ezpay.repository.aggregate.GroupBy;
+import com.nwg.ezpay.repository.index.DateIndex;
+import com.nwg.ezpay.repository.page.Page;
+import com.nwg.ezpay.repository.page.PageCollector;
+import com.nwg.ezpay.repository.page.PageRequest;
+import com.nwg.ezpay.repository.query.TransactionQuery;
+import com.nwg.ezpay.repository.storage.Amounts;
+import com.nwg.ezpay.repository.storage.ValueDictionary;
+
+/**
+ * This class contains a column-oriented, in-memory implementation of the
+ * transaction data access object.
+ *
+ * <p>Instead of one {@code Transaction} object per row, every column is held in
+ * its own primitive array: the amount as a {@code long} number of minor units,
+ * the date as {@code long} epoch millis, and the type and status as one-byte
+ * dictionary codes. IDs are kept in a {@code String[]} and share their instance
+ * with the primary-key index. {@code Transaction} objects are only built for the
+ * rows a method returns, so callers get copies and changing them has no effect on
+ * the store until they are passed to {@link #updateTransaction(Transaction)}.</p>
+ *
+ * <p>Queries scan the primitive columns sequentially. A paged query scans them
+ * once too, but only keeps the rows that make up its page, so it builds as many
+ * objects as the page holds. A streaming query scans them as the stream is
+ * consumed and builds one object per row it passes on; it splits on row ranges,
+ * so it can run in parallel. Streams read the columns in place, so they should be
+ * consumed before the store is next written. Removals move the last row into the
+ * freed position, so row order is not preserved by deletes.</p>
+ *
+ * <p>The store can be shared between threads. Creates, updates and deletes hold
+ * the write lock of a {@link ReentrantReadWriteLock}, and every query holds the
+ * read lock while it scans, so queries run alongside each other but not alongside
+ * a write. A stream only holds the lock while it is created and reads the columns
+ * without it, which is why it should be consumed before the next write.</p>
+ *
+ * <p>A {@link TransactionQuery} on several columns is answered by the same kind
+ * of scan, testing the cheapest columns of each row first.</p>
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public class ColumnarTransactionDAO implements ITransactionDAO {
+
+	private static final long NULL_INSTANT = Long.MIN_VALUE;
+
+	private final ValueDictionary types = new ValueDictionary();
+	private final ValueDictionary statuses = new ValueDictionary();
+	private final Map<String, Integer> primaryKey;
+	// Writes take the write lock, queries the read lock; the columns are only changed under the write lock.
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private String[] idColumn;
+	private byte[] typeColumn;
+	private long[] amountColumn;
+	private byte[] statusColumn;
+	private long[] instantColumn;
+	private int size;
+
+	public ColumnarTransactionDAO() {
+		this(1024);
+	}
+
+	/**
+	 * @param initialCapacity : number of rows to allocate the columns for
+	 */
+	public ColumnarTransactionDAO(int initialCapacity) {
+		int capacity = Math.max(initialCapacity, 16);
+		primaryKey = new HashMap<String, Integer>(capacity * 4 / 3 + 1);
+		idColumn = new String[capacity];
+		typeColumn = new byte[capacity];
+		amountColumn = new long[capacity];
+		statusColumn = new byte[capacity];
+		instantColumn = new long[capacity];
+	}
+
+	/**
+	 * @return {@code int} : number of transactions in the store
+	 */
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return size;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method returns {@code Transaction} with the specified UID.
+	 *
+	 * @param transactionId : UID of the transaction
+	 * @return {@code Transaction} if transaction with {@code transactionId} is present
+	 * otherwise null
+	 */
+	@Override
+	public Transaction getTransactionById(String transactionId) {
+		lock.readLock().lock();
+		try {
+			Integer row = primaryKey.get(transactionId);
+			return row == null ? null : materialize(row);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method returns a {@code List<Transaction>} of {@code type}.
+	 *
+	 * @param type : String either "upi" or "bank"
+	 * @return {@code List<Transaction>} if transactions of type {@code type} is present
+	 * else return empty list.
+	 */
+	@Override
+	public List<Transaction> getTransactionByType(String type) {
+		lock.readLock().lock();
+		try {
+			int code = type == null ? -1 : types.lookup(type);
+			return code < 0 ? new ArrayList<Transaction>() : rowsWithCode(typeColumn, (byte) code);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method returns a {@code List<Transaction>} with {@code status} status.
+	 *
+	 * @param status : String either "initiated", "pending", "completed", "failed"
+	 * @return {@code List<Transaction>} if transactions of status {@code status} is present
+	 * else return empty list.
+	 */
+	@Override
+	public List<Transaction> getTransactionByStatus(String status) {
+		lock.readLock().lock();
+		try {
+			int code = status == null ? -1 : statuses.lookup(status);
+			return code < 0 ? new ArrayList<Transaction>() : rowsWithCode(statusColumn, (byte) code);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method returns the number of transactions of {@code type}.
+	 *
+	 * @param type : String either "upi" or "bank"
+	 * @return {@code int} : number of transactions of the type
+	 */
+	@Override
+	public int countTransactionByType(String type) {
+		lock.readLock().lock();
+		try {
+			int code = type == null ? -1 : types.lookup(type);
+			return code < 0 ? 0 : countCode(typeColumn, (byte) code);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method returns the number of transactions with {@code status} status.
+	 *
+	 * @param status : String either "initiated", "pending", "completed", "failed"
+	 * @return {@code int} : number of transactions with the status
+	 */
+	@Override
+	public int countTransactionByStatus(String status) {
+		lock.readLock().lock();
+		try {
+			int code = status == null ? -1 : statuses.lookup(status);
+			return code < 0 ? 0 : countCode(statusColumn, (byte) code);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This code returns a {@code List<Transaction>} performed on the specified date.
+	 * The time of day of {@code date} is ignored.
+	 *
+	 * @param date : Date of transaction
+	 * @return {@code List<Transaction} : List of transactions performed on the specified date.
+	 */
+	@Override
+	public List<Transaction> getTransactionByDate(Date date) {
+		lock.readLock().lock();
+		try {
+			if (date == null) {
+				return new ArrayList<Transaction>();
+			}
+			long day = DateIndex.epochDay(date);
+			return rowsInInstantRange(DateIndex.startOfDay(day), DateIndex.startOfDay(day + 1));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This function returns the {@code List<Transaction>} which were performed between
+	 * {@code startDate} and {@code endDate}. Both days are included and the time of day is ignored.
+	 *
+	 * @param startDate : Start date of the range
+	 * @param endDate   : End date of the range
+	 * @return {@code List<Transaction>} : List of transactions performed in the date range otherwise empty list.
+	 */
+	@Override
+	public List<Transaction> getTransactionByDateRange(Date startDate, Date endDate) {
+		lock.readLock().lock();
+		try {
+			if (startDate == null || endDate == null) {
+				return null;
+			}
+			long firstDay = DateIndex.epochDay(startDate);
+			long lastDay = DateIndex.epochDay(endDate);
+			if (firstDay > lastDay) {
+				return new ArrayList<Transaction>();
+			}
+			return rowsInInstantRange(DateIndex.startOfDay(firstDay), DateIndex.startOfDay(lastDay + 1));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This methods returns the {@code List<Transaction>} with amount within the specified range
+	 *
+	 * @param startAmount : Lower bound of the amount range.
+	 * @param endAmount   : Upper bound of the amount range.
+	 * @return {@code List<Transaction>} : A list of transactions with amount in the specified range
+	 * other empty list.
+	 */
+	@Override
+	public List<Transaction> getTransactionByAmountRange(Double startAmount, Double endAmount) {
+		lock.readLock().lock();
+		try {
+			if (startAmount == null) {
+				return Collections.emptyList();
+			}
+			long low = Amounts.lowerBound(startAmount);
+			long high = Amounts.upperBound(endAmount == null ? Double.MAX_VALUE : endAmount);
+			List<Transaction> transactionsByAmountRange = new ArrayList<Transaction>();
+			long[] amounts = amountColumn;
+			for (int row = 0; row < size; row++) {
+				long amount = amounts[row];
+				if (amount >= low && amount <= high) {
+					transactionsByAmountRange.add(materialize(row));
+				}
+			}
+			return transactionsByAmountRange;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method returns one page of the transactions of {@code type}.
+	 *
+	 * @param type        : String either "upi" or "bank"
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : the page of transactions of the type
+	 */
+	@Override
+	public Page<Transaction> getTransactionByType(String type, PageRequest pageRequest) {
+		lock.readLock().lock();
+		try {
+			int code = type == null ? -1 : types.lookup(type);
+			return code < 0 ? Page.<Transaction>empty() : pageOfRows(pageRequest, row -> typeColumn[row] == (byte) code);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method returns one page of the transactions with {@code status} status.
+	 *
+	 * @param status      : String either "initiated", "pending", "completed", "failed"
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : the page of transactions with the status
+	 */
+	@Override
+	public Page<Transaction> getTransactionByStatus(String status, PageRequest pageRequest) {
+		lock.readLock().lock();
+		try {
+			int code = status == null ? -1 : statuses.lookup(status);
+			return code < 0 ? Page.<Transaction>empty() : pageOfRows(pageRequest, row -> statusColumn[row] == (byte) code);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method returns one page of the transactions performed on the specified date.
+	 *
+	 * @param date        : Date of transaction
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : the page of transactions performed on the date
+	 */
+	@Override
+	public Page<Transaction> getTransactionByDate(Date date, PageRequest pageRequest) {
+		return date == null ? Page.<Transaction>empty() : getTransactionByDateRange(date, date, pageRequest);
+	}
+
+	/**
+	 * This method returns one page of the transactions performed between
+	 * {@code startDate} and {@code endDate}, both days included.
+	 *
+	 * @param startDate   : Start date of the range
+	 * @param endDate     : End date of the range
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : the page of transactions performed in the date range
+	 */
+	@Override
+	public Page<Transaction> getTransactionByDateRange(Date startDate, Date endDate, PageRequest pageRequest) {
+		lock.readLock().lock();
+		try {
+			if (startDate == null || endDate == null) {
+				return Page.empty();
+			}
+			long fromMillis = DateIndex.startOfDay(DateIndex.epochDay(startDate));
+			long toMillis = DateIndex.startOfDay(DateIndex.epochDay(endDate) + 1);
+			return pageOfRows(pageRequest, row -> instantColumn[row] >= fromMillis && instantColumn[row] < toMillis);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method returns one page of the transactions with amount within the specified range.
+	 *
+	 * @param startAmount : Lower bound of the amount range.
+	 * @param endAmount   : Upper bound of the amount range, or null for none.
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : the page of transactions with amount in the range
+	 */
+	@Override
+	public Page<Transaction> getTransactionByAmountRange(Double startAmount, Double endAmount, PageRequest pageRequest) {
+		lock.readLock().lock();
+		try {
+			if (startAmount == null) {
+				return Page.empty();
+			}
+			long low = Amounts.lowerBound(startAmount);
+			long high = Amounts.upperBound(endAmount == null ? Double.MAX_VALUE : endAmount);
+			return pageOfRows(pageRequest, row -> amountColumn[row] >= low && amountColumn[row] <= high);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method streams the transactions of {@code type}.
+	 *
+	 * @param type : String either "upi" or "bank"
+	 * @return {@code Stream<Transaction>} : the transactions of the type, built as the stream reaches them
+	 */
+	@Override
+	public Stream<Transaction> streamTransactionByType(String type) {
+		lock.readLock().lock();
+		try {
+			int code = type == null ? -1 : types.lookup(type);
+			if (code < 0) {
+				return Stream.empty();
+			}
+			byte[] typeCodes = typeColumn;
+			return streamOfRows(row -> typeCodes[row] == (byte) code);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method streams the transactions with {@code status} status.
+	 *
+	 * @param status : String either "initiated", "pending", "completed", "failed"
+	 * @return {@code Stream<Transaction>} : the transactions with the status, built as the stream reaches them
+	 */
+	@Override
+	public Stream<Transaction> streamTransactionByStatus(String status) {
+		lock.readLock().lock();
+		try {
+			int code = status == null ? -1 : statuses.lookup(status);
+			if (code < 0) {
+				return Stream.empty();
+			}
+			byte[] statusCodes = statusColumn;
+			return streamOfRows(row -> statusCodes[row] == (byte) code);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method streams the transactions performed on the specified date.
+	 *
+	 * @param date : Date of transaction
+	 * @return {@code Stream<Transaction>} : the transactions performed on the date, built as the stream reaches them
+	 */
+	@Override
+	public Stream<Transaction> streamTransactionByDate(Date date) {
+		return date == null ? Stream.<Transaction>empty() : streamTransactionByDateRange(date, date);
+	}
+
+	/**
+	 * This method streams the transactions performed between {@code startDate} and
+	 * {@code endDate}, both days included.
+	 *
+	 * @param startDate : Start date of the range
+	 * @param endDate   : End date of the range
+	 * @return {@code Stream<Transaction>} : the transactions performed in the date range, built as the stream
+	 * reaches them
+	 */
+	@Override
+	public Stream<Transaction> streamTransactionByDateRange(Date startDate, Date endDate) {
+		lock.readLock().lock();
+		try {
+			if (startDate == null || endDate == null) {
+				return Stream.empty();
+			}
+			long fromMillis = DateIndex.startOfDay(DateIndex.epochDay(startDate));
+			long toMillis = DateIndex.startOfDay(DateIndex.epochDay(endDate) + 1);
+			long[] instants = instantColumn;
+			return streamOfRows(row -> instants[row] >= fromMillis && instants[row] < toMillis);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method streams the transactions with amount within the specified range.
+	 *
+	 * @param startAmount : Lower bound of the amount range.
+	 * @param endAmount   : Upper bound of the amount range, or null for none.
+	 * @return {@code Stream<Transaction>} : the transactions with amount in the range, built as the stream reaches
+	 * them
+	 */
+	@Override
+	public Stream<Transaction> streamTransactionByAmountRange(Double startAmount, Double endAmount) {
+		lock.readLock().lock();
+		try {
+			if (startAmount == null) {
+				return Stream.empty();
+			}
+			long low = Amounts.lowerBound(startAmount);
+			long high = Amounts.upperBound(endAmount == null ? Double.MAX_VALUE : endAmount);
+			long[] amounts = amountColumn;
+			return streamOfRows(row -> amounts[row] >= low && amounts[row] <= high);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method returns the transactions meeting every filter of {@code query}.
+	 * There are no indexes to choose from, so it scans the columns once and tests
+	 * each row on the one-byte type and status codes before the dates and amounts.
+	 *
+	 * @param query : filters the transactions must meet
+	 * @return {@code List<Transaction>} : the matching transactions in date and then ID order
+	 */
+	@Override
+	public List<Transaction> getTransactionByQuery(TransactionQuery query) {
+		lock.readLock().lock();
+		try {
+			List<Transaction> transactions = new ArrayList<Transaction>();
+			IntPredicate matches = query == null || query.isEmpty() ? null : rowMatcher(query);
+			if (matches == null) {
+				return transactions;
+			}
+			for (int row = 0; row < size; row++) {
+				if (matches.test(row)) {
+					transactions.add(materialize(row));
+				}
+			}
+			transactions.sort(TransactionQuery.RESULT_ORDER);
+			return transactions;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method aggregates the transactions meeting every filter of {@code query}
+	 * per group. It scans the columns once and feeds the type and status codes, date
+	 * and amount of each matching row to the aggregator as primitives, so no
+	 * {@code Transaction} is built.
+	 *
+	 * @param query   : filters the transactions must meet
+	 * @param groupBy : keys to group the transactions on
+	 * @return {@code List<AggregateRow>} : one row per group
+	 */
+	@Override
+	public List<AggregateRow> aggregateTransactions(TransactionQuery query, Set<GroupBy> groupBy) {
+		lock.readLock().lock();
+		try {
+			IntPredicate matches = query == null || query.isEmpty() ? null : rowMatcher(query);
+			if (matches == null) {
+				return new ArrayList<AggregateRow>();
+			}
+			Aggregator aggregator = new Aggregator(groupBy, types, statuses);
+			byte[] typeCodes = typeColumn;
+			byte[] statusCodes = statusColumn;
+			long[] instants = instantColumn;
+			long[] amounts = amountColumn;
+			for (int row = 0; row < size; row++) {
+				if (matches.test(row)) {
+					aggregator.add(typeCodes[row], statusCodes[row], instants[row], amounts[row]);
+				}
+			}
+			return aggregator.rows();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @param transaction : {@code Transaction} object to insert into the store.
+	 * @return {@code Transaction} : The transaction object that was created. Duplicate Transaction ID will throw error otherwise null.
+	 */
+	@Override
+	public Transaction createTransaction(Transaction transaction) {
+		lock.writeLock().lock();
+		try {
+			if (transaction == null) {
+				return null;
+			}
+			String transactionId = transaction.getTransactionId();
+			if (primaryKey.containsKey(transactionId)) {
+				throw new IllegalArgumentException("Transaction with ID " + transactionId + " already exists.");
+			}
+			if (size == idColumn.length) {
+				grow();
+			}
+			int row = size++;
+			idColumn[row] = transactionId;
+			write(row, transaction);
+			primaryKey.put(transactionId, row);
+			return transaction;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * This function deletes a transaction with the {@code transactionId} UID from the store.
+	 *
+	 * @param transactionId : Transaction
+	 * @return {@code boolean} : Returns true if deletion successful otherwise false;
+	 */
+	@Override
+	public boolean deleteTransaction(String transactionId) {
+		lock.writeLock().lock();
+		try {
+			Integer removed = primaryKey.remove(transactionId);
+			if (removed == null) {
+				return false;
+			}
+			int row = removed;
+			int last = --size;
+			if (row != last) {
+				idColumn[row] = idColumn[last];
+				typeColumn[row] = typeColumn[last];
+				amountColumn[row] = amountColumn[last];
+				statusColumn[row] = statusColumn[last];
+				instantColumn[row] = instantColumn[last];
+				primaryKey.put(idColumn[row], row);
+			}
+			idColumn[last] = null;
+			return true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * This methods takes a {@code Transaction} object and updates the transaction
+	 * with the same UID in the store.
+	 *
+	 * @param transaction : {@code Transaction} object which holds updated data.
+	 * @return {@code Transaction} : Returns the updated transaction object if transaction present in
+	 * the store otherwise null
+	 */
+	@Override
+	public Transaction updateTransaction(Transaction transaction) {
+		lock.writeLock().lock();
+		try {
+			if (transaction == null) {
+				return null;
+			}
+			Integer row = primaryKey.get(transaction.getTransactionId());
+			if (row == null) {
+				return null;
+			}
+			write(row, transaction);
+			return materialize(row);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void write(int row, Transaction transaction) {
+		typeColumn[row] = types.encode(transaction.getType());
+		amountColumn[row] = Amounts.toMinorUnits(transaction.getAmount());
+		statusColumn[row] = statuses.encode(transaction.getStatus());
+		instantColumn[row] = transaction.getDate() == null ? NULL_INSTANT : transaction.getDate().getTime();
+	}
+
+	/**
+	 * Builds the {@code Transaction} returned to callers for a row.
+	 */
+	private Transaction materialize(int row) {
+		long instant = instantColumn[row];
+		return new Transaction(idColumn[row], types.decode(typeColumn[row]), Amounts.fromMinorUnits(amountColumn[row]),
+				statuses.decode(statusColumn[row]), instant == NULL_INSTANT ? null : new Date(instant));
+	}
+
+	private List<Transaction> rowsWithCode(byte[] column, byte code) {
+		List<Transaction> transactions = new ArrayList<Transaction>();
+		for (int row = 0; row < size; row++) {
+			if (column[row] == code) {
+				transactions.add(materialize(row));
+			}
+		}
+		return transactions;
+	}
+
+	private int countCode(byte[] column, byte code) {
+		int count = 0;
+		for (int row = 0; row < size; row++) {
+			if (column[row] == code) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private List<Transaction> rowsInInstantRange(long fromMillis, long toMillis) {
+		List<Transaction> transactions = new ArrayList<Transaction>();
+		long[] instants = instantColumn;
+		for (int row = 0; row < size; row++) {
+			long instant = instants[row];
+			if (instant >= fromMillis && instant < toMillis) {
+				transactions.add(materialize(row));
+			}
+		}
+		return transactions;
+	}
+
+	/**
+	 * @return the test of a row against every filter of the query, cheapest first, or null if no row can match
+	 */
+	private IntPredicate rowMatcher(TransactionQuery query) {
+		IntPredicate matches = row -> true;
+		if (query.getType() != null) {
+			int code = types.lookup(query.getType());
+			if (code < 0) {
+				return null;
+			}
+			byte[] typeCodes = typeColumn;
+			matches = matches.and(row -> typeCodes[row] == (byte) code);
+		}
+		if (query.getStatus() != null) {
+			int code = statuses.lookup(query.getStatus());
+			if (code < 0) {
+				return null;
+			}
+			byte[] statusCodes = statusColumn;
+			matches = matches.and(row -> statusCodes[row] == (byte) code);
+		}
+		if (query.hasDateRange()) {
+			long fromMillis = query.getFromMillis();
+			long toMillis = query.getToMillis();
+			long[] instants = instantColumn;
+			matches = matches.and(row -> instants[row] != NULL_INSTANT && instants[row] >= fromMillis && instants[row] < toMillis);
+		}
+		if (query.hasAmountRange()) {
+			long low = Amounts.lowerBound(query.lowestAmount());
+			long high = Amounts.upperBound(query.highestAmount());
+			long[] amounts = amountColumn;
+			matches = matches.and(row -> amounts[row] != Amounts.NULL_AMOUNT && amounts[row] >= low && amounts[row] <= high);
+		}
+		return matches;
+	}
+
+	/**
+	 * Scans the rows once for those matching {@code matches} and builds objects only
+	 * for the ones on the requested page.
+	 */
+	private Page<Transaction> pageOfRows(PageRequest pageRequest, IntPredicate matches) {
+		PageCollector<Integer> collector = new PageCollector<Integer>(pageRequest);
+		long[] instants = instantColumn;
+		for (int row = 0; row < size; row++) {
+			long instant = instants[row];
+			if (instant != NULL_INSTANT && collector.accepts(instant) && matches.test(row)) {
+				collector.offer(instant, idColumn[row], row);
+			}
+		}
+		return collector.toPage(this::materialize);
+	}
+
+	/**
+	 * Streams the rows matching {@code matches}, building each object only when the
+	 * stream reaches it. The row range splits for parallel streams.
+	 */
+	private Stream<Transaction> streamOfRows(IntPredicate matches) {
+		return IntStream.range(0, size).filter(matches).mapToObj(this::materialize);
+	}
+
+	private void grow() {
+		int capacity = idColumn.length + (idColumn.length >> 1);
+		idColumn = Arrays.copyOf(idColumn, capacity);
+		typeColumn = Arrays.copyOf(typeColumn, capacity);
+		amountColumn = Arrays.copyOf(amountColumn, capacity);
+		statusColumn = Arrays.copyOf(statusColumn, capacity);
+		instantColumn = Arrays.copyOf(instantColumn, capacity);
+	}
+}
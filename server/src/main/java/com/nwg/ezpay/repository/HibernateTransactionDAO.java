@@ -0,0 +1,794 @@
+package com.nwg.ezpay.repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.query.SelectionQuery;
+
+import com.nwg.ezpay.entity.Transaction;
+import com.nwg.ezpay.exception.DataAccessException;
+import com.nwg.ezpay.repository.aggregate.AggregateRow;
+import com.nwg.ezpay.repository.aggregate.GroupBy;
+import com.nwg.ezpay.repository.index.DateIndex;
+import com.nwg.ezpay.repository.jdbc.BulkWriteReport;
+import com.nwg.ezpay.repository.page.Page;
+import com.nwg.ezpay.repository.page.PageCollector;
+import com.nwg.ezpay.repository.page.PageRequest;
+import com.nwg.ezpay.repository.query.TransactionQuery;
+import com.nwg.ezpay.repository.storage.Amounts;
+import com.nwg.ezpay.util.HibernateUtil;
+
+import jakarta.persistence.PersistenceException;
+
+/**
+ * This class contains an implementation of the transaction data access object
+ * on the Hibernate mapping of {@link Transaction} to {@code transaction_tab}.
+ *
+ * <p>Lookups, creates, updates and deletes by ID go through a {@link Session},
+ * so they read and maintain the second-level cache set up by
+ * {@link HibernateUtil}, and a repeated lookup of a cached transaction doesn't
+ * reach the database. Queries returning many rows run on a
+ * {@link StatelessSession}, which keeps no persistence context, and date and
+ * amount ranges are scrolled forward-only so the driver fetches them a batch at a
+ * time. Paged queries seek past the last row of the previous page on
+ * {@code (date, transactionId)} and ask for one row more than the page. {@link
+ * #insertAll(Iterable)} and {@link #upsertAll(Iterable)} write through
+ * a stateless session in JDBC batches and commit once per batch.</p>
+ *
+ * <p>Streaming queries keep a stateless session and its forward-only scroll open
+ * until the stream is closed, and read one row from the scroll each time the
+ * stream asks for one.</p>
+ *
+ * <p>A {@link TransactionQuery} on several columns runs as one query with every
+ * filter in its condition, leaving the choice of index to the database.</p>
+ *
+ * <p>Errors from Hibernate are thrown as a {@link DataAccessException}, except a
+ * duplicate transaction ID, which is an {@code IllegalArgumentException} as in the
+ * other stores.</p>
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public class HibernateTransactionDAO implements ITransactionDAO {
+
+	private static final String SELECT_BY_TYPE = "from Transaction where type = ?1";
+	private static final String SELECT_BY_STATUS = "from Transaction where status = ?1";
+	private static final String COUNT_BY_TYPE = "select count(*) from Transaction where type = ?1";
+	private static final String COUNT_BY_STATUS = "select count(*) from Transaction where status = ?1";
+	private static final String SELECT_BY_DATE_RANGE = "from Transaction where date >= ?1 and date < ?2 order by date, transactionId";
+	private static final String SELECT_BY_AMOUNT_RANGE = "from Transaction where amount >= ?1 and amount <= ?2 order by amount, transactionId";
+	private static final String SELECT_FROM_AMOUNT = "from Transaction where amount >= ?1 order by amount, transactionId";
+
+	// Conditions of the paged queries; pageQuery(String, int, PageRequest) adds the seek and order.
+	private static final String WHERE_TYPE = "type = ?1";
+	private static final String WHERE_STATUS = "status = ?1";
+	private static final String WHERE_DATE_RANGE = "date >= ?1 and date < ?2";
+	private static final String WHERE_AMOUNT_RANGE = "amount >= ?1 and amount <= ?2";
+	private static final String WHERE_FROM_AMOUNT = "amount >= ?1";
+
+	private final SessionFactory sessionFactory;
+	private final int batchSize;
+
+	/**
+	 * @param sessionFactory : session factory mapping {@link Transaction}, see {@link HibernateUtil}
+	 */
+	public HibernateTransactionDAO(SessionFactory sessionFactory) {
+		this(sessionFactory, Integer.getInteger(JdbcTransactionDAO.BATCH_SIZE_PROPERTY, JdbcTransactionDAO.DEFAULT_BATCH_SIZE));
+	}
+
+	/**
+	 * @param sessionFactory : session factory mapping {@link Transaction}, see {@link HibernateUtil}
+	 * @param batchSize      : number of rows sent and committed together by the bulk writes
+	 */
+	public HibernateTransactionDAO(SessionFactory sessionFactory, int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("Invalid batch size " + batchSize);
+		}
+		this.sessionFactory = sessionFactory;
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * This method returns {@code Transaction} with the specified UID.
+	 *
+	 * @param transactionId : UID of the transaction
+	 * @return {@code Transaction} if transaction with {@code transactionId} is present
+	 * otherwise null
+	 */
+	@Override
+	public Transaction getTransactionById(String transactionId) {
+		if (transactionId == null) {
+			return null;
+		}
+		return inSession(session -> session.find(Transaction.class, transactionId));
+	}
+
+	/**
+	 * This method returns a {@code List<Transaction>} of {@code type}.
+	 *
+	 * @param type : String either "upi" or "bank"
+	 * @return {@code List<Transaction>} if transactions of type {@code type} is present
+	 * else return empty list.
+	 */
+	@Override
+	public List<Transaction> getTransactionByType(String type) {
+		return type == null ? new ArrayList<Transaction>() : list(SELECT_BY_TYPE, type);
+	}
+
+	/**
+	 * This method returns a {@code List<Transaction>} with {@code status} status.
+	 *
+	 * @param status : String either "initiated", "pending", "completed", "failed"
+	 * @return {@code List<Transaction>} if transactions of status {@code status} is present
+	 * else return empty list.
+	 */
+	@Override
+	public List<Transaction> getTransactionByStatus(String status) {
+		return status == null ? new ArrayList<Transaction>() : list(SELECT_BY_STATUS, status);
+	}
+
+	/**
+	 * This method returns the number of transactions of {@code type}.
+	 *
+	 * @param type : String either "upi" or "bank"
+	 * @return {@code int} : number of transactions of the type
+	 */
+	@Override
+	public int countTransactionByType(String type) {
+		return type == null ? 0 : count(COUNT_BY_TYPE, type);
+	}
+
+	/**
+	 * This method returns the number of transactions with {@code status} status.
+	 *
+	 * @param status : String either "initiated", "pending", "completed", "failed"
+	 * @return {@code int} : number of transactions with the status
+	 */
+	@Override
+	public int countTransactionByStatus(String status) {
+		return status == null ? 0 : count(COUNT_BY_STATUS, status);
+	}
+
+	/**
+	 * This code returns a {@code List<Transaction>} performed on the specified date.
+	 * The time of day of {@code date} is ignored.
+	 *
+	 * @param date : Date of transaction
+	 * @return {@code List<Transaction} : List of transactions performed on the specified date.
+	 */
+	@Override
+	public List<Transaction> getTransactionByDate(Date date) {
+		if (date == null) {
+			return new ArrayList<Transaction>();
+		}
+		long day = DateIndex.epochDay(date);
+		return scroll(SELECT_BY_DATE_RANGE, new Date(DateIndex.startOfDay(day)), new Date(DateIndex.startOfDay(day + 1)));
+	}
+
+	/**
+	 * This function returns the {@code List<Transaction>} which were performed between
+	 * {@code startDate} and {@code endDate}. Both days are included and the time of day is ignored.
+	 *
+	 * @param startDate : Start date of the range
+	 * @param endDate   : End date of the range
+	 * @return {@code List<Transaction>} : List of transactions performed in the date range otherwise empty list.
+	 */
+	@Override
+	public List<Transaction> getTransactionByDateRange(Date startDate, Date endDate) {
+		if (startDate == null || endDate == null) {
+			return null;
+		}
+		long firstDay = DateIndex.epochDay(startDate);
+		long lastDay = DateIndex.epochDay(endDate);
+		if (firstDay > lastDay) {
+			return new ArrayList<Transaction>();
+		}
+		return scroll(SELECT_BY_DATE_RANGE, new Date(DateIndex.startOfDay(firstDay)), new Date(DateIndex.startOfDay(lastDay + 1)));
+	}
+
+	/**
+	 * This methods returns the {@code List<Transaction>} with amount within the specified range
+	 *
+	 * @param startAmount : Lower bound of the amount range.
+	 * @param endAmount   : Upper bound of the amount range.
+	 * @return {@code List<Transaction>} : A list of transactions with amount in the specified range
+	 * other empty list.
+	 */
+	@Override
+	public List<Transaction> getTransactionByAmountRange(Double startAmount, Double endAmount) {
+		if (startAmount == null) {
+			return Collections.emptyList();
+		}
+		if (endAmount == null) {
+			return scroll(SELECT_FROM_AMOUNT, startAmount);
+		}
+		if (startAmount > endAmount) {
+			return new ArrayList<Transaction>();
+		}
+		return scroll(SELECT_BY_AMOUNT_RANGE, startAmount, endAmount);
+	}
+
+	/**
+	 * This method returns one page of the transactions of {@code type}.
+	 *
+	 * @param type        : String either "upi" or "bank"
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : the page of transactions of the type
+	 */
+	@Override
+	public Page<Transaction> getTransactionByType(String type, PageRequest pageRequest) {
+		return type == null ? Page.<Transaction>empty() : listPage(WHERE_TYPE, pageRequest, type);
+	}
+
+	/**
+	 * This method returns one page of the transactions with {@code status} status.
+	 *
+	 * @param status      : String either "initiated", "pending", "completed", "failed"
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : the page of transactions with the status
+	 */
+	@Override
+	public Page<Transaction> getTransactionByStatus(String status, PageRequest pageRequest) {
+		return status == null ? Page.<Transaction>empty() : listPage(WHERE_STATUS, pageRequest, status);
+	}
+
+	/**
+	 * This method returns one page of the transactions performed on the specified date.
+	 *
+	 * @param date        : Date of transaction
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : the page of transactions performed on the date
+	 */
+	@Override
+	public Page<Transaction> getTransactionByDate(Date date, PageRequest pageRequest) {
+		return date == null ? Page.<Transaction>empty() : getTransactionByDateRange(date, date, pageRequest);
+	}
+
+	/**
+	 * This method returns one page of the transactions performed between
+	 * {@code startDate} and {@code endDate}, both days included.
+	 *
+	 * @param startDate   : Start date of the range
+	 * @param endDate     : End date of the range
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : the page of transactions performed in the date range
+	 */
+	@Override
+	public Page<Transaction> getTransactionByDateRange(Date startDate, Date endDate, PageRequest pageRequest) {
+		if (startDate == null || endDate == null) {
+			return Page.empty();
+		}
+		return listPage(WHERE_DATE_RANGE, pageRequest, new Date(DateIndex.startOfDay(DateIndex.epochDay(startDate))),
+				new Date(DateIndex.startOfDay(DateIndex.epochDay(endDate) + 1)));
+	}
+
+	/**
+	 * This method returns one page of the transactions with amount within the specified range.
+	 *
+	 * @param startAmount : Lower bound of the amount range.
+	 * @param endAmount   : Upper bound of the amount range, or null for none.
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : the page of transactions with amount in the range
+	 */
+	@Override
+	public Page<Transaction> getTransactionByAmountRange(Double startAmount, Double endAmount, PageRequest pageRequest) {
+		if (startAmount == null) {
+			return Page.empty();
+		}
+		if (endAmount == null) {
+			return listPage(WHERE_FROM_AMOUNT, pageRequest, startAmount);
+		}
+		return listPage(WHERE_AMOUNT_RANGE, pageRequest, startAmount, endAmount);
+	}
+
+	/**
+	 * This method streams the transactions of {@code type} from a forward-only scroll.
+	 *
+	 * @param type : String either "upi" or "bank"
+	 * @return {@code Stream<Transaction>} : the transactions of the type, read lazily
+	 */
+	@Override
+	public Stream<Transaction> streamTransactionByType(String type) {
+		return type == null ? Stream.<Transaction>empty() : stream(SELECT_BY_TYPE, type);
+	}
+
+	/**
+	 * This method streams the transactions with {@code status} status from a forward-only scroll.
+	 *
+	 * @param status : String either "initiated", "pending", "completed", "failed"
+	 * @return {@code Stream<Transaction>} : the transactions with the status, read lazily
+	 */
+	@Override
+	public Stream<Transaction> streamTransactionByStatus(String status) {
+		return status == null ? Stream.<Transaction>empty() : stream(SELECT_BY_STATUS, status);
+	}
+
+	/**
+	 * This method streams the transactions performed on the specified date, in date order.
+	 *
+	 * @param date : Date of transaction
+	 * @return {@code Stream<Transaction>} : the transactions performed on the date, read lazily
+	 */
+	@Override
+	public Stream<Transaction> streamTransactionByDate(Date date) {
+		return date == null ? Stream.<Transaction>empty() : streamTransactionByDateRange(date, date);
+	}
+
+	/**
+	 * This method streams the transactions performed between {@code startDate} and
+	 * {@code endDate}, both days included, in date order.
+	 *
+	 * @param startDate : Start date of the range
+	 * @param endDate   : End date of the range
+	 * @return {@code Stream<Transaction>} : the transactions performed in the date range, read lazily
+	 */
+	@Override
+	public Stream<Transaction> streamTransactionByDateRange(Date startDate, Date endDate) {
+		if (startDate == null || endDate == null) {
+			return Stream.empty();
+		}
+		long firstDay = DateIndex.epochDay(startDate);
+		long lastDay = DateIndex.epochDay(endDate);
+		if (firstDay > lastDay) {
+			return Stream.empty();
+		}
+		return stream(SELECT_BY_DATE_RANGE, new Date(DateIndex.startOfDay(firstDay)), new Date(DateIndex.startOfDay(lastDay + 1)));
+	}
+
+	/**
+	 * This method streams the transactions with amount within the specified range,
+	 * in ascending amount order.
+	 *
+	 * @param startAmount : Lower bound of the amount range.
+	 * @param endAmount   : Upper bound of the amount range, or null for none.
+	 * @return {@code Stream<Transaction>} : the transactions with amount in the range, read lazily
+	 */
+	@Override
+	public Stream<Transaction> streamTransactionByAmountRange(Double startAmount, Double endAmount) {
+		if (startAmount == null) {
+			return Stream.empty();
+		}
+		if (endAmount == null) {
+			return stream(SELECT_FROM_AMOUNT, startAmount);
+		}
+		if (startAmount > endAmount) {
+			return Stream.empty();
+		}
+		return stream(SELECT_BY_AMOUNT_RANGE, startAmount, endAmount);
+	}
+
+	/**
+	 * This method returns the transactions meeting every filter of {@code query}
+	 * with one query whose condition holds every filter set, scrolled forward-only.
+	 *
+	 * @param query : filters the transactions must meet
+	 * @return {@code List<Transaction>} : the matching transactions in date and then ID order
+	 */
+	@Override
+	public List<Transaction> getTransactionByQuery(TransactionQuery query) {
+		if (query == null || query.isEmpty()) {
+			return new ArrayList<Transaction>();
+		}
+		List<Object> parameters = new ArrayList<Object>();
+		return scroll("from Transaction" + where(query, parameters) + " order by date nulls last, transactionId",
+				parameters.toArray());
+	}
+
+	/**
+	 * This method aggregates the transactions meeting every filter of {@code query}
+	 * per group with one {@code group by} query, so only one row per group is read
+	 * back and no entity is loaded.
+	 *
+	 * @param query   : filters the transactions must meet
+	 * @param groupBy : keys to group the transactions on
+	 * @return {@code List<AggregateRow>} : one row per group
+	 */
+	@Override
+	public List<AggregateRow> aggregateTransactions(TransactionQuery query, Set<GroupBy> groupBy) {
+		if (query == null || query.isEmpty()) {
+			return new ArrayList<AggregateRow>();
+		}
+		boolean byType = groupBy.contains(GroupBy.TYPE);
+		boolean byStatus = groupBy.contains(GroupBy.STATUS);
+		boolean byDay = groupBy.contains(GroupBy.DAY);
+		boolean byMonth = byDay || groupBy.contains(GroupBy.MONTH);
+		List<String> keys = new ArrayList<String>();
+		if (byType) {
+			keys.add("type");
+		}
+		if (byStatus) {
+			keys.add("status");
+		}
+		if (byMonth) {
+			keys.add("year(date)");
+			keys.add("month(date)");
+		}
+		if (byDay) {
+			keys.add("day(date)");
+		}
+		List<Object> parameters = new ArrayList<Object>();
+		String hql = "select " + (keys.isEmpty() ? "" : String.join(", ", keys) + ", ")
+				+ "count(*), count(amount), sum(amount), min(amount), max(amount) from Transaction" + where(query, parameters)
+				+ (keys.isEmpty() ? "" : " group by " + String.join(", ", keys));
+		List<Object[]> groups = inStatelessSession(session -> {
+			SelectionQuery<Object[]> selection = session.createSelectionQuery(hql, Object[].class);
+			for (int i = 0; i < parameters.size(); i++) {
+				selection.setParameter(i + 1, parameters.get(i));
+			}
+			return selection.getResultList();
+		});
+		List<AggregateRow> aggregates = new ArrayList<AggregateRow>(groups.size());
+		for (Object[] group : groups) {
+			int column = 0;
+			String type = byType ? (String) group[column++] : null;
+			String status = byStatus ? (String) group[column++] : null;
+			LocalDate period = null;
+			if (byMonth) {
+				Number year = (Number) group[column++];
+				Number month = (Number) group[column++];
+				Number day = byDay ? (Number) group[column++] : 1;
+				period = year == null ? null : LocalDate.of(year.intValue(), month.intValue(), day.intValue());
+			}
+			long count = ((Number) group[column]).longValue();
+			// A query without keys gives one row even when nothing matches.
+			if (count > 0) {
+				aggregates.add(new AggregateRow(type, status, period, count, ((Number) group[column + 1]).longValue(),
+						minorUnits(group[column + 2]), minorUnits(group[column + 3]), minorUnits(group[column + 4])));
+			}
+		}
+		aggregates.sort(AggregateRow.KEY_ORDER);
+		return aggregates;
+	}
+
+	/**
+	 * @param transaction : {@code Transaction} object to insert into the store.
+	 * @return {@code Transaction} : The transaction object that was created. Duplicate Transaction ID will throw error otherwise null.
+	 */
+	@Override
+	public Transaction createTransaction(Transaction transaction) {
+		if (transaction == null) {
+			return null;
+		}
+		try {
+			sessionFactory.inTransaction(session -> session.persist(copyOf(transaction)));
+			return transaction;
+		} catch (PersistenceException e) {
+			// A duplicate ID fails on the primary key, or before the insert when the row is cached.
+			if (getTransactionById(transaction.getTransactionId()) != null) {
+				throw new IllegalArgumentException("Transaction with ID " + transaction.getTransactionId() + " already exists.");
+			}
+			throw failure(e);
+		}
+	}
+
+	/**
+	 * This function deletes a transaction with the {@code transactionId} UID from the store.
+	 *
+	 * @param transactionId : Transaction
+	 * @return {@code boolean} : Returns true if deletion successful otherwise false;
+	 */
+	@Override
+	public boolean deleteTransaction(String transactionId) {
+		if (transactionId == null) {
+			return false;
+		}
+		return inTransaction(session -> {
+			Transaction stored = session.find(Transaction.class, transactionId);
+			if (stored == null) {
+				return false;
+			}
+			session.remove(stored);
+			return true;
+		});
+	}
+
+	/**
+	 * This methods takes a {@code Transaction} object and updates the transaction
+	 * with the same UID in the store.
+	 *
+	 * @param transaction : {@code Transaction} object which holds updated data.
+	 * @return {@code Transaction} : Returns the updated transaction object if transaction present in
+	 * the store otherwise null
+	 */
+	@Override
+	public Transaction updateTransaction(Transaction transaction) {
+		if (transaction == null || transaction.getTransactionId() == null) {
+			return null;
+		}
+		return inTransaction(session -> {
+			Transaction stored = session.find(Transaction.class, transaction.getTransactionId());
+			if (stored == null) {
+				return null;
+			}
+			stored.setType(transaction.getType());
+			stored.setAmount(transaction.getAmount());
+			stored.setStatus(transaction.getStatus());
+			stored.setDate(transaction.getDate());
+			return transaction;
+		});
+	}
+
+	/**
+	 * Inserts {@code transactions} through a stateless session, sending and
+	 * committing them in batches of the DAO's batch size. {@code null} elements are
+	 * skipped.
+	 *
+	 * @param transactions : transactions to insert
+	 * @return {@code BulkWriteReport} : number of rows and batches written and the time taken
+	 * @throws DataAccessException if a batch fails; the batches before it stay committed and the failed one is rolled back
+	 */
+	public BulkWriteReport insertAll(Iterable<? extends Transaction> transactions) {
+		return writeAll(transactions, false);
+	}
+
+	/**
+	 * Inserts {@code transactions}, or updates the stored transactions with the
+	 * same IDs, like {@link #insertAll(Iterable)}.
+	 *
+	 * @param transactions : transactions to insert or update
+	 * @return {@code BulkWriteReport} : number of rows and batches written and the time taken
+	 * @throws DataAccessException if a batch fails; the batches before it stay committed and the failed one is rolled back
+	 */
+	public BulkWriteReport upsertAll(Iterable<? extends Transaction> transactions) {
+		return writeAll(transactions, true);
+	}
+
+	private BulkWriteReport writeAll(Iterable<? extends Transaction> transactions, boolean upsert) {
+		long started = System.nanoTime();
+		long rows = 0;
+		long batches = 0;
+		try (StatelessSession session = sessionFactory.openStatelessSession()) {
+			session.setJdbcBatchSize(batchSize);
+			org.hibernate.Transaction batch = session.beginTransaction();
+			int pending = 0;
+			try {
+				for (Transaction transaction : transactions) {
+					if (transaction == null) {
+						continue;
+					}
+					if (upsert) {
+						session.upsert(copyOf(transaction));
+					} else {
+						session.insert(copyOf(transaction));
+					}
+					if (++pending == batchSize) {
+						batch.commit();
+						rows += pending;
+						batches++;
+						pending = 0;
+						batch = session.beginTransaction();
+					}
+				}
+				batch.commit();
+				if (pending > 0) {
+					rows += pending;
+					batches++;
+				}
+			} catch (PersistenceException e) {
+				if (batch.isActive()) {
+					batch.rollback();
+				}
+				throw new DataAccessException("Could not write batch " + (batches + 1) + " after " + rows + " rows were committed: "
+						+ e.getMessage(), e);
+			}
+		} catch (PersistenceException e) {
+			throw failure(e);
+		}
+		return new BulkWriteReport(rows, batches, System.nanoTime() - started);
+	}
+
+	private List<Transaction> list(String hql, Object value) {
+		return inStatelessSession(session -> session.createSelectionQuery(hql, Transaction.class).setParameter(1, value)
+				.getResultList());
+	}
+
+	/**
+	 * @return the query for the rows meeting {@code condition}, which has {@code parameters} parameters, after the
+	 * requested position for every page but the first, in page order
+	 */
+	private static String pageQuery(String condition, int parameters, PageRequest pageRequest) {
+		if (pageRequest.isFirst()) {
+			return "from Transaction where " + condition + " order by date, transactionId";
+		}
+		return "from Transaction where " + condition + " and date >= ?" + (parameters + 1) + " and (date > ?" + (parameters + 1)
+				+ " or transactionId > ?" + (parameters + 2) + ") order by date, transactionId";
+	}
+
+	private Page<Transaction> listPage(String condition, PageRequest pageRequest, Object... parameters) {
+		String hql = pageQuery(condition, parameters.length, pageRequest);
+		return inStatelessSession(session -> {
+			SelectionQuery<Transaction> query = session.createSelectionQuery(hql, Transaction.class);
+			for (int i = 0; i < parameters.length; i++) {
+				query.setParameter(i + 1, parameters[i]);
+			}
+			if (!pageRequest.isFirst()) {
+				query.setParameter(parameters.length + 1, new Date(pageRequest.getAfterMillis()));
+				query.setParameter(parameters.length + 2, pageRequest.getAfterId());
+			}
+			// One row more than the page tells whether there is a next page.
+			query.setMaxResults(pageRequest.getPageSize() + 1);
+			PageCollector<Transaction> collector = new PageCollector<Transaction>(pageRequest);
+			for (Transaction transaction : query.getResultList()) {
+				if (transaction.getDate() != null) {
+					collector.offer(transaction.getDate().getTime(), transaction.getTransactionId(), transaction);
+				}
+			}
+			return collector.toPage(Function.identity());
+		});
+	}
+
+	private int count(String hql, String value) {
+		return inStatelessSession(session -> session.createSelectionQuery(hql, Long.class).setParameter(1, value)
+				.getSingleResult().intValue());
+	}
+
+	/**
+	 * @return the {@code where} clause holding every filter of {@code query}, whose values are added to
+	 * {@code parameters}, or an empty string if the query has none
+	 */
+	private static String where(TransactionQuery query, List<Object> parameters) {
+		List<String> conditions = new ArrayList<String>();
+		if (query.getType() != null) {
+			parameters.add(query.getType());
+			conditions.add("type = ?" + parameters.size());
+		}
+		if (query.getStatus() != null) {
+			parameters.add(query.getStatus());
+			conditions.add("status = ?" + parameters.size());
+		}
+		if (query.hasDateRange() && query.getFromMillis() != Long.MIN_VALUE) {
+			parameters.add(new Date(query.getFromMillis()));
+			conditions.add("date >= ?" + parameters.size());
+		}
+		if (query.hasDateRange() && query.getToMillis() != Long.MAX_VALUE) {
+			parameters.add(new Date(query.getToMillis()));
+			conditions.add("date < ?" + parameters.size());
+		}
+		if (query.getMinAmount() != null) {
+			parameters.add(query.getMinAmount());
+			conditions.add("amount >= ?" + parameters.size());
+		}
+		if (query.getMaxAmount() != null) {
+			parameters.add(query.getMaxAmount());
+			conditions.add("amount <= ?" + parameters.size());
+		}
+		return conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions);
+	}
+
+	private static long minorUnits(Object amount) {
+		return amount == null ? Amounts.NULL_AMOUNT : Amounts.toMinorUnits(((Number) amount).doubleValue());
+	}
+
+	/**
+	 * Runs a query forward-only, so the rows are fetched in batches of the fetch size as they are read.
+	 */
+	private List<Transaction> scroll(String hql, Object... parameters) {
+		return inStatelessSession(session -> {
+			SelectionQuery<Transaction> query = session.createSelectionQuery(hql, Transaction.class);
+			for (int i = 0; i < parameters.length; i++) {
+				query.setParameter(i + 1, parameters[i]);
+			}
+			List<Transaction> transactions = new ArrayList<Transaction>();
+			try (ScrollableResults<Transaction> results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+				while (results.next()) {
+					transactions.add(results.get());
+				}
+			}
+			return transactions;
+		});
+	}
+
+	/**
+	 * Opens a forward-only scroll of the query on a stateless session, which the
+	 * returned stream keeps until it is closed.
+	 */
+	private Stream<Transaction> stream(String hql, Object... parameters) {
+		StatelessSession session = null;
+		try {
+			session = sessionFactory.openStatelessSession();
+			SelectionQuery<Transaction> query = session.createSelectionQuery(hql, Transaction.class);
+			for (int i = 0; i < parameters.length; i++) {
+				query.setParameter(i + 1, parameters[i]);
+			}
+			ScrollableResults<Transaction> results = query.scroll(ScrollMode.FORWARD_ONLY);
+			StatelessSession held = session;
+			return StreamSupport.stream(new ScrollSpliterator(results), false).onClose(() -> {
+				try {
+					results.close();
+				} finally {
+					held.close();
+				}
+			});
+		} catch (PersistenceException e) {
+			if (session != null) {
+				session.close();
+			}
+			throw failure(e);
+		} catch (RuntimeException e) {
+			if (session != null) {
+				session.close();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Reads the rows of an open scroll one by one as a stream asks for them.
+	 */
+	private static final class ScrollSpliterator extends Spliterators.AbstractSpliterator<Transaction> {
+
+		private final ScrollableResults<Transaction> results;
+
+		ScrollSpliterator(ScrollableResults<Transaction> results) {
+			super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+			this.results = results;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super Transaction> action) {
+			Transaction transaction;
+			try {
+				if (!results.next()) {
+					return false;
+				}
+				transaction = results.get();
+			} catch (PersistenceException e) {
+				throw failure(e);
+			}
+			action.accept(transaction);
+			return true;
+		}
+	}
+
+	private <T> T inSession(Function<Session, T> work) {
+		try (Session session = sessionFactory.openSession()) {
+			return work.apply(session);
+		} catch (PersistenceException e) {
+			throw failure(e);
+		}
+	}
+
+	private <T> T inStatelessSession(Function<StatelessSession, T> work) {
+		try {
+			return sessionFactory.fromStatelessSession(work);
+		} catch (PersistenceException e) {
+			throw failure(e);
+		}
+	}
+
+	private <T> T inTransaction(Function<Session, T> work) {
+		try {
+			return sessionFactory.fromTransaction(work);
+		} catch (PersistenceException e) {
+			throw failure(e);
+		}
+	}
+
+	/**
+	 * The stored entity is a copy, so a caller changing its own object afterwards doesn't change the store.
+	 */
+	private static Transaction copyOf(Transaction transaction) {
+		return new Transaction(transaction.getTransactionId(), transaction.getType(), transaction.getAmount(),
+				transaction.getStatus(), transaction.getDate());
+	}
+
+	private static DataAccessException failure(PersistenceException e) {
+		return new DataAccessException("Hibernate could not access the transactions: " + e.getMessage(), e);
+	}
+}
@@ -1,14 +1,39 @@
 package com.nwg.ezpay.repository;
 
 import java.util.List;
+import java.util.Set;
 
 import com.nwg.ezpay.entity.Transaction;
+import com.nwg.ezpay.repository.aggregate.AggregateRow;
+import com.nwg.ezpay.repository.aggregate.GroupBy;
+import com.nwg.ezpay.repository.page.Page;
+import com.nwg.ezpay.repository.page.PageRequest;
+import com.nwg.ezpay.repository.query.TransactionQuery;
 
 import java.util.Date;
+import java.util.stream.Stream;
 
 /**
  * This interface contains method declaration for the Transaction DAO
  * 
+ * <p>Every list query also has a paged variant taking a {@link PageRequest},
+ * which returns one {@link Page} of the result in date and then ID order without
+ * building the rest of it.</p>
+ * 
+ * <p>Every list query also has a streaming variant, which reads its rows lazily
+ * from the store as the {@link Stream} is consumed, so a consumer walking a large
+ * result holds one row at a time, and stops reading when the stream is
+ * short-circuited. The stream may hold a snapshot, a cursor or a connection until
+ * it is closed, so it must be closed, ideally with try-with-resources. Rows come in
+ * the order of the list query unless the engine says otherwise.</p>
+ * 
+ * <p>Filters on several columns at once are answered by
+ * {@link #getTransactionByQuery(TransactionQuery)} in one pass over the store,
+ * rather than by intersecting the lists of single-column queries, and totals
+ * per type, status, day or month by
+ * {@link #aggregateTransactions(TransactionQuery, Set)} without reading the
+ * transactions out of the store.</p>
+ * 
  * @author Sourav Behera
  * @version 0.0.1
  * @since 2025-07-28
@@ -45,6 +70,22 @@ public interface ITransactionDAO {
 	 */
 	List<Transaction> getTransactionByStatus(String status);
 
+	/**
+	 * Returns the number of transactions that belong to the type.
+	 * 
+	 * @param type : Type of transaction (upi/bank)
+	 * @return {@code int} : Number of transactions belonging to the type
+	 */
+	int countTransactionByType(String type);
+
+	/**
+	 * Returns the number of transactions that have the provided status.
+	 * 
+	 * @param status : Status of the transaction(initiated, pending, completed, failed)
+	 * @return {@code int} : Number of transactions that have the status
+	 */
+	int countTransactionByStatus(String status);
+
 	/**
 	 * Returns {@code List<Transaction>} a list of transactions that have the
 	 * provided date.
@@ -77,6 +118,120 @@ public interface ITransactionDAO {
 	 */
 	List<Transaction> getTransactionByAmountRange(Double startAmount, Double endAmount);
 
+	/**
+	 * Returns one page of the transactions that belong to the type.
+	 * 
+	 * @param type        : Type of transaction (upi/bank)
+	 * @param pageRequest : Size and position of the page
+	 * @return {@code Page<Transaction>} : The page of transactions belonging to the type
+	 */
+	Page<Transaction> getTransactionByType(String type, PageRequest pageRequest);
+
+	/**
+	 * Returns one page of the transactions that have the provided status.
+	 * 
+	 * @param status      : Status of the transaction(initiated, pending, completed, failed)
+	 * @param pageRequest : Size and position of the page
+	 * @return {@code Page<Transaction>} : The page of transactions that have the status
+	 */
+	Page<Transaction> getTransactionByStatus(String status, PageRequest pageRequest);
+
+	/**
+	 * Returns one page of the transactions performed on the provided date.
+	 * 
+	 * @param date        : Date of the transaction. Format ("yyyy-MM-dd")
+	 * @param pageRequest : Size and position of the page
+	 * @return {@code Page<Transaction>} : The page of transactions performed on the date
+	 */
+	Page<Transaction> getTransactionByDate(Date date, PageRequest pageRequest);
+
+	/**
+	 * Returns one page of the transactions performed within the specified date range.
+	 * 
+	 * @param startDate   : Start date for the transactions. Format ("yyyy-MM-dd")
+	 * @param endDate     : End date for the transactions. Format ("yyyy-MM-dd")
+	 * @param pageRequest : Size and position of the page
+	 * @return {@code Page<Transaction>} : The page of transactions performed in the date range
+	 */
+	Page<Transaction> getTransactionByDateRange(Date startDate, Date endDate, PageRequest pageRequest);
+
+	/**
+	 * Returns one page of the transactions whose amount lie between the specified range.
+	 * 
+	 * @param startAmount : Start amount for the transactions.
+	 * @param endAmount   : End amount for the transactions, or null for no upper bound.
+	 * @param pageRequest : Size and position of the page
+	 * @return {@code Page<Transaction>} : The page of transactions whose amount lie in the range
+	 */
+	Page<Transaction> getTransactionByAmountRange(Double startAmount, Double endAmount, PageRequest pageRequest);
+
+	/**
+	 * Returns the transactions that belong to the type as a lazy stream, which must be closed.
+	 * 
+	 * @param type : Type of transaction (upi/bank)
+	 * @return {@code Stream<Transaction>} : Stream of transactions belonging to the type
+	 */
+	Stream<Transaction> streamTransactionByType(String type);
+
+	/**
+	 * Returns the transactions that have the provided status as a lazy stream, which must be closed.
+	 * 
+	 * @param status : Status of the transaction(initiated, pending, completed, failed)
+	 * @return {@code Stream<Transaction>} : Stream of transactions that have the status
+	 */
+	Stream<Transaction> streamTransactionByStatus(String status);
+
+	/**
+	 * Returns the transactions performed on the provided date as a lazy stream, which must be closed.
+	 * 
+	 * @param date : Date of the transaction. Format ("yyyy-MM-dd")
+	 * @return {@code Stream<Transaction>} : Stream of transactions performed on the date
+	 */
+	Stream<Transaction> streamTransactionByDate(Date date);
+
+	/**
+	 * Returns the transactions performed within the specified date range as a lazy
+	 * stream, which must be closed.
+	 * 
+	 * @param startDate : Start date for the transactions. Format ("yyyy-MM-dd")
+	 * @param endDate   : End date for the transactions. Format ("yyyy-MM-dd")
+	 * @return {@code Stream<Transaction>} : Stream of transactions performed in the date range,
+	 *         empty if either date is null
+	 */
+	Stream<Transaction> streamTransactionByDateRange(Date startDate, Date endDate);
+
+	/**
+	 * Returns the transactions whose amount lie between the specified range as a
+	 * lazy stream, which must be closed.
+	 * 
+	 * @param startAmount : Start amount for the transactions.
+	 * @param endAmount   : End amount for the transactions, or null for no upper bound.
+	 * @return {@code Stream<Transaction>} : Stream of transactions whose amount lie in the range
+	 */
+	Stream<Transaction> streamTransactionByAmountRange(Double startAmount, Double endAmount);
+
+	/**
+	 * Returns the transactions that meet every filter of the query, read from the
+	 * most selective index the store has on the filtered columns.
+	 * 
+	 * @param query : Filters the transactions must meet.
+	 * @return {@code List<Transaction>} : List of matching transactions in date and then ID order,
+	 *         undated ones last; empty if the query is null or one of its ranges is inverted
+	 */
+	List<Transaction> getTransactionByQuery(TransactionQuery query);
+
+	/**
+	 * Returns the count, sum, minimum, maximum and average amount of the transactions
+	 * meeting every filter of the query, per group of the keys. The store computes
+	 * them in one pass over its rows without building {@code Transaction} objects.
+	 * 
+	 * @param query   : Filters the transactions must meet.
+	 * @param groupBy : Keys to group the transactions on, empty for one group of all of them.
+	 * @return {@code List<AggregateRow>} : One row per non-empty group in type, status and then period
+	 *         order; empty if the query is null or one of its ranges is inverted
+	 */
+	List<AggregateRow> aggregateTransactions(TransactionQuery query, Set<GroupBy> groupBy);
+
 	/**
 	 *	Insert a new {@code Transaction} into the transaction table.
 	 * 
@@ -3,12 +3,20 @@ package com.nwg.ezpay.repository;
 import java.util.List;
 
 import com.nwg.ezpay.entity.TransactionStatus;
+import com.nwg.ezpay.repository.page.Page;
+import com.nwg.ezpay.repository.page.PageRequest;
 
 import java.util.Date;
+import java.util.stream.Stream;
 
 /**
  * This interface contains method declarations for the TransactionStatus DAO
  * 
+ * <p>Every list query also has a paged variant taking a {@link PageRequest},
+ * which returns one {@link Page} of the result in timestamp and then ID order,
+ * and a streaming variant, which reads the result lazily as the {@link Stream}
+ * is consumed and must be closed when done.</p>
+ * 
  * @author Palak Deb Patra
  * @version 0.0.1
  * @since 2025-07-28
@@ -58,6 +66,76 @@ public interface ITransactionStatusDAO {
      */
     List<TransactionStatus> getStatusesByDateRange(Date startDate, Date endDate);
 
+    /**
+     * Returns one page of the TransactionStatus entries with the specified statusType.
+     * 
+     * @param statusType  : status type (e.g., INITIATED, COMPLETED, FAILED)
+     * @param pageRequest : size and position of the page
+     * @return {@code Page<TransactionStatus>}
+     */
+    Page<TransactionStatus> getStatusesByType(String statusType, PageRequest pageRequest);
+
+    /**
+     * Returns one page of the TransactionStatus entries with the specified reason.
+     * 
+     * @param reason      : reason for the status (e.g., "Insufficient funds")
+     * @param pageRequest : size and position of the page
+     * @return {@code Page<TransactionStatus>}
+     */
+    Page<TransactionStatus> getStatusesByReason(String reason, PageRequest pageRequest);
+
+    /**
+     * Returns one page of the TransactionStatus records updated on the given date.
+     * 
+     * @param date        : the date part of timestamp to filter by (format: "yyyy-MM-dd")
+     * @param pageRequest : size and position of the page
+     * @return {@code Page<TransactionStatus>}
+     */
+    Page<TransactionStatus> getStatusesByDate(Date date, PageRequest pageRequest);
+
+    /**
+     * Returns one page of the TransactionStatus entries updated within the specified range.
+     * 
+     * @param startDate   : start date (format: "yyyy-MM-dd")
+     * @param endDate     : end date (format: "yyyy-MM-dd")
+     * @param pageRequest : size and position of the page
+     * @return {@code Page<TransactionStatus>}
+     */
+    Page<TransactionStatus> getStatusesByDateRange(Date startDate, Date endDate, PageRequest pageRequest);
+
+    /**
+     * Streams the TransactionStatus entries with the specified statusType, read lazily.
+     * 
+     * @param statusType : status type (e.g., INITIATED, COMPLETED, FAILED)
+     * @return {@code Stream<TransactionStatus>}, to be closed when done
+     */
+    Stream<TransactionStatus> streamStatusesByType(String statusType);
+
+    /**
+     * Streams the TransactionStatus entries with the specified reason, read lazily.
+     * 
+     * @param reason : reason for the status (e.g., "Insufficient funds")
+     * @return {@code Stream<TransactionStatus>}, to be closed when done
+     */
+    Stream<TransactionStatus> streamStatusesByReason(String reason);
+
+    /**
+     * Streams the TransactionStatus records updated on the given date, read lazily.
+     * 
+     * @param date : the date part of timestamp to filter by (format: "yyyy-MM-dd")
+     * @return {@code Stream<TransactionStatus>}, to be closed when done
+     */
+    Stream<TransactionStatus> streamStatusesByDate(Date date);
+
+    /**
+     * Streams the TransactionStatus entries updated within the specified range, read lazily.
+     * 
+     * @param startDate : start date (format: "yyyy-MM-dd")
+     * @param endDate   : end date (format: "yyyy-MM-dd")
+     * @return {@code Stream<TransactionStatus>}, to be closed when done
+     */
+    Stream<TransactionStatus> streamStatusesByDateRange(Date startDate, Date endDate);
+
     // CRUD Operations
 
     /**
@@ -0,0 +1,972 @@
+package com.nwg.ezpay.repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.nwg.ezpay.entity.Transaction;
+import com.nwg.ezpay.exception.DataAccessException;
+import com.nwg.ezpay.repository.aggregate.AggregateRow;
+import com.nwg.ezpay.repository.aggregate.GroupBy;
+import com.nwg.ezpay.repository.index.DateIndex;
+import com.nwg.ezpay.repository.jdbc.BulkWriteReport;
+import com.nwg.ezpay.repository.jdbc.ConnectionPool;
+import com.nwg.ezpay.repository.jdbc.PoolMetrics;
+import com.nwg.ezpay.repository.page.Page;
+import com.nwg.ezpay.repository.page.PageCollector;
+import com.nwg.ezpay.repository.page.PageRequest;
+import com.nwg.ezpay.repository.query.TransactionQuery;
+import com.nwg.ezpay.repository.storage.Amounts;
+
+/**
+ * This class contains an implementation of the transaction data access object
+ * backed by the {@code transaction_tab} table of {@code sql/createTable.sql}.
+ *
+ * <p>Every call borrows a connection from a {@link ConnectionPool} and returns it
+ * before the call ends, so calls from different threads run side by side on up to
+ * the pool's maximum number of connections. Each SQL statement is prepared once
+ * per pooled connection and reused, so the database parses it once. Queries set
+ * a fetch size of {@value #DEFAULT_FETCH_SIZE} rows, or the
+ * {@value #FETCH_SIZE_PROPERTY} system property, so a large result comes back in
+ * a few round trips of that many rows rather than the Oracle driver's default of
+ * 10, without the driver buffering more than one batch. Rows are read with
+ * positional getters in the order of {@link #COLUMNS}.</p>
+ *
+ * <p>Paged queries seek past the last row of the previous page with a
+ * {@code (tr_date, transaction_id)} condition and fetch one row more than the
+ * page, so the database reads no further than the page, through the indexes on
+ * those columns that {@code sql/createTable.sql} creates.</p>
+ *
+ * <p>A {@link TransactionQuery} on several columns runs as one statement with
+ * every filter in its condition; there are at most sixteen shapes of it, so each
+ * is prepared once per connection like the other statements.</p>
+ *
+ * <p>Streaming queries keep their connection and open result set until the
+ * stream is closed and read the rows from it as they are consumed, a fetch of
+ * rows at a time, so a stream stopped early leaves the rest of the result unread.
+ * A stream holds one pooled connection for as long as it is open. A result set
+ * has one cursor, so a parallel stream reads it on one thread and hands batches
+ * of rows it has read to the others.</p>
+ *
+ * <p>{@link #insertAll(Iterable)} and {@link #upsertAll(Iterable)} write many rows
+ * with JDBC batches of {@value #DEFAULT_BATCH_SIZE} rows, or the
+ * {@value #BATCH_SIZE_PROPERTY} system property, each sent in one round trip and
+ * committed on its own, instead of one round trip and one commit per row.</p>
+ *
+ * <p>Errors from the database, including a timeout waiting for a connection,
+ * are thrown as a {@link DataAccessException}, except a duplicate transaction ID,
+ * which is an {@code IllegalArgumentException} as in the other stores.</p>
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public class JdbcTransactionDAO implements ITransactionDAO, AutoCloseable {
+
+	public static final String URL_PROPERTY = "ezpay.jdbc.url";
+	public static final String USER_PROPERTY = "ezpay.jdbc.user";
+	public static final String PASSWORD_PROPERTY = "ezpay.jdbc.password";
+	public static final String FETCH_SIZE_PROPERTY = "ezpay.jdbc.fetchSize";
+	public static final int DEFAULT_FETCH_SIZE = 1000;
+	public static final String BATCH_SIZE_PROPERTY = "ezpay.jdbc.batchSize";
+	public static final int DEFAULT_BATCH_SIZE = 1000;
+
+	static final String COLUMNS = "transaction_id, type, amount, status, tr_date";
+
+	private static final String SELECT_BY_ID = "SELECT " + COLUMNS + " FROM transaction_tab WHERE transaction_id = ?";
+	private static final String SELECT_BY_TYPE = "SELECT " + COLUMNS + " FROM transaction_tab WHERE type = ?";
+	private static final String SELECT_BY_STATUS = "SELECT " + COLUMNS + " FROM transaction_tab WHERE status = ?";
+	private static final String COUNT_BY_TYPE = "SELECT COUNT(*) FROM transaction_tab WHERE type = ?";
+	private static final String COUNT_BY_STATUS = "SELECT COUNT(*) FROM transaction_tab WHERE status = ?";
+	private static final String SELECT_BY_DATE_RANGE = "SELECT " + COLUMNS
+			+ " FROM transaction_tab WHERE tr_date >= ? AND tr_date < ? ORDER BY tr_date, transaction_id";
+	private static final String SELECT_BY_AMOUNT_RANGE = "SELECT " + COLUMNS
+			+ " FROM transaction_tab WHERE amount >= ? AND amount <= ? ORDER BY amount, transaction_id";
+	private static final String SELECT_FROM_AMOUNT = "SELECT " + COLUMNS
+			+ " FROM transaction_tab WHERE amount >= ? ORDER BY amount, transaction_id";
+	// Conditions of the paged queries; pageQuery(String, PageRequest) adds the seek, order and row limit.
+	private static final String WHERE_TYPE = "type = ?";
+	private static final String WHERE_STATUS = "status = ?";
+	private static final String WHERE_DATE_RANGE = "tr_date >= ? AND tr_date < ?";
+	private static final String WHERE_AMOUNT_RANGE = "amount >= ? AND amount <= ?";
+	private static final String WHERE_FROM_AMOUNT = "amount >= ?";
+	private static final String INSERT = "INSERT INTO transaction_tab (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?)";
+	private static final String UPDATE = "UPDATE transaction_tab SET type = ?, amount = ?, status = ?, tr_date = ? WHERE transaction_id = ?";
+	private static final String DELETE = "DELETE FROM transaction_tab WHERE transaction_id = ?";
+	// The row is bound in the order of INSERT; the casts type the parameters for the MERGE source.
+	private static final String UPSERT = "MERGE INTO transaction_tab t USING (SELECT CAST(? AS VARCHAR2(10)) AS transaction_id,"
+			+ " CAST(? AS VARCHAR2(10)) AS type, CAST(? AS NUMBER) AS amount, CAST(? AS VARCHAR2(10)) AS status,"
+			+ " CAST(? AS TIMESTAMP) AS tr_date FROM dual) s ON (t.transaction_id = s.transaction_id)"
+			+ " WHEN MATCHED THEN UPDATE SET t.type = s.type, t.amount = s.amount, t.status = s.status, t.tr_date = s.tr_date"
+			+ " WHEN NOT MATCHED THEN INSERT (" + COLUMNS + ") VALUES (s.transaction_id, s.type, s.amount, s.status, s.tr_date)";
+
+	private final ConnectionPool pool;
+	private final int fetchSize;
+	private final int batchSize;
+
+	/**
+	 * @param pool : pool of connections to a database holding {@code transaction_tab}; the DAO closes it
+	 */
+	public JdbcTransactionDAO(ConnectionPool pool) {
+		this(pool, Integer.getInteger(FETCH_SIZE_PROPERTY, DEFAULT_FETCH_SIZE));
+	}
+
+	/**
+	 * @param pool      : pool of connections to a database holding {@code transaction_tab}; the DAO closes it
+	 * @param fetchSize : number of rows fetched per round trip by queries
+	 */
+	public JdbcTransactionDAO(ConnectionPool pool, int fetchSize) {
+		this(pool, fetchSize, Integer.getInteger(BATCH_SIZE_PROPERTY, DEFAULT_BATCH_SIZE));
+	}
+
+	/**
+	 * @param pool      : pool of connections to a database holding {@code transaction_tab}; the DAO closes it
+	 * @param fetchSize : number of rows fetched per round trip by queries
+	 * @param batchSize : number of rows sent and committed together by the bulk writes
+	 */
+	public JdbcTransactionDAO(ConnectionPool pool, int fetchSize, int batchSize) {
+		checkBatchSize(batchSize);
+		this.pool = pool;
+		this.fetchSize = fetchSize;
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Creates a connection pool, sized by the {@code ezpay.jdbc.pool.*} system
+	 * properties, for the database named by the {@value #URL_PROPERTY},
+	 * {@value #USER_PROPERTY} and {@value #PASSWORD_PROPERTY} system properties,
+	 * which default to the local development database.
+	 *
+	 * @return {@code JdbcTransactionDAO} : a DAO on the new pool
+	 * @throws DataAccessException if the database can't be reached
+	 */
+	public static JdbcTransactionDAO connect() {
+		return new JdbcTransactionDAO(connectPool());
+	}
+
+	/**
+	 * Creates and starts the connection pool used by {@link #connect()}.
+	 *
+	 * @return {@code ConnectionPool} : a pool with one connection opened
+	 * @throws DataAccessException if the database can't be reached
+	 */
+	public static ConnectionPool connectPool() {
+		String url = System.getProperty(URL_PROPERTY, "jdbc:oracle:thin:@//localhost:1521/xepdb1");
+		String user = System.getProperty(USER_PROPERTY, "dev");
+		String password = System.getProperty(PASSWORD_PROPERTY, "dev");
+		ConnectionPool pool = new ConnectionPool(() -> DriverManager.getConnection(url, user, password),
+				ConnectionPool.Settings.fromSystemProperties());
+		// Borrow once so that a wrong URL or password fails here rather than at the first query.
+		try (ConnectionPool.Lease lease = pool.borrow()) {
+			lease.getConnection();
+		} catch (SQLException e) {
+			pool.close();
+			throw new DataAccessException("Could not connect to " + url + ": " + e.getMessage(), e);
+		}
+		pool.start();
+		return pool;
+	}
+
+	/**
+	 * @return {@code PoolMetrics} : the state and counters of the DAO's connection pool
+	 */
+	public PoolMetrics getPoolMetrics() {
+		return pool.getMetrics();
+	}
+
+	/**
+	 * @return {@code ConnectionPool.Lease} : a connection from the DAO's pool, for statements the DAO doesn't offer
+	 */
+	ConnectionPool.Lease borrow() throws SQLException {
+		return pool.borrow();
+	}
+
+	/**
+	 * This method returns {@code Transaction} with the specified UID.
+	 *
+	 * @param transactionId : UID of the transaction
+	 * @return {@code Transaction} if transaction with {@code transactionId} is present
+	 * otherwise null
+	 */
+	@Override
+	public Transaction getTransactionById(String transactionId) {
+		if (transactionId == null) {
+			return null;
+		}
+		try (ConnectionPool.Lease lease = pool.borrow()) {
+			return findById(lease, transactionId);
+		} catch (SQLException e) {
+			throw failure(SELECT_BY_ID, e);
+		}
+	}
+
+	/**
+	 * This method returns a {@code List<Transaction>} of {@code type}.
+	 *
+	 * @param type : String either "upi" or "bank"
+	 * @return {@code List<Transaction>} if transactions of type {@code type} is present
+	 * else return empty list.
+	 */
+	@Override
+	public List<Transaction> getTransactionByType(String type) {
+		return type == null ? new ArrayList<Transaction>() : query(SELECT_BY_TYPE, type);
+	}
+
+	/**
+	 * This method returns a {@code List<Transaction>} with {@code status} status.
+	 *
+	 * @param status : String either "initiated", "pending", "completed", "failed"
+	 * @return {@code List<Transaction>} if transactions of status {@code status} is present
+	 * else return empty list.
+	 */
+	@Override
+	public List<Transaction> getTransactionByStatus(String status) {
+		return status == null ? new ArrayList<Transaction>() : query(SELECT_BY_STATUS, status);
+	}
+
+	/**
+	 * This method returns the number of transactions of {@code type}.
+	 *
+	 * @param type : String either "upi" or "bank"
+	 * @return {@code int} : number of transactions of the type
+	 */
+	@Override
+	public int countTransactionByType(String type) {
+		return type == null ? 0 : count(COUNT_BY_TYPE, type);
+	}
+
+	/**
+	 * This method returns the number of transactions with {@code status} status.
+	 *
+	 * @param status : String either "initiated", "pending", "completed", "failed"
+	 * @return {@code int} : number of transactions with the status
+	 */
+	@Override
+	public int countTransactionByStatus(String status) {
+		return status == null ? 0 : count(COUNT_BY_STATUS, status);
+	}
+
+	/**
+	 * This code returns a {@code List<Transaction>} performed on the specified date.
+	 * The time of day of {@code date} is ignored.
+	 *
+	 * @param date : Date of transaction
+	 * @return {@code List<Transaction} : List of transactions performed on the specified date.
+	 */
+	@Override
+	public List<Transaction> getTransactionByDate(Date date) {
+		if (date == null) {
+			return new ArrayList<Transaction>();
+		}
+		long day = DateIndex.epochDay(date);
+		return query(SELECT_BY_DATE_RANGE, new Timestamp(DateIndex.startOfDay(day)), new Timestamp(DateIndex.startOfDay(day + 1)));
+	}
+
+	/**
+	 * This function returns the {@code List<Transaction>} which were performed between
+	 * {@code startDate} and {@code endDate}. Both days are included and the time of day is ignored.
+	 *
+	 * @param startDate : Start date of the range
+	 * @param endDate   : End date of the range
+	 * @return {@code List<Transaction>} : List of transactions performed in the date range otherwise empty list.
+	 */
+	@Override
+	public List<Transaction> getTransactionByDateRange(Date startDate, Date endDate) {
+		if (startDate == null || endDate == null) {
+			return null;
+		}
+		long firstDay = DateIndex.epochDay(startDate);
+		long lastDay = DateIndex.epochDay(endDate);
+		if (firstDay > lastDay) {
+			return new ArrayList<Transaction>();
+		}
+		return query(SELECT_BY_DATE_RANGE, new Timestamp(DateIndex.startOfDay(firstDay)),
+				new Timestamp(DateIndex.startOfDay(lastDay + 1)));
+	}
+
+	/**
+	 * This methods returns the {@code List<Transaction>} with amount within the specified range
+	 *
+	 * @param startAmount : Lower bound of the amount range.
+	 * @param endAmount   : Upper bound of the amount range.
+	 * @return {@code List<Transaction>} : A list of transactions with amount in the specified range
+	 * other empty list.
+	 */
+	@Override
+	public List<Transaction> getTransactionByAmountRange(Double startAmount, Double endAmount) {
+		if (startAmount == null) {
+			return Collections.emptyList();
+		}
+		if (endAmount == null) {
+			return query(SELECT_FROM_AMOUNT, BigDecimal.valueOf(startAmount));
+		}
+		if (startAmount > endAmount) {
+			return new ArrayList<Transaction>();
+		}
+		return query(SELECT_BY_AMOUNT_RANGE, BigDecimal.valueOf(startAmount), BigDecimal.valueOf(endAmount));
+	}
+
+	/**
+	 * This method returns one page of the transactions of {@code type}.
+	 *
+	 * @param type        : String either "upi" or "bank"
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : the page of transactions of the type
+	 */
+	@Override
+	public Page<Transaction> getTransactionByType(String type, PageRequest pageRequest) {
+		return type == null ? Page.<Transaction>empty() : queryPage(WHERE_TYPE, pageRequest, type);
+	}
+
+	/**
+	 * This method returns one page of the transactions with {@code status} status.
+	 *
+	 * @param status      : String either "initiated", "pending", "completed", "failed"
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : the page of transactions with the status
+	 */
+	@Override
+	public Page<Transaction> getTransactionByStatus(String status, PageRequest pageRequest) {
+		return status == null ? Page.<Transaction>empty() : queryPage(WHERE_STATUS, pageRequest, status);
+	}
+
+	/**
+	 * This method returns one page of the transactions performed on the specified date.
+	 *
+	 * @param date        : Date of transaction
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : the page of transactions performed on the date
+	 */
+	@Override
+	public Page<Transaction> getTransactionByDate(Date date, PageRequest pageRequest) {
+		return date == null ? Page.<Transaction>empty() : getTransactionByDateRange(date, date, pageRequest);
+	}
+
+	/**
+	 * This method returns one page of the transactions performed between
+	 * {@code startDate} and {@code endDate}, both days included.
+	 *
+	 * @param startDate   : Start date of the range
+	 * @param endDate     : End date of the range
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : the page of transactions performed in the date range
+	 */
+	@Override
+	public Page<Transaction> getTransactionByDateRange(Date startDate, Date endDate, PageRequest pageRequest) {
+		if (startDate == null || endDate == null) {
+			return Page.empty();
+		}
+		return queryPage(WHERE_DATE_RANGE, pageRequest, new Timestamp(DateIndex.startOfDay(DateIndex.epochDay(startDate))),
+				new Timestamp(DateIndex.startOfDay(DateIndex.epochDay(endDate) + 1)));
+	}
+
+	/**
+	 * This method returns one page of the transactions with amount within the specified range.
+	 *
+	 * @param startAmount : Lower bound of the amount range.
+	 * @param endAmount   : Upper bound of the amount range, or null for none.
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : the page of transactions with amount in the range
+	 */
+	@Override
+	public Page<Transaction> getTransactionByAmountRange(Double startAmount, Double endAmount, PageRequest pageRequest) {
+		if (startAmount == null) {
+			return Page.empty();
+		}
+		if (endAmount == null) {
+			return queryPage(WHERE_FROM_AMOUNT, pageRequest, BigDecimal.valueOf(startAmount));
+		}
+		return queryPage(WHERE_AMOUNT_RANGE, pageRequest, BigDecimal.valueOf(startAmount), BigDecimal.valueOf(endAmount));
+	}
+
+	/**
+	 * This method streams the transactions of {@code type} from an open result set.
+	 *
+	 * @param type : String either "upi" or "bank"
+	 * @return {@code Stream<Transaction>} : the transactions of the type, read lazily
+	 */
+	@Override
+	public Stream<Transaction> streamTransactionByType(String type) {
+		return type == null ? Stream.<Transaction>empty() : stream(SELECT_BY_TYPE, type);
+	}
+
+	/**
+	 * This method streams the transactions with {@code status} status from an open result set.
+	 *
+	 * @param status : String either "initiated", "pending", "completed", "failed"
+	 * @return {@code Stream<Transaction>} : the transactions with the status, read lazily
+	 */
+	@Override
+	public Stream<Transaction> streamTransactionByStatus(String status) {
+		return status == null ? Stream.<Transaction>empty() : stream(SELECT_BY_STATUS, status);
+	}
+
+	/**
+	 * This method streams the transactions performed on the specified date.
+	 *
+	 * @param date : Date of transaction
+	 * @return {@code Stream<Transaction>} : the transactions performed on the date, read lazily
+	 */
+	@Override
+	public Stream<Transaction> streamTransactionByDate(Date date) {
+		return date == null ? Stream.<Transaction>empty() : streamTransactionByDateRange(date, date);
+	}
+
+	/**
+	 * This method streams the transactions performed between {@code startDate} and
+	 * {@code endDate}, both days included.
+	 *
+	 * @param startDate : Start date of the range
+	 * @param endDate   : End date of the range
+	 * @return {@code Stream<Transaction>} : the transactions performed in the date range, read lazily
+	 */
+	@Override
+	public Stream<Transaction> streamTransactionByDateRange(Date startDate, Date endDate) {
+		if (startDate == null || endDate == null) {
+			return Stream.empty();
+		}
+		long firstDay = DateIndex.epochDay(startDate);
+		long lastDay = DateIndex.epochDay(endDate);
+		if (firstDay > lastDay) {
+			return Stream.empty();
+		}
+		return stream(SELECT_BY_DATE_RANGE, new Timestamp(DateIndex.startOfDay(firstDay)),
+				new Timestamp(DateIndex.startOfDay(lastDay + 1)));
+	}
+
+	/**
+	 * This method streams the transactions with amount within the specified range.
+	 *
+	 * @param startAmount : Lower bound of the amount range.
+	 * @param endAmount   : Upper bound of the amount range, or null for none.
+	 * @return {@code Stream<Transaction>} : the transactions with amount in the range, read lazily
+	 */
+	@Override
+	public Stream<Transaction> streamTransactionByAmountRange(Double startAmount, Double endAmount) {
+		if (startAmount == null) {
+			return Stream.empty();
+		}
+		if (endAmount == null) {
+			return stream(SELECT_FROM_AMOUNT, BigDecimal.valueOf(startAmount));
+		}
+		if (startAmount > endAmount) {
+			return Stream.empty();
+		}
+		return stream(SELECT_BY_AMOUNT_RANGE, BigDecimal.valueOf(startAmount), BigDecimal.valueOf(endAmount));
+	}
+
+	/**
+	 * This method returns the transactions meeting every filter of {@code query}
+	 * with one statement whose condition holds every filter set, so the database
+	 * picks the index to read through and filters the rest in the same pass.
+	 *
+	 * @param query : filters the transactions must meet
+	 * @return {@code List<Transaction>} : the matching transactions in date and then ID order
+	 */
+	@Override
+	public List<Transaction> getTransactionByQuery(TransactionQuery query) {
+		if (query == null || query.isEmpty()) {
+			return new ArrayList<Transaction>();
+		}
+		List<Object> parameters = new ArrayList<Object>();
+		return query("SELECT " + COLUMNS + " FROM transaction_tab" + where(query, parameters)
+				+ " ORDER BY tr_date NULLS LAST, transaction_id", parameters.toArray());
+	}
+
+	/**
+	 * This method aggregates the transactions meeting every filter of {@code query}
+	 * per group with one {@code GROUP BY} statement, so the rows never leave the
+	 * database; only one row per group is read back. Days and months are grouped on
+	 * the fields of the date extracted by the database.
+	 *
+	 * @param query   : filters the transactions must meet
+	 * @param groupBy : keys to group the transactions on
+	 * @return {@code List<AggregateRow>} : one row per group
+	 */
+	@Override
+	public List<AggregateRow> aggregateTransactions(TransactionQuery query, Set<GroupBy> groupBy) {
+		List<AggregateRow> aggregates = new ArrayList<AggregateRow>();
+		if (query == null || query.isEmpty()) {
+			return aggregates;
+		}
+		boolean byType = groupBy.contains(GroupBy.TYPE);
+		boolean byStatus = groupBy.contains(GroupBy.STATUS);
+		boolean byDay = groupBy.contains(GroupBy.DAY);
+		boolean byMonth = byDay || groupBy.contains(GroupBy.MONTH);
+		List<String> keys = new ArrayList<String>();
+		if (byType) {
+			keys.add("type");
+		}
+		if (byStatus) {
+			keys.add("status");
+		}
+		if (byMonth) {
+			keys.add("EXTRACT(YEAR FROM tr_date)");
+			keys.add("EXTRACT(MONTH FROM tr_date)");
+		}
+		if (byDay) {
+			keys.add("EXTRACT(DAY FROM tr_date)");
+		}
+		List<Object> parameters = new ArrayList<Object>();
+		String sql = "SELECT " + (keys.isEmpty() ? "" : String.join(", ", keys) + ", ")
+				+ "COUNT(*), COUNT(amount), SUM(amount), MIN(amount), MAX(amount) FROM transaction_tab"
+				+ where(query, parameters) + (keys.isEmpty() ? "" : " GROUP BY " + String.join(", ", keys));
+		try (ConnectionPool.Lease lease = pool.borrow()) {
+			PreparedStatement statement = prepare(lease, sql);
+			for (int i = 0; i < parameters.size(); i++) {
+				statement.setObject(i + 1, parameters.get(i));
+			}
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					int column = 1;
+					String type = byType ? resultSet.getString(column++) : null;
+					String status = byStatus ? resultSet.getString(column++) : null;
+					LocalDate period = null;
+					if (byMonth) {
+						int year = resultSet.getInt(column++);
+						boolean dated = !resultSet.wasNull();
+						int month = resultSet.getInt(column++);
+						int day = byDay ? resultSet.getInt(column++) : 1;
+						period = dated ? LocalDate.of(year, month, day) : null;
+					}
+					long count = resultSet.getLong(column++);
+					// A query without keys gives one row even when nothing matches.
+					if (count > 0) {
+						aggregates.add(new AggregateRow(type, status, period, count, resultSet.getLong(column),
+								minorUnits(resultSet.getBigDecimal(column + 1)), minorUnits(resultSet.getBigDecimal(column + 2)),
+								minorUnits(resultSet.getBigDecimal(column + 3))));
+					}
+				}
+			}
+		} catch (SQLException e) {
+			throw failure(sql, e);
+		}
+		aggregates.sort(AggregateRow.KEY_ORDER);
+		return aggregates;
+	}
+
+	/**
+	 * @param transaction : {@code Transaction} object to insert into the store.
+	 * @return {@code Transaction} : The transaction object that was created. Duplicate Transaction ID will throw error otherwise null.
+	 */
+	@Override
+	public Transaction createTransaction(Transaction transaction) {
+		if (transaction == null) {
+			return null;
+		}
+		try (ConnectionPool.Lease lease = pool.borrow()) {
+			try {
+				PreparedStatement statement = prepare(lease, INSERT);
+				statement.setString(1, transaction.getTransactionId());
+				bindValues(statement, 2, transaction);
+				statement.executeUpdate();
+				return transaction;
+			} catch (SQLIntegrityConstraintViolationException e) {
+				// Checked on the same connection, so a pool of one can't wait on itself.
+				if (findById(lease, transaction.getTransactionId()) != null) {
+					throw new IllegalArgumentException("Transaction with ID " + transaction.getTransactionId() + " already exists.");
+				}
+				throw e;
+			}
+		} catch (SQLException e) {
+			throw failure(INSERT, e);
+		}
+	}
+
+	/**
+	 * This function deletes a transaction with the {@code transactionId} UID from the store.
+	 *
+	 * @param transactionId : Transaction
+	 * @return {@code boolean} : Returns true if deletion successful otherwise false;
+	 */
+	@Override
+	public boolean deleteTransaction(String transactionId) {
+		if (transactionId == null) {
+			return false;
+		}
+		try (ConnectionPool.Lease lease = pool.borrow()) {
+			PreparedStatement statement = prepare(lease, DELETE);
+			statement.setString(1, transactionId);
+			return statement.executeUpdate() > 0;
+		} catch (SQLException e) {
+			throw failure(DELETE, e);
+		}
+	}
+
+	/**
+	 * This methods takes a {@code Transaction} object and updates the transaction
+	 * with the same UID in the store.
+	 *
+	 * @param transaction : {@code Transaction} object which holds updated data.
+	 * @return {@code Transaction} : Returns the updated transaction object if transaction present in
+	 * the store otherwise null
+	 */
+	@Override
+	public Transaction updateTransaction(Transaction transaction) {
+		if (transaction == null || transaction.getTransactionId() == null) {
+			return null;
+		}
+		try (ConnectionPool.Lease lease = pool.borrow()) {
+			PreparedStatement statement = prepare(lease, UPDATE);
+			bindValues(statement, 1, transaction);
+			statement.setString(5, transaction.getTransactionId());
+			return statement.executeUpdate() > 0 ? transaction : null;
+		} catch (SQLException e) {
+			throw failure(UPDATE, e);
+		}
+	}
+
+	/**
+	 * Inserts {@code transactions} in batches of the DAO's batch size. {@code null}
+	 * elements are skipped.
+	 *
+	 * @param transactions : transactions to insert
+	 * @return {@code BulkWriteReport} : number of rows and batches written and the time taken
+	 * @throws DataAccessException if a batch fails, for instance on a duplicate transaction ID; the batches before it
+	 * stay committed and the failed one is rolled back
+	 */
+	public BulkWriteReport insertAll(Iterable<? extends Transaction> transactions) {
+		return writeAll(INSERT, transactions, batchSize);
+	}
+
+	/**
+	 * @param batchSize : number of rows sent and committed together
+	 * @see #insertAll(Iterable)
+	 */
+	public BulkWriteReport insertAll(Iterable<? extends Transaction> transactions, int batchSize) {
+		checkBatchSize(batchSize);
+		return writeAll(INSERT, transactions, batchSize);
+	}
+
+	/**
+	 * Inserts {@code transactions}, or updates the stored transactions with the
+	 * same IDs, with a {@code MERGE} statement run in batches of the DAO's batch
+	 * size. {@code null} elements are skipped.
+	 *
+	 * @param transactions : transactions to insert or update; an ID should appear at most once per batch
+	 * @return {@code BulkWriteReport} : number of rows and batches written and the time taken
+	 * @throws DataAccessException if a batch fails; the batches before it stay committed and the failed one is rolled back
+	 */
+	public BulkWriteReport upsertAll(Iterable<? extends Transaction> transactions) {
+		return writeAll(UPSERT, transactions, batchSize);
+	}
+
+	/**
+	 * @param batchSize : number of rows sent and committed together
+	 * @see #upsertAll(Iterable)
+	 */
+	public BulkWriteReport upsertAll(Iterable<? extends Transaction> transactions, int batchSize) {
+		checkBatchSize(batchSize);
+		return writeAll(UPSERT, transactions, batchSize);
+	}
+
+	/**
+	 * Closes the connection pool.
+	 */
+	@Override
+	public void close() {
+		pool.close();
+	}
+
+	/**
+	 * @return the statement cached for {@code sql} on the leased connection, set to this DAO's fetch size
+	 */
+	private PreparedStatement prepare(ConnectionPool.Lease lease, String sql) throws SQLException {
+		PreparedStatement statement = lease.prepare(sql);
+		statement.setFetchSize(fetchSize);
+		return statement;
+	}
+
+	private Transaction findById(ConnectionPool.Lease lease, String transactionId) throws SQLException {
+		PreparedStatement statement = prepare(lease, SELECT_BY_ID);
+		statement.setString(1, transactionId);
+		try (ResultSet resultSet = statement.executeQuery()) {
+			return resultSet.next() ? transactionAt(resultSet) : null;
+		}
+	}
+
+	/**
+	 * Binds each transaction as the parameters of {@code sql}, in the order of
+	 * {@link #COLUMNS}, and executes and commits them {@code batchSize} at a time on
+	 * one connection.
+	 */
+	private BulkWriteReport writeAll(String sql, Iterable<? extends Transaction> transactions, int batchSize) {
+		long started = System.nanoTime();
+		long rows = 0;
+		long batches = 0;
+		try (ConnectionPool.Lease lease = pool.borrow()) {
+			Connection connection = lease.getConnection();
+			connection.setAutoCommit(false);
+			PreparedStatement statement = lease.prepare(sql);
+			int pending = 0;
+			try {
+				for (Transaction transaction : transactions) {
+					if (transaction == null) {
+						continue;
+					}
+					statement.setString(1, transaction.getTransactionId());
+					bindValues(statement, 2, transaction);
+					statement.addBatch();
+					if (++pending == batchSize) {
+						statement.executeBatch();
+						connection.commit();
+						rows += pending;
+						batches++;
+						pending = 0;
+					}
+				}
+				if (pending > 0) {
+					statement.executeBatch();
+					connection.commit();
+					rows += pending;
+					batches++;
+				}
+			} catch (SQLException e) {
+				// The statement stays cached, so the rows of the failed batch mustn't stay queued on it.
+				statement.clearBatch();
+				connection.rollback();
+				throw new DataAccessException("Could not run batch " + (batches + 1) + " of \"" + sql + "\" after " + rows
+						+ " rows were committed: " + e.getMessage(), e);
+			} catch (RuntimeException e) {
+				statement.clearBatch();
+				connection.rollback();
+				throw e;
+			}
+		} catch (SQLException e) {
+			throw failure(sql, e);
+		}
+		return new BulkWriteReport(rows, batches, System.nanoTime() - started);
+	}
+
+	private static void checkBatchSize(int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("Invalid batch size " + batchSize);
+		}
+	}
+
+	/**
+	 * @return the {@code WHERE} clause holding every filter of {@code query}, whose values are added to
+	 * {@code parameters}, or an empty string if the query has none
+	 */
+	private static String where(TransactionQuery query, List<Object> parameters) {
+		List<String> conditions = new ArrayList<String>();
+		if (query.getType() != null) {
+			conditions.add(WHERE_TYPE);
+			parameters.add(query.getType());
+		}
+		if (query.getStatus() != null) {
+			conditions.add(WHERE_STATUS);
+			parameters.add(query.getStatus());
+		}
+		if (query.hasDateRange() && query.getFromMillis() != Long.MIN_VALUE) {
+			conditions.add("tr_date >= ?");
+			parameters.add(new Timestamp(query.getFromMillis()));
+		}
+		if (query.hasDateRange() && query.getToMillis() != Long.MAX_VALUE) {
+			conditions.add("tr_date < ?");
+			parameters.add(new Timestamp(query.getToMillis()));
+		}
+		if (query.getMinAmount() != null) {
+			conditions.add("amount >= ?");
+			parameters.add(BigDecimal.valueOf(query.getMinAmount()));
+		}
+		if (query.getMaxAmount() != null) {
+			conditions.add("amount <= ?");
+			parameters.add(BigDecimal.valueOf(query.getMaxAmount()));
+		}
+		return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+	}
+
+	private static long minorUnits(BigDecimal amount) {
+		return amount == null ? Amounts.NULL_AMOUNT : amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+	}
+
+	private List<Transaction> query(String sql, Object... parameters) {
+		try (ConnectionPool.Lease lease = pool.borrow()) {
+			PreparedStatement statement = prepare(lease, sql);
+			for (int i = 0; i < parameters.length; i++) {
+				statement.setObject(i + 1, parameters[i]);
+			}
+			List<Transaction> transactions = new ArrayList<Transaction>();
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					transactions.add(transactionAt(resultSet));
+				}
+			}
+			return transactions;
+		} catch (SQLException e) {
+			throw failure(sql, e);
+		}
+	}
+
+	/**
+	 * Runs {@code sql} on a connection the returned stream keeps, with the result
+	 * set, until it is closed. The statement stays cached on the connection.
+	 */
+	private Stream<Transaction> stream(String sql, Object... parameters) {
+		ConnectionPool.Lease lease = null;
+		try {
+			lease = pool.borrow();
+			PreparedStatement statement = prepare(lease, sql);
+			for (int i = 0; i < parameters.length; i++) {
+				statement.setObject(i + 1, parameters[i]);
+			}
+			ResultSet resultSet = statement.executeQuery();
+			ConnectionPool.Lease held = lease;
+			return StreamSupport.stream(new ResultSetSpliterator(sql, resultSet), false).onClose(() -> {
+				try {
+					resultSet.close();
+				} catch (SQLException e) {
+					throw failure(sql, e);
+				} finally {
+					held.close();
+				}
+			});
+		} catch (SQLException e) {
+			if (lease != null) {
+				lease.close();
+			}
+			throw failure(sql, e);
+		} catch (RuntimeException e) {
+			if (lease != null) {
+				lease.close();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Reads the rows of an open result set one by one as a stream asks for them.
+	 */
+	private static final class ResultSetSpliterator extends Spliterators.AbstractSpliterator<Transaction> {
+
+		private final String sql;
+		private final ResultSet resultSet;
+
+		ResultSetSpliterator(String sql, ResultSet resultSet) {
+			super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+			this.sql = sql;
+			this.resultSet = resultSet;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super Transaction> action) {
+			Transaction transaction;
+			try {
+				if (!resultSet.next()) {
+					return false;
+				}
+				transaction = transactionAt(resultSet);
+			} catch (SQLException e) {
+				throw failure(sql, e);
+			}
+			action.accept(transaction);
+			return true;
+		}
+	}
+
+	/**
+	 * @return the query for one page of the rows meeting {@code condition}, after the requested position for every page
+	 * but the first; its parameters are those of the condition, the seek position if any, then the row limit
+	 */
+	private static String pageQuery(String condition, PageRequest pageRequest) {
+		return "SELECT " + COLUMNS + " FROM transaction_tab WHERE " + condition
+				+ (pageRequest.isFirst() ? "" : " AND tr_date >= ? AND (tr_date > ? OR transaction_id > ?)")
+				+ " ORDER BY tr_date, transaction_id FETCH FIRST ? ROWS ONLY";
+	}
+
+	private Page<Transaction> queryPage(String condition, PageRequest pageRequest, Object... parameters) {
+		String sql = pageQuery(condition, pageRequest);
+		try (ConnectionPool.Lease lease = pool.borrow()) {
+			PreparedStatement statement = prepare(lease, sql);
+			int parameter = 1;
+			for (Object value : parameters) {
+				statement.setObject(parameter++, value);
+			}
+			if (!pageRequest.isFirst()) {
+				Timestamp after = new Timestamp(pageRequest.getAfterMillis());
+				statement.setTimestamp(parameter++, after);
+				statement.setTimestamp(parameter++, after);
+				statement.setString(parameter++, pageRequest.getAfterId());
+			}
+			// One row more than the page tells whether there is a next page.
+			statement.setInt(parameter, pageRequest.getPageSize() + 1);
+			PageCollector<Transaction> collector = new PageCollector<Transaction>(pageRequest);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					Transaction transaction = transactionAt(resultSet);
+					if (transaction.getDate() != null) {
+						collector.offer(transaction.getDate().getTime(), transaction.getTransactionId(), transaction);
+					}
+				}
+			}
+			return collector.toPage(Function.identity());
+		} catch (SQLException e) {
+			throw failure(sql, e);
+		}
+	}
+
+	private int count(String sql, String value) {
+		try (ConnectionPool.Lease lease = pool.borrow()) {
+			PreparedStatement statement = prepare(lease, sql);
+			statement.setString(1, value);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				resultSet.next();
+				return resultSet.getInt(1);
+			}
+		} catch (SQLException e) {
+			throw failure(sql, e);
+		}
+	}
+
+	/**
+	 * Binds the type, amount, status and date of {@code transaction} from parameter {@code first} on.
+	 */
+	private static void bindValues(PreparedStatement statement, int first, Transaction transaction) throws SQLException {
+		statement.setString(first, transaction.getType());
+		if (transaction.getAmount() == null) {
+			statement.setNull(first + 1, Types.NUMERIC);
+		} else {
+			statement.setBigDecimal(first + 1, BigDecimal.valueOf(transaction.getAmount()));
+		}
+		statement.setString(first + 2, transaction.getStatus());
+		if (transaction.getDate() == null) {
+			statement.setNull(first + 3, Types.TIMESTAMP);
+		} else {
+			statement.setTimestamp(first + 3, new Timestamp(transaction.getDate().getTime()));
+		}
+	}
+
+	/**
+	 * Reads the row under the cursor, whose columns are in the order of {@link #COLUMNS}.
+	 */
+	private static Transaction transactionAt(ResultSet resultSet) throws SQLException {
+		BigDecimal amount = resultSet.getBigDecimal(3);
+		Timestamp date = resultSet.getTimestamp(5);
+		return new Transaction(resultSet.getString(1), resultSet.getString(2), amount == null ? null : amount.doubleValue(),
+				resultSet.getString(4), date == null ? null : new Date(date.getTime()));
+	}
+
+	private static DataAccessException failure(String sql, SQLException e) {
+		return new DataAccessException("Could not run \"" + sql + "\": " + e.getMessage(), e);
+	}
+}
@@ -0,0 +1,906 @@
+package com.nwg.ezpay.repository;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.nwg.ezpay.entity.Transaction;
+import com.nwg.ezpay.repository.aggregate.AggregateRow;
+import com.nwg.ezpay.repository.aggregate.Aggregator;
+import com.nwg.ezpay.repository.aggregate.GroupBy;
+import com.nwg.ezpay.repository.index.DateIndex;
+import com.nwg.ezpay.repository.page.Page;
+import com.nwg.ezpay.repository.page.PageCollector;
+import com.nwg.ezpay.repository.page.PageRequest;
+import com.nwg.ezpay.repository.query.TransactionQuery;
+import com.nwg.ezpay.repository.storage.Amounts;
+import com.nwg.ezpay.repository.storage.ValueDictionary;
+
+/**
+ * This class contains an implementation of the transaction data access object
+ * that keeps the transactions outside of the garbage-collected heap.
+ *
+ * <p>Every transaction is a fixed-width record of {@value #RECORD_SIZE} bytes in
+ * direct {@code ByteBuffer} segments of {@value #SEGMENT_RECORDS} records each.
+ * The ID index is an open-addressing hash table, also held in a direct buffer,
+ * whose slots hold record numbers. The heap only holds the buffers themselves and
+ * the type and status dictionaries, so the GC has nothing to trace per row.
+ * Records are decoded into {@code Transaction} objects only when returned, and
+ * a paged query only reads the ID of the records whose date can put them on its
+ * page. A streaming query decodes each record as the stream reaches it; the
+ * buffers are read with absolute gets, so the record range splits for parallel
+ * streams. Like the other queries, a stream reads the records in place and should
+ * be consumed before the store is next written.</p>
+ *
+ * <p>A {@link TransactionQuery} on several fields is answered by one scan of the
+ * records, testing the one-byte fields of each record first.</p>
+ *
+ * <p>Record layout:</p>
+ *
+ * <pre>
+ * offset  size  field
+ *      0     1  ID length in bytes
+ *      1     1  type code
+ *      2     1  status code
+ *      4     4  hash of the ID
+ *      8     8  amount in minor units
+ *     16     8  date in epoch millis
+ *     24    40  ID, UTF-8
+ * </pre>
+ *
+ * <p>Removals move the last record into the freed one, so record order is not
+ * preserved by deletes. The off-heap memory is released when the DAO becomes
+ * unreachable.</p>
+ *
+ * <p>The store can be shared between threads. Creates, updates and deletes hold
+ * the write lock of a {@link ReentrantReadWriteLock} while they change the
+ * records and the slot table, and every query holds the read lock while it reads
+ * them, so queries run alongside each other but not alongside a write. A stream
+ * only holds the lock while it is created and decodes the records without it,
+ * which is why it should be consumed before the next write.</p>
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public class OffHeapTransactionDAO implements ITransactionDAO {
+
+	static final int RECORD_SIZE = 64;
+	static final int SEGMENT_RECORDS = 1 << 16;
+	static final int MAX_ID_BYTES = 40;
+
+	private static final int ID_LENGTH = 0;
+	private static final int TYPE = 1;
+	private static final int STATUS = 2;
+	private static final int HASH = 4;
+	private static final int AMOUNT = 8;
+	private static final int INSTANT = 16;
+	private static final int ID = 24;
+
+	private static final long NULL_INSTANT = Long.MIN_VALUE;
+
+	private final ValueDictionary types = new ValueDictionary();
+	private final ValueDictionary statuses = new ValueDictionary();
+
+	private ByteBuffer[] segments = new ByteBuffer[0];
+	private int size;
+
+	// Open-addressing hash table of record number + 1, 0 marks an empty slot.
+	private ByteBuffer slots;
+	private int slotMask;
+	// Writes take the write lock, queries the read lock; records and slots are only changed under the write lock.
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	public OffHeapTransactionDAO() {
+		this(1024);
+	}
+
+	/**
+	 * @param expectedRows : number of rows to size the ID index for
+	 */
+	public OffHeapTransactionDAO(int expectedRows) {
+		int capacity = Integer.highestOneBit(Math.max(expectedRows, 512) * 2 - 1) << 1;
+		slots = ByteBuffer.allocateDirect(capacity * 4);
+		slotMask = capacity - 1;
+	}
+
+	/**
+	 * @return {@code int} : number of transactions in the store
+	 */
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return size;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method returns {@code Transaction} with the specified UID.
+	 *
+	 * @param transactionId : UID of the transaction
+	 * @return {@code Transaction} if transaction with {@code transactionId} is present
+	 * otherwise null
+	 */
+	@Override
+	public Transaction getTransactionById(String transactionId) {
+		lock.readLock().lock();
+		try {
+			if (transactionId == null) {
+				return null;
+			}
+			int record = find(transactionId.getBytes(StandardCharsets.UTF_8), transactionId.hashCode());
+			return record < 0 ? null : decode(record);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method returns a {@code List<Transaction>} of {@code type}.
+	 *
+	 * @param type : String either "upi" or "bank"
+	 * @return {@code List<Transaction>} if transactions of type {@code type} is present
+	 * else return empty list.
+	 */
+	@Override
+	public List<Transaction> getTransactionByType(String type) {
+		lock.readLock().lock();
+		try {
+			int code = type == null ? -1 : types.lookup(type);
+			return code < 0 ? new ArrayList<Transaction>() : recordsWithCode(TYPE, (byte) code);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method returns a {@code List<Transaction>} with {@code status} status.
+	 *
+	 * @param status : String either "initiated", "pending", "completed", "failed"
+	 * @return {@code List<Transaction>} if transactions of status {@code status} is present
+	 * else return empty list.
+	 */
+	@Override
+	public List<Transaction> getTransactionByStatus(String status) {
+		lock.readLock().lock();
+		try {
+			int code = status == null ? -1 : statuses.lookup(status);
+			return code < 0 ? new ArrayList<Transaction>() : recordsWithCode(STATUS, (byte) code);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method returns the number of transactions of {@code type}.
+	 *
+	 * @param type : String either "upi" or "bank"
+	 * @return {@code int} : number of transactions of the type
+	 */
+	@Override
+	public int countTransactionByType(String type) {
+		lock.readLock().lock();
+		try {
+			int code = type == null ? -1 : types.lookup(type);
+			return code < 0 ? 0 : countCode(TYPE, (byte) code);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method returns the number of transactions with {@code status} status.
+	 *
+	 * @param status : String either "initiated", "pending", "completed", "failed"
+	 * @return {@code int} : number of transactions with the status
+	 */
+	@Override
+	public int countTransactionByStatus(String status) {
+		lock.readLock().lock();
+		try {
+			int code = status == null ? -1 : statuses.lookup(status);
+			return code < 0 ? 0 : countCode(STATUS, (byte) code);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This code returns a {@code List<Transaction>} performed on the specified date.
+	 * The time of day of {@code date} is ignored.
+	 *
+	 * @param date : Date of transaction
+	 * @return {@code List<Transaction} : List of transactions performed on the specified date.
+	 */
+	@Override
+	public List<Transaction> getTransactionByDate(Date date) {
+		lock.readLock().lock();
+		try {
+			if (date == null) {
+				return new ArrayList<Transaction>();
+			}
+			long day = DateIndex.epochDay(date);
+			return recordsInInstantRange(DateIndex.startOfDay(day), DateIndex.startOfDay(day + 1));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This function returns the {@code List<Transaction>} which were performed between
+	 * {@code startDate} and {@code endDate}. Both days are included and the time of day is ignored.
+	 *
+	 * @param startDate : Start date of the range
+	 * @param endDate   : End date of the range
+	 * @return {@code List<Transaction>} : List of transactions performed in the date range otherwise empty list.
+	 */
+	@Override
+	public List<Transaction> getTransactionByDateRange(Date startDate, Date endDate) {
+		lock.readLock().lock();
+		try {
+			if (startDate == null || endDate == null) {
+				return null;
+			}
+			long firstDay = DateIndex.epochDay(startDate);
+			long lastDay = DateIndex.epochDay(endDate);
+			if (firstDay > lastDay) {
+				return new ArrayList<Transaction>();
+			}
+			return recordsInInstantRange(DateIndex.startOfDay(firstDay), DateIndex.startOfDay(lastDay + 1));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This methods returns the {@code List<Transaction>} with amount within the specified range
+	 *
+	 * @param startAmount : Lower bound of the amount range.
+	 * @param endAmount   : Upper bound of the amount range.
+	 * @return {@code List<Transaction>} : A list of transactions with amount in the specified range
+	 * other empty list.
+	 */
+	@Override
+	public List<Transaction> getTransactionByAmountRange(Double startAmount, Double endAmount) {
+		lock.readLock().lock();
+		try {
+			if (startAmount == null) {
+				return Collections.emptyList();
+			}
+			long low = Amounts.lowerBound(startAmount);
+			long high = Amounts.upperBound(endAmount == null ? Double.MAX_VALUE : endAmount);
+			List<Transaction> transactionsByAmountRange = new ArrayList<Transaction>();
+			for (int record = 0; record < size; record++) {
+				long amount = segment(record).getLong(offset(record) + AMOUNT);
+				if (amount >= low && amount <= high) {
+					transactionsByAmountRange.add(decode(record));
+				}
+			}
+			return transactionsByAmountRange;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method returns one page of the transactions of {@code type}.
+	 *
+	 * @param type        : String either "upi" or "bank"
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : the page of transactions of the type
+	 */
+	@Override
+	public Page<Transaction> getTransactionByType(String type, PageRequest pageRequest) {
+		lock.readLock().lock();
+		try {
+			int code = type == null ? -1 : types.lookup(type);
+			return code < 0 ? Page.<Transaction>empty() : pageOfRecords(pageRequest, record -> field(record, TYPE) == (byte) code);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method returns one page of the transactions with {@code status} status.
+	 *
+	 * @param status      : String either "initiated", "pending", "completed", "failed"
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : the page of transactions with the status
+	 */
+	@Override
+	public Page<Transaction> getTransactionByStatus(String status, PageRequest pageRequest) {
+		lock.readLock().lock();
+		try {
+			int code = status == null ? -1 : statuses.lookup(status);
+			return code < 0 ? Page.<Transaction>empty() : pageOfRecords(pageRequest, record -> field(record, STATUS) == (byte) code);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method returns one page of the transactions performed on the specified date.
+	 *
+	 * @param date        : Date of transaction
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : the page of transactions performed on the date
+	 */
+	@Override
+	public Page<Transaction> getTransactionByDate(Date date, PageRequest pageRequest) {
+		return date == null ? Page.<Transaction>empty() : getTransactionByDateRange(date, date, pageRequest);
+	}
+
+	/**
+	 * This method returns one page of the transactions performed between
+	 * {@code startDate} and {@code endDate}, both days included.
+	 *
+	 * @param startDate   : Start date of the range
+	 * @param endDate     : End date of the range
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : the page of transactions performed in the date range
+	 */
+	@Override
+	public Page<Transaction> getTransactionByDateRange(Date startDate, Date endDate, PageRequest pageRequest) {
+		lock.readLock().lock();
+		try {
+			if (startDate == null || endDate == null) {
+				return Page.empty();
+			}
+			long fromMillis = DateIndex.startOfDay(DateIndex.epochDay(startDate));
+			long toMillis = DateIndex.startOfDay(DateIndex.epochDay(endDate) + 1);
+			return pageOfRecords(pageRequest, record -> {
+				long instant = segment(record).getLong(offset(record) + INSTANT);
+				return instant >= fromMillis && instant < toMillis;
+			});
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method returns one page of the transactions with amount within the specified range.
+	 *
+	 * @param startAmount : Lower bound of the amount range.
+	 * @param endAmount   : Upper bound of the amount range, or null for none.
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : the page of transactions with amount in the range
+	 */
+	@Override
+	public Page<Transaction> getTransactionByAmountRange(Double startAmount, Double endAmount, PageRequest pageRequest) {
+		lock.readLock().lock();
+		try {
+			if (startAmount == null) {
+				return Page.empty();
+			}
+			long low = Amounts.lowerBound(startAmount);
+			long high = Amounts.upperBound(endAmount == null ? Double.MAX_VALUE : endAmount);
+			return pageOfRecords(pageRequest, record -> {
+				long amount = segment(record).getLong(offset(record) + AMOUNT);
+				return amount >= low && amount <= high;
+			});
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method streams the transactions of {@code type}.
+	 *
+	 * @param type : String either "upi" or "bank"
+	 * @return {@code Stream<Transaction>} : the transactions of the type, decoded as the stream reaches them
+	 */
+	@Override
+	public Stream<Transaction> streamTransactionByType(String type) {
+		lock.readLock().lock();
+		try {
+			int code = type == null ? -1 : types.lookup(type);
+			return code < 0 ? Stream.<Transaction>empty() : streamOfRecords(record -> field(record, TYPE) == (byte) code);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method streams the transactions with {@code status} status.
+	 *
+	 * @param status : String either "initiated", "pending", "completed", "failed"
+	 * @return {@code Stream<Transaction>} : the transactions with the status, decoded as the stream reaches them
+	 */
+	@Override
+	public Stream<Transaction> streamTransactionByStatus(String status) {
+		lock.readLock().lock();
+		try {
+			int code = status == null ? -1 : statuses.lookup(status);
+			return code < 0 ? Stream.<Transaction>empty() : streamOfRecords(record -> field(record, STATUS) == (byte) code);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method streams the transactions performed on the specified date.
+	 *
+	 * @param date : Date of transaction
+	 * @return {@code Stream<Transaction>} : the transactions performed on the date, decoded as the stream reaches them
+	 */
+	@Override
+	public Stream<Transaction> streamTransactionByDate(Date date) {
+		return date == null ? Stream.<Transaction>empty() : streamTransactionByDateRange(date, date);
+	}
+
+	/**
+	 * This method streams the transactions performed between {@code startDate} and
+	 * {@code endDate}, both days included.
+	 *
+	 * @param startDate : Start date of the range
+	 * @param endDate   : End date of the range
+	 * @return {@code Stream<Transaction>} : the transactions performed in the date range, decoded as the stream
+	 * reaches them
+	 */
+	@Override
+	public Stream<Transaction> streamTransactionByDateRange(Date startDate, Date endDate) {
+		lock.readLock().lock();
+		try {
+			if (startDate == null || endDate == null) {
+				return Stream.empty();
+			}
+			long fromMillis = DateIndex.startOfDay(DateIndex.epochDay(startDate));
+			long toMillis = DateIndex.startOfDay(DateIndex.epochDay(endDate) + 1);
+			return streamOfRecords(record -> {
+				long instant = segment(record).getLong(offset(record) + INSTANT);
+				return instant >= fromMillis && instant < toMillis;
+			});
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method streams the transactions with amount within the specified range.
+	 *
+	 * @param startAmount : Lower bound of the amount range.
+	 * @param endAmount   : Upper bound of the amount range, or null for none.
+	 * @return {@code Stream<Transaction>} : the transactions with amount in the range, decoded as the stream
+	 * reaches them
+	 */
+	@Override
+	public Stream<Transaction> streamTransactionByAmountRange(Double startAmount, Double endAmount) {
+		lock.readLock().lock();
+		try {
+			if (startAmount == null) {
+				return Stream.empty();
+			}
+			long low = Amounts.lowerBound(startAmount);
+			long high = Amounts.upperBound(endAmount == null ? Double.MAX_VALUE : endAmount);
+			return streamOfRecords(record -> {
+				long amount = segment(record).getLong(offset(record) + AMOUNT);
+				return amount >= low && amount <= high;
+			});
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method returns the transactions meeting every filter of {@code query}.
+	 * There are no indexes to choose from, so it scans the records once and tests
+	 * each one on the one-byte type and status codes before the dates and amounts.
+	 *
+	 * @param query : filters the transactions must meet
+	 * @return {@code List<Transaction>} : the matching transactions in date and then ID order
+	 */
+	@Override
+	public List<Transaction> getTransactionByQuery(TransactionQuery query) {
+		lock.readLock().lock();
+		try {
+			List<Transaction> transactions = new ArrayList<Transaction>();
+			IntPredicate matches = query == null || query.isEmpty() ? null : recordMatcher(query);
+			if (matches == null) {
+				return transactions;
+			}
+			for (int record = 0; record < size; record++) {
+				if (matches.test(record)) {
+					transactions.add(decode(record));
+				}
+			}
+			transactions.sort(TransactionQuery.RESULT_ORDER);
+			return transactions;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method aggregates the transactions meeting every filter of {@code query}
+	 * per group. It scans the records once and feeds the type and status codes, date
+	 * and amount of each matching record to the aggregator straight from the buffer,
+	 * so no {@code Transaction} is decoded.
+	 *
+	 * @param query   : filters the transactions must meet
+	 * @param groupBy : keys to group the transactions on
+	 * @return {@code List<AggregateRow>} : one row per group
+	 */
+	@Override
+	public List<AggregateRow> aggregateTransactions(TransactionQuery query, Set<GroupBy> groupBy) {
+		lock.readLock().lock();
+		try {
+			IntPredicate matches = query == null || query.isEmpty() ? null : recordMatcher(query);
+			if (matches == null) {
+				return new ArrayList<AggregateRow>();
+			}
+			Aggregator aggregator = new Aggregator(groupBy, types, statuses);
+			for (int record = 0; record < size; record++) {
+				if (matches.test(record)) {
+					ByteBuffer segment = segment(record);
+					int offset = offset(record);
+					aggregator.add(segment.get(offset + TYPE), segment.get(offset + STATUS), segment.getLong(offset + INSTANT),
+							segment.getLong(offset + AMOUNT));
+				}
+			}
+			return aggregator.rows();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @param transaction : {@code Transaction} object to insert into the store.
+	 * @return {@code Transaction} : The transaction object that was created. Duplicate Transaction ID will throw error otherwise null.
+	 * @throws IllegalArgumentException if the ID is already present, is {@code null} or is longer than
+	 * {@value #MAX_ID_BYTES} bytes.
+	 */
+	@Override
+	public Transaction createTransaction(Transaction transaction) {
+		lock.writeLock().lock();
+		try {
+			if (transaction == null) {
+				return null;
+			}
+			String transactionId = transaction.getTransactionId();
+			if (transactionId == null) {
+				throw new IllegalArgumentException("Transaction ID can't be null.");
+			}
+			byte[] id = transactionId.getBytes(StandardCharsets.UTF_8);
+			if (id.length > MAX_ID_BYTES) {
+				throw new IllegalArgumentException("Transaction ID " + transactionId + " is longer than " + MAX_ID_BYTES + " bytes.");
+			}
+			int hash = transactionId.hashCode();
+			if (find(id, hash) >= 0) {
+				throw new IllegalArgumentException("Transaction with ID " + transactionId + " already exists.");
+			}
+			if (size == segments.length * SEGMENT_RECORDS) {
+				addSegment();
+			}
+			if ((size + 1) * 2 > slotMask + 1) {
+				resizeSlots();
+			}
+			int record = size++;
+			ByteBuffer segment = segment(record);
+			int offset = offset(record);
+			segment.put(offset + ID_LENGTH, (byte) id.length);
+			segment.putInt(offset + HASH, hash);
+			for (int i = 0; i < id.length; i++) {
+				segment.put(offset + ID + i, id[i]);
+			}
+			write(record, transaction);
+			insertSlot(record, hash);
+			return transaction;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * This function deletes a transaction with the {@code transactionId} UID from the store.
+	 *
+	 * @param transactionId : Transaction
+	 * @return {@code boolean} : Returns true if deletion successful otherwise false;
+	 */
+	@Override
+	public boolean deleteTransaction(String transactionId) {
+		lock.writeLock().lock();
+		try {
+			if (transactionId == null) {
+				return false;
+			}
+			int hash = transactionId.hashCode();
+			int slot = findSlot(transactionId.getBytes(StandardCharsets.UTF_8), hash);
+			if (slot < 0) {
+				return false;
+			}
+			int record = slots.getInt(slot * 4) - 1;
+			removeSlot(slot);
+			int last = --size;
+			if (record != last) {
+				// Move the last record into the freed one and point its slot at the new position.
+				ByteBuffer from = segment(last);
+				ByteBuffer to = segment(record);
+				int fromOffset = offset(last);
+				int toOffset = offset(record);
+				for (int i = 0; i < RECORD_SIZE; i += 8) {
+					to.putLong(toOffset + i, from.getLong(fromOffset + i));
+				}
+				int movedSlot = slotOf(last, to.getInt(toOffset + HASH));
+				slots.putInt(movedSlot * 4, record + 1);
+			}
+			return true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * This methods takes a {@code Transaction} object and updates the transaction
+	 * with the same UID in the store.
+	 *
+	 * @param transaction : {@code Transaction} object which holds updated data.
+	 * @return {@code Transaction} : Returns the updated transaction object if transaction present in
+	 * the store otherwise null
+	 */
+	@Override
+	public Transaction updateTransaction(Transaction transaction) {
+		lock.writeLock().lock();
+		try {
+			if (transaction == null || transaction.getTransactionId() == null) {
+				return null;
+			}
+			String transactionId = transaction.getTransactionId();
+			int record = find(transactionId.getBytes(StandardCharsets.UTF_8), transactionId.hashCode());
+			if (record < 0) {
+				return null;
+			}
+			write(record, transaction);
+			return decode(record);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void write(int record, Transaction transaction) {
+		ByteBuffer segment = segment(record);
+		int offset = offset(record);
+		segment.put(offset + TYPE, types.encode(transaction.getType()));
+		segment.put(offset + STATUS, statuses.encode(transaction.getStatus()));
+		segment.putLong(offset + AMOUNT, Amounts.toMinorUnits(transaction.getAmount()));
+		segment.putLong(offset + INSTANT, transaction.getDate() == null ? NULL_INSTANT : transaction.getDate().getTime());
+	}
+
+	/**
+	 * Decodes a record into the {@code Transaction} returned to callers.
+	 */
+	private Transaction decode(int record) {
+		ByteBuffer segment = segment(record);
+		int offset = offset(record);
+		long instant = segment.getLong(offset + INSTANT);
+		return new Transaction(idOf(record), types.decode(segment.get(offset + TYPE)),
+				Amounts.fromMinorUnits(segment.getLong(offset + AMOUNT)), statuses.decode(segment.get(offset + STATUS)),
+				instant == NULL_INSTANT ? null : new Date(instant));
+	}
+
+	private String idOf(int record) {
+		ByteBuffer segment = segment(record);
+		int offset = offset(record);
+		byte[] id = new byte[segment.get(offset + ID_LENGTH)];
+		for (int i = 0; i < id.length; i++) {
+			id[i] = segment.get(offset + ID + i);
+		}
+		return new String(id, StandardCharsets.UTF_8);
+	}
+
+	private byte field(int record, int field) {
+		return segment(record).get(offset(record) + field);
+	}
+
+	/**
+	 * @return the test of a record against every filter of the query, cheapest first, or null if no record can match
+	 */
+	private IntPredicate recordMatcher(TransactionQuery query) {
+		IntPredicate matches = record -> true;
+		if (query.getType() != null) {
+			int code = types.lookup(query.getType());
+			if (code < 0) {
+				return null;
+			}
+			matches = matches.and(record -> field(record, TYPE) == (byte) code);
+		}
+		if (query.getStatus() != null) {
+			int code = statuses.lookup(query.getStatus());
+			if (code < 0) {
+				return null;
+			}
+			matches = matches.and(record -> field(record, STATUS) == (byte) code);
+		}
+		if (query.hasDateRange()) {
+			long fromMillis = query.getFromMillis();
+			long toMillis = query.getToMillis();
+			matches = matches.and(record -> {
+				long instant = segment(record).getLong(offset(record) + INSTANT);
+				return instant != NULL_INSTANT && instant >= fromMillis && instant < toMillis;
+			});
+		}
+		if (query.hasAmountRange()) {
+			long low = Amounts.lowerBound(query.lowestAmount());
+			long high = Amounts.upperBound(query.highestAmount());
+			matches = matches.and(record -> {
+				long amount = segment(record).getLong(offset(record) + AMOUNT);
+				return amount != Amounts.NULL_AMOUNT && amount >= low && amount <= high;
+			});
+		}
+		return matches;
+	}
+
+	/**
+	 * Scans the records once for those matching {@code matches}, reads the ID of
+	 * the ones whose date can put them on the requested page and decodes only the
+	 * ones on it.
+	 */
+	private Page<Transaction> pageOfRecords(PageRequest pageRequest, IntPredicate matches) {
+		PageCollector<Integer> collector = new PageCollector<Integer>(pageRequest);
+		for (int record = 0; record < size; record++) {
+			long instant = segment(record).getLong(offset(record) + INSTANT);
+			if (instant != NULL_INSTANT && collector.accepts(instant) && matches.test(record)) {
+				collector.offer(instant, idOf(record), record);
+			}
+		}
+		return collector.toPage(this::decode);
+	}
+
+	/**
+	 * Streams the records matching {@code matches}, decoding each one only when the
+	 * stream reaches it.
+	 */
+	private Stream<Transaction> streamOfRecords(IntPredicate matches) {
+		return IntStream.range(0, size).filter(matches).mapToObj(this::decode);
+	}
+
+	private List<Transaction> recordsWithCode(int field, byte code) {
+		List<Transaction> transactions = new ArrayList<Transaction>();
+		for (int record = 0; record < size; record++) {
+			if (segment(record).get(offset(record) + field) == code) {
+				transactions.add(decode(record));
+			}
+		}
+		return transactions;
+	}
+
+	private int countCode(int field, byte code) {
+		int count = 0;
+		for (int record = 0; record < size; record++) {
+			if (segment(record).get(offset(record) + field) == code) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private List<Transaction> recordsInInstantRange(long fromMillis, long toMillis) {
+		List<Transaction> transactions = new ArrayList<Transaction>();
+		for (int record = 0; record < size; record++) {
+			long instant = segment(record).getLong(offset(record) + INSTANT);
+			if (instant >= fromMillis && instant < toMillis) {
+				transactions.add(decode(record));
+			}
+		}
+		return transactions;
+	}
+
+	private ByteBuffer segment(int record) {
+		return segments[record / SEGMENT_RECORDS];
+	}
+
+	private static int offset(int record) {
+		return (record % SEGMENT_RECORDS) * RECORD_SIZE;
+	}
+
+	private void addSegment() {
+		ByteBuffer[] grown = new ByteBuffer[segments.length + 1];
+		System.arraycopy(segments, 0, grown, 0, segments.length);
+		grown[segments.length] = ByteBuffer.allocateDirect(SEGMENT_RECORDS * RECORD_SIZE);
+		segments = grown;
+	}
+
+	// --- ID index ---
+
+	private int find(byte[] id, int hash) {
+		int slot = findSlot(id, hash);
+		return slot < 0 ? -1 : slots.getInt(slot * 4) - 1;
+	}
+
+	/**
+	 * @return the slot holding the record with the supplied ID, or -1
+	 */
+	private int findSlot(byte[] id, int hash) {
+		for (int slot = home(hash); ; slot = (slot + 1) & slotMask) {
+			int entry = slots.getInt(slot * 4);
+			if (entry == 0) {
+				return -1;
+			}
+			if (idEquals(entry - 1, id, hash)) {
+				return slot;
+			}
+		}
+	}
+
+	/**
+	 * @return the slot that points at {@code record}
+	 */
+	private int slotOf(int record, int hash) {
+		int slot = home(hash);
+		while (slots.getInt(slot * 4) != record + 1) {
+			slot = (slot + 1) & slotMask;
+		}
+		return slot;
+	}
+
+	private void insertSlot(int record, int hash) {
+		int slot = home(hash);
+		while (slots.getInt(slot * 4) != 0) {
+			slot = (slot + 1) & slotMask;
+		}
+		slots.putInt(slot * 4, record + 1);
+	}
+
+	/**
+	 * Empties a slot and shifts back the entries of the same probe run, so lookups
+	 * never need tombstones.
+	 */
+	private void removeSlot(int slot) {
+		int hole = slot;
+		for (int next = (hole + 1) & slotMask; ; next = (next + 1) & slotMask) {
+			int entry = slots.getInt(next * 4);
+			if (entry == 0) {
+				break;
+			}
+			int home = home(recordHash(entry - 1));
+			// Move the entry into the hole unless its home lies cyclically in (hole, next].
+			boolean homeAfterHole = hole <= next ? (home > hole && home <= next) : (home > hole || home <= next);
+			if (!homeAfterHole) {
+				slots.putInt(hole * 4, entry);
+				hole = next;
+			}
+		}
+		slots.putInt(hole * 4, 0);
+	}
+
+	private void resizeSlots() {
+		int capacity = (slotMask + 1) * 2;
+		slots = ByteBuffer.allocateDirect(capacity * 4);
+		slotMask = capacity - 1;
+		for (int record = 0; record < size; record++) {
+			insertSlot(record, recordHash(record));
+		}
+	}
+
+	private int home(int hash) {
+		int mixed = hash * 0x9E3779B9;
+		return (mixed ^ (mixed >>> 16)) & slotMask;
+	}
+
+	private int recordHash(int record) {
+		return segment(record).getInt(offset(record) + HASH);
+	}
+
+	private boolean idEquals(int record, byte[] id, int hash) {
+		ByteBuffer segment = segment(record);
+		int offset = offset(record);
+		if (segment.getInt(offset + HASH) != hash || segment.get(offset + ID_LENGTH) != id.length) {
+			return false;
+		}
+		for (int i = 0; i < id.length; i++) {
+			if (segment.get(offset + ID + i) != id[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,812 @@
+package com.nwg.ezpay.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.nwg.ezpay.entity.Transaction;
+import com.nwg.ezpay.repository.aggregate.AggregateRow;
+import com.nwg.ezpay.repository.aggregate.Aggregator;
+import com.nwg.ezpay.repository.aggregate.GroupBy;
+import com.nwg.ezpay.repository.index.DateIndex;
+import com.nwg.ezpay.repository.index.PersistentHashMap;
+import com.nwg.ezpay.repository.index.PersistentSortedMap;
+import com.nwg.ezpay.repository.page.Page;
+import com.nwg.ezpay.repository.page.PageCollector;
+import com.nwg.ezpay.repository.page.PageRequest;
+import com.nwg.ezpay.repository.query.QueryPlan;
+import com.nwg.ezpay.repository.query.QueryPlan.Access;
+import com.nwg.ezpay.repository.query.QueryPlanner;
+import com.nwg.ezpay.repository.query.TransactionQuery;
+import com.nwg.ezpay.repository.storage.Amounts;
+
+/**
+ * This class contains an implementation of the transaction data access object
+ * built from persistent (immutable) data structures.
+ *
+ * <p>The whole table is one immutable {@link Snapshot}: the rows in a
+ * {@link PersistentHashMap} keyed on the transaction ID, the date and amount
+ * indexes in {@link PersistentSortedMap}s, and the row counts per type and status.
+ * It is published through a single {@link AtomicReference}. A write builds the
+ * next snapshot from the current one, sharing every node it doesn't change, and
+ * compare-and-sets it into place, retrying if another write got there first.
+ * Readers take no lock and never wait: {@link #snapshot()} is one volatile read,
+ * and the snapshot it returns never changes, so exports, caches and long scans
+ * can keep it for as long as they like.</p>
+ *
+ * <p>Rows are copied when they are stored and copied again when returned, so
+ * callers changing a {@code Transaction} have no effect on the store until they
+ * pass it to {@link #updateTransaction(Transaction)}. Type and status queries
+ * return rows in insertion order; they scan the rows, as the columnar store does.</p>
+ *
+ * <p>Streams read the snapshot current when they are opened, so they need no
+ * closing and see none of the writes made while they are consumed. Date and amount
+ * streams walk the ordered indexes lazily; type and status streams walk the rows in
+ * the hash order of their IDs rather than insertion order, which lets a parallel
+ * stream split the tree between threads.</p>
+ *
+ * <p>A {@link TransactionQuery} walks the date or amount index when the
+ * {@link QueryPlanner} expects it to give fewer rows than the whole snapshot, and
+ * checks the other filters on each row it reads. There are no type or status
+ * indexes, only counts, so filters on those alone scan the rows.</p>
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public class PersistentTransactionDAO implements ITransactionDAO {
+
+	private final AtomicReference<Snapshot> root = new AtomicReference<Snapshot>(Snapshot.EMPTY);
+
+	/**
+	 * A stored transaction and its insertion sequence number, which an update keeps.
+	 */
+	private static final class Row {
+
+		private final long sequence;
+		private final Transaction transaction;
+
+		Row(long sequence, Transaction transaction) {
+			this.sequence = sequence;
+			this.transaction = transaction;
+		}
+
+		OrderKey instantKey() {
+			Date date = transaction.getDate();
+			return date == null ? null : new OrderKey(date.getTime(), sequence);
+		}
+
+		OrderKey amountKey() {
+			Double amount = transaction.getAmount();
+			return amount == null ? null : new OrderKey(Amounts.toMinorUnits(amount), sequence);
+		}
+	}
+
+	/**
+	 * Key of an ordered index: the indexed value, then the row's sequence number.
+	 */
+	private static final class OrderKey implements Comparable<OrderKey> {
+
+		private final long value;
+		private final long sequence;
+
+		OrderKey(long value, long sequence) {
+			this.value = value;
+			this.sequence = sequence;
+		}
+
+		@Override
+		public int compareTo(OrderKey other) {
+			int byValue = Long.compare(value, other.value);
+			return byValue != 0 ? byValue : Long.compare(sequence, other.sequence);
+		}
+	}
+
+	/**
+	 * An immutable state of the store. Every query method gives the same answer for
+	 * as long as the snapshot is kept, whatever is written to the store meanwhile.
+	 */
+	public static final class Snapshot {
+
+		private static final Snapshot EMPTY = new Snapshot(PersistentHashMap.<String, Row>empty(),
+				PersistentSortedMap.<OrderKey, Row>empty(), PersistentSortedMap.<OrderKey, Row>empty(),
+				PersistentHashMap.<String, Integer>empty(), PersistentHashMap.<String, Integer>empty(), 0);
+
+		private final PersistentHashMap<String, Row> rows;
+		private final PersistentSortedMap<OrderKey, Row> instants;
+		private final PersistentSortedMap<OrderKey, Row> amounts;
+		private final PersistentHashMap<String, Integer> typeCounts;
+		private final PersistentHashMap<String, Integer> statusCounts;
+		private final long lastSequence;
+
+		private Snapshot(PersistentHashMap<String, Row> rows, PersistentSortedMap<OrderKey, Row> instants,
+				PersistentSortedMap<OrderKey, Row> amounts, PersistentHashMap<String, Integer> typeCounts,
+				PersistentHashMap<String, Integer> statusCounts, long lastSequence) {
+			this.rows = rows;
+			this.instants = instants;
+			this.amounts = amounts;
+			this.typeCounts = typeCounts;
+			this.statusCounts = statusCounts;
+			this.lastSequence = lastSequence;
+		}
+
+		/**
+		 * @return {@code int} : number of transactions in the snapshot
+		 */
+		public int size() {
+			return rows.size();
+		}
+
+		/**
+		 * @param transactionId : UID of the transaction
+		 * @return {@code Transaction} : a copy of the transaction, or null if there is none with the ID
+		 */
+		public Transaction getTransactionById(String transactionId) {
+			Row row = rows.get(transactionId);
+			return row == null ? null : copy(row.transaction);
+		}
+
+		/**
+		 * @return {@code List<Transaction>} : transactions of the type, in insertion order
+		 */
+		public List<Transaction> getTransactionByType(String type) {
+			List<Row> matching = new ArrayList<Row>();
+			if (type != null) {
+				rows.forEach((transactionId, row) -> {
+					if (type.equals(row.transaction.getType())) {
+						matching.add(row);
+					}
+				});
+			}
+			return inInsertionOrder(matching);
+		}
+
+		/**
+		 * @return {@code List<Transaction>} : transactions with the status, in insertion order
+		 */
+		public List<Transaction> getTransactionByStatus(String status) {
+			List<Row> matching = new ArrayList<Row>();
+			if (status != null) {
+				rows.forEach((transactionId, row) -> {
+					if (status.equals(row.transaction.getStatus())) {
+						matching.add(row);
+					}
+				});
+			}
+			return inInsertionOrder(matching);
+		}
+
+		public int countTransactionByType(String type) {
+			Integer count = type == null ? null : typeCounts.get(type);
+			return count == null ? 0 : count;
+		}
+
+		public int countTransactionByStatus(String status) {
+			Integer count = status == null ? null : statusCounts.get(status);
+			return count == null ? 0 : count;
+		}
+
+		/**
+		 * @param fromMillis : start of the range, inclusive
+		 * @param toMillis   : end of the range, exclusive
+		 * @return {@code List<Transaction>} : transactions dated in the range, in date order
+		 */
+		public List<Transaction> getTransactionByInstantRange(long fromMillis, long toMillis) {
+			List<Transaction> transactions = new ArrayList<Transaction>();
+			if (fromMillis < toMillis) {
+				instants.forEachInRange(new OrderKey(fromMillis, Long.MIN_VALUE), new OrderKey(toMillis - 1, Long.MAX_VALUE),
+						(key, row) -> transactions.add(copy(row.transaction)));
+			}
+			return transactions;
+		}
+
+		/**
+		 * @param lowMinorUnits  : lower bound of the range in minor units, inclusive
+		 * @param highMinorUnits : upper bound of the range in minor units, inclusive
+		 * @return {@code List<Transaction>} : transactions with an amount in the range, in ascending amount order
+		 */
+		public List<Transaction> getTransactionByAmountRange(long lowMinorUnits, long highMinorUnits) {
+			List<Transaction> transactions = new ArrayList<Transaction>();
+			amounts.forEachInRange(new OrderKey(lowMinorUnits, Long.MIN_VALUE), new OrderKey(highMinorUnits, Long.MAX_VALUE),
+					(key, row) -> transactions.add(copy(row.transaction)));
+			return transactions;
+		}
+
+		/**
+		 * @return {@code Stream<Transaction>} : transactions of the type, in no particular order, read lazily
+		 */
+		public Stream<Transaction> streamTransactionByType(String type) {
+			return StreamSupport.stream(rows.valueSpliterator(), false)
+					.filter(row -> type.equals(row.transaction.getType()))
+					.map(row -> copy(row.transaction));
+		}
+
+		/**
+		 * @return {@code Stream<Transaction>} : transactions with the status, in no particular order, read lazily
+		 */
+		public Stream<Transaction> streamTransactionByStatus(String status) {
+			return StreamSupport.stream(rows.valueSpliterator(), false)
+					.filter(row -> status.equals(row.transaction.getStatus()))
+					.map(row -> copy(row.transaction));
+		}
+
+		/**
+		 * @param fromMillis : start of the range, inclusive
+		 * @param toMillis   : end of the range, exclusive
+		 * @return {@code Stream<Transaction>} : transactions dated in the range, in date order, read lazily
+		 */
+		public Stream<Transaction> streamTransactionByInstantRange(long fromMillis, long toMillis) {
+			if (fromMillis >= toMillis) {
+				return Stream.empty();
+			}
+			return inOrder(instants.valuesInRange(new OrderKey(fromMillis, Long.MIN_VALUE),
+					new OrderKey(toMillis - 1, Long.MAX_VALUE)));
+		}
+
+		/**
+		 * @param lowMinorUnits  : lower bound of the range in minor units, inclusive
+		 * @param highMinorUnits : upper bound of the range in minor units, inclusive
+		 * @return {@code Stream<Transaction>} : transactions with an amount in the range, in ascending amount order,
+		 * read lazily
+		 */
+		public Stream<Transaction> streamTransactionByAmountRange(long lowMinorUnits, long highMinorUnits) {
+			return inOrder(amounts.valuesInRange(new OrderKey(lowMinorUnits, Long.MIN_VALUE),
+					new OrderKey(highMinorUnits, Long.MAX_VALUE)));
+		}
+
+		private static Stream<Transaction> inOrder(Iterator<Row> rows) {
+			return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED | Spliterator.IMMUTABLE),
+					false).map(row -> copy(row.transaction));
+		}
+
+		/**
+		 * Reads the index the planner picks for the query and keeps the rows that
+		 * meet the whole query.
+		 *
+		 * @param query : filters the transactions must meet
+		 * @return {@code List<Transaction>} : matching transactions, in {@link TransactionQuery#RESULT_ORDER}
+		 */
+		public List<Transaction> getTransactionByQuery(TransactionQuery query) {
+			List<Transaction> transactions = new ArrayList<Transaction>();
+			forEachMatching(query, transaction -> transactions.add(copy(transaction)));
+			transactions.sort(TransactionQuery.RESULT_ORDER);
+			return transactions;
+		}
+
+		/**
+		 * Aggregates the rows meeting the query, read in place from the index the
+		 * planner picks; the snapshot is immutable, so nothing is copied.
+		 *
+		 * @param query   : filters the transactions must meet
+		 * @param groupBy : keys to group on
+		 * @return {@code List<AggregateRow>} : aggregates of the matching transactions per group
+		 */
+		public List<AggregateRow> aggregate(TransactionQuery query, Set<GroupBy> groupBy) {
+			Aggregator aggregator = new Aggregator(groupBy);
+			forEachMatching(query, aggregator::add);
+			return aggregator.rows();
+		}
+
+		/**
+		 * Calls {@code action} with the stored transaction of every row meeting the
+		 * query, which it must not modify.
+		 */
+		private void forEachMatching(TransactionQuery query, Consumer<Transaction> action) {
+			if (query.isEmpty()) {
+				return;
+			}
+			Access access = plan(query).getAccess();
+			if (access == Access.FULL_SCAN) {
+				rows.forEach((transactionId, row) -> {
+					if (query.matches(row.transaction)) {
+						action.accept(row.transaction);
+					}
+				});
+			} else {
+				for (Iterator<Row> candidates = candidates(access, query); candidates.hasNext();) {
+					Row row = candidates.next();
+					if (query.matches(row.transaction)) {
+						action.accept(row.transaction);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Ranges are estimated by counting their index entries.
+		 *
+		 * @param query : filters the transactions must meet
+		 * @return {@code QueryPlan} : the index the query is read from
+		 */
+		public QueryPlan plan(TransactionQuery query) {
+			return QueryPlanner.plan(query, rows.size(), EnumSet.of(Access.DATE_INDEX, Access.AMOUNT_INDEX),
+					(access, limit) -> QueryPlanner.countUpTo(candidates(access, query), limit));
+		}
+
+		private Iterator<Row> candidates(Access access, TransactionQuery query) {
+			if (access == Access.DATE_INDEX) {
+				return instants.valuesInRange(new OrderKey(query.getFromMillis(), Long.MIN_VALUE),
+						new OrderKey(query.getToMillis() - 1, Long.MAX_VALUE));
+			}
+			return amounts.valuesInRange(new OrderKey(Amounts.lowerBound(query.lowestAmount()), Long.MIN_VALUE),
+					new OrderKey(Amounts.upperBound(query.highestAmount()), Long.MAX_VALUE));
+		}
+
+		/**
+		 * Walks the date index from the requested position and stops as soon as the
+		 * page is complete.
+		 *
+		 * @param fromMillis  : start of the range, inclusive
+		 * @param toMillis    : end of the range, exclusive
+		 * @param filter      : condition the transactions on the page must meet
+		 * @param pageRequest : size and position of the page
+		 * @return {@code Page<Transaction>} : one page of the matching transactions dated in the range
+		 */
+		public Page<Transaction> getTransactionPage(long fromMillis, long toMillis, Predicate<Transaction> filter,
+				PageRequest pageRequest) {
+			PageCollector<Transaction> collector = new PageCollector<Transaction>(pageRequest);
+			long from = pageRequest.isFirst() ? fromMillis : Math.max(fromMillis, pageRequest.getAfterMillis());
+			if (from < toMillis) {
+				instants.forEachInRangeWhile(new OrderKey(from, Long.MIN_VALUE), new OrderKey(toMillis - 1, Long.MAX_VALUE),
+						(key, row) -> {
+							if (collector.isDone(key.value)) {
+								return false;
+							}
+							if (filter.test(row.transaction)) {
+								collector.offer(key.value, row.transaction.getTransactionId(), row.transaction);
+							}
+							return true;
+						});
+			}
+			return collector.toPage(PersistentTransactionDAO::copy);
+		}
+
+		/**
+		 * @return {@code List<Transaction>} : every transaction, in insertion order
+		 */
+		public List<Transaction> getAllTransactions() {
+			List<Row> all = new ArrayList<Row>(rows.size());
+			rows.forEach((transactionId, row) -> all.add(row));
+			return inInsertionOrder(all);
+		}
+
+		private Snapshot with(Row removed, Row added) {
+			PersistentHashMap<String, Row> newRows = rows;
+			PersistentSortedMap<OrderKey, Row> newInstants = instants;
+			PersistentSortedMap<OrderKey, Row> newAmounts = amounts;
+			PersistentHashMap<String, Integer> newTypeCounts = typeCounts;
+			PersistentHashMap<String, Integer> newStatusCounts = statusCounts;
+			if (removed != null) {
+				newRows = newRows.remove(removed.transaction.getTransactionId());
+				newInstants = removeKey(newInstants, removed.instantKey());
+				newAmounts = removeKey(newAmounts, removed.amountKey());
+				newTypeCounts = addToCount(newTypeCounts, removed.transaction.getType(), -1);
+				newStatusCounts = addToCount(newStatusCounts, removed.transaction.getStatus(), -1);
+			}
+			if (added != null) {
+				newRows = newRows.put(added.transaction.getTransactionId(), added);
+				newInstants = putKey(newInstants, added.instantKey(), added);
+				newAmounts = putKey(newAmounts, added.amountKey(), added);
+				newTypeCounts = addToCount(newTypeCounts, added.transaction.getType(), 1);
+				newStatusCounts = addToCount(newStatusCounts, added.transaction.getStatus(), 1);
+			}
+			long sequence = added == null ? lastSequence : Math.max(lastSequence, added.sequence);
+			return new Snapshot(newRows, newInstants, newAmounts, newTypeCounts, newStatusCounts, sequence);
+		}
+
+		private static PersistentSortedMap<OrderKey, Row> putKey(PersistentSortedMap<OrderKey, Row> index, OrderKey key, Row row) {
+			return key == null ? index : index.put(key, row);
+		}
+
+		private static PersistentSortedMap<OrderKey, Row> removeKey(PersistentSortedMap<OrderKey, Row> index, OrderKey key) {
+			return key == null ? index : index.remove(key);
+		}
+
+		private static PersistentHashMap<String, Integer> addToCount(PersistentHashMap<String, Integer> counts, String value, int delta) {
+			if (value == null) {
+				return counts;
+			}
+			Integer count = counts.get(value);
+			int newCount = (count == null ? 0 : count) + delta;
+			return newCount == 0 ? counts.remove(value) : counts.put(value, newCount);
+		}
+
+		private static List<Transaction> inInsertionOrder(List<Row> matching) {
+			Collections.sort(matching, Comparator.comparingLong(row -> row.sequence));
+			List<Transaction> transactions = new ArrayList<Transaction>(matching.size());
+			for (Row row : matching) {
+				transactions.add(copy(row.transaction));
+			}
+			return transactions;
+		}
+	}
+
+	/**
+	 * @return {@code Snapshot} : the current state of the store, which never changes afterwards
+	 */
+	public Snapshot snapshot() {
+		return root.get();
+	}
+
+	/**
+	 * @return {@code int} : number of transactions in the store
+	 */
+	public int size() {
+		return snapshot().size();
+	}
+
+	/**
+	 * This method returns {@code Transaction} with the specified UID.
+	 *
+	 * @param transactionId : UID of the transaction
+	 * @return {@code Transaction} if transaction with {@code transactionId} is present
+	 * otherwise null
+	 */
+	@Override
+	public Transaction getTransactionById(String transactionId) {
+		return snapshot().getTransactionById(transactionId);
+	}
+
+	/**
+	 * This method returns a {@code List<Transaction>} of {@code type}.
+	 *
+	 * @param type : String either "upi" or "bank"
+	 * @return {@code List<Transaction>} if transactions of type {@code type} is present
+	 * else return empty list.
+	 */
+	@Override
+	public List<Transaction> getTransactionByType(String type) {
+		return snapshot().getTransactionByType(type);
+	}
+
+	/**
+	 * This method returns a {@code List<Transaction>} with {@code status} status.
+	 *
+	 * @param status : String either "initiated", "pending", "completed", "failed"
+	 * @return {@code List<Transaction>} if transactions of status {@code status} is present
+	 * else return empty list.
+	 */
+	@Override
+	public List<Transaction> getTransactionByStatus(String status) {
+		return snapshot().getTransactionByStatus(status);
+	}
+
+	/**
+	 * This method returns the number of transactions of {@code type}.
+	 *
+	 * @param type : String either "upi" or "bank"
+	 * @return {@code int} : number of transactions of the type
+	 */
+	@Override
+	public int countTransactionByType(String type) {
+		return snapshot().countTransactionByType(type);
+	}
+
+	/**
+	 * This method returns the number of transactions with {@code status} status.
+	 *
+	 * @param status : String either "initiated", "pending", "completed", "failed"
+	 * @return {@code int} : number of transactions with the status
+	 */
+	@Override
+	public int countTransactionByStatus(String status) {
+		return snapshot().countTransactionByStatus(status);
+	}
+
+	/**
+	 * This code returns a {@code List<Transaction>} performed on the specified date.
+	 * The time of day of {@code date} is ignored.
+	 *
+	 * @param date : Date of transaction
+	 * @return {@code List<Transaction} : List of transactions performed on the specified date.
+	 */
+	@Override
+	public List<Transaction> getTransactionByDate(Date date) {
+		if (date == null) {
+			return new ArrayList<Transaction>();
+		}
+		long day = DateIndex.epochDay(date);
+		return snapshot().getTransactionByInstantRange(DateIndex.startOfDay(day), DateIndex.startOfDay(day + 1));
+	}
+
+	/**
+	 * This function returns the {@code List<Transaction>} which were performed between
+	 * {@code startDate} and {@code endDate}. Both days are included and the time of day is ignored.
+	 *
+	 * @param startDate : Start date of the range
+	 * @param endDate   : End date of the range
+	 * @return {@code List<Transaction>} : List of transactions performed in the date range otherwise empty list.
+	 */
+	@Override
+	public List<Transaction> getTransactionByDateRange(Date startDate, Date endDate) {
+		if (startDate == null || endDate == null) {
+			return null;
+		}
+		long firstDay = DateIndex.epochDay(startDate);
+		long lastDay = DateIndex.epochDay(endDate);
+		if (firstDay > lastDay) {
+			return new ArrayList<Transaction>();
+		}
+		return snapshot().getTransactionByInstantRange(DateIndex.startOfDay(firstDay), DateIndex.startOfDay(lastDay + 1));
+	}
+
+	/**
+	 * This methods returns the {@code List<Transaction>} with amount within the specified range
+	 *
+	 * @param startAmount : Lower bound of the amount range.
+	 * @param endAmount   : Upper bound of the amount range.
+	 * @return {@code List<Transaction>} : A list of transactions with amount in the specified range
+	 * other empty list.
+	 */
+	@Override
+	public List<Transaction> getTransactionByAmountRange(Double startAmount, Double endAmount) {
+		if (startAmount == null) {
+			return Collections.emptyList();
+		}
+		return snapshot().getTransactionByAmountRange(Amounts.lowerBound(startAmount),
+				Amounts.upperBound(endAmount == null ? Double.MAX_VALUE : endAmount));
+	}
+
+	/**
+	 * This method returns one page of the transactions of {@code type}, read from
+	 * the date index up to the end of the page.
+	 *
+	 * @param type        : String either "upi" or "bank"
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : the page of transactions of the type
+	 */
+	@Override
+	public Page<Transaction> getTransactionByType(String type, PageRequest pageRequest) {
+		if (type == null) {
+			return Page.empty();
+		}
+		return snapshot().getTransactionPage(Long.MIN_VALUE, Long.MAX_VALUE, transaction -> type.equals(transaction.getType()),
+				pageRequest);
+	}
+
+	/**
+	 * This method returns one page of the transactions with {@code status} status.
+	 *
+	 * @param status      : String either "initiated", "pending", "completed", "failed"
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : the page of transactions with the status
+	 */
+	@Override
+	public Page<Transaction> getTransactionByStatus(String status, PageRequest pageRequest) {
+		if (status == null) {
+			return Page.empty();
+		}
+		return snapshot().getTransactionPage(Long.MIN_VALUE, Long.MAX_VALUE,
+				transaction -> status.equals(transaction.getStatus()), pageRequest);
+	}
+
+	/**
+	 * This method returns one page of the transactions performed on the specified date.
+	 *
+	 * @param date        : Date of transaction
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : the page of transactions performed on the date
+	 */
+	@Override
+	public Page<Transaction> getTransactionByDate(Date date, PageRequest pageRequest) {
+		return date == null ? Page.<Transaction>empty() : getTransactionByDateRange(date, date, pageRequest);
+	}
+
+	/**
+	 * This method returns one page of the transactions performed between
+	 * {@code startDate} and {@code endDate}, both days included.
+	 *
+	 * @param startDate   : Start date of the range
+	 * @param endDate     : End date of the range
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : the page of transactions performed in the date range
+	 */
+	@Override
+	public Page<Transaction> getTransactionByDateRange(Date startDate, Date endDate, PageRequest pageRequest) {
+		if (startDate == null || endDate == null) {
+			return Page.empty();
+		}
+		return snapshot().getTransactionPage(DateIndex.startOfDay(DateIndex.epochDay(startDate)),
+				DateIndex.startOfDay(DateIndex.epochDay(endDate) + 1), transaction -> true, pageRequest);
+	}
+
+	/**
+	 * This method returns one page of the transactions with amount within the specified range.
+	 *
+	 * @param startAmount : Lower bound of the amount range.
+	 * @param endAmount   : Upper bound of the amount range, or null for none.
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : the page of transactions with amount in the range
+	 */
+	@Override
+	public Page<Transaction> getTransactionByAmountRange(Double startAmount, Double endAmount, PageRequest pageRequest) {
+		if (startAmount == null) {
+			return Page.empty();
+		}
+		long low = Amounts.lowerBound(startAmount);
+		long high = Amounts.upperBound(endAmount == null ? Double.MAX_VALUE : endAmount);
+		return snapshot().getTransactionPage(Long.MIN_VALUE, Long.MAX_VALUE, transaction -> {
+			long amount = Amounts.toMinorUnits(transaction.getAmount());
+			return transaction.getAmount() != null && amount >= low && amount <= high;
+		}, pageRequest);
+	}
+
+	/**
+	 * This method streams the transactions of {@code type} from the current
+	 * snapshot, in no particular order.
+	 *
+	 * @param type : String either "upi" or "bank"
+	 * @return {@code Stream<Transaction>} : the transactions of the type, read lazily
+	 */
+	@Override
+	public Stream<Transaction> streamTransactionByType(String type) {
+		return type == null ? Stream.<Transaction>empty() : snapshot().streamTransactionByType(type);
+	}
+
+	/**
+	 * This method streams the transactions with {@code status} status from the
+	 * current snapshot, in no particular order.
+	 *
+	 * @param status : String either "initiated", "pending", "completed", "failed"
+	 * @return {@code Stream<Transaction>} : the transactions with the status, read lazily
+	 */
+	@Override
+	public Stream<Transaction> streamTransactionByStatus(String status) {
+		return status == null ? Stream.<Transaction>empty() : snapshot().streamTransactionByStatus(status);
+	}
+
+	/**
+	 * This method streams the transactions performed on the specified date, in date order.
+	 *
+	 * @param date : Date of transaction
+	 * @return {@code Stream<Transaction>} : the transactions performed on the date, read lazily
+	 */
+	@Override
+	public Stream<Transaction> streamTransactionByDate(Date date) {
+		return date == null ? Stream.<Transaction>empty() : streamTransactionByDateRange(date, date);
+	}
+
+	/**
+	 * This method streams the transactions performed between {@code startDate} and
+	 * {@code endDate}, both days included, in date order.
+	 *
+	 * @param startDate : Start date of the range
+	 * @param endDate   : End date of the range
+	 * @return {@code Stream<Transaction>} : the transactions performed in the date range, read lazily
+	 */
+	@Override
+	public Stream<Transaction> streamTransactionByDateRange(Date startDate, Date endDate) {
+		if (startDate == null || endDate == null) {
+			return Stream.empty();
+		}
+		return snapshot().streamTransactionByInstantRange(DateIndex.startOfDay(DateIndex.epochDay(startDate)),
+				DateIndex.startOfDay(DateIndex.epochDay(endDate) + 1));
+	}
+
+	/**
+	 * This method streams the transactions with amount within the specified range,
+	 * in ascending amount order.
+	 *
+	 * @param startAmount : Lower bound of the amount range.
+	 * @param endAmount   : Upper bound of the amount range, or null for none.
+	 * @return {@code Stream<Transaction>} : the transactions with amount in the range, read lazily
+	 */
+	@Override
+	public Stream<Transaction> streamTransactionByAmountRange(Double startAmount, Double endAmount) {
+		if (startAmount == null) {
+			return Stream.empty();
+		}
+		return snapshot().streamTransactionByAmountRange(Amounts.lowerBound(startAmount),
+				Amounts.upperBound(endAmount == null ? Double.MAX_VALUE : endAmount));
+	}
+
+	/**
+	 * This method returns the transactions meeting every filter of {@code query},
+	 * read from the current snapshot.
+	 *
+	 * @param query : filters the transactions must meet
+	 * @return {@code List<Transaction>} : the matching transactions in date and then ID order
+	 */
+	@Override
+	public List<Transaction> getTransactionByQuery(TransactionQuery query) {
+		return query == null ? new ArrayList<Transaction>() : snapshot().getTransactionByQuery(query);
+	}
+
+	/**
+	 * This method aggregates the transactions meeting every filter of {@code query}
+	 * per group, in one pass over the current snapshot.
+	 *
+	 * @param query   : filters the transactions must meet
+	 * @param groupBy : keys to group the transactions on
+	 * @return {@code List<AggregateRow>} : one row per group
+	 */
+	@Override
+	public List<AggregateRow> aggregateTransactions(TransactionQuery query, Set<GroupBy> groupBy) {
+		return query == null ? new ArrayList<AggregateRow>() : snapshot().aggregate(query, groupBy);
+	}
+
+	/**
+	 * @param transaction : {@code Transaction} object to insert into the store.
+	 * @return {@code Transaction} : The transaction object that was created. Duplicate Transaction ID will throw error otherwise null.
+	 */
+	@Override
+	public Transaction createTransaction(Transaction transaction) {
+		if (transaction == null) {
+			return null;
+		}
+		Transaction stored = copy(transaction);
+		while (true) {
+			Snapshot current = root.get();
+			if (current.rows.containsKey(stored.getTransactionId())) {
+				throw new IllegalArgumentException("Transaction with ID " + stored.getTransactionId() + " already exists.");
+			}
+			if (root.compareAndSet(current, current.with(null, new Row(current.lastSequence + 1, stored)))) {
+				return transaction;
+			}
+		}
+	}
+
+	/**
+	 * This function deletes a transaction with the {@code transactionId} UID from the store.
+	 *
+	 * @param transactionId : Transaction
+	 * @return {@code boolean} : Returns true if deletion successful otherwise false;
+	 */
+	@Override
+	public boolean deleteTransaction(String transactionId) {
+		while (true) {
+			Snapshot current = root.get();
+			Row row = current.rows.get(transactionId);
+			if (row == null) {
+				return false;
+			}
+			if (root.compareAndSet(current, current.with(row, null))) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * This methods takes a {@code Transaction} object and updates the transaction
+	 * with the same UID in the store.
+	 *
+	 * @param transaction : {@code Transaction} object which holds updated data.
+	 * @return {@code Transaction} : Returns the updated transaction object if transaction present in
+	 * the store otherwise null
+	 */
+	@Override
+	public Transaction updateTransaction(Transaction transaction) {
+		if (transaction == null) {
+			return null;
+		}
+		Transaction stored = copy(transaction);
+		while (true) {
+			Snapshot current = root.get();
+			Row row = current.rows.get(stored.getTransactionId());
+			if (row == null) {
+				return null;
+			}
+			if (root.compareAndSet(current, current.with(row, new Row(row.sequence, stored)))) {
+				return copy(stored);
+			}
+		}
+	}
+
+	private static Transaction copy(Transaction transaction) {
+		Date date = transaction.getDate();
+		return new Transaction(transaction.getTransactionId(), transaction.getType(), transaction.getAmount(),
+				transaction.getStatus(), date == null ? null : new Date(date.getTime()));
+	}
+}
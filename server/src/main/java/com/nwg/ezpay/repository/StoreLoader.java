@@ -0,0 +1,114 @@
+package com.nwg.ezpay.repository;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.log4j.Logger;
+
+import com.nwg.ezpay.exception.DataLoadException;
+import com.nwg.ezpay.repository.storage.LoadReport;
+
+/**
+ * Loads the data of a store once per JVM, on a background thread, when the store
+ * is first asked to start. Nothing is loaded when the store class is merely
+ * initialised, so code and tests that don't start the store pay nothing.
+ *
+ * <p>The store keeps serving while the load runs: it can answer from the rows
+ * already loaded, or call {@link #awaitLoaded()} to wait for the rest. A failed
+ * load completes the readiness future with a {@link DataLoadException}, which
+ * {@link #awaitLoaded()} rethrows.</p>
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public final class StoreLoader {
+
+	private static final Logger LOGGER = Logger.getLogger(StoreLoader.class);
+
+	/**
+	 * Loads all data of a store and reports how it went.
+	 */
+	@FunctionalInterface
+	public interface Load {
+		LoadReport run() throws IOException;
+	}
+
+	private final String name;
+	private final Load load;
+	private final AtomicBoolean started = new AtomicBoolean();
+	private final CompletableFuture<LoadReport> ready = new CompletableFuture<LoadReport>();
+
+	/**
+	 * @param name : name of the store, used for the loader thread and in error messages
+	 * @param load : loads the data into the store
+	 */
+	public StoreLoader(String name, Load load) {
+		this.name = name;
+		this.load = load;
+	}
+
+	/**
+	 * Starts loading on a background thread, unless that has already happened.
+	 *
+	 * @return {@code CompletableFuture<LoadReport>} : completes when the store is loaded
+	 */
+	public CompletableFuture<LoadReport> start() {
+		if (started.compareAndSet(false, true)) {
+			Thread thread = new Thread(this::run, "ezpay-" + name + "-loader");
+			thread.setDaemon(true);
+			thread.start();
+		}
+		return ready;
+	}
+
+	/**
+	 * @return {@code CompletableFuture<LoadReport>} : completes when the store is loaded;
+	 * never completes if {@link #start()} isn't called
+	 */
+	public CompletableFuture<LoadReport> ready() {
+		return ready;
+	}
+
+	/**
+	 * @return {@code boolean} : true if loading has started and not yet finished
+	 */
+	public boolean isLoading() {
+		return started.get() && !ready.isDone();
+	}
+
+	/**
+	 * Waits for a started load to finish. Returns at once if loading was never started.
+	 *
+	 * @throws DataLoadException if the load failed
+	 */
+	public void awaitLoaded() {
+		if (!started.get()) {
+			return;
+		}
+		try {
+			ready.join();
+		} catch (CompletionException e) {
+			throw (DataLoadException) e.getCause();
+		}
+	}
+
+	private void run() {
+		try {
+			LoadReport loadReport = load.run();
+			loadReport.logTo(LOGGER);
+			ready.complete(loadReport);
+		} catch (IOException | RuntimeException e) {
+			ready.completeExceptionally(failure(e));
+		} catch (Error e) {
+			ready.completeExceptionally(failure(e));
+			throw e;
+		}
+	}
+
+	private DataLoadException failure(Throwable cause) {
+		return new DataLoadException("Could not load the " + name + " store: " + cause, cause);
+	}
+}
@@ -1,18 +1,33 @@
 package com.nwg.ezpay.repository;
 
 import java.util.List;
+import java.util.Set;
 
 import com.nwg.ezpay.entity.Transaction;
+import com.nwg.ezpay.repository.aggregate.AggregateRow;
+import com.nwg.ezpay.repository.aggregate.GroupBy;
+import com.nwg.ezpay.repository.index.ConcurrentTransactionTable;
+import com.nwg.ezpay.repository.index.DateIndex;
+import com.nwg.ezpay.repository.page.Page;
+import com.nwg.ezpay.repository.page.PageRequest;
+import com.nwg.ezpay.repository.query.TransactionQuery;
+import com.nwg.ezpay.repository.storage.LoadReport;
+import com.nwg.ezpay.repository.storage.LogCompactor;
+import com.nwg.ezpay.repository.storage.TransactionCsvReader;
+import com.nwg.ezpay.repository.storage.TransactionLog;
 
-import java.io.BufferedReader;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
+import java.io.File;
 import java.io.IOException;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.apache.log4j.Logger;
 
 /**
  * This class contains the implementation for the transaction data access object.
@@ -25,46 +40,116 @@ import java.util.Date;
  */
 public class TransactionDAOImpl implements ITransactionDAO {
 
-	public static List<Transaction> transactionsList = new ArrayList<Transaction>();
-	static {
-		FileReader fileReader = null;
-		BufferedReader bufferedReader = null;
-		try {
-			fileReader = new FileReader("data/transactions.csv");
-			bufferedReader = new BufferedReader(fileReader);
-			SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-			String transactionDetailCSV = "";
-			while ((transactionDetailCSV = bufferedReader.readLine()) != null) {
-				String details[] = transactionDetailCSV.split(",");
-				String transactionId = details[0];
-				String type = details[1];
-				Double amount = Double.parseDouble(details[2]);
-				String status = details[3];
-				Date date = sdf.parse(details[4]);
-				Transaction transaction = new Transaction(transactionId, type, amount, status, date);
-				transactionsList.add(transaction);
+	private static final Logger LOGGER = Logger.getLogger(TransactionDAOImpl.class);
+
+	// Rows keyed on the transaction ID with concurrent indexes on type, status, date and amount.
+	// Writes lock one stripe per ID and install new row versions; every query reads a snapshot
+	// without locking, so a long scan neither blocks writers nor sees half of an update.
+	public static final ConcurrentTransactionTable transactionsList = new ConcurrentTransactionTable();
+	// Loads the transactions CSV file, or its snapshot, on a background thread once the service layer starts it.
+	private static final StoreLoader loader = new StoreLoader("transactions", TransactionDAOImpl::load);
+
+	/**
+	 * Starts loading {@code data/transactions.csv} into {@link #transactionsList} in the
+	 * background, unless that has already happened in this JVM.
+	 *
+	 * @return {@code CompletableFuture<LoadReport>} : completes when all transactions are loaded,
+	 * or with a {@link com.nwg.ezpay.exception.DataLoadException} if they can't be
+	 */
+	public static CompletableFuture<LoadReport> startLoading() {
+		return loader.start();
+	}
+
+	/**
+	 * @return {@code CompletableFuture<LoadReport>} : completes when all transactions are loaded
+	 */
+	public static CompletableFuture<LoadReport> ready() {
+		return loader.ready();
+	}
+
+	// Write-ahead log of the mutations made since the baseline; only attached once the store is started.
+	private static volatile TransactionLog log;
+	// Folds the log into checkpoints in the background; only created once the store is started.
+	private static volatile LogCompactor compactor;
+	// Mutations hold the read lock from their log write until they are applied, so many run at once;
+	// the compactor takes the write lock to capture the rows at a log position.
+	private static final ReentrantReadWriteLock mutationLock = new ReentrantReadWriteLock();
+	// True while loading if the rows added so far are final, i.e. there is no log to replay over them;
+	// otherwise a row loaded early may have been updated or deleted by a logged mutation.
+	private static volatile boolean earlyLookups;
+
+	private static LoadReport load() throws IOException {
+		earlyLookups = !TransactionLog.hasRecords(TransactionLog.TRANSACTIONS_WAL);
+		Predicate<Transaction> sink = transaction -> {
+			if (!transactionsList.add(transaction)) {
+				// Keep the first row for a duplicated ID, the table can't hold both.
+				LOGGER.warn("Skipping duplicate transaction ID " + transaction.getTransactionId());
+				return false;
 			}
-		} catch (FileNotFoundException e) {
-			e.printStackTrace();
-			System.exit(-1);
-		} catch (IOException e) {
-			e.printStackTrace();
-		} catch (ParseException e) {
-			e.printStackTrace();
-		} finally {
+			return true;
+		};
+		File baseline = new File(TransactionCsvReader.TRANSACTIONS_CSV);
+		long checkpoint = LogCompactor.latestCheckpoint(LogCompactor.TRANSACTIONS_CHECKPOINT, baseline);
+		LoadReport loadReport = checkpoint < 0
+				? TransactionCsvReader.load(TransactionCsvReader.TRANSACTIONS_CSV, TransactionCsvReader.TRANSACTIONS_SNAPSHOT, sink)
+				: LogCompactor.readCheckpoint(LogCompactor.TRANSACTIONS_CHECKPOINT, checkpoint, sink::test);
+		TransactionLog transactionLog = TransactionLog.open(TransactionLog.TRANSACTIONS_WAL, baseline, Math.max(checkpoint, 0),
+				new TransactionLog.Replay() {
+					@Override
+					public void create(Transaction transaction) {
+						transactionsList.add(transaction);
+					}
+
+					@Override
+					public void update(Transaction transaction) {
+						transactionsList.replace(transaction, null);
+					}
+
+					@Override
+					public void delete(String transactionId) {
+						transactionsList.remove(transactionId, null);
+					}
+				}, TransactionLog.GroupCommit.fromSystemProperties(),
+				Long.getLong(TransactionLog.SEGMENT_BYTES_PROPERTY, TransactionLog.DEFAULT_SEGMENT_BYTES));
+		if (transactionLog.getReplayed() > 0) {
+			LOGGER.info("Replayed " + transactionLog.getReplayed() + " mutations from " + transactionLog.getPath());
+		}
+		LogCompactor logCompactor = new LogCompactor(LogCompactor.TRANSACTIONS_CHECKPOINT, baseline, transactionLog,
+				mutationLock.writeLock(), transactionsList,
+				Long.getLong(LogCompactor.COMPACT_BYTES_PROPERTY, LogCompactor.DEFAULT_COMPACT_BYTES));
+		logCompactor.start();
+		log = transactionLog;
+		compactor = logCompactor;
+		return loadReport;
+	}
+
+	/**
+	 * @return {@code LogCompactor} : compactor of the write-ahead log, with its metrics,
+	 * or null until the store has been started and loaded
+	 */
+	public static LogCompactor getCompactor() {
+		return compactor;
+	}
+
+	/**
+	 * Writes a mutation to the write-ahead log, if one is attached, before it is applied.
+	 */
+	private static void logMutation(LogWrite logWrite) {
+		TransactionLog transactionLog = log;
+		if (transactionLog != null) {
 			try {
-				if (bufferedReader != null) {
-					bufferedReader.close();
-				}
-				if (fileReader != null) {
-					fileReader.close();
-				}
+				logWrite.writeTo(transactionLog);
 			} catch (IOException e) {
-				e.printStackTrace();
+				throw new UncheckedIOException("Could not write to " + transactionLog.getPath(), e);
 			}
 		}
 	}
 
+	@FunctionalInterface
+	private interface LogWrite {
+		void writeTo(TransactionLog transactionLog) throws IOException;
+	}
+
 	/**
 	 * This method returns {@code Transaction} with the specified UID.
 	 *
@@ -74,12 +159,16 @@ public class TransactionDAOImpl implements ITransactionDAO {
 	 */
 	@Override
 	public Transaction getTransactionById(String transactionId) {
-		for (Transaction transaction : transactionsList) {
-			if (transaction.getTransactionId().equals(transactionId)) {
+		if (loader.isLoading()) {
+			// Answer from the rows loaded so far, and only wait for the rest on a miss, unless
+			// the log still has to be replayed over them.
+			Transaction transaction = earlyLookups ? transactionsList.get(transactionId) : null;
+			if (transaction != null) {
 				return transaction;
 			}
+			loader.awaitLoaded();
 		}
-		return null;
+		return transactionsList.get(transactionId);
 	}
 
 	/**
@@ -92,13 +181,11 @@ public class TransactionDAOImpl implements ITransactionDAO {
 	 */
 	@Override
 	public List<Transaction> getTransactionByType(String type) {
-		List<Transaction> transactionsByType = new ArrayList<Transaction>();
-		for (Transaction transaction : transactionsList) {
-			if (transaction.getType().equals(type)) {
-				transactionsByType.add(transaction);
-			}
+		loader.awaitLoaded();
+		if (type == null) {
+			return new ArrayList<Transaction>();
 		}
-		return transactionsByType;
+		return transactionsList.withType(type);
 	}
 
 	/**
@@ -111,71 +198,76 @@ public class TransactionDAOImpl implements ITransactionDAO {
 	 */
 	@Override
 	public List<Transaction> getTransactionByStatus(String status) {
-		List<Transaction> transactionsByStatus = new ArrayList<Transaction>();
-		for (Transaction transaction : transactionsList) {
-			if (transaction.getStatus().equals(status)) {
-				transactionsByStatus.add(transaction);
-			}
+		loader.awaitLoaded();
+		if (status == null) {
+			return new ArrayList<Transaction>();
 		}
-		return transactionsByStatus;
+		return transactionsList.withStatus(status);
+	}
+
+	/**
+	 * This method returns the number of transactions of {@code type} without
+	 * building a list.
+	 *
+	 * @param type : String either "upi" or "bank"
+	 * @return {@code int} : number of transactions of the type
+	 */
+	@Override
+	public int countTransactionByType(String type) {
+		loader.awaitLoaded();
+		return type == null ? 0 : transactionsList.countType(type);
+	}
+
+	/**
+	 * This method returns the number of transactions with {@code status} status
+	 * without building a list.
+	 *
+	 * @param status : String either "initiated", "pending", "completed", "failed"
+	 * @return {@code int} : number of transactions with the status
+	 */
+	@Override
+	public int countTransactionByStatus(String status) {
+		loader.awaitLoaded();
+		return status == null ? 0 : transactionsList.countStatus(status);
 	}
 
 	/**
 	 * This code returns a {@code List<Transaction>} performed on the specified date.
+	 * The time of day of {@code date} is ignored.
 	 * 
 	 * @param date : Date of transaction
-	 * @return {@code List<Transaction} : List of transactions performed on the specified date otherwise null.
+	 * @return {@code List<Transaction} : List of transactions performed on the specified date, in date order.
 	 */
 	@Override
 	public List<Transaction> getTransactionByDate(Date date) {
+		loader.awaitLoaded();
 	    if (date == null) {
 	        return new ArrayList<>();
 	    }
-	    List<Transaction> transactionsByDate = new ArrayList<>();
-	    SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
-	    try {
-	        for (Transaction transaction : transactionsList) {
-	            Date transactionDate = transaction.getDate();
-	            transactionDate = sdf.parse(sdf.format(transactionDate));
-	            if (transactionDate.equals(date)) {
-	                transactionsByDate.add(transaction);
-	            }
-	        }
-	        return transactionsByDate;
-	    } catch (ParseException e) {
-	        e.printStackTrace();
-	    }
-	    return null;
+	    long day = DateIndex.epochDay(date);
+	    return transactionsList.inInstantRange(DateIndex.startOfDay(day), DateIndex.startOfDay(day + 1));
 	}
 
 	/**
 	 * This function returns the {@code List<Transaction>} which were performed between 
-	 * {@code startDate} and {@code endDate}
+	 * {@code startDate} and {@code endDate}. Both days are included and the time of day is ignored.
 	 * 
 	 * @param startDate : Start date of the range
 	 * @param endDate   : End date of the range
-	 * @return {@code List<Transaction>} : List of transactions performed in the date range otherwise empty list.
+	 * @return {@code List<Transaction>} : List of transactions performed in the date range in date order otherwise empty list.
 	 */
 	@Override
 	public List<Transaction> getTransactionByDateRange(Date startDate, Date endDate) {
+		loader.awaitLoaded();
 		if (startDate == null || endDate == null) {
 	        return null; 
 	    }
-		List<Transaction> transactionsByDateRange = new ArrayList<Transaction>();
-		SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
-		try {
-			for (Transaction transaction : transactionsList) {
-				Date transactionDate = transaction.getDate();
-				transactionDate = sdf.parse(sdf.format(transactionDate));
-				if (transactionDate.compareTo(startDate) >= 0 && transactionDate.compareTo(endDate) <= 0) {
-					transactionsByDateRange.add(transaction);
-				}
-			}
-			return transactionsByDateRange;
-		} catch (ParseException e) {
-			e.printStackTrace();
+		long firstDay = DateIndex.epochDay(startDate);
+		long lastDay = DateIndex.epochDay(endDate);
+		if (firstDay > lastDay) {
+			return new ArrayList<Transaction>();
 		}
-		return null;
+		return transactionsList.inInstantRange(DateIndex.startOfDay(firstDay), DateIndex.startOfDay(lastDay + 1));
 	}
 
 	
@@ -185,11 +277,12 @@ public class TransactionDAOImpl implements ITransactionDAO {
 	 * 
 	 * @param startAmount : Lower bound of the amount range.
 	 * @param endAmount   : Upper bound of the amount range.
-	 * @return {@code List<Transaction>} : A list of transactions with amount in the specified range
-	 * other empty list.
+	 * @return {@code List<Transaction>} : A list of transactions with amount in the specified range,
+	 * in ascending amount order, other empty list.
 	 */
 	@Override
 	public List<Transaction> getTransactionByAmountRange(Double startAmount, Double endAmount) {
+		loader.awaitLoaded();
 	    // If the start amount is null, no valid range can be determined.
 	    if (startAmount == null) {
 	        return Collections.emptyList();
@@ -200,16 +293,193 @@ public class TransactionDAOImpl implements ITransactionDAO {
 	        endAmount = Double.MAX_VALUE;
 	    }
 	    
-	    List<Transaction> transactionsByAmountRange = new ArrayList<>();
-	    for (Transaction transaction : transactionsList) {
-	        Double transactionAmount = transaction.getAmount();
-	        if (startAmount <= transactionAmount && transactionAmount <= endAmount) {
-	            transactionsByAmountRange.add(transaction);
-	        }
-	    }
-	    return transactionsByAmountRange;
+	    return transactionsList.inAmountRange(startAmount, endAmount);
+	}
+
+
+	/**
+	 * This method returns one page of the transactions of {@code type}, read from
+	 * the type's rows in date order up to the end of the page.
+	 *
+	 * @param type        : String either "upi" or "bank"
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : the page of transactions of the type
+	 */
+	@Override
+	public Page<Transaction> getTransactionByType(String type, PageRequest pageRequest) {
+		loader.awaitLoaded();
+		if (type == null) {
+			return Page.empty();
+		}
+		return transactionsList.pageWithType(type, pageRequest);
+	}
+
+	/**
+	 * This method returns one page of the transactions with {@code status} status,
+	 * read from the status's rows in date order up to the end of the page.
+	 *
+	 * @param status      : String either "initiated", "pending", "completed", "failed"
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : the page of transactions with the status
+	 */
+	@Override
+	public Page<Transaction> getTransactionByStatus(String status, PageRequest pageRequest) {
+		loader.awaitLoaded();
+		if (status == null) {
+			return Page.empty();
+		}
+		return transactionsList.pageWithStatus(status, pageRequest);
 	}
 
+	/**
+	 * This method returns one page of the transactions performed on the specified date.
+	 *
+	 * @param date        : Date of transaction
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : the page of transactions performed on the date
+	 */
+	@Override
+	public Page<Transaction> getTransactionByDate(Date date, PageRequest pageRequest) {
+		return date == null ? Page.<Transaction>empty() : getTransactionByDateRange(date, date, pageRequest);
+	}
+
+	/**
+	 * This method returns one page of the transactions performed between
+	 * {@code startDate} and {@code endDate}, both days included.
+	 *
+	 * @param startDate   : Start date of the range
+	 * @param endDate     : End date of the range
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : the page of transactions performed in the date range
+	 */
+	@Override
+	public Page<Transaction> getTransactionByDateRange(Date startDate, Date endDate, PageRequest pageRequest) {
+		loader.awaitLoaded();
+		if (startDate == null || endDate == null) {
+			return Page.empty();
+		}
+		return transactionsList.pageInInstantRange(DateIndex.startOfDay(DateIndex.epochDay(startDate)),
+				DateIndex.startOfDay(DateIndex.epochDay(endDate) + 1), transaction -> true, pageRequest);
+	}
+
+	/**
+	 * This method returns one page of the transactions with amount within the specified range.
+	 * A narrow range is read from the amount index, a wide one from the date index.
+	 *
+	 * @param startAmount : Lower bound of the amount range.
+	 * @param endAmount   : Upper bound of the amount range, or null for none.
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : the page of transactions with amount in the range
+	 */
+	@Override
+	public Page<Transaction> getTransactionByAmountRange(Double startAmount, Double endAmount, PageRequest pageRequest) {
+		loader.awaitLoaded();
+		if (startAmount == null) {
+			return Page.empty();
+		}
+		return transactionsList.pageInAmountRange(startAmount, endAmount == null ? Double.MAX_VALUE : endAmount,
+				pageRequest);
+	}
+	
+	/**
+	 * This method streams the transactions of {@code type} in insertion order. The
+	 * stream reads a snapshot of the table, which it keeps open until it is closed.
+	 *
+	 * @param type : String either "upi" or "bank"
+	 * @return {@code Stream<Transaction>} : the transactions of the type, read lazily
+	 */
+	@Override
+	public Stream<Transaction> streamTransactionByType(String type) {
+		loader.awaitLoaded();
+		return type == null ? Stream.<Transaction>empty() : transactionsList.streamWithType(type);
+	}
+
+	/**
+	 * This method streams the transactions with {@code status} status in insertion order.
+	 *
+	 * @param status : String either "initiated", "pending", "completed", "failed"
+	 * @return {@code Stream<Transaction>} : the transactions with the status, read lazily
+	 */
+	@Override
+	public Stream<Transaction> streamTransactionByStatus(String status) {
+		loader.awaitLoaded();
+		return status == null ? Stream.<Transaction>empty() : transactionsList.streamWithStatus(status);
+	}
+
+	/**
+	 * This method streams the transactions performed on the specified date, in date order.
+	 *
+	 * @param date : Date of transaction
+	 * @return {@code Stream<Transaction>} : the transactions performed on the date, read lazily
+	 */
+	@Override
+	public Stream<Transaction> streamTransactionByDate(Date date) {
+		return date == null ? Stream.<Transaction>empty() : streamTransactionByDateRange(date, date);
+	}
+
+	/**
+	 * This method streams the transactions performed between {@code startDate} and
+	 * {@code endDate}, both days included, in date order.
+	 *
+	 * @param startDate : Start date of the range
+	 * @param endDate   : End date of the range
+	 * @return {@code Stream<Transaction>} : the transactions performed in the date range, read lazily
+	 */
+	@Override
+	public Stream<Transaction> streamTransactionByDateRange(Date startDate, Date endDate) {
+		loader.awaitLoaded();
+		if (startDate == null || endDate == null) {
+			return Stream.empty();
+		}
+		return transactionsList.streamInInstantRange(DateIndex.startOfDay(DateIndex.epochDay(startDate)),
+				DateIndex.startOfDay(DateIndex.epochDay(endDate) + 1));
+	}
+
+	/**
+	 * This method streams the transactions with amount within the specified range,
+	 * in ascending amount order.
+	 *
+	 * @param startAmount : Lower bound of the amount range.
+	 * @param endAmount   : Upper bound of the amount range, or null for none.
+	 * @return {@code Stream<Transaction>} : the transactions with amount in the range, read lazily
+	 */
+	@Override
+	public Stream<Transaction> streamTransactionByAmountRange(Double startAmount, Double endAmount) {
+		loader.awaitLoaded();
+		if (startAmount == null) {
+			return Stream.empty();
+		}
+		return transactionsList.streamInAmountRange(startAmount, endAmount == null ? Double.MAX_VALUE : endAmount);
+	}
+
+	/**
+	 * This method returns the transactions meeting every filter of {@code query}.
+	 * It walks the index the planner expects to give the fewest rows and checks the
+	 * other filters on each row, so the table is read once however many filters are set.
+	 *
+	 * @param query : filters the transactions must meet
+	 * @return {@code List<Transaction>} : the matching transactions in date and then ID order
+	 */
+	@Override
+	public List<Transaction> getTransactionByQuery(TransactionQuery query) {
+		loader.awaitLoaded();
+		return query == null ? new ArrayList<Transaction>() : transactionsList.matching(query);
+	}
+
+	/**
+	 * This method aggregates the transactions meeting every filter of {@code query}
+	 * per group. The stored transactions are read in place from the index the planner
+	 * picks, without copying them or collecting them in a list.
+	 *
+	 * @param query   : filters the transactions must meet
+	 * @param groupBy : keys to group the transactions on
+	 * @return {@code List<AggregateRow>} : one row per group
+	 */
+	@Override
+	public List<AggregateRow> aggregateTransactions(TransactionQuery query, Set<GroupBy> groupBy) {
+		loader.awaitLoaded();
+		return query == null ? new ArrayList<AggregateRow>() : transactionsList.aggregate(query, groupBy);
+	}
 	
 	/**
 	 * @param transaction : {@code Transaction} object to insert into the transaction table.
@@ -217,25 +487,29 @@ public class TransactionDAOImpl implements ITransactionDAO {
 	 */
 	@Override
 	public Transaction createTransaction(Transaction transaction) {
+		loader.awaitLoaded();
 	    // 1. Check for null input first.
 	    if (transaction == null) {
 	        return null;
 	    }
 	    
-	    // 2. Check if a transaction with the same ID already exists.
-	    boolean idExists = transactionsList.stream()
-	            .anyMatch(t -> t.getTransactionId().equals(transaction.getTransactionId()));
+	    mutationLock.readLock().lock();
+	    try {
+	        // 2. Check the ID, log the creation and add the transaction in one step, so that
+	        // concurrent creates of the same ID can't both pass the check.
+	        boolean inserted = transactionsList.insert(transaction,
+	                () -> logMutation(transactionLog -> transactionLog.logCreate(transaction)));
 
-	    // 3. If the ID already exists, throw an exception.
-	    if (idExists) {
-	        throw new IllegalArgumentException("Transaction with ID " + transaction.getTransactionId() + " already exists.");
+	        // 3. If the ID already exists, throw an exception.
+	        if (!inserted) {
+	            throw new IllegalArgumentException("Transaction with ID " + transaction.getTransactionId() + " already exists.");
+	        }
+	    } finally {
+	        mutationLock.readLock().unlock();
 	    }
 	    
-	    // 4. If the ID is unique, add the new transaction.
-	    transactionsList.add(transaction);
-	    
-	    // 5. Return the newly added transaction.
-	    return transactionsList.get(transactionsList.size() - 1);
+	    // 4. Return the newly added transaction.
+	    return transaction;
 	}
 
 	/**
@@ -246,8 +520,14 @@ public class TransactionDAOImpl implements ITransactionDAO {
 	 */
 	@Override
 	public boolean deleteTransaction(String transactionId) {
-		// removeIf() is a safer and concise way to remove items from list.
-		return transactionsList.removeIf(transaction -> transaction.getTransactionId().equals(transactionId));
+		loader.awaitLoaded();
+		mutationLock.readLock().lock();
+		try {
+			return transactionsList.remove(transactionId,
+					() -> logMutation(transactionLog -> transactionLog.logDelete(transactionId)));
+		} finally {
+			mutationLock.readLock().unlock();
+		}
 	}
 
 	/**
@@ -260,16 +540,16 @@ public class TransactionDAOImpl implements ITransactionDAO {
 	 * */
 	@Override
 	public Transaction updateTransaction(Transaction transaction) {
+		loader.awaitLoaded();
         if (transaction == null) {
             return null; 
         }
-		for (int i = 0; i < transactionsList.size(); i++) {
-			Transaction existingTransaction = transactionsList.get(i);
-			if (existingTransaction != null && existingTransaction.getTransactionId().equals(transaction.getTransactionId())) {
-				transactionsList.set(i, transaction);
-				return transactionsList.get(i);
-			}
+		mutationLock.readLock().lock();
+		try {
+			return transactionsList.replace(transaction,
+					() -> logMutation(transactionLog -> transactionLog.logUpdate(transaction)));
+		} finally {
+			mutationLock.readLock().unlock();
 		}
-		return null;	
 	}
 }
@@ -1,18 +1,24 @@
 package com.nwg.ezpay.repository;
 
-import java.io.BufferedReader;
-
-
-import java.io.FileReader;
 import java.io.IOException;
-import java.io.FileNotFoundException;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.LongPredicate;
+import java.util.stream.Stream;
 
 import com.nwg.ezpay.entity.TransactionStatus;
+import com.nwg.ezpay.repository.index.DateIndex;
+import com.nwg.ezpay.repository.index.IndexedTable;
+import com.nwg.ezpay.repository.index.ValueDateIndex;
+import com.nwg.ezpay.repository.page.Page;
+import com.nwg.ezpay.repository.page.PageCollector;
+import com.nwg.ezpay.repository.page.PageRequest;
+import com.nwg.ezpay.repository.storage.LoadReport;
+import com.nwg.ezpay.repository.storage.TransactionStatusCsvReader;
 
 /**
  * This class contains the implementation for the transaction status data access object.
@@ -23,43 +29,51 @@ import com.nwg.ezpay.entity.TransactionStatus;
 
 public class TransactionStatusDAOImpl implements ITransactionStatusDAO {
 
-    public static List<TransactionStatus> transactionStatuses = new ArrayList<>();
-
+    public static IndexedTable<TransactionStatus> transactionStatuses = new IndexedTable<>(TransactionStatus::getTransactionStatusId);
+    // Row positions sorted by status timestamp, used by the date and date-range lookups.
+    static final DateIndex<TransactionStatus> timestampIndex = new DateIndex<>(TransactionStatus::getTimestamp);
+    // Row positions of each status type and each reason sorted by timestamp, used by the paged lookups.
+    static final ValueDateIndex<TransactionStatus> typeIndex =
+            new ValueDateIndex<>(TransactionStatus::getStatusType, TransactionStatus::getTimestamp);
+    static final ValueDateIndex<TransactionStatus> reasonIndex =
+            new ValueDateIndex<>(TransactionStatus::getReason, TransactionStatus::getTimestamp);
     static {
-        FileReader fileReader = null;
-        BufferedReader bufferedReader = null;
-        try {
-            fileReader = new FileReader("data/transaction_statuses.csv");
-            bufferedReader = new BufferedReader(fileReader);
-            SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-            String line = null;
-            while ((line = bufferedReader.readLine()) != null) {
-                String[] details = line.split(",");
-                if (details.length < 4) {
-                    continue; // skip invalid lines
+        transactionStatuses.addIndex(timestampIndex);
+        transactionStatuses.addIndex(typeIndex);
+        transactionStatuses.addIndex(reasonIndex);
+    }
+
+    // Loads the statuses CSV file, or its snapshot, on a background thread once the service layer starts it.
+    private static final StoreLoader loader = new StoreLoader("transaction statuses", TransactionStatusDAOImpl::load);
+
+    /**
+     * Starts loading {@code data/transaction_statuses.csv} into {@link #transactionStatuses}
+     * in the background, unless that has already happened in this JVM.
+     *
+     * @return future completed when all statuses are loaded, or with a
+     * {@link com.nwg.ezpay.exception.DataLoadException} if they can't be
+     */
+    public static CompletableFuture<LoadReport> startLoading() {
+        return loader.start();
+    }
+
+    /**
+     * @return future completed when all statuses are loaded
+     */
+    public static CompletableFuture<LoadReport> ready() {
+        return loader.ready();
+    }
+
+    private static LoadReport load() throws IOException {
+        return TransactionStatusCsvReader.load(TransactionStatusCsvReader.TRANSACTION_STATUSES_CSV,
+                TransactionStatusCsvReader.TRANSACTION_STATUSES_SNAPSHOT, transactionStatus -> {
+            synchronized (transactionStatuses) { // lookups by ID read the table while it loads
+                if (transactionStatuses.containsKey(transactionStatus.getTransactionStatusId())) {
+                    return false; // skip duplicate IDs, the first one wins
                 }
-                String transactionStatusId = details[0];
-                String statusType = details[1];
-                String reason = details[2];
-                Date timestamp = simpleDateFormat.parse(details[3]);
-                TransactionStatus transactionStatus = new TransactionStatus(transactionStatusId, statusType, reason, timestamp);
-                transactionStatuses.add(transactionStatus);
+                return transactionStatuses.add(transactionStatus);
             }
-        } catch (FileNotFoundException e) {
-            e.printStackTrace();
-            System.exit(-1);
-        } catch (IOException e) {
-            e.printStackTrace();
-        } catch (ParseException e) {
-            e.printStackTrace();
-        } finally {
-            try {
-                if (bufferedReader != null) bufferedReader.close();
-                if (fileReader != null) fileReader.close();
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-        }
+        });
     }
 
     /**
@@ -70,12 +84,17 @@ public class TransactionStatusDAOImpl implements ITransactionStatusDAO {
      */
     @Override
     public TransactionStatus getStatusById(String transactionStatusId) {
-        for (TransactionStatus transactionStatus : transactionStatuses) {
-            if (transactionStatus.getTransactionStatusId().equals(transactionStatusId)) {
-                return transactionStatus;
+        if (loader.isLoading()) {
+            TransactionStatus transactionStatus;
+            synchronized (transactionStatuses) {
+                transactionStatus = transactionStatuses.getByKey(transactionStatusId);
             }
+            if (transactionStatus != null) {
+                return transactionStatus; // already loaded, no need to wait for the rest
+            }
+            loader.awaitLoaded();
         }
-        return null;
+        return transactionStatuses.getByKey(transactionStatusId);
     }
 
     /**
@@ -86,6 +105,7 @@ public class TransactionStatusDAOImpl implements ITransactionStatusDAO {
      */
     @Override
     public List<TransactionStatus> getStatusesByType(String statusType) {
+        loader.awaitLoaded();
         List<TransactionStatus> list = new ArrayList<>();
         for (TransactionStatus transactionStatus : transactionStatuses) {
             if (transactionStatus.getStatusType().equals(statusType)) {
@@ -103,6 +123,7 @@ public class TransactionStatusDAOImpl implements ITransactionStatusDAO {
      */
     @Override
     public List<TransactionStatus> getStatusesByReason(String reason) {
+        loader.awaitLoaded();
         List<TransactionStatus> list = new ArrayList<>();
         for (TransactionStatus transactionStatus : transactionStatuses) {
             if (transactionStatus.getReason().equals(reason)) {
@@ -116,25 +137,15 @@ public class TransactionStatusDAOImpl implements ITransactionStatusDAO {
      * Retrieves all transaction statuses that match a specific date (ignores time).
      *
      * @param date date to match
-     * @return list of {@link TransactionStatus} created on that date
+     * @return list of {@link TransactionStatus} created on that date, in timestamp order
      */
     @Override
     public List<TransactionStatus> getStatusesByDate(Date date) {
+        loader.awaitLoaded();
         List<TransactionStatus> list = new ArrayList<>();
-        SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd");
-        try {
-            Date targetDate = simpleDateFormat.parse(simpleDateFormat.format(date));
-            for (TransactionStatus transactionStatus : transactionStatuses) {
-                Date tsDate = simpleDateFormat.parse(simpleDateFormat.format(transactionStatus.getTimestamp()));
-                if (tsDate.equals(targetDate)) {
-                    list.add(transactionStatus);
-                }
-            }
-            return list;
-        } catch (ParseException e) {
-            e.printStackTrace();
-        }
-        return null;
+        long day = DateIndex.epochDay(date);
+        timestampIndex.forEachOnDays(day, day, position -> list.add(transactionStatuses.get(position)));
+        return list;
     }
     
     /**
@@ -142,28 +153,147 @@ public class TransactionStatusDAOImpl implements ITransactionStatusDAO {
      *
      * @param startDate start of the range
      * @param endDate end of the range
-     * @return list of matching {@link TransactionStatus} entries
+     * @return list of matching {@link TransactionStatus} entries, in timestamp order
      */
     @Override
     public List<TransactionStatus> getStatusesByDateRange(Date startDate, Date endDate) {
+        loader.awaitLoaded();
         List<TransactionStatus> list = new ArrayList<>();
-        SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd");
-        try {
-            Date startDateNormalized = simpleDateFormat.parse(simpleDateFormat.format(startDate));
-            Date endDateNormalized = simpleDateFormat.parse(simpleDateFormat.format(endDate));
-            for (TransactionStatus transactionStatus : transactionStatuses) {
-                Date tsDate = simpleDateFormat.parse(simpleDateFormat.format(transactionStatus.getTimestamp()));
-                if (tsDate.compareTo(startDateNormalized) >= 0 && tsDate.compareTo(endDateNormalized) <= 0) {
-                    list.add(transactionStatus);
-                }
-            }
-            return list;
-        } catch (ParseException e) {
-            e.printStackTrace();
-        }
-        return null;
+        timestampIndex.forEachOnDays(DateIndex.epochDay(startDate), DateIndex.epochDay(endDate),
+                position -> list.add(transactionStatuses.get(position)));
+        return list;
     }
     
+    /**
+     * Retrieves one page of the transaction statuses matching the provided type.
+     *
+     * @param statusType status type to filter by
+     * @param pageRequest size and position of the page
+     * @return page of matching {@link TransactionStatus} entries, in timestamp order
+     */
+    @Override
+    public Page<TransactionStatus> getStatusesByType(String statusType, PageRequest pageRequest) {
+        return page(Long.MIN_VALUE, pageRequest,
+                (fromMillis, proceed, action) -> typeIndex.forEachInRangeWhile(statusType, fromMillis, Long.MAX_VALUE,
+                        proceed, action));
+    }
+
+    /**
+     * Retrieves one page of the transaction statuses matching the provided reason.
+     *
+     * @param reason status reason to filter by
+     * @param pageRequest size and position of the page
+     * @return page of matching {@link TransactionStatus} entries, in timestamp order
+     */
+    @Override
+    public Page<TransactionStatus> getStatusesByReason(String reason, PageRequest pageRequest) {
+        return page(Long.MIN_VALUE, pageRequest,
+                (fromMillis, proceed, action) -> reasonIndex.forEachInRangeWhile(reason, fromMillis, Long.MAX_VALUE,
+                        proceed, action));
+    }
+
+    /**
+     * Retrieves one page of the transaction statuses that match a specific date (ignores time).
+     *
+     * @param date date to match
+     * @param pageRequest size and position of the page
+     * @return page of {@link TransactionStatus} created on that date, in timestamp order
+     */
+    @Override
+    public Page<TransactionStatus> getStatusesByDate(Date date, PageRequest pageRequest) {
+        return getStatusesByDateRange(date, date, pageRequest);
+    }
+
+    /**
+     * Retrieves one page of the transaction statuses within a date range (inclusive).
+     *
+     * @param startDate start of the range
+     * @param endDate end of the range
+     * @param pageRequest size and position of the page
+     * @return page of matching {@link TransactionStatus} entries, in timestamp order
+     */
+    @Override
+    public Page<TransactionStatus> getStatusesByDateRange(Date startDate, Date endDate, PageRequest pageRequest) {
+        long toMillis = DateIndex.startOfDay(DateIndex.epochDay(endDate) + 1);
+        return page(DateIndex.startOfDay(DateIndex.epochDay(startDate)), pageRequest,
+                (fromMillis, proceed, action) -> timestampIndex.forEachInRangeWhile(fromMillis, toMillis, proceed, action));
+    }
+
+    /**
+     * Streams the transaction statuses matching the provided type, in table order.
+     * The stream reads the table in place, so it should be consumed before the next write.
+     *
+     * @param statusType status type to filter by
+     * @return stream of matching {@link TransactionStatus} entries, read lazily
+     */
+    @Override
+    public Stream<TransactionStatus> streamStatusesByType(String statusType) {
+        loader.awaitLoaded();
+        return transactionStatuses.stream()
+                .filter(transactionStatus -> transactionStatus.getStatusType().equals(statusType));
+    }
+
+    /**
+     * Streams the transaction statuses matching the provided reason, in table order.
+     *
+     * @param reason status reason to filter by
+     * @return stream of matching {@link TransactionStatus} entries, read lazily
+     */
+    @Override
+    public Stream<TransactionStatus> streamStatusesByReason(String reason) {
+        loader.awaitLoaded();
+        return transactionStatuses.stream()
+                .filter(transactionStatus -> transactionStatus.getReason().equals(reason));
+    }
+
+    /**
+     * Streams the transaction statuses that match a specific date (ignores time).
+     *
+     * @param date date to match
+     * @return stream of {@link TransactionStatus} created on that date, in timestamp order, read lazily
+     */
+    @Override
+    public Stream<TransactionStatus> streamStatusesByDate(Date date) {
+        return streamStatusesByDateRange(date, date);
+    }
+
+    /**
+     * Streams the transaction statuses within a date range (inclusive), read from
+     * the timestamp index one date at a time.
+     *
+     * @param startDate start of the range
+     * @param endDate end of the range
+     * @return stream of matching {@link TransactionStatus} entries, in timestamp order, read lazily
+     */
+    @Override
+    public Stream<TransactionStatus> streamStatusesByDateRange(Date startDate, Date endDate) {
+        loader.awaitLoaded();
+        return timestampIndex.streamInRange(DateIndex.startOfDay(DateIndex.epochDay(startDate)),
+                DateIndex.startOfDay(DateIndex.epochDay(endDate) + 1)).mapToObj(transactionStatuses::get);
+    }
+
+    /**
+     * Walks an index ordered by timestamp from the position the page starts at and
+     * stops as soon as the page is complete, so a page reads about as many rows as it holds.
+     */
+    private static Page<TransactionStatus> page(long fromMillis, PageRequest pageRequest, IndexWalk indexWalk) {
+        loader.awaitLoaded();
+        PageCollector<TransactionStatus> collector = new PageCollector<>(pageRequest);
+        long from = pageRequest.isFirst() ? fromMillis : Math.max(fromMillis, pageRequest.getAfterMillis());
+        indexWalk.forEachFromWhile(from, instant -> !collector.isDone(instant), position -> {
+            TransactionStatus transactionStatus = transactionStatuses.get(position);
+            collector.offer(transactionStatus.getTimestamp().getTime(), transactionStatus.getTransactionStatusId(),
+                    transactionStatus);
+        });
+        return collector.toPage(Function.identity());
+    }
+
+    // Walks the positions of one index in timestamp order from an instant on, while proceed accepts the instant.
+    @FunctionalInterface
+    private interface IndexWalk {
+        void forEachFromWhile(long fromMillis, LongPredicate proceed, IntConsumer action);
+    }
+
     /**
      * Adds a new transaction status to the in-memory list.
      *
@@ -172,6 +302,7 @@ public class TransactionStatusDAOImpl implements ITransactionStatusDAO {
      */
     @Override
     public TransactionStatus createStatus(TransactionStatus transactionStatus) {
+        loader.awaitLoaded();
     	return transactionStatuses.get(transactionStatuses.size() - 1);
     }
     
@@ -184,14 +315,8 @@ public class TransactionStatusDAOImpl implements ITransactionStatusDAO {
      */
     @Override
     public TransactionStatus updateStatus(TransactionStatus transactionStatus) {
-        for (int i = 0; i < transactionStatuses.size(); i++) {
-            TransactionStatus existingTransactionStatus = transactionStatuses.get(i);
-            if (existingTransactionStatus.getTransactionStatusId().equals(transactionStatus.getTransactionStatusId())) {
-                transactionStatuses.set(i, transactionStatus);
-                return transactionStatuses.get(i);
-            }
-        }
-        return null;
+        loader.awaitLoaded();
+        return transactionStatuses.replaceByKey(transactionStatus);
     }
     
     /**
@@ -202,6 +327,7 @@ public class TransactionStatusDAOImpl implements ITransactionStatusDAO {
      */
     @Override
     public boolean deleteStatusById(String transactionStatusId) {
-        return transactionStatuses.removeIf(ts -> ts.getTransactionStatusId().equals(transactionStatusId));
+        loader.awaitLoaded();
+        return transactionStatuses.removeByKey(transactionStatusId);
     }
 }
@@ -0,0 +1,130 @@
+package com.nwg.ezpay.repository.aggregate;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+
+import com.nwg.ezpay.repository.storage.Amounts;
+
+/**
+ * The aggregates of one group of transactions: how many there are, and the sum,
+ * minimum, maximum and average of their amounts. Transactions without an amount
+ * are counted but left out of the amount aggregates.
+ *
+ * <p>Amounts are added up in minor units, so a sum is exact however many
+ * transactions it covers.</p>
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public final class AggregateRow {
+
+	/**
+	 * Order of aggregate rows: by type, status and then period, with nulls first.
+	 */
+	public static final Comparator<AggregateRow> KEY_ORDER = Comparator
+			.comparing(AggregateRow::getType, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+			.thenComparing(AggregateRow::getStatus, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+			.thenComparing(AggregateRow::getPeriod, Comparator.nullsFirst(Comparator.<LocalDate>naturalOrder()));
+
+	private final String type;
+	private final String status;
+	private final LocalDate period;
+	private final long count;
+	private final long amountCount;
+	private final long sum;
+	private final long min;
+	private final long max;
+
+	/**
+	 * @param type        : type of the group, or null
+	 * @param status      : status of the group, or null
+	 * @param period      : first day of the day or month of the group, or null
+	 * @param count       : number of transactions in the group
+	 * @param amountCount : number of them with an amount
+	 * @param sum         : sum of the amounts in minor units
+	 * @param min         : smallest amount in minor units, or {@link Amounts#NULL_AMOUNT} if there is none
+	 * @param max         : largest amount in minor units, or {@link Amounts#NULL_AMOUNT} if there is none
+	 */
+	public AggregateRow(String type, String status, LocalDate period, long count, long amountCount, long sum, long min,
+			long max) {
+		this.type = type;
+		this.status = status;
+		this.period = period;
+		this.count = count;
+		this.amountCount = amountCount;
+		this.sum = sum;
+		this.min = min;
+		this.max = max;
+	}
+
+	/**
+	 * @return {@code String} : type of the group; null if not grouped on the type or for transactions without one
+	 */
+	public String getType() {
+		return type;
+	}
+
+	/**
+	 * @return {@code String} : status of the group; null if not grouped on the status or for transactions without one
+	 */
+	public String getStatus() {
+		return status;
+	}
+
+	/**
+	 * @return {@code LocalDate} : the day, or the first day of the month, of the group; null if not grouped on
+	 * the date or for undated transactions
+	 */
+	public LocalDate getPeriod() {
+		return period;
+	}
+
+	/**
+	 * @return {@code long} : number of transactions in the group
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * @return {@code long} : number of transactions in the group with an amount
+	 */
+	public long getAmountCount() {
+		return amountCount;
+	}
+
+	/**
+	 * @return {@code Double} : sum of the amounts, 0 if there are none
+	 */
+	public Double getSum() {
+		return Amounts.fromMinorUnits(sum);
+	}
+
+	/**
+	 * @return {@code Double} : smallest amount, or null if there are none
+	 */
+	public Double getMin() {
+		return amountCount == 0 ? null : Amounts.fromMinorUnits(min);
+	}
+
+	/**
+	 * @return {@code Double} : largest amount, or null if there are none
+	 */
+	public Double getMax() {
+		return amountCount == 0 ? null : Amounts.fromMinorUnits(max);
+	}
+
+	/**
+	 * @return {@code Double} : mean of the amounts, or null if there are none
+	 */
+	public Double getAverage() {
+		return amountCount == 0 ? null : Amounts.fromMinorUnits(sum) / amountCount;
+	}
+
+	@Override
+	public String toString() {
+		return "AggregateRow [type=" + type + ", status=" + status + ", period=" + period + ", count=" + count + ", sum="
+				+ getSum() + ", min=" + getMin() + ", max=" + getMax() + ", average=" + getAverage() + "]";
+	}
+}
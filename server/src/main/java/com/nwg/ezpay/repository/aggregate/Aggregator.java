@@ -0,0 +1,232 @@
+package com.nwg.ezpay.repository.aggregate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import com.nwg.ezpay.entity.Transaction;
+import com.nwg.ezpay.repository.index.DateIndex;
+import com.nwg.ezpay.repository.storage.Amounts;
+import com.nwg.ezpay.repository.storage.ValueDictionary;
+
+/**
+ * Computes grouped aggregates of transactions in one pass. Each transaction is
+ * added as its type and status codes, its instant and its amount in minor units,
+ * so a store holding its columns as primitives feeds them straight in without
+ * building a {@code Transaction}, and the pass allocates nothing per row.
+ *
+ * <p>The group key is packed into a {@code long} - the two codes and the epoch day
+ * of the period - and looked up in an open-addressing table whose counts, sums,
+ * minimums and maximums are kept in parallel arrays. The period of an instant is
+ * computed once per day or month: the bounds of the last one are kept, so rows
+ * stored in date order hardly ever convert an instant to a date.</p>
+ *
+ * <p>An aggregator is not thread-safe; a store fills one from a single snapshot
+ * or scan and then calls {@link #rows()}.</p>
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public final class Aggregator {
+
+	/**
+	 * Instant of an undated transaction.
+	 */
+	public static final long NULL_INSTANT = Long.MIN_VALUE;
+
+	private static final long NO_PERIOD = Long.MIN_VALUE;
+	private static final long DATED = 1L << 47;
+	private static final long DAY_BITS = DATED - 1;
+	private static final int INITIAL_GROUPS = 8;
+
+	private final ValueDictionary types;
+	private final ValueDictionary statuses;
+	private final boolean byType;
+	private final boolean byStatus;
+	private final GroupBy period;
+
+	// Group index + 1 in each slot of the hash table, 0 for a free slot.
+	private int[] slots = new int[INITIAL_GROUPS * 2];
+	private long[] keys = new long[INITIAL_GROUPS];
+	private long[] periods = new long[INITIAL_GROUPS];
+	private long[] counts = new long[INITIAL_GROUPS];
+	private long[] amountCounts = new long[INITIAL_GROUPS];
+	private long[] sums = new long[INITIAL_GROUPS];
+	private long[] mins = new long[INITIAL_GROUPS];
+	private long[] maxs = new long[INITIAL_GROUPS];
+	private int groups;
+
+	private long lastKey;
+	private int lastGroup = -1;
+	private long periodFrom;
+	private long periodTo;
+	private long lastPeriod;
+
+	/**
+	 * Creates an aggregator for transactions added as objects, which encodes their
+	 * type and status itself.
+	 *
+	 * @param groupBy : keys to group on, empty for a single group
+	 */
+	public Aggregator(Set<GroupBy> groupBy) {
+		this(groupBy, new ValueDictionary(), new ValueDictionary());
+	}
+
+	/**
+	 * Creates an aggregator for transactions added as codes of the given dictionaries.
+	 *
+	 * @param groupBy  : keys to group on, empty for a single group
+	 * @param types    : dictionary of the type codes
+	 * @param statuses : dictionary of the status codes
+	 */
+	public Aggregator(Set<GroupBy> groupBy, ValueDictionary types, ValueDictionary statuses) {
+		this.types = types;
+		this.statuses = statuses;
+		this.byType = groupBy.contains(GroupBy.TYPE);
+		this.byStatus = groupBy.contains(GroupBy.STATUS);
+		this.period = groupBy.contains(GroupBy.DAY) ? GroupBy.DAY : groupBy.contains(GroupBy.MONTH) ? GroupBy.MONTH : null;
+	}
+
+	/**
+	 * @param transaction : transaction to add to its group
+	 * @throws IllegalStateException if there are more than 255 types or statuses to group on
+	 */
+	public void add(Transaction transaction) {
+		int typeCode = byType ? types.encode(transaction.getType()) : ValueDictionary.NULL_CODE;
+		int statusCode = byStatus ? statuses.encode(transaction.getStatus()) : ValueDictionary.NULL_CODE;
+		long instant = transaction.getDate() == null ? NULL_INSTANT : transaction.getDate().getTime();
+		add(typeCode, statusCode, instant, Amounts.toMinorUnits(transaction.getAmount()));
+	}
+
+	/**
+	 * @param typeCode   : code of the type in the type dictionary
+	 * @param statusCode : code of the status in the status dictionary
+	 * @param instant    : date in epoch millis, or {@link #NULL_INSTANT}
+	 * @param amount     : amount in minor units, or {@link Amounts#NULL_AMOUNT}
+	 */
+	public void add(int typeCode, int statusCode, long instant, long amount) {
+		long key = 0;
+		if (byType) {
+			key |= (long) (typeCode & 0xFF) << 56;
+		}
+		if (byStatus) {
+			key |= (long) (statusCode & 0xFF) << 48;
+		}
+		long day = NO_PERIOD;
+		if (period != null && instant != NULL_INSTANT) {
+			day = periodOf(instant);
+			key |= DATED | (day & DAY_BITS);
+		}
+		int group = key == lastKey && lastGroup >= 0 ? lastGroup : group(key, day);
+		lastKey = key;
+		lastGroup = group;
+		counts[group]++;
+		if (amount != Amounts.NULL_AMOUNT) {
+			if (amountCounts[group]++ == 0) {
+				mins[group] = amount;
+				maxs[group] = amount;
+			} else if (amount < mins[group]) {
+				mins[group] = amount;
+			} else if (amount > maxs[group]) {
+				maxs[group] = amount;
+			}
+			sums[group] += amount;
+		}
+	}
+
+	/**
+	 * @return {@code List<AggregateRow>} : one row per group, in {@link AggregateRow#KEY_ORDER}
+	 */
+	public List<AggregateRow> rows() {
+		List<AggregateRow> rows = new ArrayList<AggregateRow>(groups);
+		for (int group = 0; group < groups; group++) {
+			long key = keys[group];
+			rows.add(new AggregateRow(byType ? types.decode((byte) (key >>> 56)) : null,
+					byStatus ? statuses.decode((byte) (key >>> 48)) : null,
+					periods[group] == NO_PERIOD ? null : LocalDate.ofEpochDay(periods[group]), counts[group],
+					amountCounts[group], sums[group], amountCounts[group] == 0 ? Amounts.NULL_AMOUNT : mins[group],
+					amountCounts[group] == 0 ? Amounts.NULL_AMOUNT : maxs[group]));
+		}
+		rows.sort(AggregateRow.KEY_ORDER);
+		return rows;
+	}
+
+	/**
+	 * @return the epoch day of the day, or of the first day of the month, containing {@code instant}
+	 */
+	private long periodOf(long instant) {
+		if (instant >= periodFrom && instant < periodTo) {
+			return lastPeriod;
+		}
+		LocalDate date = Instant.ofEpochMilli(instant).atZone(ZoneId.systemDefault()).toLocalDate();
+		LocalDate next;
+		if (period == GroupBy.MONTH) {
+			date = date.withDayOfMonth(1);
+			next = date.plusMonths(1);
+		} else {
+			next = date.plusDays(1);
+		}
+		lastPeriod = date.toEpochDay();
+		periodFrom = DateIndex.startOfDay(lastPeriod);
+		periodTo = DateIndex.startOfDay(next.toEpochDay());
+		return lastPeriod;
+	}
+
+	/**
+	 * @return the index of the group with {@code key}, added if it is new
+	 */
+	private int group(long key, long day) {
+		int mask = slots.length - 1;
+		int slot = hash(key) & mask;
+		while (slots[slot] != 0) {
+			int group = slots[slot] - 1;
+			if (keys[group] == key) {
+				return group;
+			}
+			slot = (slot + 1) & mask;
+		}
+		if (groups == keys.length) {
+			grow();
+			return group(key, day);
+		}
+		int group = groups++;
+		keys[group] = key;
+		periods[group] = day;
+		slots[slot] = group + 1;
+		return group;
+	}
+
+	private void grow() {
+		int capacity = keys.length * 2;
+		keys = Arrays.copyOf(keys, capacity);
+		periods = Arrays.copyOf(periods, capacity);
+		counts = Arrays.copyOf(counts, capacity);
+		amountCounts = Arrays.copyOf(amountCounts, capacity);
+		sums = Arrays.copyOf(sums, capacity);
+		mins = Arrays.copyOf(mins, capacity);
+		maxs = Arrays.copyOf(maxs, capacity);
+		slots = new int[capacity * 2];
+		int mask = slots.length - 1;
+		for (int group = 0; group < groups; group++) {
+			int slot = hash(keys[group]) & mask;
+			while (slots[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			slots[slot] = group + 1;
+		}
+	}
+
+	/**
+	 * Mixes every bit of the key into the low bits, since the codes sit in the high ones.
+	 */
+	private static int hash(long key) {
+		key = (key ^ (key >>> 33)) * 0xFF51AFD7ED558CCDL;
+		key = (key ^ (key >>> 33)) * 0xC4CEB93FE53EC8EBL;
+		return (int) (key ^ (key >>> 33));
+	}
+}
@@ -0,0 +1,18 @@
+package com.nwg.ezpay.repository.aggregate;
+
+/**
+ * A key transactions can be grouped on when they are aggregated. Any combination
+ * of keys may be used; with none, every transaction falls in a single group.
+ *
+ * <p>{@link #DAY} and {@link #MONTH} group on the calendar day or month of the
+ * transaction date in the default time zone. Days are always within one month, so
+ * grouping on both is grouping on the day.</p>
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public enum GroupBy {
+
+	TYPE, STATUS, DAY, MONTH
+}
@@ -0,0 +1,1125 @@
+package com.nwg.ezpay.repository.index;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import com.nwg.ezpay.entity.Transaction;
+import com.nwg.ezpay.repository.aggregate.AggregateRow;
+import com.nwg.ezpay.repository.aggregate.Aggregator;
+import com.nwg.ezpay.repository.aggregate.GroupBy;
+import com.nwg.ezpay.repository.page.Page;
+import com.nwg.ezpay.repository.page.PageCollector;
+import com.nwg.ezpay.repository.page.PageRequest;
+import com.nwg.ezpay.repository.query.QueryPlan;
+import com.nwg.ezpay.repository.query.QueryPlan.Access;
+import com.nwg.ezpay.repository.query.QueryPlanner;
+import com.nwg.ezpay.repository.query.TransactionQuery;
+
+/**
+ * A thread-safe, multi-versioned in-memory table of transactions, keyed on the
+ * transaction ID, with secondary indexes on the type, status, date and amount.
+ *
+ * <p>Writes are lock-striped: a create, update or delete locks one of
+ * {@value #STRIPES} locks chosen by the hash of the ID, checks the current row
+ * and runs an optional action such as a log write. It then takes the next commit
+ * version and installs a new version of the row in the primary key and every
+ * index, leaving the versions that readers may still be looking at in place.
+ * Two writers only wait for each other when their IDs share a stripe, and a
+ * create can never pass the duplicate check for an ID that another create is
+ * inserting.</p>
+ *
+ * <p>A write becomes visible when its commit version is published, which happens
+ * once every lower version is published, so the published version always names a
+ * consistent state of the table. Readers never lock: a {@link Snapshot} reads at
+ * the version published when it is opened and only sees the row versions that
+ * were current then, however long it is kept open and whatever is written
+ * meanwhile. A scan never sees half of an update, and never sees a row twice or
+ * misses it because it moved between index entries.</p>
+ *
+ * <p>A version that was replaced or deleted is kept until no open snapshot can
+ * see it. It is then taken out of the indexes by the next write, or by the
+ * snapshot that was the last to need it when it closes.</p>
+ *
+ * <p>Every row gets a sequence number when it is inserted, which an update keeps.
+ * Queries on type and status return rows in that order, date queries in date
+ * order and amount queries in ascending amount order, each with ties in
+ * sequence order. Paged queries return their page in date and then ID order.
+ * The type and status indexes also keep each value's rows in date order, so a
+ * page of a type or status, like a page of a date range, is read from the
+ * requested position up to the end of the page. A page of an amount range reads
+ * the range from the amount index when it is narrow and otherwise walks the date
+ * index until the page is full, whichever reads fewer rows.</p>
+ *
+ * <p>Streaming queries read the index lazily through a snapshot that stays open
+ * until the stream is closed, so a consumer sees one consistent version of the
+ * table however long it takes, and the versions it may see are kept until then.
+ * The index collections split, so the streams can run in parallel.</p>
+ *
+ * <p>A {@link TransactionQuery} filtering on several columns walks the one
+ * index that the {@link QueryPlanner} expects to give the fewest rows, and checks
+ * the other filters on each row it reads.</p>
+ *
+ * <p>This table replaced a single-writer table whose type and status indexes
+ * were compressed bitmaps of row positions and whose amount index was a pair of
+ * sorted primitive arrays. Row versions have no stable position to set a bit
+ * for, so every index here is a skip list of versions instead. Compared with
+ * those indexes:</p>
+ * <ul>
+ * <li>a type, status or amount query still reads only its matching rows, an
+ * amount range still costs one seek plus its rows, and counts per type and status
+ * still come from a counter without building a list;</li>
+ * <li>an index entry is a skip-list node of some tens of bytes rather than a bit
+ * or two bytes of a container, or a {@code double} and an {@code int} in two arrays,
+ * so the indexes take several times the memory and a range is read by following
+ * references rather than as a slice of an array;</li>
+ * <li>there is no bitmap to intersect, so a query filtering on both type and
+ * status reads the smaller of the two and filters its rows.</li>
+ * </ul>
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public class ConcurrentTransactionTable extends AbstractCollection<Transaction> {
+
+	static final int STRIPES = 64;
+
+	// ConcurrentHashMap doesn't take null keys; a null ID is stored under this one.
+	private static final String NULL_ID = "\u0000null";
+
+	private static final Comparator<Version> BY_SEQUENCE = new Comparator<Version>() {
+		@Override
+		public int compare(Version a, Version b) {
+			int bySequence = Long.compare(a.sequence, b.sequence);
+			return bySequence != 0 ? bySequence : Long.compare(a.created, b.created);
+		}
+	};
+
+	/**
+	 * One version of a stored transaction: the transaction, its insertion sequence
+	 * number, the commit versions between which it is current, and the values it is
+	 * indexed under. The values are copied when the version is made, so it can be
+	 * taken out of the indexes even after the caller changed the transaction.
+	 */
+	private static final class Version {
+
+		private final String key;
+		private final long sequence;
+		private final long created;
+		// Commit version of the write that replaced or deleted this version.
+		private volatile long deleted = Long.MAX_VALUE;
+		private final Transaction transaction;
+		private final String type;
+		private final String status;
+		private final OrderKey instantKey;
+		private final OrderKey amountKey;
+		// The version this one replaced, while a snapshot may still need it, and the one that replaced this.
+		private volatile Version older;
+		private volatile Version newer;
+
+		Version(String key, long sequence, long created, Transaction transaction) {
+			this.key = key;
+			this.sequence = sequence;
+			this.created = created;
+			this.transaction = transaction;
+			this.type = transaction.getType();
+			this.status = transaction.getStatus();
+			this.instantKey = transaction.getDate() == null ? null
+					: new OrderKey(transaction.getDate().getTime(), sequence, created);
+			this.amountKey = transaction.getAmount() == null ? null
+					: new OrderKey(sortable(transaction.getAmount()), sequence, created);
+		}
+
+		boolean isVisibleAt(long version) {
+			return created <= version && version < deleted;
+		}
+	}
+
+	/**
+	 * Key of an ordered index: the indexed value, then the row's sequence number,
+	 * then the commit version of the row version.
+	 */
+	private static final class OrderKey implements Comparable<OrderKey> {
+
+		private final long value;
+		private final long sequence;
+		private final long created;
+
+		OrderKey(long value, long sequence, long created) {
+			this.value = value;
+			this.sequence = sequence;
+			this.created = created;
+		}
+
+		@Override
+		public int compareTo(OrderKey other) {
+			int byValue = Long.compare(value, other.value);
+			if (byValue != 0) {
+				return byValue;
+			}
+			int bySequence = Long.compare(sequence, other.sequence);
+			return bySequence != 0 ? bySequence : Long.compare(created, other.created);
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof OrderKey && compareTo((OrderKey) other) == 0;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(value, sequence, created);
+		}
+	}
+
+	/**
+	 * Row versions by the value of a low-cardinality column, in sequence order and,
+	 * for dated rows, in date order, with a count per value of the current rows
+	 * holding it.
+	 */
+	private static final class ValueIndex {
+
+		private final ConcurrentMap<String, ConcurrentSkipListSet<Version>> versions = new ConcurrentHashMap<String, ConcurrentSkipListSet<Version>>();
+		private final ConcurrentMap<String, ConcurrentSkipListMap<OrderKey, Version>> byInstant = new ConcurrentHashMap<String, ConcurrentSkipListMap<OrderKey, Version>>();
+		private final ConcurrentMap<String, AtomicInteger> counts = new ConcurrentHashMap<String, AtomicInteger>();
+
+		void add(String value, Version version) {
+			if (value != null) {
+				versions.computeIfAbsent(value, v -> new ConcurrentSkipListSet<Version>(BY_SEQUENCE)).add(version);
+				if (version.instantKey != null) {
+					byInstant.computeIfAbsent(value, v -> new ConcurrentSkipListMap<OrderKey, Version>())
+							.put(version.instantKey, version);
+				}
+				counts.computeIfAbsent(value, v -> new AtomicInteger()).incrementAndGet();
+			}
+		}
+
+		void retire(String value) {
+			if (value != null) {
+				counts.get(value).decrementAndGet();
+			}
+		}
+
+		void reclaim(String value, Version version) {
+			// The set is gone if the table was cleared after the version retired.
+			ConcurrentSkipListSet<Version> matching = value == null ? null : versions.get(value);
+			if (matching != null) {
+				matching.remove(version);
+			}
+			ConcurrentSkipListMap<OrderKey, Version> dated = value == null || version.instantKey == null ? null
+					: byInstant.get(value);
+			if (dated != null) {
+				dated.remove(version.instantKey);
+			}
+		}
+
+		Collection<Version> versions(String value) {
+			ConcurrentSkipListSet<Version> matching = value == null ? null : versions.get(value);
+			return matching == null ? new ArrayList<Version>() : matching;
+		}
+
+		NavigableMap<OrderKey, Version> versionsByInstant(String value) {
+			ConcurrentSkipListMap<OrderKey, Version> dated = value == null ? null : byInstant.get(value);
+			return dated == null ? new ConcurrentSkipListMap<OrderKey, Version>() : dated;
+		}
+
+		int count(String value) {
+			AtomicInteger count = value == null ? null : counts.get(value);
+			return count == null ? 0 : count.get();
+		}
+
+		void clear() {
+			versions.clear();
+			byInstant.clear();
+			counts.clear();
+		}
+	}
+
+	/**
+	 * A consistent, read-only view of the table as of one commit version. Opening
+	 * one takes no lock. It should be closed when done, so that the row versions
+	 * only it can see are reclaimed; it is meant for one thread.
+	 */
+	public final class Snapshot implements AutoCloseable {
+
+		// Version published when the snapshot was registered; versions deleted after it are kept.
+		private final long pinned;
+		private long version;
+		private boolean closed;
+
+		private Snapshot(long pinned) {
+			this.pinned = pinned;
+		}
+
+		/**
+		 * @return {@code long} : commit version the snapshot reads at
+		 */
+		public long getVersion() {
+			return version;
+		}
+
+		/**
+		 * @param transactionId : ID of the transaction
+		 * @return {@code Transaction} : the transaction stored with the ID, or null if there was none
+		 */
+		public Transaction get(String transactionId) {
+			Version visible = visibleVersion(primaryKey.get(key(transactionId)));
+			return visible == null ? null : visible.transaction;
+		}
+
+		/**
+		 * @return {@code List<Transaction>} : transactions of the type, in insertion order
+		 */
+		public List<Transaction> withType(String type) {
+			return visibleTransactions(types.versions(type));
+		}
+
+		/**
+		 * @return {@code List<Transaction>} : transactions with the status, in insertion order
+		 */
+		public List<Transaction> withStatus(String status) {
+			return visibleTransactions(statuses.versions(status));
+		}
+
+		/**
+		 * @param fromMillis : start of the range, inclusive
+		 * @param toMillis   : end of the range, exclusive
+		 * @return {@code List<Transaction>} : transactions dated in the range, in date order
+		 */
+		public List<Transaction> inInstantRange(long fromMillis, long toMillis) {
+			if (fromMillis >= toMillis) {
+				return new ArrayList<Transaction>();
+			}
+			return visibleTransactions(instants.subMap(new OrderKey(fromMillis, Long.MIN_VALUE, Long.MIN_VALUE), true,
+					new OrderKey(toMillis, Long.MIN_VALUE, Long.MIN_VALUE), false).values());
+		}
+
+		/**
+		 * @param startAmount : lower bound of the range, inclusive
+		 * @param endAmount   : upper bound of the range, inclusive
+		 * @return {@code List<Transaction>} : transactions with an amount in the range, in ascending amount order
+		 */
+		public List<Transaction> inAmountRange(double startAmount, double endAmount) {
+			if (Double.compare(startAmount, endAmount) > 0) {
+				return new ArrayList<Transaction>();
+			}
+			return visibleTransactions(amounts.subMap(new OrderKey(sortable(startAmount), Long.MIN_VALUE, Long.MIN_VALUE), true,
+					new OrderKey(sortable(endAmount), Long.MAX_VALUE, Long.MAX_VALUE), true).values());
+		}
+
+		/**
+		 * Walks the date index from the requested position and stops as soon as the
+		 * page is complete, so only the rows up to the end of the page are read.
+		 *
+		 * @param fromMillis  : start of the range, inclusive
+		 * @param toMillis    : end of the range, exclusive
+		 * @param filter      : condition the transactions on the page must meet
+		 * @param pageRequest : size and position of the page
+		 * @return {@code Page<Transaction>} : one page of the matching transactions dated in the range
+		 */
+		public Page<Transaction> pageInInstantRange(long fromMillis, long toMillis, Predicate<Transaction> filter,
+				PageRequest pageRequest) {
+			return page(instants, fromMillis, toMillis, filter, pageRequest);
+		}
+
+		/**
+		 * Walks the dated rows of the type in date order from the requested position.
+		 *
+		 * @param type        : type of the transactions
+		 * @param pageRequest : size and position of the page
+		 * @return {@code Page<Transaction>} : one page of the dated transactions of the type
+		 */
+		public Page<Transaction> pageWithType(String type, PageRequest pageRequest) {
+			return page(types.versionsByInstant(type), Long.MIN_VALUE, Long.MAX_VALUE, transaction -> true, pageRequest);
+		}
+
+		/**
+		 * Walks the dated rows with the status in date order from the requested position.
+		 *
+		 * @param status      : status of the transactions
+		 * @param pageRequest : size and position of the page
+		 * @return {@code Page<Transaction>} : one page of the dated transactions with the status
+		 */
+		public Page<Transaction> pageWithStatus(String status, PageRequest pageRequest) {
+			return page(statuses.versionsByInstant(status), Long.MIN_VALUE, Long.MAX_VALUE, transaction -> true,
+					pageRequest);
+		}
+
+		/**
+		 * Reads the page from whichever index reads fewer rows. Walking the date
+		 * index and skipping the rows out of the range reads about
+		 * {@code (pageSize + 1) * rows / matches} rows, while reading the range from
+		 * the amount index reads all its matches, so the range is counted up to the
+		 * point where the two are equal and read from the amount index if it is
+		 * smaller than that.
+		 *
+		 * @param startAmount : lower bound of the range, inclusive
+		 * @param endAmount   : upper bound of the range, inclusive
+		 * @param pageRequest : size and position of the page
+		 * @return {@code Page<Transaction>} : one page of the dated transactions with an amount in the range
+		 */
+		public Page<Transaction> pageInAmountRange(double startAmount, double endAmount, PageRequest pageRequest) {
+			if (Double.compare(startAmount, endAmount) > 0) {
+				return Page.empty();
+			}
+			Collection<Version> range = amounts.subMap(new OrderKey(sortable(startAmount), Long.MIN_VALUE, Long.MIN_VALUE),
+					true, new OrderKey(sortable(endAmount), Long.MAX_VALUE, Long.MAX_VALUE), true).values();
+			long breakEven = (long) Math.ceil(Math.sqrt((pageRequest.getPageSize() + 1.0) * Math.max(rows.get(), 1)));
+			if (QueryPlanner.countUpTo(range.iterator(), breakEven) == breakEven) {
+				return page(instants, Long.MIN_VALUE, Long.MAX_VALUE, transaction -> transaction.getAmount() != null
+						&& transaction.getAmount() >= startAmount && transaction.getAmount() <= endAmount, pageRequest);
+			}
+			PageCollector<Transaction> collector = new PageCollector<Transaction>(pageRequest);
+			for (Version candidate : range) {
+				if (candidate.instantKey != null && candidate.isVisibleAt(version)) {
+					collector.offer(candidate.instantKey.value, candidate.key, candidate.transaction);
+				}
+			}
+			return collector.toPage(Function.identity());
+		}
+
+		/**
+		 * @return {@code Stream<Transaction>} : transactions of the type, in insertion order, read lazily
+		 */
+		public Stream<Transaction> streamWithType(String type) {
+			return visibleStream(types.versions(type));
+		}
+
+		/**
+		 * @return {@code Stream<Transaction>} : transactions with the status, in insertion order, read lazily
+		 */
+		public Stream<Transaction> streamWithStatus(String status) {
+			return visibleStream(statuses.versions(status));
+		}
+
+		/**
+		 * @param fromMillis : start of the range, inclusive
+		 * @param toMillis   : end of the range, exclusive
+		 * @return {@code Stream<Transaction>} : transactions dated in the range, in date order, read lazily
+		 */
+		public Stream<Transaction> streamInInstantRange(long fromMillis, long toMillis) {
+			if (fromMillis >= toMillis) {
+				return Stream.empty();
+			}
+			return visibleStream(instants.subMap(new OrderKey(fromMillis, Long.MIN_VALUE, Long.MIN_VALUE), true,
+					new OrderKey(toMillis, Long.MIN_VALUE, Long.MIN_VALUE), false).values());
+		}
+
+		/**
+		 * @param startAmount : lower bound of the range, inclusive
+		 * @param endAmount   : upper bound of the range, inclusive
+		 * @return {@code Stream<Transaction>} : transactions with an amount in the range, in ascending amount order,
+		 * read lazily
+		 */
+		public Stream<Transaction> streamInAmountRange(double startAmount, double endAmount) {
+			if (Double.compare(startAmount, endAmount) > 0) {
+				return Stream.empty();
+			}
+			return visibleStream(amounts.subMap(new OrderKey(sortable(startAmount), Long.MIN_VALUE, Long.MIN_VALUE), true,
+					new OrderKey(sortable(endAmount), Long.MAX_VALUE, Long.MAX_VALUE), true).values());
+		}
+
+		/**
+		 * Reads the index the planner picks for the query and keeps the rows that
+		 * meet the whole query.
+		 *
+		 * @param query : filters the transactions must meet
+		 * @return {@code List<Transaction>} : matching transactions, in {@link TransactionQuery#RESULT_ORDER}
+		 */
+		public List<Transaction> matching(TransactionQuery query) {
+			List<Transaction> transactions = new ArrayList<Transaction>();
+			forEachMatching(query, transactions::add);
+			transactions.sort(TransactionQuery.RESULT_ORDER);
+			return transactions;
+		}
+
+		/**
+		 * Reads the index the planner picks for the query and calls {@code action}
+		 * with the stored transactions that meet the whole query, in no particular order.
+		 *
+		 * @param query  : filters the transactions must meet
+		 * @param action : consumer of the matching transactions, which must not modify them
+		 */
+		public void forEachMatching(TransactionQuery query, Consumer<Transaction> action) {
+			if (query.isEmpty()) {
+				return;
+			}
+			Access access = plan(query).getAccess();
+			if (access == Access.FULL_SCAN) {
+				for (Version head : primaryKey.values()) {
+					Version found = visibleVersion(head);
+					if (found != null && query.matches(found.transaction)) {
+						action.accept(found.transaction);
+					}
+				}
+			} else {
+				for (Version candidate : candidates(access, query)) {
+					if (candidate.isVisibleAt(version) && query.matches(candidate.transaction)) {
+						action.accept(candidate.transaction);
+					}
+				}
+			}
+		}
+
+		/**
+		 * @param query   : filters the transactions must meet
+		 * @param groupBy : keys to group on
+		 * @return {@code List<AggregateRow>} : aggregates of the matching transactions per group
+		 */
+		public List<AggregateRow> aggregate(TransactionQuery query, Set<GroupBy> groupBy) {
+			Aggregator aggregator = new Aggregator(groupBy);
+			forEachMatching(query, aggregator::add);
+			return aggregator.rows();
+		}
+
+		/**
+		 * @return {@code List<Transaction>} : every transaction, in insertion order
+		 */
+		public List<Transaction> transactions() {
+			List<Version> visible = new ArrayList<Version>();
+			for (Version head : primaryKey.values()) {
+				Version found = visibleVersion(head);
+				if (found != null) {
+					visible.add(found);
+				}
+			}
+			visible.sort(BY_SEQUENCE);
+			List<Transaction> transactions = new ArrayList<Transaction>(visible.size());
+			for (Version found : visible) {
+				transactions.add(found.transaction);
+			}
+			return transactions;
+		}
+
+		@Override
+		public void close() {
+			if (!closed) {
+				closed = true;
+				readers.remove(this);
+				reclaim();
+			}
+		}
+
+		/**
+		 * Walks an index ordered by date from the requested position and stops as
+		 * soon as the page is complete.
+		 */
+		private Page<Transaction> page(NavigableMap<OrderKey, Version> byInstant, long fromMillis, long toMillis,
+				Predicate<Transaction> filter, PageRequest pageRequest) {
+			PageCollector<Transaction> collector = new PageCollector<Transaction>(pageRequest);
+			long from = pageRequest.isFirst() ? fromMillis : Math.max(fromMillis, pageRequest.getAfterMillis());
+			if (from < toMillis) {
+				for (Version candidate : byInstant.subMap(new OrderKey(from, Long.MIN_VALUE, Long.MIN_VALUE), true,
+						new OrderKey(toMillis, Long.MIN_VALUE, Long.MIN_VALUE), false).values()) {
+					long instant = candidate.instantKey.value;
+					if (collector.isDone(instant)) {
+						break;
+					}
+					if (candidate.isVisibleAt(version) && filter.test(candidate.transaction)) {
+						collector.offer(instant, candidate.key, candidate.transaction);
+					}
+				}
+			}
+			return collector.toPage(Function.identity());
+		}
+
+		private Version visibleVersion(Version head) {
+			for (Version candidate = head; candidate != null; candidate = candidate.older) {
+				if (candidate.isVisibleAt(version)) {
+					return candidate;
+				}
+			}
+			return null;
+		}
+
+		private Stream<Transaction> visibleStream(Collection<Version> candidates) {
+			long at = version;
+			return candidates.stream().filter(candidate -> candidate.isVisibleAt(at)).map(candidate -> candidate.transaction);
+		}
+
+		private List<Transaction> visibleTransactions(Collection<Version> candidates) {
+			List<Transaction> transactions = new ArrayList<Transaction>();
+			for (Version candidate : candidates) {
+				if (candidate.isVisibleAt(version)) {
+					transactions.add(candidate.transaction);
+				}
+			}
+			return transactions;
+		}
+	}
+
+	private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+	private final AtomicLong sequence = new AtomicLong();
+	// Last commit version handed to a writer, and the last one published to readers.
+	private final AtomicLong committed = new AtomicLong();
+	private final AtomicLong published = new AtomicLong();
+	private final AtomicInteger rows = new AtomicInteger();
+	// Newest version of every ID, including deleted ones that a snapshot may still see.
+	private final ConcurrentHashMap<String, Version> primaryKey = new ConcurrentHashMap<String, Version>();
+	private final ValueIndex types = new ValueIndex();
+	private final ValueIndex statuses = new ValueIndex();
+	private final ConcurrentSkipListMap<OrderKey, Version> instants = new ConcurrentSkipListMap<OrderKey, Version>();
+	private final ConcurrentSkipListMap<OrderKey, Version> amounts = new ConcurrentSkipListMap<OrderKey, Version>();
+	private final Set<Snapshot> readers = ConcurrentHashMap.newKeySet();
+	// Replaced and deleted versions, roughly in the order they stopped being current.
+	private final ConcurrentLinkedQueue<Version> retired = new ConcurrentLinkedQueue<Version>();
+	private final ReentrantLock reclaimLock = new ReentrantLock();
+
+	public ConcurrentTransactionTable() {
+		for (int i = 0; i < STRIPES; i++) {
+			stripes[i] = new ReentrantLock();
+		}
+	}
+
+	/**
+	 * Opens a snapshot of the table as of the last published write. Close it when
+	 * done, ideally with try-with-resources.
+	 *
+	 * @return {@code Snapshot} : a consistent view of the table
+	 */
+	public Snapshot snapshot() {
+		// A reclaim that runs meanwhile either sees the registration, or only reclaims
+		// versions deleted at or before the version read after registering.
+		Snapshot snapshot = new Snapshot(published.get());
+		readers.add(snapshot);
+		snapshot.version = published.get();
+		return snapshot;
+	}
+
+	/**
+	 * @param transactionId : ID of the transaction
+	 * @return {@code Transaction} : the stored transaction, or null if there is none with the ID
+	 */
+	public Transaction get(String transactionId) {
+		try (Snapshot snapshot = snapshot()) {
+			return snapshot.get(transactionId);
+		}
+	}
+
+	/**
+	 * @param transactionId : ID of the transaction
+	 * @return {@code boolean} : true if a transaction with the ID is stored
+	 */
+	public boolean containsKey(String transactionId) {
+		return get(transactionId) != null;
+	}
+
+	/**
+	 * Inserts {@code transaction} unless its ID is taken. The check and the insert
+	 * are atomic with respect to every other write of the same ID.
+	 *
+	 * @param transaction : transaction to insert
+	 * @param beforeApply : run once the ID is known to be free, before the insert; may be null.
+	 *                    If it throws, nothing is inserted.
+	 * @return {@code boolean} : true if inserted, false if the ID was taken
+	 */
+	public boolean insert(Transaction transaction, Runnable beforeApply) {
+		String key = key(transaction.getTransactionId());
+		ReentrantLock stripe = stripeOf(key);
+		long commit = 0;
+		stripe.lock();
+		try {
+			Version current = primaryKey.get(key);
+			if (current != null && current.deleted == Long.MAX_VALUE) {
+				return false;
+			}
+			if (beforeApply != null) {
+				beforeApply.run();
+			}
+			commit = committed.incrementAndGet();
+			Version version = new Version(key, sequence.incrementAndGet(), commit, transaction);
+			link(current, version);
+			primaryKey.put(key, version);
+			index(version);
+			rows.incrementAndGet();
+			return true;
+		} finally {
+			stripe.unlock();
+			publish(commit);
+		}
+	}
+
+	/**
+	 * Replaces the transaction with the ID of {@code transaction}, if there is one.
+	 *
+	 * @param transaction : transaction holding the new values
+	 * @param beforeApply : run once the ID is known to be present, before the update; may be null
+	 * @return {@code Transaction} : {@code transaction} if it replaced a stored one, otherwise null
+	 */
+	public Transaction replace(Transaction transaction, Runnable beforeApply) {
+		String key = key(transaction.getTransactionId());
+		ReentrantLock stripe = stripeOf(key);
+		long commit = 0;
+		stripe.lock();
+		try {
+			Version current = primaryKey.get(key);
+			if (current == null || current.deleted != Long.MAX_VALUE) {
+				return null;
+			}
+			if (beforeApply != null) {
+				beforeApply.run();
+			}
+			commit = committed.incrementAndGet();
+			Version version = new Version(key, current.sequence, commit, transaction);
+			link(current, version);
+			primaryKey.put(key, version);
+			index(version);
+			retire(current, commit);
+			return transaction;
+		} finally {
+			stripe.unlock();
+			publish(commit);
+		}
+	}
+
+	/**
+	 * Removes the transaction with the ID, if there is one.
+	 *
+	 * @param transactionId : ID of the transaction
+	 * @param beforeApply   : run once the ID is known to be present, before the removal; may be null
+	 * @return {@code boolean} : true if a transaction was removed
+	 */
+	public boolean remove(String transactionId, Runnable beforeApply) {
+		String key = key(transactionId);
+		ReentrantLock stripe = stripeOf(key);
+		long commit = 0;
+		stripe.lock();
+		try {
+			Version current = primaryKey.get(key);
+			if (current == null || current.deleted != Long.MAX_VALUE) {
+				return false;
+			}
+			if (beforeApply != null) {
+				beforeApply.run();
+			}
+			commit = committed.incrementAndGet();
+			retire(current, commit);
+			rows.decrementAndGet();
+			return true;
+		} finally {
+			stripe.unlock();
+			publish(commit);
+		}
+	}
+
+	/**
+	 * @return {@code List<Transaction>} : transactions of the type, in insertion order
+	 */
+	public List<Transaction> withType(String type) {
+		try (Snapshot snapshot = snapshot()) {
+			return snapshot.withType(type);
+		}
+	}
+
+	/**
+	 * @return {@code List<Transaction>} : transactions with the status, in insertion order
+	 */
+	public List<Transaction> withStatus(String status) {
+		try (Snapshot snapshot = snapshot()) {
+			return snapshot.withStatus(status);
+		}
+	}
+
+	/**
+	 * @return {@code int} : number of transactions of the type, including writes not yet published
+	 */
+	public int countType(String type) {
+		return types.count(type);
+	}
+
+	/**
+	 * @return {@code int} : number of transactions with the status, including writes not yet published
+	 */
+	public int countStatus(String status) {
+		return statuses.count(status);
+	}
+
+	/**
+	 * @param fromMillis : start of the range, inclusive
+	 * @param toMillis   : end of the range, exclusive
+	 * @return {@code List<Transaction>} : transactions dated in the range, in date order
+	 */
+	public List<Transaction> inInstantRange(long fromMillis, long toMillis) {
+		try (Snapshot snapshot = snapshot()) {
+			return snapshot.inInstantRange(fromMillis, toMillis);
+		}
+	}
+
+	/**
+	 * @param startAmount : lower bound of the range, inclusive
+	 * @param endAmount   : upper bound of the range, inclusive
+	 * @return {@code List<Transaction>} : transactions with an amount in the range, in ascending amount order
+	 */
+	public List<Transaction> inAmountRange(double startAmount, double endAmount) {
+		try (Snapshot snapshot = snapshot()) {
+			return snapshot.inAmountRange(startAmount, endAmount);
+		}
+	}
+
+	/**
+	 * @param fromMillis  : start of the range, inclusive
+	 * @param toMillis    : end of the range, exclusive
+	 * @param filter      : condition the transactions on the page must meet
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : one page of the matching transactions dated in the range
+	 * @see Snapshot#pageInInstantRange(long, long, Predicate, PageRequest)
+	 */
+	public Page<Transaction> pageInInstantRange(long fromMillis, long toMillis, Predicate<Transaction> filter,
+			PageRequest pageRequest) {
+		try (Snapshot snapshot = snapshot()) {
+			return snapshot.pageInInstantRange(fromMillis, toMillis, filter, pageRequest);
+		}
+	}
+
+	/**
+	 * @param type        : type of the transactions
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : one page of the dated transactions of the type
+	 * @see Snapshot#pageWithType(String, PageRequest)
+	 */
+	public Page<Transaction> pageWithType(String type, PageRequest pageRequest) {
+		try (Snapshot snapshot = snapshot()) {
+			return snapshot.pageWithType(type, pageRequest);
+		}
+	}
+
+	/**
+	 * @param status      : status of the transactions
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : one page of the dated transactions with the status
+	 * @see Snapshot#pageWithStatus(String, PageRequest)
+	 */
+	public Page<Transaction> pageWithStatus(String status, PageRequest pageRequest) {
+		try (Snapshot snapshot = snapshot()) {
+			return snapshot.pageWithStatus(status, pageRequest);
+		}
+	}
+
+	/**
+	 * @param startAmount : lower bound of the range, inclusive
+	 * @param endAmount   : upper bound of the range, inclusive
+	 * @param pageRequest : size and position of the page
+	 * @return {@code Page<Transaction>} : one page of the dated transactions with an amount in the range
+	 * @see Snapshot#pageInAmountRange(double, double, PageRequest)
+	 */
+	public Page<Transaction> pageInAmountRange(double startAmount, double endAmount, PageRequest pageRequest) {
+		try (Snapshot snapshot = snapshot()) {
+			return snapshot.pageInAmountRange(startAmount, endAmount, pageRequest);
+		}
+	}
+
+	/**
+	 * @return {@code Stream<Transaction>} : transactions of the type, in insertion order, read lazily from a
+	 * snapshot that is closed with the stream
+	 */
+	public Stream<Transaction> streamWithType(String type) {
+		return streamOnSnapshot(snapshot -> snapshot.streamWithType(type));
+	}
+
+	/**
+	 * @return {@code Stream<Transaction>} : transactions with the status, in insertion order, read lazily from a
+	 * snapshot that is closed with the stream
+	 */
+	public Stream<Transaction> streamWithStatus(String status) {
+		return streamOnSnapshot(snapshot -> snapshot.streamWithStatus(status));
+	}
+
+	/**
+	 * @param fromMillis : start of the range, inclusive
+	 * @param toMillis   : end of the range, exclusive
+	 * @return {@code Stream<Transaction>} : transactions dated in the range, in date order, read lazily from a
+	 * snapshot that is closed with the stream
+	 */
+	public Stream<Transaction> streamInInstantRange(long fromMillis, long toMillis) {
+		return streamOnSnapshot(snapshot -> snapshot.streamInInstantRange(fromMillis, toMillis));
+	}
+
+	/**
+	 * @param startAmount : lower bound of the range, inclusive
+	 * @param endAmount   : upper bound of the range, inclusive
+	 * @return {@code Stream<Transaction>} : transactions with an amount in the range, in ascending amount order,
+	 * read lazily from a snapshot that is closed with the stream
+	 */
+	public Stream<Transaction> streamInAmountRange(double startAmount, double endAmount) {
+		return streamOnSnapshot(snapshot -> snapshot.streamInAmountRange(startAmount, endAmount));
+	}
+
+	/**
+	 * @param query : filters the transactions must meet
+	 * @return {@code List<Transaction>} : matching transactions, in {@link TransactionQuery#RESULT_ORDER}
+	 * @see Snapshot#matching(TransactionQuery)
+	 */
+	public List<Transaction> matching(TransactionQuery query) {
+		try (Snapshot snapshot = snapshot()) {
+			return snapshot.matching(query);
+		}
+	}
+
+	/**
+	 * @param query   : filters the transactions must meet
+	 * @param groupBy : keys to group on
+	 * @return {@code List<AggregateRow>} : aggregates of the matching transactions per group
+	 * @see Snapshot#aggregate(TransactionQuery, Set)
+	 */
+	public List<AggregateRow> aggregate(TransactionQuery query, Set<GroupBy> groupBy) {
+		try (Snapshot snapshot = snapshot()) {
+			return snapshot.aggregate(query, groupBy);
+		}
+	}
+
+	/**
+	 * Every column the query filters on has an index; type and status are
+	 * estimated from their counts, and ranges by counting their index entries.
+	 *
+	 * @param query : filters the transactions must meet
+	 * @return {@code QueryPlan} : the index the query is read from
+	 */
+	public QueryPlan plan(TransactionQuery query) {
+		return QueryPlanner.plan(query, rows.get(), EnumSet.allOf(Access.class), (access, limit) -> {
+			switch (access) {
+			case TYPE_INDEX:
+				return types.count(query.getType());
+			case STATUS_INDEX:
+				return statuses.count(query.getStatus());
+			default:
+				return QueryPlanner.countUpTo(candidates(access, query).iterator(), limit);
+			}
+		});
+	}
+
+	/**
+	 * @return {@code int} : number of replaced or deleted versions kept for snapshots that may see them
+	 */
+	public int getRetainedVersions() {
+		return retired.size();
+	}
+
+	/**
+	 * Inserts {@code transaction} unless its ID is taken.
+	 *
+	 * @return {@code boolean} : true if inserted
+	 */
+	@Override
+	public boolean add(Transaction transaction) {
+		return insert(transaction, null);
+	}
+
+	@Override
+	public boolean contains(Object object) {
+		if (!(object instanceof Transaction)) {
+			return false;
+		}
+		Transaction transaction = (Transaction) object;
+		return transaction.equals(get(transaction.getTransactionId()));
+	}
+
+	@Override
+	public int size() {
+		return rows.get();
+	}
+
+	/**
+	 * @return an iterator over a snapshot of the rows taken when it is created, in insertion order
+	 */
+	@Override
+	public Iterator<Transaction> iterator() {
+		try (Snapshot snapshot = snapshot()) {
+			return snapshot.transactions().iterator();
+		}
+	}
+
+	@Override
+	public Object[] toArray() {
+		try (Snapshot snapshot = snapshot()) {
+			return snapshot.transactions().toArray();
+		}
+	}
+
+	@Override
+	public <T> T[] toArray(T[] array) {
+		try (Snapshot snapshot = snapshot()) {
+			return snapshot.transactions().toArray(array);
+		}
+	}
+
+	/**
+	 * Removes every transaction, holding all stripes so no write runs meanwhile.
+	 * Snapshots that are open see the table empty from then on.
+	 */
+	@Override
+	public void clear() {
+		for (ReentrantLock stripe : stripes) {
+			stripe.lock();
+		}
+		try {
+			primaryKey.clear();
+			types.clear();
+			statuses.clear();
+			instants.clear();
+			amounts.clear();
+			retired.clear();
+			rows.set(0);
+		} finally {
+			for (ReentrantLock stripe : stripes) {
+				stripe.unlock();
+			}
+		}
+	}
+
+	/**
+	 * @return the versions an index holds for the query, including some that no snapshot sees
+	 */
+	private Collection<Version> candidates(Access access, TransactionQuery query) {
+		switch (access) {
+		case TYPE_INDEX:
+			return types.versions(query.getType());
+		case STATUS_INDEX:
+			return statuses.versions(query.getStatus());
+		case DATE_INDEX:
+			return instants.subMap(new OrderKey(query.getFromMillis(), Long.MIN_VALUE, Long.MIN_VALUE), true,
+					new OrderKey(query.getToMillis(), Long.MIN_VALUE, Long.MIN_VALUE), false).values();
+		case AMOUNT_INDEX:
+			return amounts.subMap(new OrderKey(sortable(query.lowestAmount()), Long.MIN_VALUE, Long.MIN_VALUE), true,
+					new OrderKey(sortable(query.highestAmount()), Long.MAX_VALUE, Long.MAX_VALUE), true).values();
+		default:
+			throw new IllegalArgumentException("Not an index: " + access);
+		}
+	}
+
+	/**
+	 * Opens a snapshot that stays open until the stream made from it is closed.
+	 */
+	private Stream<Transaction> streamOnSnapshot(Function<Snapshot, Stream<Transaction>> query) {
+		Snapshot snapshot = snapshot();
+		try {
+			return query.apply(snapshot).onClose(snapshot::close);
+		} catch (RuntimeException e) {
+			snapshot.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Publishes a commit version once every lower one is published. A writer only
+	 * waits here for writers that took their version earlier, which are past their
+	 * log write and only have index updates left.
+	 */
+	private void publish(long commit) {
+		if (commit == 0) {
+			return;
+		}
+		while (published.get() != commit - 1) {
+			Thread.yield();
+		}
+		published.set(commit);
+		reclaim();
+	}
+
+	/**
+	 * Takes the retired versions that no open snapshot can see out of the indexes.
+	 * Skipped while another thread is doing it.
+	 */
+	private void reclaim() {
+		if (retired.isEmpty() || !reclaimLock.tryLock()) {
+			return;
+		}
+		try {
+			long horizon = published.get();
+			for (Snapshot reader : readers) {
+				horizon = Math.min(horizon, reader.pinned);
+			}
+			Version version;
+			while ((version = retired.peek()) != null && version.deleted <= horizon) {
+				retired.poll();
+				unlink(version);
+			}
+		} finally {
+			reclaimLock.unlock();
+		}
+	}
+
+	private void unlink(Version version) {
+		ReentrantLock stripe = stripeOf(version.key);
+		stripe.lock();
+		try {
+			types.reclaim(version.type, version);
+			statuses.reclaim(version.status, version);
+			if (version.instantKey != null) {
+				instants.remove(version.instantKey);
+			}
+			if (version.amountKey != null) {
+				amounts.remove(version.amountKey);
+			}
+			Version newer = version.newer;
+			if (newer != null) {
+				newer.older = null;
+			} else {
+				primaryKey.remove(version.key, version);
+			}
+		} finally {
+			stripe.unlock();
+		}
+	}
+
+	private static void link(Version current, Version version) {
+		if (current != null) {
+			version.older = current;
+			current.newer = version;
+		}
+	}
+
+	private void retire(Version version, long commit) {
+		version.deleted = commit;
+		types.retire(version.type);
+		statuses.retire(version.status);
+		retired.add(version);
+	}
+
+	private void index(Version version) {
+		types.add(version.type, version);
+		statuses.add(version.status, version);
+		if (version.instantKey != null) {
+			instants.put(version.instantKey, version);
+		}
+		if (version.amountKey != null) {
+			amounts.put(version.amountKey, version);
+		}
+	}
+
+	/**
+	 * @return a {@code long} that orders like {@link Double#compare(double, double)} orders the doubles
+	 */
+	private static long sortable(double value) {
+		long bits = Double.doubleToLongBits(value);
+		return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+	}
+
+	private static String key(String transactionId) {
+		return transactionId == null ? NULL_ID : transactionId;
+	}
+
+	private ReentrantLock stripeOf(String key) {
+		int hash = key.hashCode();
+		return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+	}
+}
@@ -0,0 +1,179 @@
+package com.nwg.ezpay.repository.index;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.LongPredicate;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A sorted secondary index on a date column. Row positions are grouped under the
+ * epoch-millis value of the date, so any range of instants, and therefore any
+ * range of calendar days, is answered by walking a sub-map.
+ *
+ * <p>Calendar days are resolved in the JVM default time zone, the same zone the
+ * rest of the application uses to parse and format dates. Rows with a
+ * {@code null} date are not indexed.</p>
+ *
+ * <p>The instant each position was indexed under is recorded, and a position is
+ * removed under that instant rather than the date its row holds by then, so a
+ * stored row changed in place does not leave its old entry behind.</p>
+ *
+ * @param <T> : type of the rows stored in the table
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public class DateIndex<T> implements TableIndex<T> {
+
+	private final Function<T, Date> dateExtractor;
+	private final NavigableMap<Long, RowBitmap> rowsByInstant = new TreeMap<Long, RowBitmap>();
+	// Instant each position was indexed under; an undated row is in no bitmap whatever its entry here.
+	private long[] instantAt = new long[16];
+
+	/**
+	 * @param dateExtractor : function returning the indexed date of a row
+	 */
+	public DateIndex(Function<T, Date> dateExtractor) {
+		this.dateExtractor = dateExtractor;
+	}
+
+	@Override
+	public void insert(int position, T row) {
+		Date date = dateExtractor.apply(row);
+		if (date == null) {
+			return;
+		}
+		long instant = date.getTime();
+		if (position >= instantAt.length) {
+			instantAt = Arrays.copyOf(instantAt, Math.max(instantAt.length * 2, position + 1));
+		}
+		instantAt[position] = instant;
+		RowBitmap bitmap = rowsByInstant.get(instant);
+		if (bitmap == null) {
+			bitmap = new RowBitmap();
+			rowsByInstant.put(instant, bitmap);
+		}
+		bitmap.add(position);
+	}
+
+	/**
+	 * Removes {@code position} under the instant it was indexed with, whatever
+	 * date {@code row} holds now.
+	 */
+	@Override
+	public void remove(int position, T row) {
+		if (position >= instantAt.length) {
+			return;
+		}
+		long instant = instantAt[position];
+		RowBitmap bitmap = rowsByInstant.get(instant);
+		if (bitmap != null && bitmap.remove(position) && bitmap.isEmpty()) {
+			rowsByInstant.remove(instant);
+		}
+	}
+
+	@Override
+	public void clear() {
+		rowsByInstant.clear();
+	}
+
+	/**
+	 * Calls {@code action} with the position of every row dated within
+	 * {@code [fromMillis, toMillis)}, in date order.
+	 *
+	 * @param fromMillis : start of the range in epoch millis, inclusive
+	 * @param toMillis   : end of the range in epoch millis, exclusive
+	 * @param action     : consumer of the row positions
+	 */
+	public void forEachInRange(long fromMillis, long toMillis, IntConsumer action) {
+		if (fromMillis >= toMillis) {
+			return;
+		}
+		for (Map.Entry<Long, RowBitmap> entry : rowsByInstant.subMap(fromMillis, true, toMillis, false).entrySet()) {
+			entry.getValue().forEach(action);
+		}
+	}
+
+	/**
+	 * Like {@link #forEachInRange(long, long, IntConsumer)}, but asks
+	 * {@code proceed} with each date before calling {@code action} with the rows
+	 * of that date, and stops at the first date it refuses.
+	 *
+	 * @param fromMillis : start of the range in epoch millis, inclusive
+	 * @param toMillis   : end of the range in epoch millis, exclusive
+	 * @param proceed    : whether to go on with the rows dated at the given epoch millis
+	 * @param action     : consumer of the row positions
+	 */
+	public void forEachInRangeWhile(long fromMillis, long toMillis, LongPredicate proceed, IntConsumer action) {
+		if (fromMillis >= toMillis) {
+			return;
+		}
+		for (Map.Entry<Long, RowBitmap> entry : rowsByInstant.subMap(fromMillis, true, toMillis, false).entrySet()) {
+			if (!proceed.test(entry.getKey())) {
+				return;
+			}
+			entry.getValue().forEach(action);
+		}
+	}
+
+	/**
+	 * Streams the position of every row dated within {@code [fromMillis, toMillis)},
+	 * in date order. The stream reads the index as it is consumed, one date at a
+	 * time, so the index must not change before the stream is done.
+	 *
+	 * @param fromMillis : start of the range in epoch millis, inclusive
+	 * @param toMillis   : end of the range in epoch millis, exclusive
+	 * @return {@code IntStream} : the row positions, read lazily
+	 */
+	public IntStream streamInRange(long fromMillis, long toMillis) {
+		if (fromMillis >= toMillis) {
+			return IntStream.empty();
+		}
+		return rowsByInstant.subMap(fromMillis, true, toMillis, false).values().stream()
+				.flatMapToInt(rows -> StreamSupport.intStream(Spliterators.spliterator(rows.iterator(), rows.cardinality(),
+						Spliterator.ORDERED | Spliterator.DISTINCT), false));
+	}
+
+	/**
+	 * Calls {@code action} with the position of every row dated on a calendar day
+	 * between {@code firstDay} and {@code lastDay}, both inclusive, in date order.
+	 *
+	 * @param firstDay : first day as an epoch day
+	 * @param lastDay  : last day as an epoch day
+	 * @param action   : consumer of the row positions
+	 */
+	public void forEachOnDays(long firstDay, long lastDay, IntConsumer action) {
+		if (firstDay > lastDay) {
+			return;
+		}
+		forEachInRange(startOfDay(firstDay), startOfDay(lastDay + 1), action);
+	}
+
+	/**
+	 * @param date : any instant
+	 * @return {@code long} : the epoch day of the calendar day containing {@code date}
+	 */
+	public static long epochDay(Date date) {
+		return Instant.ofEpochMilli(date.getTime()).atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay();
+	}
+
+	/**
+	 * @param epochDay : calendar day as an epoch day
+	 * @return {@code long} : epoch millis of the first instant of the day
+	 */
+	public static long startOfDay(long epochDay) {
+		return LocalDate.ofEpochDay(epochDay).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+	}
+}
@@ -0,0 +1,224 @@
+package com.nwg.ezpay.repository.index;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * An in-memory table of rows that behaves like a {@code List} but keeps a hash
+ * based primary-key index on a {@code String} key of every row.
+ *
+ * <p>Lookups, replacements and removals by key run in constant time. Removing a
+ * row moves the last row into the freed position, so the order of rows is not
+ * preserved by removals. Rows can only be appended; keys must be unique and must
+ * not be changed while the row is stored in the table.</p>
+ *
+ * <p>Secondary indexes registered with {@link #addIndex(TableIndex)} are kept in
+ * sync with every change made through this class. The key of each row is recorded
+ * when it is stored, and a replaced or removed row is taken out under that key,
+ * so a caller that changed a stored row in place and then passes the same object
+ * back does not leave its old entries behind. Indexes do the same with their own
+ * keys, see {@link TableIndex#remove(int, Object)}.</p>
+ *
+ * @param <T> : type of the rows stored in the table
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public class IndexedTable<T> extends AbstractList<T> implements RandomAccess {
+
+	private final Function<T, String> keyExtractor;
+	private final List<T> rows = new ArrayList<T>();
+	// Primary key of the row at each position, as it was when the row was stored.
+	private final List<String> keys = new ArrayList<String>();
+	private final Map<String, Integer> primaryKey = new HashMap<String, Integer>();
+	private final List<TableIndex<T>> indexes = new ArrayList<TableIndex<T>>();
+
+	/**
+	 * @param keyExtractor : function returning the primary key of a row
+	 */
+	public IndexedTable(Function<T, String> keyExtractor) {
+		this.keyExtractor = keyExtractor;
+	}
+
+	/**
+	 * Registers a secondary index and fills it with the rows already in the table.
+	 *
+	 * @param index : index to keep in sync with the table
+	 */
+	public void addIndex(TableIndex<T> index) {
+		for (int position = 0; position < rows.size(); position++) {
+			index.insert(position, rows.get(position));
+		}
+		indexes.add(index);
+	}
+
+	@Override
+	public T get(int index) {
+		return rows.get(index);
+	}
+
+	@Override
+	public int size() {
+		return rows.size();
+	}
+
+	/**
+	 * Appends a row to the table. Only appending at the end ({@code index == size()})
+	 * is supported.
+	 *
+	 * @throws IllegalArgumentException if a row with the same key is already present.
+	 */
+	@Override
+	public void add(int index, T row) {
+		if (index != rows.size()) {
+			throw new UnsupportedOperationException("Rows can only be appended to the table.");
+		}
+		String key = keyExtractor.apply(row);
+		if (primaryKey.containsKey(key)) {
+			throw new IllegalArgumentException("Row with key " + key + " already exists.");
+		}
+		primaryKey.put(key, index);
+		rows.add(row);
+		keys.add(key);
+		for (TableIndex<T> tableIndex : indexes) {
+			tableIndex.insert(index, row);
+		}
+		modCount++;
+	}
+
+	/**
+	 * Replaces the row at {@code index}.
+	 *
+	 * @throws IllegalArgumentException if the new row's key belongs to another row.
+	 */
+	@Override
+	public T set(int index, T row) {
+		String previousKey = keys.get(index);
+		String key = keyExtractor.apply(row);
+		if (!equalKeys(previousKey, key)) {
+			if (primaryKey.containsKey(key)) {
+				throw new IllegalArgumentException("Row with key " + key + " already exists.");
+			}
+			primaryKey.remove(previousKey);
+			primaryKey.put(key, index);
+			keys.set(index, key);
+		}
+		return replaceAt(index, row);
+	}
+
+	/**
+	 * Removes the row at {@code index} by moving the last row into its position.
+	 */
+	@Override
+	public T remove(int index) {
+		T removed = rows.get(index);
+		String removedKey = keys.get(index);
+		int last = rows.size() - 1;
+		for (TableIndex<T> tableIndex : indexes) {
+			tableIndex.remove(index, removed);
+		}
+		if (index != last) {
+			T moved = rows.get(last);
+			rows.set(index, moved);
+			keys.set(index, keys.get(last));
+			primaryKey.put(keys.get(last), index);
+			for (TableIndex<T> tableIndex : indexes) {
+				tableIndex.remove(last, moved);
+				tableIndex.insert(index, moved);
+			}
+		}
+		rows.remove(last);
+		keys.remove(last);
+		primaryKey.remove(removedKey);
+		modCount++;
+		return removed;
+	}
+
+	@Override
+	public void clear() {
+		rows.clear();
+		keys.clear();
+		primaryKey.clear();
+		for (TableIndex<T> tableIndex : indexes) {
+			tableIndex.clear();
+		}
+		modCount++;
+	}
+
+	/**
+	 * Returns the position of the row with the supplied key.
+	 *
+	 * @param key : primary key of the row
+	 * @return {@code int} : position of the row, or -1 if no row has the key
+	 */
+	public int positionOf(String key) {
+		Integer position = primaryKey.get(key);
+		return position == null ? -1 : position;
+	}
+
+	/**
+	 * @param key : primary key of the row
+	 * @return {@code boolean} : {@code true} if a row with the key is present
+	 */
+	public boolean containsKey(String key) {
+		return primaryKey.containsKey(key);
+	}
+
+	/**
+	 * @param key : primary key of the row
+	 * @return the row with the supplied key, or {@code null} if not present
+	 */
+	public T getByKey(String key) {
+		Integer position = primaryKey.get(key);
+		return position == null ? null : rows.get(position);
+	}
+
+	/**
+	 * Replaces the row that has the same key as {@code row}.
+	 *
+	 * @param row : row holding the new values
+	 * @return the supplied row if a row with the same key was present, otherwise {@code null}
+	 */
+	public T replaceByKey(T row) {
+		Integer position = primaryKey.get(keyExtractor.apply(row));
+		if (position == null) {
+			return null;
+		}
+		replaceAt(position, row);
+		return row;
+	}
+
+	/**
+	 * Removes the row with the supplied key.
+	 *
+	 * @param key : primary key of the row
+	 * @return {@code boolean} : {@code true} if a row was removed
+	 */
+	public boolean removeByKey(String key) {
+		Integer position = primaryKey.get(key);
+		if (position == null) {
+			return false;
+		}
+		remove(position.intValue());
+		return true;
+	}
+
+	private T replaceAt(int position, T row) {
+		T previous = rows.set(position, row);
+		for (TableIndex<T> tableIndex : indexes) {
+			tableIndex.remove(position, previous);
+			tableIndex.insert(position, row);
+		}
+		return previous;
+	}
+
+	private static boolean equalKeys(String first, String second) {
+		return first == null ? second == null : first.equals(second);
+	}
+}
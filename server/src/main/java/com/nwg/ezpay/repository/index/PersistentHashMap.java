@@ -0,0 +1,464 @@
+package com.nwg.ezpay.repository.index;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * An immutable hash map held in a hash array mapped trie.
+ *
+ * <p>Every level of the trie consumes five bits of the key's hash and keeps its
+ * children in an array sized to the number of bits set in a 32-bit bitmap, so a
+ * node has no empty slots. {@link #put(Object, Object)} and {@link #remove(Object)}
+ * return a new map that copies only the nodes on the path to the key, about
+ * {@code log32(n)} small arrays, and shares every other node with this map. A map
+ * can therefore be handed to any number of threads and kept for as long as needed
+ * without copying or locking.</p>
+ *
+ * <p>Keys whose hashes are equal in all 32 bits share a collision node. A
+ * {@code null} key is allowed and hashes to 0.</p>
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the values
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public final class PersistentHashMap<K, V> {
+
+	private static final int BITS = 5;
+	private static final int MASK = (1 << BITS) - 1;
+
+	@SuppressWarnings("rawtypes")
+	private static final PersistentHashMap EMPTY = new PersistentHashMap<Object, Object>(null, 0);
+
+	private final Node root;
+	private final int size;
+
+	private PersistentHashMap(Node root, int size) {
+		this.root = root;
+		this.size = size;
+	}
+
+	/**
+	 * @return {@code PersistentHashMap<K, V>} : the empty map
+	 */
+	@SuppressWarnings("unchecked")
+	public static <K, V> PersistentHashMap<K, V> empty() {
+		return EMPTY;
+	}
+
+	/**
+	 * @return {@code int} : number of keys in the map
+	 */
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * @param key : key to look up
+	 * @return {@code V} : the value of the key, or null if the map doesn't hold it
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(K key) {
+		Entry entry = root == null ? null : root.find(hash(key), key, 0);
+		return entry == null ? null : (V) entry.value;
+	}
+
+	public boolean containsKey(K key) {
+		return root != null && root.find(hash(key), key, 0) != null;
+	}
+
+	/**
+	 * @param key   : key to set
+	 * @param value : new value of the key
+	 * @return {@code PersistentHashMap<K, V>} : a map holding {@code value} for {@code key}, or this
+	 * map if it already does
+	 */
+	public PersistentHashMap<K, V> put(K key, V value) {
+		Entry entry = new Entry(hash(key), key, value);
+		if (root == null) {
+			return new PersistentHashMap<K, V>(BitmapNode.EMPTY.put(entry, 0), 1);
+		}
+		Node newRoot = root.put(entry, 0);
+		if (newRoot == root) {
+			return this;
+		}
+		return new PersistentHashMap<K, V>(newRoot, root.find(entry.hash, key, 0) == null ? size + 1 : size);
+	}
+
+	/**
+	 * @param key : key to remove
+	 * @return {@code PersistentHashMap<K, V>} : a map without {@code key}, or this map if it doesn't hold it
+	 */
+	public PersistentHashMap<K, V> remove(K key) {
+		if (root == null) {
+			return this;
+		}
+		Node newRoot = root.remove(hash(key), key, 0);
+		if (newRoot == root) {
+			return this;
+		}
+		return newRoot == null ? PersistentHashMap.<K, V>empty() : new PersistentHashMap<K, V>(newRoot, size - 1);
+	}
+
+	/**
+	 * Passes every key and value to {@code action}, in no particular order.
+	 */
+	@SuppressWarnings("unchecked")
+	public void forEach(BiConsumer<? super K, ? super V> action) {
+		if (root != null) {
+			root.forEach((BiConsumer<Object, Object>) action);
+		}
+	}
+
+	/**
+	 * Reads the values lazily, in no particular order. The spliterator splits along
+	 * the slots of the trie nodes, so a parallel stream divides the map between
+	 * threads without copying it.
+	 *
+	 * @return {@code Spliterator<V>} : a spliterator over the values of this map
+	 */
+	public Spliterator<V> valueSpliterator() {
+		if (root == null) {
+			return Spliterators.emptySpliterator();
+		}
+		ArrayDeque<Object> pending = new ArrayDeque<Object>();
+		pending.push(root);
+		return new ValueSpliterator<V>(pending, size);
+	}
+
+	private static int hash(Object key) {
+		int hash = key == null ? 0 : key.hashCode();
+		return hash ^ (hash >>> 16);
+	}
+
+	private static final class Entry {
+
+		private final int hash;
+		private final Object key;
+		private final Object value;
+
+		Entry(int hash, Object key, Object value) {
+			this.hash = hash;
+			this.key = key;
+			this.value = value;
+		}
+
+		boolean hasKey(int otherHash, Object otherKey) {
+			return hash == otherHash && Objects.equals(key, otherKey);
+		}
+	}
+
+	private abstract static class Node {
+
+		abstract Entry find(int hash, Object key, int shift);
+
+		/**
+		 * @return the node with {@code entry} stored, or this node if it already held the same value
+		 */
+		abstract Node put(Entry entry, int shift);
+
+		/**
+		 * @return the node without the key, this node if it didn't hold it, or null if it is left empty
+		 */
+		abstract Node remove(int hash, Object key, int shift);
+
+		/**
+		 * @return the only entry of a node that holds one entry and no children, otherwise null
+		 */
+		abstract Entry single();
+
+		abstract void forEach(BiConsumer<Object, Object> action);
+
+		/**
+		 * Pushes the entries and child nodes of this node onto {@code pending}.
+		 */
+		abstract void pushChildren(ArrayDeque<Object> pending);
+	}
+
+	/**
+	 * A trie node whose slots each hold an {@link Entry} or a child {@link Node}.
+	 */
+	private static final class BitmapNode extends Node {
+
+		private static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+		private final int bitmap;
+		private final Object[] slots;
+
+		BitmapNode(int bitmap, Object[] slots) {
+			this.bitmap = bitmap;
+			this.slots = slots;
+		}
+
+		private static int bit(int hash, int shift) {
+			return 1 << ((hash >>> shift) & MASK);
+		}
+
+		private int index(int bit) {
+			return Integer.bitCount(bitmap & (bit - 1));
+		}
+
+		@Override
+		Entry find(int hash, Object key, int shift) {
+			int bit = bit(hash, shift);
+			if ((bitmap & bit) == 0) {
+				return null;
+			}
+			Object slot = slots[index(bit)];
+			if (slot instanceof Entry) {
+				Entry entry = (Entry) slot;
+				return entry.hasKey(hash, key) ? entry : null;
+			}
+			return ((Node) slot).find(hash, key, shift + BITS);
+		}
+
+		@Override
+		Node put(Entry entry, int shift) {
+			int bit = bit(entry.hash, shift);
+			int index = index(bit);
+			if ((bitmap & bit) == 0) {
+				Object[] copy = new Object[slots.length + 1];
+				System.arraycopy(slots, 0, copy, 0, index);
+				copy[index] = entry;
+				System.arraycopy(slots, index, copy, index + 1, slots.length - index);
+				return new BitmapNode(bitmap | bit, copy);
+			}
+			Object slot = slots[index];
+			Object replacement;
+			if (slot instanceof Entry) {
+				Entry existing = (Entry) slot;
+				if (existing.hasKey(entry.hash, entry.key)) {
+					if (existing.value == entry.value) {
+						return this;
+					}
+					replacement = entry;
+				} else if (existing.hash == entry.hash) {
+					replacement = new CollisionNode(entry.hash, new Entry[] { existing, entry });
+				} else {
+					replacement = EMPTY.put(existing, shift + BITS).put(entry, shift + BITS);
+				}
+			} else {
+				Node child = (Node) slot;
+				replacement = child.put(entry, shift + BITS);
+				if (replacement == child) {
+					return this;
+				}
+			}
+			return withSlot(index, replacement);
+		}
+
+		@Override
+		Node remove(int hash, Object key, int shift) {
+			int bit = bit(hash, shift);
+			if ((bitmap & bit) == 0) {
+				return this;
+			}
+			int index = index(bit);
+			Object slot = slots[index];
+			if (slot instanceof Entry) {
+				if (!((Entry) slot).hasKey(hash, key)) {
+					return this;
+				}
+				return withoutSlot(bit, index);
+			}
+			Node child = (Node) slot;
+			Node newChild = child.remove(hash, key, shift + BITS);
+			if (newChild == child) {
+				return this;
+			}
+			if (newChild == null) {
+				return withoutSlot(bit, index);
+			}
+			// A child left with one entry is folded back into this node.
+			Entry single = newChild.single();
+			return withSlot(index, single != null ? single : newChild);
+		}
+
+		@Override
+		Entry single() {
+			return slots.length == 1 && slots[0] instanceof Entry ? (Entry) slots[0] : null;
+		}
+
+		@Override
+		void forEach(BiConsumer<Object, Object> action) {
+			for (Object slot : slots) {
+				if (slot instanceof Entry) {
+					action.accept(((Entry) slot).key, ((Entry) slot).value);
+				} else {
+					((Node) slot).forEach(action);
+				}
+			}
+		}
+
+		@Override
+		void pushChildren(ArrayDeque<Object> pending) {
+			for (int i = slots.length - 1; i >= 0; i--) {
+				pending.push(slots[i]);
+			}
+		}
+
+		private BitmapNode withSlot(int index, Object slot) {
+			Object[] copy = slots.clone();
+			copy[index] = slot;
+			return new BitmapNode(bitmap, copy);
+		}
+
+		private BitmapNode withoutSlot(int bit, int index) {
+			if (slots.length == 1) {
+				return null;
+			}
+			Object[] copy = new Object[slots.length - 1];
+			System.arraycopy(slots, 0, copy, 0, index);
+			System.arraycopy(slots, index + 1, copy, index, copy.length - index);
+			return new BitmapNode(bitmap & ~bit, copy);
+		}
+	}
+
+	/**
+	 * Entries whose keys have the same full hash.
+	 */
+	private static final class CollisionNode extends Node {
+
+		private final int hash;
+		private final Entry[] entries;
+
+		CollisionNode(int hash, Entry[] entries) {
+			this.hash = hash;
+			this.entries = entries;
+		}
+
+		private int indexOf(Object key) {
+			for (int i = 0; i < entries.length; i++) {
+				if (Objects.equals(entries[i].key, key)) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		@Override
+		Entry find(int otherHash, Object key, int shift) {
+			int index = otherHash == hash ? indexOf(key) : -1;
+			return index < 0 ? null : entries[index];
+		}
+
+		@Override
+		Node put(Entry entry, int shift) {
+			if (entry.hash != hash) {
+				// Below here the hashes still differ, so this node moves one level down.
+				return new BitmapNode(BitmapNode.bit(hash, shift), new Object[] { this }).put(entry, shift);
+			}
+			int index = indexOf(entry.key);
+			if (index >= 0) {
+				if (entries[index].value == entry.value) {
+					return this;
+				}
+				Entry[] copy = entries.clone();
+				copy[index] = entry;
+				return new CollisionNode(hash, copy);
+			}
+			Entry[] copy = Arrays.copyOf(entries, entries.length + 1);
+			copy[entries.length] = entry;
+			return new CollisionNode(hash, copy);
+		}
+
+		@Override
+		Node remove(int otherHash, Object key, int shift) {
+			int index = otherHash == hash ? indexOf(key) : -1;
+			if (index < 0) {
+				return this;
+			}
+			Entry[] copy = new Entry[entries.length - 1];
+			System.arraycopy(entries, 0, copy, 0, index);
+			System.arraycopy(entries, index + 1, copy, index, copy.length - index);
+			return new CollisionNode(hash, copy);
+		}
+
+		@Override
+		Entry single() {
+			return entries.length == 1 ? entries[0] : null;
+		}
+
+		@Override
+		void forEach(BiConsumer<Object, Object> action) {
+			for (Entry entry : entries) {
+				action.accept(entry.key, entry.value);
+			}
+		}
+
+		@Override
+		void pushChildren(ArrayDeque<Object> pending) {
+			for (int i = entries.length - 1; i >= 0; i--) {
+				pending.push(entries[i]);
+			}
+		}
+	}
+
+	/**
+	 * Walks the trie depth first from a stack of the entries and nodes still to
+	 * visit. A split hands half of the stack to the new spliterator, first opening
+	 * the only node left on it if need be.
+	 */
+	private static final class ValueSpliterator<V> implements Spliterator<V> {
+
+		private final ArrayDeque<Object> pending;
+		private long estimate;
+
+		ValueSpliterator(ArrayDeque<Object> pending, long estimate) {
+			this.pending = pending;
+			this.estimate = estimate;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public boolean tryAdvance(Consumer<? super V> action) {
+			while (!pending.isEmpty()) {
+				Object next = pending.pop();
+				if (next instanceof Entry) {
+					action.accept((V) ((Entry) next).value);
+					return true;
+				}
+				((Node) next).pushChildren(pending);
+			}
+			return false;
+		}
+
+		@Override
+		public Spliterator<V> trySplit() {
+			while (pending.size() == 1 && pending.peek() instanceof Node) {
+				((Node) pending.pop()).pushChildren(pending);
+			}
+			int half = pending.size() / 2;
+			if (half == 0) {
+				return null;
+			}
+			ArrayDeque<Object> prefix = new ArrayDeque<Object>(half);
+			for (int i = 0; i < half; i++) {
+				prefix.addLast(pending.pop());
+			}
+			estimate -= estimate / 2;
+			return new ValueSpliterator<V>(prefix, estimate);
+		}
+
+		@Override
+		public long estimateSize() {
+			return estimate;
+		}
+
+		@Override
+		public int characteristics() {
+			return IMMUTABLE;
+		}
+	}
+}
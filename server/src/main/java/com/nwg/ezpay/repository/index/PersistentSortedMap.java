@@ -0,0 +1,322 @@
+package com.nwg.ezpay.repository.index;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+
+/**
+ * An immutable sorted map held in an AVL tree.
+ *
+ * <p>{@link #put(Comparable, Object)} and {@link #remove(Comparable)} return a new
+ * map that copies only the nodes on the path to the key, plus the few touched by
+ * rebalancing, and shares the rest of the tree with this map. Like
+ * {@link PersistentHashMap}, a map can be shared between threads and kept for as
+ * long as needed without copying or locking.</p>
+ *
+ * @param <K> type of the keys, which must not be {@code null}
+ * @param <V> type of the values
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public final class PersistentSortedMap<K extends Comparable<? super K>, V> {
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static final PersistentSortedMap EMPTY = new PersistentSortedMap(null, 0);
+
+	private final Node<K, V> root;
+	private final int size;
+
+	private PersistentSortedMap(Node<K, V> root, int size) {
+		this.root = root;
+		this.size = size;
+	}
+
+	/**
+	 * @return {@code PersistentSortedMap<K, V>} : the empty map
+	 */
+	@SuppressWarnings("unchecked")
+	public static <K extends Comparable<? super K>, V> PersistentSortedMap<K, V> empty() {
+		return EMPTY;
+	}
+
+	/**
+	 * @return {@code int} : number of keys in the map
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @param key : key to look up
+	 * @return {@code V} : the value of the key, or null if the map doesn't hold it
+	 */
+	public V get(K key) {
+		Node<K, V> node = root;
+		while (node != null) {
+			int comparison = key.compareTo(node.key);
+			if (comparison == 0) {
+				return node.value;
+			}
+			node = comparison < 0 ? node.left : node.right;
+		}
+		return null;
+	}
+
+	/**
+	 * @param key   : key to set
+	 * @param value : new value of the key
+	 * @return {@code PersistentSortedMap<K, V>} : a map holding {@code value} for {@code key}
+	 */
+	public PersistentSortedMap<K, V> put(K key, V value) {
+		boolean[] added = new boolean[1];
+		Node<K, V> newRoot = put(root, key, value, added);
+		return newRoot == root ? this : new PersistentSortedMap<K, V>(newRoot, added[0] ? size + 1 : size);
+	}
+
+	/**
+	 * @param key : key to remove
+	 * @return {@code PersistentSortedMap<K, V>} : a map without {@code key}, or this map if it doesn't hold it
+	 */
+	public PersistentSortedMap<K, V> remove(K key) {
+		Node<K, V> newRoot = remove(root, key);
+		return newRoot == root ? this : new PersistentSortedMap<K, V>(newRoot, size - 1);
+	}
+
+	/**
+	 * Passes the keys from {@code from} to {@code to}, both inclusive, and their
+	 * values to {@code action} in ascending key order.
+	 *
+	 * @param from   : lowest key to pass
+	 * @param to     : highest key to pass
+	 * @param action : receiver of the keys and values
+	 */
+	public void forEachInRange(K from, K to, BiConsumer<? super K, ? super V> action) {
+		if (from.compareTo(to) <= 0) {
+			forEachInRange(root, from, to, action);
+		}
+	}
+
+	/**
+	 * Passes the keys from {@code from} to {@code to}, both inclusive, and their
+	 * values to {@code action} in ascending key order, until it returns false.
+	 *
+	 * @param from   : lowest key to pass
+	 * @param to     : highest key to pass
+	 * @param action : receiver of the keys and values, returning whether to go on
+	 */
+	public void forEachInRangeWhile(K from, K to, BiPredicate<? super K, ? super V> action) {
+		if (from.compareTo(to) <= 0) {
+			forEachInRangeWhile(root, from, to, action);
+		}
+	}
+
+	/**
+	 * Reads the values of the keys from {@code from} to {@code to}, both inclusive,
+	 * lazily in ascending key order. The iterator holds the path to the next key, so
+	 * it takes memory in the height of the tree however many keys it returns.
+	 *
+	 * @param from : lowest key to return the value of
+	 * @param to   : highest key to return the value of
+	 * @return {@code Iterator<V>} : an iterator over the values of the keys in the range
+	 */
+	public Iterator<V> valuesInRange(K from, K to) {
+		return new RangeIterator<K, V>(from.compareTo(to) <= 0 ? root : null, from, to);
+	}
+
+	/**
+	 * Passes every key and value to {@code action} in ascending key order.
+	 */
+	public void forEach(BiConsumer<? super K, ? super V> action) {
+		forEach(root, action);
+	}
+
+	private static <K extends Comparable<? super K>, V> void forEachInRange(Node<K, V> node, K from, K to,
+			BiConsumer<? super K, ? super V> action) {
+		while (node != null) {
+			if (node.key.compareTo(from) < 0) {
+				node = node.right;
+			} else if (node.key.compareTo(to) > 0) {
+				node = node.left;
+			} else {
+				forEachInRange(node.left, from, to, action);
+				action.accept(node.key, node.value);
+				node = node.right;
+			}
+		}
+	}
+
+	/**
+	 * @return {@code boolean} : false if {@code action} asked to stop
+	 */
+	private static <K extends Comparable<? super K>, V> boolean forEachInRangeWhile(Node<K, V> node, K from, K to,
+			BiPredicate<? super K, ? super V> action) {
+		while (node != null) {
+			if (node.key.compareTo(from) < 0) {
+				node = node.right;
+			} else if (node.key.compareTo(to) > 0) {
+				node = node.left;
+			} else {
+				if (!forEachInRangeWhile(node.left, from, to, action) || !action.test(node.key, node.value)) {
+					return false;
+				}
+				node = node.right;
+			}
+		}
+		return true;
+	}
+
+	private static <K, V> void forEach(Node<K, V> node, BiConsumer<? super K, ? super V> action) {
+		while (node != null) {
+			forEach(node.left, action);
+			action.accept(node.key, node.value);
+			node = node.right;
+		}
+	}
+
+	private static <K extends Comparable<? super K>, V> Node<K, V> put(Node<K, V> node, K key, V value, boolean[] added) {
+		if (node == null) {
+			added[0] = true;
+			return new Node<K, V>(key, value, null, null);
+		}
+		int comparison = key.compareTo(node.key);
+		if (comparison == 0) {
+			return node.value == value ? node : new Node<K, V>(key, value, node.left, node.right);
+		}
+		if (comparison < 0) {
+			Node<K, V> left = put(node.left, key, value, added);
+			return left == node.left ? node : balance(node.key, node.value, left, node.right);
+		}
+		Node<K, V> right = put(node.right, key, value, added);
+		return right == node.right ? node : balance(node.key, node.value, node.left, right);
+	}
+
+	private static <K extends Comparable<? super K>, V> Node<K, V> remove(Node<K, V> node, K key) {
+		if (node == null) {
+			return null;
+		}
+		int comparison = key.compareTo(node.key);
+		if (comparison < 0) {
+			Node<K, V> left = remove(node.left, key);
+			return left == node.left ? node : balance(node.key, node.value, left, node.right);
+		}
+		if (comparison > 0) {
+			Node<K, V> right = remove(node.right, key);
+			return right == node.right ? node : balance(node.key, node.value, node.left, right);
+		}
+		if (node.left == null) {
+			return node.right;
+		}
+		if (node.right == null) {
+			return node.left;
+		}
+		Node<K, V> successor = node.right;
+		while (successor.left != null) {
+			successor = successor.left;
+		}
+		return balance(successor.key, successor.value, node.left, removeFirst(node.right));
+	}
+
+	private static <K, V> Node<K, V> removeFirst(Node<K, V> node) {
+		if (node.left == null) {
+			return node.right;
+		}
+		return balance(node.key, node.value, removeFirst(node.left), node.right);
+	}
+
+	/**
+	 * Builds a node from its parts, rotating once or twice if the heights of the
+	 * subtrees differ by more than one.
+	 */
+	private static <K, V> Node<K, V> balance(K key, V value, Node<K, V> left, Node<K, V> right) {
+		int difference = height(left) - height(right);
+		if (difference > 1) {
+			if (height(left.left) < height(left.right)) {
+				left = rotateLeft(left.key, left.value, left.left, left.right);
+			}
+			return rotateRight(key, value, left, right);
+		}
+		if (difference < -1) {
+			if (height(right.right) < height(right.left)) {
+				right = rotateRight(right.key, right.value, right.left, right.right);
+			}
+			return rotateLeft(key, value, left, right);
+		}
+		return new Node<K, V>(key, value, left, right);
+	}
+
+	private static <K, V> Node<K, V> rotateRight(K key, V value, Node<K, V> left, Node<K, V> right) {
+		return new Node<K, V>(left.key, left.value, left.left, new Node<K, V>(key, value, left.right, right));
+	}
+
+	private static <K, V> Node<K, V> rotateLeft(K key, V value, Node<K, V> left, Node<K, V> right) {
+		return new Node<K, V>(right.key, right.value, new Node<K, V>(key, value, left, right.left), right.right);
+	}
+
+	private static int height(Node<?, ?> node) {
+		return node == null ? 0 : node.height;
+	}
+
+	/**
+	 * An in-order walk of the nodes between two keys, keeping on a stack the nodes
+	 * whose left subtree is being walked.
+	 */
+	private static final class RangeIterator<K extends Comparable<? super K>, V> implements Iterator<V> {
+
+		private final ArrayDeque<Node<K, V>> path = new ArrayDeque<Node<K, V>>();
+		private final K from;
+		private final K to;
+
+		RangeIterator(Node<K, V> root, K from, K to) {
+			this.from = from;
+			this.to = to;
+			descend(root);
+		}
+
+		private void descend(Node<K, V> node) {
+			while (node != null) {
+				if (node.key.compareTo(from) < 0) {
+					node = node.right;
+				} else {
+					path.push(node);
+					node = node.left;
+				}
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return !path.isEmpty() && path.peek().key.compareTo(to) <= 0;
+		}
+
+		@Override
+		public V next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Node<K, V> node = path.pop();
+			descend(node.right);
+			return node.value;
+		}
+	}
+
+	private static final class Node<K, V> {
+
+		private final K key;
+		private final V value;
+		private final Node<K, V> left;
+		private final Node<K, V> right;
+		private final int height;
+
+		Node(K key, V value, Node<K, V> left, Node<K, V> right) {
+			this.key = key;
+			this.value = value;
+			this.left = left;
+			this.right = right;
+			this.height = Math.max(height(left), height(right)) + 1;
+		}
+	}
+}
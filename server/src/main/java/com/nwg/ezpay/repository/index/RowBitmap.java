@@ -0,0 +1,321 @@
+package com.nwg.ezpay.repository.index;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * A compressed bitmap of non-negative row positions, laid out the same way as a
+ * roaring bitmap.
+ *
+ * <p>Positions are split on their high 16 bits into buckets. Every bucket is held
+ * in a container: a sorted {@code char[]} while it holds at most
+ * {@value #ARRAY_LIMIT} positions, or a 65536-bit {@code long[]} bitmap once it
+ * grows beyond that. Sparse and dense sets both stay small, and the cardinality
+ * is kept up to date so counting costs nothing.</p>
+ *
+ * <p>A {@link DateIndex} keeps the rows of each instant in one. Positions must be
+ * stable while they are stored, so the versioned {@link ConcurrentTransactionTable},
+ * whose rows have none, does not use it.</p>
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public class RowBitmap {
+
+	static final int ARRAY_LIMIT = 4096;
+
+	private char[] keys = new char[4];
+	private Container[] containers = new Container[4];
+	private int containerCount;
+	private int cardinality;
+
+	/**
+	 * Adds a position to the bitmap.
+	 *
+	 * @param position : row position, must not be negative
+	 * @return {@code boolean} : {@code true} if the position was not already present
+	 */
+	public boolean add(int position) {
+		char high = (char) (position >>> 16);
+		int index = findContainer(high);
+		if (index < 0) {
+			index = -index - 1;
+			insertContainer(index, high, new ArrayContainer());
+		}
+		Container container = containers[index];
+		int before = container.cardinality();
+		containers[index] = container.add((char) position);
+		boolean added = containers[index].cardinality() != before;
+		if (added) {
+			cardinality++;
+		}
+		return added;
+	}
+
+	/**
+	 * Removes a position from the bitmap.
+	 *
+	 * @param position : row position
+	 * @return {@code boolean} : {@code true} if the position was present
+	 */
+	public boolean remove(int position) {
+		int index = findContainer((char) (position >>> 16));
+		if (index < 0) {
+			return false;
+		}
+		Container container = containers[index];
+		int before = container.cardinality();
+		Container updated = container.remove((char) position);
+		if (updated.cardinality() == before) {
+			return false;
+		}
+		cardinality--;
+		if (updated.cardinality() == 0) {
+			removeContainer(index);
+		} else {
+			containers[index] = updated;
+		}
+		return true;
+	}
+
+	/**
+	 * @return {@code int} : number of positions in the bitmap
+	 */
+	public int cardinality() {
+		return cardinality;
+	}
+
+	public boolean isEmpty() {
+		return cardinality == 0;
+	}
+
+	/**
+	 * Calls {@code action} for every position in ascending order.
+	 *
+	 * @param action : consumer of the positions
+	 */
+	public void forEach(IntConsumer action) {
+		for (int i = 0; i < containerCount; i++) {
+			containers[i].forEach(keys[i] << 16, action);
+		}
+	}
+
+	/**
+	 * @return an iterator over the positions in ascending order
+	 */
+	public PrimitiveIterator.OfInt iterator() {
+		return new PrimitiveIterator.OfInt() {
+			private int containerIndex = 0;
+			private int[] buffer = new int[0];
+			private int bufferIndex = 0;
+
+			@Override
+			public boolean hasNext() {
+				while (bufferIndex == buffer.length && containerIndex < containerCount) {
+					int base = keys[containerIndex] << 16;
+					buffer = containers[containerIndex++].toArray(base);
+					bufferIndex = 0;
+				}
+				return bufferIndex < buffer.length;
+			}
+
+			@Override
+			public int nextInt() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return buffer[bufferIndex++];
+			}
+		};
+	}
+
+	private int findContainer(char high) {
+		return Arrays.binarySearch(keys, 0, containerCount, high);
+	}
+
+	private void insertContainer(int index, char high, Container container) {
+		if (containerCount == keys.length) {
+			keys = Arrays.copyOf(keys, containerCount * 2);
+			containers = Arrays.copyOf(containers, containerCount * 2);
+		}
+		System.arraycopy(keys, index, keys, index + 1, containerCount - index);
+		System.arraycopy(containers, index, containers, index + 1, containerCount - index);
+		keys[index] = high;
+		containers[index] = container;
+		containerCount++;
+	}
+
+	private void removeContainer(int index) {
+		System.arraycopy(keys, index + 1, keys, index, containerCount - index - 1);
+		System.arraycopy(containers, index + 1, containers, index, containerCount - index - 1);
+		containers[--containerCount] = null;
+	}
+
+	/**
+	 * Holds the low 16 bits of the positions that share the same high 16 bits.
+	 * Mutating operations return the container to keep, which may be a new one
+	 * of the other kind.
+	 */
+	private interface Container {
+
+		Container add(char value);
+
+		Container remove(char value);
+
+		int cardinality();
+
+		void forEach(int base, IntConsumer action);
+
+		int[] toArray(int base);
+	}
+
+	private static final class ArrayContainer implements Container {
+
+		private char[] values;
+		private int size;
+
+		ArrayContainer() {
+			this.values = new char[4];
+		}
+
+		ArrayContainer(char[] values, int size) {
+			this.values = values;
+			this.size = size;
+		}
+
+		@Override
+		public Container add(char value) {
+			int index = Arrays.binarySearch(values, 0, size, value);
+			if (index >= 0) {
+				return this;
+			}
+			if (size == ARRAY_LIMIT) {
+				return toBitmap().add(value);
+			}
+			index = -index - 1;
+			if (size == values.length) {
+				values = Arrays.copyOf(values, Math.min(size * 2, ARRAY_LIMIT));
+			}
+			System.arraycopy(values, index, values, index + 1, size - index);
+			values[index] = value;
+			size++;
+			return this;
+		}
+
+		@Override
+		public Container remove(char value) {
+			int index = Arrays.binarySearch(values, 0, size, value);
+			if (index >= 0) {
+				System.arraycopy(values, index + 1, values, index, size - index - 1);
+				size--;
+			}
+			return this;
+		}
+
+		@Override
+		public int cardinality() {
+			return size;
+		}
+
+		@Override
+		public void forEach(int base, IntConsumer action) {
+			for (int i = 0; i < size; i++) {
+				action.accept(base | values[i]);
+			}
+		}
+
+		@Override
+		public int[] toArray(int base) {
+			int[] positions = new int[size];
+			for (int i = 0; i < size; i++) {
+				positions[i] = base | values[i];
+			}
+			return positions;
+		}
+
+		private BitmapContainer toBitmap() {
+			BitmapContainer bitmap = new BitmapContainer();
+			for (int i = 0; i < size; i++) {
+				bitmap.add(values[i]);
+			}
+			return bitmap;
+		}
+	}
+
+	private static final class BitmapContainer implements Container {
+
+		private final long[] words = new long[1024];
+		private int size;
+
+		@Override
+		public Container add(char value) {
+			long bit = 1L << value;
+			int word = value >>> 6;
+			if ((words[word] & bit) == 0) {
+				words[word] |= bit;
+				size++;
+			}
+			return this;
+		}
+
+		@Override
+		public Container remove(char value) {
+			long bit = 1L << value;
+			int word = value >>> 6;
+			if ((words[word] & bit) != 0) {
+				words[word] &= ~bit;
+				size--;
+				if (size <= ARRAY_LIMIT) {
+					return toArrayContainer();
+				}
+			}
+			return this;
+		}
+
+		@Override
+		public int cardinality() {
+			return size;
+		}
+
+		@Override
+		public void forEach(int base, IntConsumer action) {
+			for (int word = 0; word < words.length; word++) {
+				long bits = words[word];
+				while (bits != 0) {
+					action.accept(base | (word << 6) | Long.numberOfTrailingZeros(bits));
+					bits &= bits - 1;
+				}
+			}
+		}
+
+		@Override
+		public int[] toArray(int base) {
+			int[] positions = new int[size];
+			int offset = 0;
+			for (int word = 0; word < words.length; word++) {
+				long bits = words[word];
+				while (bits != 0) {
+					positions[offset++] = base | (word << 6) | Long.numberOfTrailingZeros(bits);
+					bits &= bits - 1;
+				}
+			}
+			return positions;
+		}
+
+		private ArrayContainer toArrayContainer() {
+			char[] values = new char[size];
+			int offset = 0;
+			for (int word = 0; word < words.length; word++) {
+				long bits = words[word];
+				while (bits != 0) {
+					values[offset++] = (char) ((word << 6) | Long.numberOfTrailingZeros(bits));
+					bits &= bits - 1;
+				}
+			}
+			return new ArrayContainer(values, size);
+		}
+	}
+}
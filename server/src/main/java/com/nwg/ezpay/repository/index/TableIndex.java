@@ -0,0 +1,38 @@
+package com.nwg.ezpay.repository.index;
+
+/**
+ * A secondary index over the rows of an {@link IndexedTable}. The table calls
+ * these methods whenever a row is stored at, or removed from, a position.
+ *
+ * @param <T> : type of the rows stored in the table
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public interface TableIndex<T> {
+
+	/**
+	 * Records that {@code row} is now stored at {@code position}.
+	 *
+	 * @param position : row position in the table
+	 * @param row      : row stored at the position
+	 */
+	void insert(int position, T row);
+
+	/**
+	 * Records that {@code row} is no longer stored at {@code position}. The row may
+	 * be the same object that was inserted, changed in place since, so an index
+	 * must take the position out under the key it inserted it with rather than
+	 * one computed from {@code row} now.
+	 *
+	 * @param position : row position in the table
+	 * @param row      : row that was stored at the position
+	 */
+	void remove(int position, T row);
+
+	/**
+	 * Removes every entry from the index.
+	 */
+	void clear();
+}
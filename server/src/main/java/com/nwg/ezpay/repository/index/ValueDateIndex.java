@@ -0,0 +1,128 @@
+package com.nwg.ezpay.repository.index;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.LongPredicate;
+
+/**
+ * A secondary index on a {@code String} column that keeps the rows of each value
+ * in date order. The row positions of a value are grouped under the epoch-millis
+ * value of their date, like in a {@link DateIndex}, so the rows of one value from
+ * any instant on are found by walking a sub-map of that value alone.
+ *
+ * <p>Rows with a {@code null} value or date are not indexed. The value and
+ * instant each position was indexed under are recorded, and a position is removed
+ * under those rather than the ones its row holds by then.</p>
+ *
+ * @param <T> : type of the rows stored in the table
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public class ValueDateIndex<T> implements TableIndex<T> {
+
+	private final Function<T, String> valueExtractor;
+	private final Function<T, Date> dateExtractor;
+	private final Map<String, NavigableMap<Long, RowBitmap>> rowsByValue = new HashMap<String, NavigableMap<Long, RowBitmap>>();
+	// Value and instant each position was indexed under; null where the row at the position is not indexed.
+	private String[] valueAt = new String[16];
+	private long[] instantAt = new long[16];
+
+	/**
+	 * @param valueExtractor : function returning the indexed value of a row
+	 * @param dateExtractor  : function returning the date that orders the rows of a value
+	 */
+	public ValueDateIndex(Function<T, String> valueExtractor, Function<T, Date> dateExtractor) {
+		this.valueExtractor = valueExtractor;
+		this.dateExtractor = dateExtractor;
+	}
+
+	@Override
+	public void insert(int position, T row) {
+		if (position >= valueAt.length) {
+			int capacity = Math.max(valueAt.length * 2, position + 1);
+			valueAt = Arrays.copyOf(valueAt, capacity);
+			instantAt = Arrays.copyOf(instantAt, capacity);
+		}
+		String value = valueExtractor.apply(row);
+		Date date = dateExtractor.apply(row);
+		if (value == null || date == null) {
+			valueAt[position] = null;
+			return;
+		}
+		long instant = date.getTime();
+		valueAt[position] = value;
+		instantAt[position] = instant;
+		NavigableMap<Long, RowBitmap> rowsByInstant = rowsByValue.get(value);
+		if (rowsByInstant == null) {
+			rowsByInstant = new TreeMap<Long, RowBitmap>();
+			rowsByValue.put(value, rowsByInstant);
+		}
+		RowBitmap bitmap = rowsByInstant.get(instant);
+		if (bitmap == null) {
+			bitmap = new RowBitmap();
+			rowsByInstant.put(instant, bitmap);
+		}
+		bitmap.add(position);
+	}
+
+	/**
+	 * Removes {@code position} under the value and instant it was indexed with,
+	 * whatever {@code row} holds now.
+	 */
+	@Override
+	public void remove(int position, T row) {
+		if (position >= valueAt.length || valueAt[position] == null) {
+			return;
+		}
+		String value = valueAt[position];
+		long instant = instantAt[position];
+		valueAt[position] = null;
+		NavigableMap<Long, RowBitmap> rowsByInstant = rowsByValue.get(value);
+		RowBitmap bitmap = rowsByInstant == null ? null : rowsByInstant.get(instant);
+		if (bitmap != null && bitmap.remove(position) && bitmap.isEmpty()) {
+			rowsByInstant.remove(instant);
+			if (rowsByInstant.isEmpty()) {
+				rowsByValue.remove(value);
+			}
+		}
+	}
+
+	@Override
+	public void clear() {
+		rowsByValue.clear();
+		Arrays.fill(valueAt, null);
+	}
+
+	/**
+	 * Calls {@code action} with the position of every row holding {@code value}
+	 * and dated within {@code [fromMillis, toMillis)}, in date order. It asks
+	 * {@code proceed} with each date before calling {@code action} with the rows
+	 * of that date, and stops at the first date it refuses.
+	 *
+	 * @param value      : indexed value the rows must hold
+	 * @param fromMillis : start of the range in epoch millis, inclusive
+	 * @param toMillis   : end of the range in epoch millis, exclusive
+	 * @param proceed    : whether to go on with the rows dated at the given epoch millis
+	 * @param action     : consumer of the row positions
+	 */
+	public void forEachInRangeWhile(String value, long fromMillis, long toMillis, LongPredicate proceed, IntConsumer action) {
+		NavigableMap<Long, RowBitmap> rowsByInstant = value == null ? null : rowsByValue.get(value);
+		if (rowsByInstant == null || fromMillis >= toMillis) {
+			return;
+		}
+		for (Map.Entry<Long, RowBitmap> entry : rowsByInstant.subMap(fromMillis, true, toMillis, false).entrySet()) {
+			if (!proceed.test(entry.getKey())) {
+				return;
+			}
+			entry.getValue().forEach(action);
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package com.nwg.ezpay.repository.jdbc;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of a bulk write: how many rows were written in how many batches, and
+ * how long it took.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public final class BulkWriteReport {
+
+	private final long rows;
+	private final long batches;
+	private final long elapsedNanos;
+
+	public BulkWriteReport(long rows, long batches, long elapsedNanos) {
+		this.rows = rows;
+		this.batches = batches;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	public long getRows() {
+		return rows;
+	}
+
+	/**
+	 * @return {@code long} : batches executed, each committed on its own
+	 */
+	public long getBatches() {
+		return batches;
+	}
+
+	public long getElapsedMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+	}
+
+	public double getRowsPerSecond() {
+		return elapsedNanos == 0 ? 0 : rows * 1e9 / elapsedNanos;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Wrote %d rows in %d batches in %d ms (%.0f rows/s)", rows, batches, getElapsedMillis(),
+				getRowsPerSecond());
+	}
+}
@@ -0,0 +1,602 @@
+package com.nwg.ezpay.repository.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.log4j.Logger;
+
+/**
+ * A bounded pool of JDBC connections, each with its own cache of prepared
+ * statements.
+ *
+ * <p>{@link #borrow()} hands out the most recently returned idle connection, opens
+ * a new one while fewer than {@link Settings#getMaxSize() maxSize} are open, and
+ * otherwise waits up to the borrow timeout for one to be returned. A connection
+ * that has been idle for longer than the validation interval is checked with
+ * {@link Connection#isValid(int)} before it is handed out, and replaced if it is
+ * broken. Returning a connection rolls back any transaction left open on it.</p>
+ *
+ * <p>{@link #start()} runs {@link #maintain()} in the background, which closes
+ * connections idle for longer than the idle timeout down to
+ * {@link Settings#getMinIdle() minIdle}, opens connections up to
+ * {@code minIdle}, and reports every connection held for longer than the leak
+ * threshold once, logging the stack trace of its borrower.</p>
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public final class ConnectionPool implements AutoCloseable {
+
+	static final long MAINTENANCE_INTERVAL_MILLIS = 1000;
+	static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+	private static final Logger LOGGER = Logger.getLogger(ConnectionPool.class);
+
+	/**
+	 * Opens a new physical connection.
+	 */
+	@FunctionalInterface
+	public interface ConnectionFactory {
+
+		Connection open() throws SQLException;
+	}
+
+	/**
+	 * Sizing and timeouts of a pool.
+	 */
+	public static final class Settings {
+
+		public static final String MIN_IDLE_PROPERTY = "ezpay.jdbc.pool.minIdle";
+		public static final String MAX_SIZE_PROPERTY = "ezpay.jdbc.pool.maxSize";
+		public static final String BORROW_TIMEOUT_PROPERTY = "ezpay.jdbc.pool.borrowTimeoutMillis";
+		public static final String IDLE_TIMEOUT_PROPERTY = "ezpay.jdbc.pool.idleTimeoutMillis";
+		public static final String VALIDATE_AFTER_PROPERTY = "ezpay.jdbc.pool.validateAfterMillis";
+		public static final String LEAK_THRESHOLD_PROPERTY = "ezpay.jdbc.pool.leakThresholdMillis";
+		public static final String STATEMENT_CACHE_PROPERTY = "ezpay.jdbc.pool.statementCacheSize";
+		public static final int DEFAULT_MIN_IDLE = 2;
+		public static final int DEFAULT_MAX_SIZE = 10;
+		public static final long DEFAULT_BORROW_TIMEOUT_MILLIS = 30000;
+		public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 600000;
+		public static final long DEFAULT_VALIDATE_AFTER_MILLIS = 500;
+		public static final long DEFAULT_LEAK_THRESHOLD_MILLIS = 60000;
+		public static final int DEFAULT_STATEMENT_CACHE_SIZE = 32;
+
+		private final int minIdle;
+		private final int maxSize;
+		private final long borrowTimeoutMillis;
+		private final long idleTimeoutMillis;
+		private final long validateAfterMillis;
+		private final long leakThresholdMillis;
+		private final int statementCacheSize;
+
+		/**
+		 * @param minIdle             : connections kept open while the pool is idle
+		 * @param maxSize             : most connections open at once
+		 * @param borrowTimeoutMillis : longest wait for a connection when {@code maxSize} are lent out
+		 * @param idleTimeoutMillis   : idle time after which connections above {@code minIdle} are closed
+		 * @param validateAfterMillis : idle time after which a connection is validated when borrowed; 0 validates every borrow
+		 * @param leakThresholdMillis : time a connection may be held before it is reported as leaked; 0 turns detection off
+		 * @param statementCacheSize  : prepared statements kept per connection; 0 closes each after use
+		 */
+		public Settings(int minIdle, int maxSize, long borrowTimeoutMillis, long idleTimeoutMillis, long validateAfterMillis,
+				long leakThresholdMillis, int statementCacheSize) {
+			if (minIdle < 0 || maxSize < 1 || minIdle > maxSize || borrowTimeoutMillis < 0 || idleTimeoutMillis < 0
+					|| validateAfterMillis < 0 || leakThresholdMillis < 0 || statementCacheSize < 0) {
+				throw new IllegalArgumentException("Invalid pool settings: min idle " + minIdle + ", max size " + maxSize
+						+ ", borrow timeout " + borrowTimeoutMillis + ", idle timeout " + idleTimeoutMillis + ", validate after "
+						+ validateAfterMillis + ", leak threshold " + leakThresholdMillis + ", statement cache " + statementCacheSize);
+			}
+			this.minIdle = minIdle;
+			this.maxSize = maxSize;
+			this.borrowTimeoutMillis = borrowTimeoutMillis;
+			this.idleTimeoutMillis = idleTimeoutMillis;
+			this.validateAfterMillis = validateAfterMillis;
+			this.leakThresholdMillis = leakThresholdMillis;
+			this.statementCacheSize = statementCacheSize;
+		}
+
+		/**
+		 * @return {@code Settings} : settings from the {@code ezpay.jdbc.pool.*} system properties
+		 */
+		public static Settings fromSystemProperties() {
+			return new Settings(Integer.getInteger(MIN_IDLE_PROPERTY, DEFAULT_MIN_IDLE),
+					Integer.getInteger(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE),
+					Long.getLong(BORROW_TIMEOUT_PROPERTY, DEFAULT_BORROW_TIMEOUT_MILLIS),
+					Long.getLong(IDLE_TIMEOUT_PROPERTY, DEFAULT_IDLE_TIMEOUT_MILLIS),
+					Long.getLong(VALIDATE_AFTER_PROPERTY, DEFAULT_VALIDATE_AFTER_MILLIS),
+					Long.getLong(LEAK_THRESHOLD_PROPERTY, DEFAULT_LEAK_THRESHOLD_MILLIS),
+					Integer.getInteger(STATEMENT_CACHE_PROPERTY, DEFAULT_STATEMENT_CACHE_SIZE));
+		}
+
+		public int getMinIdle() {
+			return minIdle;
+		}
+
+		public int getMaxSize() {
+			return maxSize;
+		}
+
+		public long getBorrowTimeoutMillis() {
+			return borrowTimeoutMillis;
+		}
+
+		public long getIdleTimeoutMillis() {
+			return idleTimeoutMillis;
+		}
+
+		public long getValidateAfterMillis() {
+			return validateAfterMillis;
+		}
+
+		public long getLeakThresholdMillis() {
+			return leakThresholdMillis;
+		}
+
+		public int getStatementCacheSize() {
+			return statementCacheSize;
+		}
+	}
+
+	/**
+	 * A physical connection and the statements prepared on it.
+	 */
+	private final class PooledConnection {
+
+		private final Connection connection;
+		private final Map<String, PreparedStatement> statements;
+		private long returnedNanos = System.nanoTime();
+
+		PooledConnection(Connection connection) {
+			this.connection = connection;
+			// An LRU map in access order, which closes the statement it drops.
+			this.statements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+					if (size() <= settings.statementCacheSize) {
+						return false;
+					}
+					closeQuietly(eldest.getValue());
+					return true;
+				}
+			};
+		}
+
+		void destroy() {
+			for (PreparedStatement statement : statements.values()) {
+				closeQuietly(statement);
+			}
+			statements.clear();
+			try {
+				connection.close();
+			} catch (SQLException e) {
+				LOGGER.warn("Could not close a pooled connection", e);
+			}
+		}
+	}
+
+	/**
+	 * A connection lent out by the pool. Closing the lease returns the connection.
+	 */
+	public final class Lease implements AutoCloseable {
+
+		private final PooledConnection pooled;
+		private final long borrowedNanos = System.nanoTime();
+		private final Throwable borrower;
+		// Statements prepared while the cache is turned off, closed with the lease.
+		private final List<PreparedStatement> pendingClose = new ArrayList<PreparedStatement>();
+		private volatile boolean reported;
+		private boolean closed;
+
+		Lease(PooledConnection pooled) {
+			this.pooled = pooled;
+			this.borrower = settings.leakThresholdMillis > 0 ? new Throwable("Borrowed by " + Thread.currentThread().getName()) : null;
+		}
+
+		/**
+		 * @return {@code Connection} : the connection, valid until the lease is closed; it must not be closed by the caller
+		 */
+		public Connection getConnection() {
+			checkOpen();
+			return pooled.connection;
+		}
+
+		/**
+		 * @param sql : statement to prepare
+		 * @return {@code PreparedStatement} : the statement cached for {@code sql} on this connection, prepared the
+		 * first time; it must not be closed by the caller
+		 */
+		public PreparedStatement prepare(String sql) throws SQLException {
+			checkOpen();
+			PreparedStatement statement = pooled.statements.get(sql);
+			if (statement != null) {
+				statementCacheHits.increment();
+				return statement;
+			}
+			statement = pooled.connection.prepareStatement(sql);
+			statementsPrepared.increment();
+			if (settings.statementCacheSize > 0) {
+				pooled.statements.put(sql, statement);
+			} else {
+				pendingClose.add(statement);
+			}
+			return statement;
+		}
+
+		/**
+		 * Returns the connection to the pool. Closing a lease again does nothing.
+		 */
+		@Override
+		public void close() {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			for (PreparedStatement statement : pendingClose) {
+				closeQuietly(statement);
+			}
+			pendingClose.clear();
+			release(this);
+		}
+
+		private void checkOpen() {
+			if (closed) {
+				throw new IllegalStateException("The lease has been closed");
+			}
+		}
+	}
+
+	private final ConnectionFactory factory;
+	private final Settings settings;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition returned = lock.newCondition();
+	private ScheduledExecutorService maintenance;
+
+	// Guarded by lock. total counts idle, lent out and being opened connections.
+	private final ArrayDeque<PooledConnection> idle = new ArrayDeque<PooledConnection>();
+	private int total;
+	private int waiting;
+	private boolean closed;
+
+	private final Set<Lease> leases = ConcurrentHashMap.newKeySet();
+	private final LongAdder borrows = new LongAdder();
+	private final LongAdder timeouts = new LongAdder();
+	private final LongAdder created = new LongAdder();
+	private final LongAdder destroyed = new LongAdder();
+	private final LongAdder validationFailures = new LongAdder();
+	private final LongAdder leaks = new LongAdder();
+	private final LongAdder statementsPrepared = new LongAdder();
+	private final LongAdder statementCacheHits = new LongAdder();
+	private final LongAdder totalWaitNanos = new LongAdder();
+	private final LatencyHistogram borrowLatency = new LatencyHistogram();
+
+	/**
+	 * @param factory  : opens the pool's connections
+	 * @param settings : sizing and timeouts of the pool
+	 */
+	public ConnectionPool(ConnectionFactory factory, Settings settings) {
+		this.factory = factory;
+		this.settings = settings;
+	}
+
+	public Settings getSettings() {
+		return settings;
+	}
+
+	/**
+	 * Runs {@link #maintain()} now and then every {@value #MAINTENANCE_INTERVAL_MILLIS} ms on a background thread.
+	 */
+	public synchronized void start() {
+		if (maintenance != null) {
+			return;
+		}
+		maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "ezpay-jdbc-pool");
+			thread.setDaemon(true);
+			return thread;
+		});
+		maintenance.scheduleWithFixedDelay(this::maintain, 0, MAINTENANCE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Lends out a connection, waiting up to the borrow timeout if all are in use.
+	 *
+	 * @return {@code Lease} : the connection, to be closed once the caller is done with it
+	 * @throws SQLTimeoutException if no connection was returned in time
+	 * @throws SQLException        if the pool is closed, a connection can't be opened or the wait is interrupted
+	 */
+	public Lease borrow() throws SQLException {
+		long started = System.nanoTime();
+		long deadline = started + TimeUnit.MILLISECONDS.toNanos(settings.borrowTimeoutMillis);
+		PooledConnection pooled = null;
+		while (pooled == null) {
+			boolean open = false;
+			lock.lock();
+			try {
+				while (true) {
+					if (closed) {
+						throw new SQLException("The connection pool is closed");
+					}
+					pooled = idle.pollFirst();
+					if (pooled != null) {
+						break;
+					}
+					if (total < settings.maxSize) {
+						total++;
+						open = true;
+						break;
+					}
+					long remaining = deadline - System.nanoTime();
+					if (remaining <= 0) {
+						timeouts.increment();
+						throw new SQLTimeoutException("No connection was returned to the pool within " + settings.borrowTimeoutMillis
+								+ " ms, all " + settings.maxSize + " are in use");
+					}
+					long waitStarted = System.nanoTime();
+					waiting++;
+					try {
+						returned.awaitNanos(remaining);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new SQLException("Interrupted while waiting for a connection", e);
+					} finally {
+						waiting--;
+						totalWaitNanos.add(System.nanoTime() - waitStarted);
+					}
+				}
+			} finally {
+				lock.unlock();
+			}
+			if (open) {
+				pooled = open();
+			} else if (!isUsable(pooled)) {
+				validationFailures.increment();
+				destroy(pooled);
+				pooled = null;
+			}
+		}
+		Lease lease = new Lease(pooled);
+		leases.add(lease);
+		borrows.increment();
+		borrowLatency.record(System.nanoTime() - started);
+		return lease;
+	}
+
+	/**
+	 * Closes idle connections past the idle timeout down to {@code minIdle}, opens
+	 * connections up to {@code minIdle} and reports leaked connections. Run by
+	 * {@link #start()} in the background.
+	 */
+	public void maintain() {
+		try {
+			evictIdle();
+			fillToMinIdle();
+			reportLeaks();
+		} catch (RuntimeException e) {
+			LOGGER.warn("Maintenance of the connection pool failed", e);
+		}
+	}
+
+	/**
+	 * @return {@code PoolMetrics} : the state and counters of the pool
+	 */
+	public PoolMetrics getMetrics() {
+		int idleCount;
+		int totalCount;
+		int waitingCount;
+		lock.lock();
+		try {
+			idleCount = idle.size();
+			totalCount = total;
+			waitingCount = waiting;
+		} finally {
+			lock.unlock();
+		}
+		return new PoolMetrics(leases.size(), idleCount, totalCount, waitingCount, borrows.sum(), timeouts.sum(), created.sum(),
+				destroyed.sum(), validationFailures.sum(), leaks.sum(), statementsPrepared.sum(), statementCacheHits.sum(),
+				totalWaitNanos.sum(), borrowLatency);
+	}
+
+	/**
+	 * Closes the idle connections and stops maintenance. Connections still lent
+	 * out are closed when they are returned, and callers waiting for one fail.
+	 */
+	@Override
+	public void close() {
+		synchronized (this) {
+			if (maintenance != null) {
+				maintenance.shutdownNow();
+				maintenance = null;
+			}
+		}
+		List<PooledConnection> closing;
+		lock.lock();
+		try {
+			closed = true;
+			closing = new ArrayList<PooledConnection>(idle);
+			idle.clear();
+			returned.signalAll();
+		} finally {
+			lock.unlock();
+		}
+		for (PooledConnection pooled : closing) {
+			destroy(pooled);
+		}
+	}
+
+	/**
+	 * Opens a connection for a slot already counted in {@code total}, giving the slot back if it fails.
+	 */
+	private PooledConnection open() throws SQLException {
+		try {
+			PooledConnection pooled = new PooledConnection(factory.open());
+			created.increment();
+			return pooled;
+		} catch (SQLException | RuntimeException e) {
+			lock.lock();
+			try {
+				total--;
+				returned.signal();
+			} finally {
+				lock.unlock();
+			}
+			throw e;
+		}
+	}
+
+	private boolean isUsable(PooledConnection pooled) {
+		long idleNanos = System.nanoTime() - pooled.returnedNanos;
+		if (idleNanos < TimeUnit.MILLISECONDS.toNanos(settings.validateAfterMillis)) {
+			return true;
+		}
+		try {
+			return pooled.connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+		} catch (SQLException e) {
+			return false;
+		}
+	}
+
+	private void release(Lease lease) {
+		leases.remove(lease);
+		PooledConnection pooled = lease.pooled;
+		try {
+			if (pooled.connection.isClosed()) {
+				destroy(pooled);
+				return;
+			}
+			if (!pooled.connection.getAutoCommit()) {
+				pooled.connection.rollback();
+				pooled.connection.setAutoCommit(true);
+			}
+		} catch (SQLException e) {
+			LOGGER.warn("Discarding a pooled connection that could not be reset", e);
+			destroy(pooled);
+			return;
+		}
+		pooled.returnedNanos = System.nanoTime();
+		lock.lock();
+		try {
+			if (!closed) {
+				idle.addFirst(pooled);
+				returned.signal();
+				return;
+			}
+		} finally {
+			lock.unlock();
+		}
+		destroy(pooled);
+	}
+
+	/**
+	 * Closes a connection that is no longer idle or lent out, and frees its slot.
+	 */
+	private void destroy(PooledConnection pooled) {
+		pooled.destroy();
+		destroyed.increment();
+		lock.lock();
+		try {
+			total--;
+			returned.signal();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void evictIdle() {
+		long cutoff = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(settings.idleTimeoutMillis);
+		List<PooledConnection> evicted = new ArrayList<PooledConnection>();
+		lock.lock();
+		try {
+			// The least recently returned connections are at the tail.
+			Iterator<PooledConnection> oldest = idle.descendingIterator();
+			while (oldest.hasNext() && idle.size() > settings.minIdle) {
+				PooledConnection pooled = oldest.next();
+				if (pooled.returnedNanos - cutoff > 0) {
+					break;
+				}
+				oldest.remove();
+				evicted.add(pooled);
+			}
+		} finally {
+			lock.unlock();
+		}
+		for (PooledConnection pooled : evicted) {
+			destroy(pooled);
+		}
+	}
+
+	private void fillToMinIdle() {
+		while (true) {
+			lock.lock();
+			try {
+				if (closed || idle.size() >= settings.minIdle || total >= settings.maxSize) {
+					return;
+				}
+				total++;
+			} finally {
+				lock.unlock();
+			}
+			PooledConnection pooled;
+			try {
+				pooled = open();
+			} catch (SQLException e) {
+				LOGGER.warn("Could not open an idle connection", e);
+				return;
+			}
+			lock.lock();
+			try {
+				if (!closed) {
+					idle.addLast(pooled);
+					returned.signal();
+					continue;
+				}
+			} finally {
+				lock.unlock();
+			}
+			destroy(pooled);
+			return;
+		}
+	}
+
+	private void reportLeaks() {
+		if (settings.leakThresholdMillis == 0) {
+			return;
+		}
+		long now = System.nanoTime();
+		for (Lease lease : leases) {
+			long heldMillis = TimeUnit.NANOSECONDS.toMillis(now - lease.borrowedNanos);
+			if (!lease.reported && heldMillis >= settings.leakThresholdMillis) {
+				lease.reported = true;
+				leaks.increment();
+				LOGGER.warn("Possible connection leak: a connection has been held for " + heldMillis + " ms", lease.borrower);
+			}
+		}
+	}
+
+	private static void closeQuietly(PreparedStatement statement) {
+		try {
+			statement.close();
+		} catch (SQLException e) {
+			LOGGER.warn("Could not close a cached statement", e);
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package com.nwg.ezpay.repository.jdbc;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe histogram of latencies with one bucket per power of two
+ * nanoseconds, so recording is a few atomic increments and percentiles are
+ * accurate to within a factor of two.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public final class LatencyHistogram {
+
+	private static final int BUCKETS = 64;
+
+	// Bucket i counts latencies of at most 2^i nanoseconds that didn't fit bucket i - 1.
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+	/**
+	 * @param nanos : latency to record; negative values count as 0
+	 */
+	public void record(long nanos) {
+		long latency = Math.max(nanos, 0);
+		buckets.incrementAndGet(bucketOf(latency));
+		count.increment();
+		totalNanos.add(latency);
+		maxNanos.accumulate(latency);
+	}
+
+	public long getCount() {
+		return count.sum();
+	}
+
+	public long getTotalNanos() {
+		return totalNanos.sum();
+	}
+
+	public long getMaxNanos() {
+		return maxNanos.get();
+	}
+
+	/**
+	 * @param percentile : percentile to read, from 0 to 100
+	 * @return {@code long} : upper bound in nanoseconds of the bucket holding the percentile, or 0 if nothing was recorded
+	 */
+	public long getPercentileNanos(double percentile) {
+		long[] counts = getBuckets();
+		long total = 0;
+		for (long bucket : counts) {
+			total += bucket;
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return Math.min(upperBound(i), getMaxNanos());
+			}
+		}
+		return getMaxNanos();
+	}
+
+	/**
+	 * @return {@code long[]} : count of each bucket; bucket {@code i} holds latencies up to {@code 2^i} nanoseconds
+	 */
+	public long[] getBuckets() {
+		long[] counts = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] = buckets.get(i);
+		}
+		return counts;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("n=%d p50=%dus p99=%dus max=%dus", getCount(), micros(getPercentileNanos(50)),
+				micros(getPercentileNanos(99)), micros(getMaxNanos()));
+	}
+
+	private static int bucketOf(long nanos) {
+		return nanos <= 1 ? 0 : 64 - Long.numberOfLeadingZeros(nanos - 1);
+	}
+
+	private static long upperBound(int bucket) {
+		return bucket >= 63 ? Long.MAX_VALUE : 1L << bucket;
+	}
+
+	private static long micros(long nanos) {
+		return TimeUnit.NANOSECONDS.toMicros(nanos);
+	}
+}
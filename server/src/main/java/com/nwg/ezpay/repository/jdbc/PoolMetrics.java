@@ -0,0 +1,140 @@
+package com.nwg.ezpay.repository.jdbc;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * State and counters of a {@link ConnectionPool} at one moment: how many
+ * connections are lent out or idle, how many callers are waiting for one, and
+ * what borrowing has cost so far.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public final class PoolMetrics {
+
+	private final int active;
+	private final int idle;
+	private final int total;
+	private final int waiting;
+	private final long borrows;
+	private final long timeouts;
+	private final long created;
+	private final long destroyed;
+	private final long validationFailures;
+	private final long leaks;
+	private final long statementsPrepared;
+	private final long statementCacheHits;
+	private final long totalWaitNanos;
+	private final LatencyHistogram borrowLatency;
+
+	PoolMetrics(int active, int idle, int total, int waiting, long borrows, long timeouts, long created, long destroyed,
+			long validationFailures, long leaks, long statementsPrepared, long statementCacheHits, long totalWaitNanos,
+			LatencyHistogram borrowLatency) {
+		this.active = active;
+		this.idle = idle;
+		this.total = total;
+		this.waiting = waiting;
+		this.borrows = borrows;
+		this.timeouts = timeouts;
+		this.created = created;
+		this.destroyed = destroyed;
+		this.validationFailures = validationFailures;
+		this.leaks = leaks;
+		this.statementsPrepared = statementsPrepared;
+		this.statementCacheHits = statementCacheHits;
+		this.totalWaitNanos = totalWaitNanos;
+		this.borrowLatency = borrowLatency;
+	}
+
+	/**
+	 * @return {@code int} : connections lent out
+	 */
+	public int getActive() {
+		return active;
+	}
+
+	/**
+	 * @return {@code int} : open connections waiting in the pool
+	 */
+	public int getIdle() {
+		return idle;
+	}
+
+	/**
+	 * @return {@code int} : open connections, including any being opened
+	 */
+	public int getTotal() {
+		return total;
+	}
+
+	/**
+	 * @return {@code int} : callers blocked until a connection is returned
+	 */
+	public int getWaiting() {
+		return waiting;
+	}
+
+	public long getBorrows() {
+		return borrows;
+	}
+
+	/**
+	 * @return {@code long} : borrows that gave up after the borrow timeout
+	 */
+	public long getTimeouts() {
+		return timeouts;
+	}
+
+	public long getCreated() {
+		return created;
+	}
+
+	public long getDestroyed() {
+		return destroyed;
+	}
+
+	/**
+	 * @return {@code long} : idle connections found broken when borrowed
+	 */
+	public long getValidationFailures() {
+		return validationFailures;
+	}
+
+	/**
+	 * @return {@code long} : connections held past the leak threshold
+	 */
+	public long getLeaks() {
+		return leaks;
+	}
+
+	public long getStatementsPrepared() {
+		return statementsPrepared;
+	}
+
+	public long getStatementCacheHits() {
+		return statementCacheHits;
+	}
+
+	/**
+	 * @return {@code long} : time callers have spent blocked on a full pool
+	 */
+	public long getTotalWaitMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(totalWaitNanos);
+	}
+
+	/**
+	 * @return {@code LatencyHistogram} : time taken by each borrow, including waiting, validating and connecting
+	 */
+	public LatencyHistogram getBorrowLatency() {
+		return borrowLatency;
+	}
+
+	@Override
+	public String toString() {
+		return "Pool: " + active + " active, " + idle + " idle, " + waiting + " waiting; " + borrows + " borrows (" + timeouts
+				+ " timed out, " + getTotalWaitMillis() + " ms waited), borrow latency " + borrowLatency + "; " + created
+				+ " connections created, " + destroyed + " destroyed, " + validationFailures + " failed validation, " + leaks
+				+ " leaked; " + statementsPrepared + " statements prepared, " + statementCacheHits + " cache hits";
+	}
+}
@@ -0,0 +1,76 @@
+package com.nwg.ezpay.repository.page;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * One page of the result of a paged query, in date and then ID order, with the
+ * token that asks for the page after it.
+ *
+ * @param <T> : type of the rows on the page
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public final class Page<T> implements Iterable<T> {
+
+	private final List<T> items;
+	private final String nextPageToken;
+
+	/**
+	 * @param items         : rows on the page
+	 * @param nextPageToken : token of the page after this one, or null if this is the last page
+	 */
+	public Page(List<T> items, String nextPageToken) {
+		this.items = Collections.unmodifiableList(items);
+		this.nextPageToken = nextPageToken;
+	}
+
+	/**
+	 * @return {@code Page<T>} : a last page without rows
+	 */
+	public static <T> Page<T> empty() {
+		return new Page<T>(Collections.<T>emptyList(), null);
+	}
+
+	/**
+	 * @return {@code List<T>} : rows on the page, unmodifiable
+	 */
+	public List<T> getItems() {
+		return items;
+	}
+
+	/**
+	 * @return {@code String} : token to pass to {@link PageRequest#of(int, String)} for the next page, or null if
+	 * this is the last page
+	 */
+	public String getNextPageToken() {
+		return nextPageToken;
+	}
+
+	/**
+	 * @return {@code boolean} : whether there are rows after this page
+	 */
+	public boolean hasNext() {
+		return nextPageToken != null;
+	}
+
+	/**
+	 * @return {@code int} : number of rows on the page
+	 */
+	public int size() {
+		return items.size();
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return items.iterator();
+	}
+
+	@Override
+	public String toString() {
+		return "Page [size=" + items.size() + ", nextPageToken=" + nextPageToken + "]";
+	}
+}
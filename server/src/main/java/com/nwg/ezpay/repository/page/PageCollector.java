@@ -0,0 +1,134 @@
+package com.nwg.ezpay.repository.page;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+/**
+ * Builds a {@link Page} from candidate rows offered in any order, keeping only
+ * the page size plus one rows that come first after the requested position.
+ * The extra row tells whether there is a next page.
+ *
+ * <p>A store that can only scan its rows offers every match and the collector
+ * keeps the first ones in a bounded heap, so a page costs one scan and memory for
+ * one page however many rows match. A store that walks an index in date order
+ * asks {@link #isDone(long)} before each date and stops as soon as no later row
+ * can make it onto the page; rows of the same date may come in any ID order.
+ * Rows are only turned into the returned objects once the page is known.</p>
+ *
+ * @param <R> : handle the store has on a row, such as its position
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public final class PageCollector<R> {
+
+	/**
+	 * A candidate row with the values it is ordered by.
+	 */
+	private static final class Candidate<R> {
+
+		private final long dateMillis;
+		private final String id;
+		private final R row;
+
+		Candidate(long dateMillis, String id, R row) {
+			this.dateMillis = dateMillis;
+			this.id = id;
+			this.row = row;
+		}
+
+		int compareTo(long otherDateMillis, String otherId) {
+			return PageRequest.compare(dateMillis, id, otherDateMillis, otherId);
+		}
+	}
+
+	private final PageRequest pageRequest;
+	private final int limit;
+	// The rows kept so far, the last in page order at the head.
+	private final PriorityQueue<Candidate<R>> lastFirst;
+
+	/**
+	 * @param pageRequest : the page to collect
+	 */
+	public PageCollector(PageRequest pageRequest) {
+		this.pageRequest = pageRequest;
+		this.limit = pageRequest.getPageSize() + 1;
+		this.lastFirst = new PriorityQueue<Candidate<R>>(Math.min(limit, 1024),
+				(a, b) -> -a.compareTo(b.dateMillis, b.id));
+	}
+
+	/**
+	 * @return {@code PageRequest} : the page being collected
+	 */
+	public PageRequest getPageRequest() {
+		return pageRequest;
+	}
+
+	/**
+	 * A cheap test to run before reading the ID of a row.
+	 *
+	 * @param dateMillis : date of a row in epoch millis
+	 * @return {@code boolean} : whether a row of that date can still make it onto the page
+	 */
+	public boolean accepts(long dateMillis) {
+		if (!pageRequest.isFirst() && dateMillis < pageRequest.getAfterMillis()) {
+			return false;
+		}
+		return lastFirst.size() < limit || dateMillis <= lastFirst.peek().dateMillis;
+	}
+
+	/**
+	 * For stores that offer rows in date order.
+	 *
+	 * @param dateMillis : date of the next row to offer, in epoch millis
+	 * @return {@code boolean} : whether the page is complete, so that no row of that date or later can make it
+	 */
+	public boolean isDone(long dateMillis) {
+		return lastFirst.size() == limit && dateMillis > lastFirst.peek().dateMillis;
+	}
+
+	/**
+	 * Keeps the row if it comes after the requested position and among the first
+	 * ones offered so far.
+	 *
+	 * @param dateMillis : date of the row in epoch millis
+	 * @param id         : ID of the row
+	 * @param row        : the store's handle on the row
+	 */
+	public void offer(long dateMillis, String id, R row) {
+		if (!pageRequest.startsBefore(dateMillis, id)) {
+			return;
+		}
+		if (lastFirst.size() < limit) {
+			lastFirst.add(new Candidate<R>(dateMillis, id, row));
+		} else if (lastFirst.peek().compareTo(dateMillis, id) > 0) {
+			lastFirst.poll();
+			lastFirst.add(new Candidate<R>(dateMillis, id, row));
+		}
+	}
+
+	/**
+	 * @param materialize : builds the returned object of a row
+	 * @return {@code Page<T>} : the rows kept, in page order, and the token of the next page if one was seen
+	 */
+	public <T> Page<T> toPage(Function<? super R, ? extends T> materialize) {
+		List<Candidate<R>> kept = new ArrayList<Candidate<R>>(lastFirst.size());
+		while (!lastFirst.isEmpty()) {
+			kept.add(lastFirst.poll());
+		}
+		boolean hasNext = kept.size() == limit;
+		int pageSize = hasNext ? limit - 1 : kept.size();
+		List<T> items = new ArrayList<T>(pageSize);
+		for (int i = kept.size() - 1; i >= kept.size() - pageSize; i--) {
+			items.add(materialize.apply(kept.get(i).row));
+		}
+		if (!hasNext) {
+			return new Page<T>(items, null);
+		}
+		Candidate<R> last = kept.get(1);
+		return new Page<T>(items, PageRequest.token(last.dateMillis, last.id));
+	}
+}
@@ -0,0 +1,148 @@
+package com.nwg.ezpay.repository.page;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Asks a paged query for one page of its result. Rows are ordered by date, then
+ * by ID, and a request names the size of the page and the row the page starts
+ * after, so the next page is found by seeking past that row rather than by
+ * skipping every row of the pages before it.
+ *
+ * <p>The position is carried between calls as an opaque page token, the
+ * {@link Page#getNextPageToken() next page token} of the previous page. A token
+ * stays valid while rows are written: the next page starts after the last row
+ * shown, whatever was inserted or deleted before it. Rows without a date have no
+ * place in the order and are not returned by paged queries.</p>
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public final class PageRequest {
+
+	public static final int MAX_PAGE_SIZE = 10000;
+
+	private static final char SEPARATOR = ':';
+
+	private final int pageSize;
+	private final boolean first;
+	private final long afterMillis;
+	private final String afterId;
+
+	private PageRequest(int pageSize, boolean first, long afterMillis, String afterId) {
+		if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+			throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE + ", not " + pageSize);
+		}
+		this.pageSize = pageSize;
+		this.first = first;
+		this.afterMillis = afterMillis;
+		this.afterId = afterId;
+	}
+
+	/**
+	 * @param pageSize : number of rows on the page
+	 * @return {@code PageRequest} : a request for the first page
+	 * @throws IllegalArgumentException if the page size is not between 1 and {@value #MAX_PAGE_SIZE}
+	 */
+	public static PageRequest first(int pageSize) {
+		return new PageRequest(pageSize, true, 0, null);
+	}
+
+	/**
+	 * @param pageSize  : number of rows on the page
+	 * @param pageToken : next page token of the previous page, or null or empty for the first page
+	 * @return {@code PageRequest} : a request for the page the token points at
+	 * @throws IllegalArgumentException if the page size is not between 1 and {@value #MAX_PAGE_SIZE}, or the token
+	 * wasn't made by a page
+	 */
+	public static PageRequest of(int pageSize, String pageToken) {
+		if (pageToken == null || pageToken.isEmpty()) {
+			return first(pageSize);
+		}
+		String position;
+		try {
+			position = new String(Base64.getUrlDecoder().decode(pageToken), StandardCharsets.UTF_8);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid page token " + pageToken);
+		}
+		int separator = position.indexOf(SEPARATOR);
+		if (separator < 1) {
+			throw new IllegalArgumentException("Invalid page token " + pageToken);
+		}
+		try {
+			return new PageRequest(pageSize, false, Long.parseLong(position.substring(0, separator), Character.MAX_RADIX),
+					position.substring(separator + 1));
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid page token " + pageToken);
+		}
+	}
+
+	/**
+	 * @return {@code String} : the token of the position after the row dated {@code dateMillis} with the ID
+	 */
+	static String token(long dateMillis, String id) {
+		String position = Long.toString(dateMillis, Character.MAX_RADIX) + SEPARATOR + (id == null ? "" : id);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Compares two rows in page order: by date, then by ID, with a null ID first.
+	 */
+	static int compare(long dateMillis, String id, long otherDateMillis, String otherId) {
+		int byDate = Long.compare(dateMillis, otherDateMillis);
+		if (byDate != 0) {
+			return byDate;
+		}
+		return (id == null ? "" : id).compareTo(otherId == null ? "" : otherId);
+	}
+
+	/**
+	 * @return {@code int} : number of rows on the page
+	 */
+	public int getPageSize() {
+		return pageSize;
+	}
+
+	/**
+	 * @return {@code boolean} : whether this asks for the first page
+	 */
+	public boolean isFirst() {
+		return first;
+	}
+
+	/**
+	 * @return {@code long} : date in epoch millis of the row the page starts after; meaningless for the first page
+	 */
+	public long getAfterMillis() {
+		return afterMillis;
+	}
+
+	/**
+	 * @return {@code String} : ID of the row the page starts after, or null for the first page
+	 */
+	public String getAfterId() {
+		return afterId;
+	}
+
+	/**
+	 * @param dateMillis : date of a row in epoch millis
+	 * @param id         : ID of the row
+	 * @return {@code boolean} : whether the row comes after the position the page starts at
+	 */
+	public boolean startsBefore(long dateMillis, String id) {
+		return first || compare(afterMillis, afterId, dateMillis, id) < 0;
+	}
+
+	/**
+	 * @return {@code String} : the page token of this request, null for the first page
+	 */
+	public String getPageToken() {
+		return first ? null : token(afterMillis, afterId);
+	}
+
+	@Override
+	public String toString() {
+		return "PageRequest [pageSize=" + pageSize + (first ? ", first" : ", after=" + afterMillis + "/" + afterId) + "]";
+	}
+}
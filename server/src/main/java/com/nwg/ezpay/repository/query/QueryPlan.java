@@ -0,0 +1,67 @@
+package com.nwg.ezpay.repository.query;
+
+/**
+ * How a store reads the rows of a {@link TransactionQuery}: the index it walks
+ * to find candidates, or a scan of every row, and about how many candidates that
+ * gives. Every candidate is then checked against the whole query.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public final class QueryPlan {
+
+	/**
+	 * Where the candidates of a query come from.
+	 */
+	public enum Access {
+
+		TYPE_INDEX, STATUS_INDEX, DATE_INDEX, AMOUNT_INDEX, FULL_SCAN;
+
+		/**
+		 * @param query : a query
+		 * @return {@code boolean} : whether this access narrows the rows of the query
+		 */
+		boolean narrows(TransactionQuery query) {
+			switch (this) {
+			case TYPE_INDEX:
+				return query.getType() != null;
+			case STATUS_INDEX:
+				return query.getStatus() != null;
+			case DATE_INDEX:
+				return query.hasDateRange();
+			case AMOUNT_INDEX:
+				return query.hasAmountRange();
+			default:
+				return true;
+			}
+		}
+	}
+
+	private final Access access;
+	private final long estimatedRows;
+
+	QueryPlan(Access access, long estimatedRows) {
+		this.access = access;
+		this.estimatedRows = estimatedRows;
+	}
+
+	/**
+	 * @return {@code Access} : where the candidates come from
+	 */
+	public Access getAccess() {
+		return access;
+	}
+
+	/**
+	 * @return {@code long} : number of candidates expected
+	 */
+	public long getEstimatedRows() {
+		return estimatedRows;
+	}
+
+	@Override
+	public String toString() {
+		return "QueryPlan [" + access + ", ~" + estimatedRows + " rows]";
+	}
+}
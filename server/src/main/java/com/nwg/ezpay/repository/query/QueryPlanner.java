@@ -0,0 +1,82 @@
+package com.nwg.ezpay.repository.query;
+
+import java.util.Iterator;
+import java.util.Set;
+
+import com.nwg.ezpay.repository.query.QueryPlan.Access;
+
+/**
+ * Chooses the index a store reads a {@link TransactionQuery} from: of the indexes
+ * the store has on the filtered columns, the one giving the fewest candidates,
+ * or a scan of every row when none gives fewer.
+ *
+ * <p>The store estimates each index in the order of {@link Access}. Type and
+ * status counts are kept up to date, so those estimates cost nothing, and a range
+ * is estimated by counting its entries, but only up to the best estimate so far,
+ * so an estimate never reads more entries than the plan it could replace. The
+ * choice is between indexes only: no store keeps bitmap indexes whose words could
+ * be intersected, and intersecting two ordered indexes would read both, which
+ * costs more than reading the smaller one and filtering its rows.</p>
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public final class QueryPlanner {
+
+	/**
+	 * A store's estimate of the candidates of an index.
+	 */
+	public interface Estimator {
+
+		/**
+		 * @param access : an index the store has, which narrows the query
+		 * @param limit  : the best estimate so far
+		 * @return {@code long} : number of rows the index gives for the query, or any number not below
+		 * {@code limit} if it gives at least that many
+		 */
+		long estimate(Access access, long limit);
+	}
+
+	private QueryPlanner() {
+	}
+
+	/**
+	 * @param query     : the query to plan
+	 * @param rows      : number of rows in the store, which a scan reads
+	 * @param indexes   : the indexes the store has
+	 * @param estimator : the store's estimates of its indexes
+	 * @return {@code QueryPlan} : the access giving the fewest candidates
+	 */
+	public static QueryPlan plan(TransactionQuery query, long rows, Set<Access> indexes, Estimator estimator) {
+		Access best = Access.FULL_SCAN;
+		long bestRows = rows;
+		for (Access access : Access.values()) {
+			if (access == Access.FULL_SCAN || !indexes.contains(access) || !access.narrows(query)) {
+				continue;
+			}
+			long estimate = estimator.estimate(access, bestRows);
+			if (estimate < bestRows) {
+				best = access;
+				bestRows = estimate;
+			}
+		}
+		return new QueryPlan(best, bestRows);
+	}
+
+	/**
+	 * Counts the entries of an index range, stopping at {@code limit}.
+	 *
+	 * @param entries : the entries of the range
+	 * @param limit   : number of entries after which counting stops
+	 * @return {@code long} : the number of entries, or {@code limit} if there are at least that many
+	 */
+	public static long countUpTo(Iterator<?> entries, long limit) {
+		long count = 0;
+		while (count < limit && entries.hasNext()) {
+			entries.next();
+			count++;
+		}
+		return count;
+	}
+}
@@ -0,0 +1,231 @@
+package com.nwg.ezpay.repository.query;
+
+import java.util.Comparator;
+import java.util.Date;
+
+import com.nwg.ezpay.entity.Transaction;
+import com.nwg.ezpay.repository.index.DateIndex;
+
+/**
+ * A conjunction of filters on transactions: an optional type, status, range of
+ * days and range of amounts. A transaction matches when it meets every filter
+ * that is set, so "failed upi transactions over 5000 last week" is one query:
+ *
+ * <pre>
+ * TransactionQuery.all().withType("upi").withStatus("failed").onDays(weekStart, today).withAmountBetween(5000.0, null)
+ * </pre>
+ *
+ * <p>Queries are immutable; each {@code with} method returns a new query. A store
+ * answers one with {@link com.nwg.ezpay.repository.ITransactionDAO#getTransactionByQuery(TransactionQuery)}
+ * in a single pass, reading from the most selective index it has, as chosen by
+ * the {@link QueryPlanner}, and filtering the other conditions on the way.</p>
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public final class TransactionQuery {
+
+	/**
+	 * Order of query results: by date, then by ID, with undated transactions last.
+	 */
+	public static final Comparator<Transaction> RESULT_ORDER = Comparator
+			.comparing(Transaction::getDate, Comparator.nullsLast(Comparator.<Date>naturalOrder()))
+			.thenComparing(Transaction::getTransactionId, Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+
+	private static final TransactionQuery ALL = new TransactionQuery(null, null, Long.MIN_VALUE, Long.MAX_VALUE, false,
+			null, null);
+
+	private final String type;
+	private final String status;
+	private final long fromMillis;
+	private final long toMillis;
+	private final boolean dated;
+	private final Double minAmount;
+	private final Double maxAmount;
+
+	private TransactionQuery(String type, String status, long fromMillis, long toMillis, boolean dated, Double minAmount,
+			Double maxAmount) {
+		this.type = type;
+		this.status = status;
+		this.fromMillis = fromMillis;
+		this.toMillis = toMillis;
+		this.dated = dated;
+		this.minAmount = minAmount;
+		this.maxAmount = maxAmount;
+	}
+
+	/**
+	 * @return {@code TransactionQuery} : a query without filters, which every transaction matches
+	 */
+	public static TransactionQuery all() {
+		return ALL;
+	}
+
+	/**
+	 * @param type : type the transactions must have, or null for any
+	 * @return {@code TransactionQuery} : this query, also filtered on the type
+	 */
+	public TransactionQuery withType(String type) {
+		return new TransactionQuery(type, status, fromMillis, toMillis, dated, minAmount, maxAmount);
+	}
+
+	/**
+	 * @param status : status the transactions must have, or null for any
+	 * @return {@code TransactionQuery} : this query, also filtered on the status
+	 */
+	public TransactionQuery withStatus(String status) {
+		return new TransactionQuery(type, status, fromMillis, toMillis, dated, minAmount, maxAmount);
+	}
+
+	/**
+	 * Filters on the calendar day of the transaction date; the time of day is ignored.
+	 * Undated transactions don't match once either day is set.
+	 *
+	 * @param startDate : first day, included, or null for no lower bound
+	 * @param endDate   : last day, included, or null for no upper bound
+	 * @return {@code TransactionQuery} : this query, also filtered on the days
+	 */
+	public TransactionQuery onDays(Date startDate, Date endDate) {
+		if (startDate == null && endDate == null) {
+			return new TransactionQuery(type, status, Long.MIN_VALUE, Long.MAX_VALUE, false, minAmount, maxAmount);
+		}
+		long from = startDate == null ? Long.MIN_VALUE : DateIndex.startOfDay(DateIndex.epochDay(startDate));
+		long to = endDate == null ? Long.MAX_VALUE : DateIndex.startOfDay(DateIndex.epochDay(endDate) + 1);
+		return new TransactionQuery(type, status, from, to, true, minAmount, maxAmount);
+	}
+
+	/**
+	 * Filters on the amount. Transactions without an amount don't match once either bound is set.
+	 *
+	 * @param minAmount : lower bound, included, or null for none
+	 * @param maxAmount : upper bound, included, or null for none
+	 * @return {@code TransactionQuery} : this query, also filtered on the amount
+	 */
+	public TransactionQuery withAmountBetween(Double minAmount, Double maxAmount) {
+		return new TransactionQuery(type, status, fromMillis, toMillis, dated, minAmount, maxAmount);
+	}
+
+	/**
+	 * @return {@code String} : type the transactions must have, or null for any
+	 */
+	public String getType() {
+		return type;
+	}
+
+	/**
+	 * @return {@code String} : status the transactions must have, or null for any
+	 */
+	public String getStatus() {
+		return status;
+	}
+
+	/**
+	 * @return {@code boolean} : whether the query filters on the date
+	 */
+	public boolean hasDateRange() {
+		return dated;
+	}
+
+	/**
+	 * @return {@code long} : start of the date range in epoch millis, inclusive; {@code Long.MIN_VALUE} if open
+	 */
+	public long getFromMillis() {
+		return fromMillis;
+	}
+
+	/**
+	 * @return {@code long} : end of the date range in epoch millis, exclusive; {@code Long.MAX_VALUE} if open
+	 */
+	public long getToMillis() {
+		return toMillis;
+	}
+
+	/**
+	 * @return {@code boolean} : whether the query filters on the amount
+	 */
+	public boolean hasAmountRange() {
+		return minAmount != null || maxAmount != null;
+	}
+
+	/**
+	 * @return {@code Double} : lower bound of the amount, inclusive, or null for none
+	 */
+	public Double getMinAmount() {
+		return minAmount;
+	}
+
+	/**
+	 * @return {@code Double} : upper bound of the amount, inclusive, or null for none
+	 */
+	public Double getMaxAmount() {
+		return maxAmount;
+	}
+
+	/**
+	 * @return {@code double} : lower bound of the amount, negative infinity if there is none
+	 */
+	public double lowestAmount() {
+		return minAmount == null ? Double.NEGATIVE_INFINITY : minAmount;
+	}
+
+	/**
+	 * @return {@code double} : upper bound of the amount, positive infinity if there is none
+	 */
+	public double highestAmount() {
+		return maxAmount == null ? Double.POSITIVE_INFINITY : maxAmount;
+	}
+
+	/**
+	 * @return {@code boolean} : whether a range is inverted, so that no transaction can match
+	 */
+	public boolean isEmpty() {
+		return (dated && fromMillis >= toMillis) || lowestAmount() > highestAmount();
+	}
+
+	/**
+	 * @param transaction : a transaction
+	 * @return {@code boolean} : whether the transaction meets every filter of the query
+	 */
+	public boolean matches(Transaction transaction) {
+		if (type != null && !type.equals(transaction.getType())) {
+			return false;
+		}
+		if (status != null && !status.equals(transaction.getStatus())) {
+			return false;
+		}
+		if (dated) {
+			Date date = transaction.getDate();
+			if (date == null || date.getTime() < fromMillis || date.getTime() >= toMillis) {
+				return false;
+			}
+		}
+		if (hasAmountRange()) {
+			Double amount = transaction.getAmount();
+			if (amount == null || amount < lowestAmount() || amount > highestAmount()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder filters = new StringBuilder();
+		if (type != null) {
+			filters.append(" type=").append(type);
+		}
+		if (status != null) {
+			filters.append(" status=").append(status);
+		}
+		if (dated) {
+			filters.append(" date=[").append(fromMillis == Long.MIN_VALUE ? "" : new Date(fromMillis)).append(", ")
+					.append(toMillis == Long.MAX_VALUE ? "" : new Date(toMillis)).append(")");
+		}
+		if (hasAmountRange()) {
+			filters.append(" amount=[").append(minAmount == null ? "" : minAmount).append(", ")
+					.append(maxAmount == null ? "" : maxAmount).append("]");
+		}
+		return "TransactionQuery [" + (filters.length() == 0 ? "all" : filters.substring(1)) + "]";
+	}
+}
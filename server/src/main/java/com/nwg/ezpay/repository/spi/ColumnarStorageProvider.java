@@ -0,0 +1,31 @@
+package com.nwg.ezpay.repository.spi;
+
+import com.nwg.ezpay.repository.ColumnarTransactionDAO;
+import com.nwg.ezpay.repository.ITransactionDAO;
+
+/**
+ * Provides the {@code columnar} storage engine, {@link ColumnarTransactionDAO},
+ * loaded from the CSV file before it is returned. The store can be shared between
+ * threads; its queries share a read lock and its writes take the write lock.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public class ColumnarStorageProvider implements StorageProvider {
+
+	@Override
+	public String getName() {
+		return "columnar";
+	}
+
+	@Override
+	public String getDescription() {
+		return "Primitive columns on the heap";
+	}
+
+	@Override
+	public ITransactionDAO createTransactionDAO() {
+		return StorageProviders.loadFromCsv(new ColumnarTransactionDAO());
+	}
+}
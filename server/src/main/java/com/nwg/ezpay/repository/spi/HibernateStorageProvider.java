@@ -0,0 +1,31 @@
+package com.nwg.ezpay.repository.spi;
+
+import com.nwg.ezpay.repository.HibernateTransactionDAO;
+import com.nwg.ezpay.repository.ITransactionDAO;
+import com.nwg.ezpay.util.HibernateUtil;
+
+/**
+ * Provides the {@code hibernate} storage engine, {@link HibernateTransactionDAO}
+ * on the session factory of {@link HibernateUtil}.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public class HibernateStorageProvider implements StorageProvider {
+
+	@Override
+	public String getName() {
+		return "hibernate";
+	}
+
+	@Override
+	public String getDescription() {
+		return "The transaction_tab table through the Hibernate mapping";
+	}
+
+	@Override
+	public ITransactionDAO createTransactionDAO() {
+		return new HibernateTransactionDAO(HibernateUtil.getSessionFactory());
+	}
+}
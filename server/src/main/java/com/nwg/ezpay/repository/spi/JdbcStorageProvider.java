@@ -0,0 +1,31 @@
+package com.nwg.ezpay.repository.spi;
+
+import com.nwg.ezpay.repository.ITransactionDAO;
+import com.nwg.ezpay.repository.JdbcTransactionDAO;
+
+/**
+ * Provides the {@code jdbc} storage engine, {@link JdbcTransactionDAO} on a
+ * connection pool to the database named by the {@code ezpay.jdbc.*} system
+ * properties.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public class JdbcStorageProvider implements StorageProvider {
+
+	@Override
+	public String getName() {
+		return "jdbc";
+	}
+
+	@Override
+	public String getDescription() {
+		return "The transaction_tab table of the database";
+	}
+
+	@Override
+	public ITransactionDAO createTransactionDAO() {
+		return JdbcTransactionDAO.connect();
+	}
+}
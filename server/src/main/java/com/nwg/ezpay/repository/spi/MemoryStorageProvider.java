@@ -0,0 +1,31 @@
+package com.nwg.ezpay.repository.spi;
+
+import com.nwg.ezpay.repository.ITransactionDAO;
+import com.nwg.ezpay.repository.TransactionDAOImpl;
+
+/**
+ * Provides the {@code memory} storage engine, {@link TransactionDAOImpl}, which
+ * loads the CSV file in the background and answers while it does.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public class MemoryStorageProvider implements StorageProvider {
+
+	@Override
+	public String getName() {
+		return "memory";
+	}
+
+	@Override
+	public String getDescription() {
+		return "Indexed objects on the heap, loaded in the background";
+	}
+
+	@Override
+	public ITransactionDAO createTransactionDAO() {
+		TransactionDAOImpl.startLoading();
+		return new TransactionDAOImpl();
+	}
+}
@@ -0,0 +1,31 @@
+package com.nwg.ezpay.repository.spi;
+
+import com.nwg.ezpay.repository.ITransactionDAO;
+import com.nwg.ezpay.repository.OffHeapTransactionDAO;
+
+/**
+ * Provides the {@code offheap} storage engine, {@link OffHeapTransactionDAO},
+ * loaded from the CSV file before it is returned. The store can be shared between
+ * threads; its queries share a read lock and its writes take the write lock.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public class OffHeapStorageProvider implements StorageProvider {
+
+	@Override
+	public String getName() {
+		return "offheap";
+	}
+
+	@Override
+	public String getDescription() {
+		return "Fixed-width records outside the heap";
+	}
+
+	@Override
+	public ITransactionDAO createTransactionDAO() {
+		return StorageProviders.loadFromCsv(new OffHeapTransactionDAO());
+	}
+}
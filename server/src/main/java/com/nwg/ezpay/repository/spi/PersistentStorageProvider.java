@@ -0,0 +1,30 @@
+package com.nwg.ezpay.repository.spi;
+
+import com.nwg.ezpay.repository.ITransactionDAO;
+import com.nwg.ezpay.repository.PersistentTransactionDAO;
+
+/**
+ * Provides the {@code persistent} storage engine, {@link
+ * PersistentTransactionDAO}, loaded from the CSV file before it is returned.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public class PersistentStorageProvider implements StorageProvider {
+
+	@Override
+	public String getName() {
+		return "persistent";
+	}
+
+	@Override
+	public String getDescription() {
+		return "Immutable tries swapped in atomically";
+	}
+
+	@Override
+	public ITransactionDAO createTransactionDAO() {
+		return StorageProviders.loadFromCsv(new PersistentTransactionDAO());
+	}
+}
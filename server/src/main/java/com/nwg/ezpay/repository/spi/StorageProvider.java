@@ -0,0 +1,46 @@
+package com.nwg.ezpay.repository.spi;
+
+import com.nwg.ezpay.repository.ITransactionDAO;
+import com.nwg.ezpay.repository.ITransactionStatusDAO;
+import com.nwg.ezpay.repository.TransactionStatusDAOImpl;
+
+/**
+ * A storage engine the service layer can run on, discovered by
+ * {@link StorageProviders} with {@link java.util.ServiceLoader}.
+ *
+ * <p>An implementation is a public class with a public no-argument constructor,
+ * listed in {@code META-INF/services/com.nwg.ezpay.repository.spi.StorageProvider}
+ * of its jar. Creating the provider must be cheap; connecting and loading data
+ * happen in the {@code create} methods, when the engine has been selected.</p>
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public interface StorageProvider {
+
+	/**
+	 * @return {@code String} : name that selects the engine in {@value StorageProviders#STORAGE_PROPERTY}
+	 */
+	String getName();
+
+	/**
+	 * @return {@code String} : one line describing how the engine stores transactions
+	 */
+	String getDescription();
+
+	/**
+	 * @return {@code ITransactionDAO} : a transaction store ready to serve, or filling itself in the background
+	 */
+	ITransactionDAO createTransactionDAO();
+
+	/**
+	 * Statuses are kept in the indexed in-memory store unless an engine has its own.
+	 *
+	 * @return {@code ITransactionStatusDAO} : a transaction status store ready to serve, or filling itself in the background
+	 */
+	default ITransactionStatusDAO createTransactionStatusDAO() {
+		TransactionStatusDAOImpl.startLoading();
+		return new TransactionStatusDAOImpl();
+	}
+}
@@ -0,0 +1,136 @@
+package com.nwg.ezpay.repository.spi;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Properties;
+import java.util.ServiceLoader;
+import java.util.TreeMap;
+
+import org.apache.log4j.Logger;
+
+import com.nwg.ezpay.exception.DataLoadException;
+import com.nwg.ezpay.repository.ITransactionDAO;
+import com.nwg.ezpay.repository.storage.TransactionCsvReader;
+
+/**
+ * Finds the {@link StorageProvider}s on the class path and picks the one the
+ * service layer runs on.
+ *
+ * <p>The engine is named by the {@value #STORAGE_PROPERTY} system property, or
+ * else by the same key in the configuration file named by the
+ * {@value #CONFIG_PROPERTY} system property, {@value #DEFAULT_CONFIG} in the
+ * working directory by default. Without either it is {@value #DEFAULT_STORAGE}.
+ * The engines shipped with EzPay are:</p>
+ *
+ * <ul>
+ * <li>{@code memory} : {@link com.nwg.ezpay.repository.TransactionDAOImpl}, indexed objects on the heap, loaded in the background</li>
+ * <li>{@code columnar} : {@link com.nwg.ezpay.repository.ColumnarTransactionDAO}, primitive columns on the heap</li>
+ * <li>{@code offheap} : {@link com.nwg.ezpay.repository.OffHeapTransactionDAO}, fixed-width records outside the heap</li>
+ * <li>{@code persistent} : {@link com.nwg.ezpay.repository.PersistentTransactionDAO}, immutable tries swapped in atomically</li>
+ * <li>{@code jdbc} : {@link com.nwg.ezpay.repository.JdbcTransactionDAO}, the {@code transaction_tab} table of the database</li>
+ * <li>{@code hibernate} : {@link com.nwg.ezpay.repository.HibernateTransactionDAO}, the same table through the Hibernate mapping</li>
+ * </ul>
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public final class StorageProviders {
+
+	public static final String STORAGE_PROPERTY = "ezpay.storage";
+	public static final String CONFIG_PROPERTY = "ezpay.config";
+	public static final String DEFAULT_CONFIG = "ezpay.properties";
+	public static final String DEFAULT_STORAGE = "memory";
+
+	private static final Logger LOGGER = Logger.getLogger(StorageProviders.class);
+
+	private StorageProviders() {
+	}
+
+	/**
+	 * @return {@code Map<String, StorageProvider>} : the providers on the class path by name, in name order
+	 * @throws IllegalStateException if two providers have the same name
+	 */
+	public static Map<String, StorageProvider> available() {
+		Map<String, StorageProvider> providers = new TreeMap<String, StorageProvider>();
+		for (StorageProvider provider : ServiceLoader.load(StorageProvider.class)) {
+			StorageProvider other = providers.put(provider.getName(), provider);
+			if (other != null) {
+				throw new IllegalStateException("Storage engine \"" + provider.getName() + "\" is provided by both "
+						+ other.getClass().getName() + " and " + provider.getClass().getName());
+			}
+		}
+		return providers;
+	}
+
+	/**
+	 * @param name : name of the engine
+	 * @return {@code StorageProvider} : the provider of the engine
+	 * @throws IllegalArgumentException if no provider on the class path has that name
+	 */
+	public static StorageProvider get(String name) {
+		Map<String, StorageProvider> providers = available();
+		StorageProvider provider = providers.get(name);
+		if (provider == null) {
+			throw new IllegalArgumentException("Unknown storage engine \"" + name + "\", available engines are " + providers.keySet());
+		}
+		return provider;
+	}
+
+	/**
+	 * @return {@code StorageProvider} : the provider of the engine selected by the system property or configuration file
+	 * @throws IllegalArgumentException if they name an unknown engine
+	 * @throws DataLoadException        if the configuration file exists but can't be read
+	 */
+	public static StorageProvider selected() {
+		return get(selectedName());
+	}
+
+	/**
+	 * @return {@code String} : name of the engine selected by the system property or configuration file
+	 * @throws DataLoadException if the configuration file exists but can't be read
+	 */
+	public static String selectedName() {
+		String name = System.getProperty(STORAGE_PROPERTY);
+		if (name != null) {
+			return name.trim();
+		}
+		File config = new File(System.getProperty(CONFIG_PROPERTY, DEFAULT_CONFIG));
+		if (!config.isFile()) {
+			return DEFAULT_STORAGE;
+		}
+		Properties properties = new Properties();
+		try (InputStream in = new FileInputStream(config)) {
+			properties.load(in);
+		} catch (IOException e) {
+			throw new DataLoadException("Could not read the configuration file " + config + ": " + e, e);
+		}
+		return properties.getProperty(STORAGE_PROPERTY, DEFAULT_STORAGE).trim();
+	}
+
+	/**
+	 * Fills a newly created store with the rows of the transactions CSV file, or of
+	 * its snapshot when that is current.
+	 *
+	 * @throws DataLoadException if the file can't be read
+	 */
+	static ITransactionDAO loadFromCsv(ITransactionDAO iTransactionDAO) {
+		try {
+			TransactionCsvReader.load(TransactionCsvReader.TRANSACTIONS_CSV, TransactionCsvReader.TRANSACTIONS_SNAPSHOT, transaction -> {
+				try {
+					iTransactionDAO.createTransaction(transaction);
+					return true;
+				} catch (IllegalArgumentException e) {
+					LOGGER.warn("Skipping transaction " + transaction.getTransactionId() + ": " + e.getMessage());
+					return false;
+				}
+			}).logTo(LOGGER);
+		} catch (IOException e) {
+			throw new DataLoadException("Could not load the transactions store: " + e, e);
+		}
+		return iTransactionDAO;
+	}
+}
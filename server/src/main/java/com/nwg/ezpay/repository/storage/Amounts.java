@@ -0,0 +1,81 @@
+package com.nwg.ezpay.repository.storage;
+
+/**
+ * Conversions between {@code Double} amounts and fixed-point amounts held as a
+ * {@code long} number of minor units (cents). Amounts carry two decimal places,
+ * as in the {@code NUMBER(*,2)} column of {@code transaction_tab}.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public final class Amounts {
+
+	/**
+	 * Marker stored in place of a {@code null} amount.
+	 */
+	public static final long NULL_AMOUNT = Long.MIN_VALUE;
+
+	private static final double MINOR_UNITS = 100.0;
+
+	private Amounts() {
+	}
+
+	/**
+	 * @param amount : amount in major units, may be {@code null}
+	 * @return {@code long} : amount rounded to minor units, or {@link #NULL_AMOUNT}
+	 */
+	public static long toMinorUnits(Double amount) {
+		return amount == null ? NULL_AMOUNT : Math.round(amount * MINOR_UNITS);
+	}
+
+	/**
+	 * @param minorUnits : amount in minor units, or {@link #NULL_AMOUNT}
+	 * @return {@code Double} : amount in major units, or {@code null}
+	 */
+	public static Double fromMinorUnits(long minorUnits) {
+		return minorUnits == NULL_AMOUNT ? null : minorUnits / MINOR_UNITS;
+	}
+
+	/**
+	 * @param amount : lower bound of an amount range, inclusive
+	 * @return {@code long} : smallest number of minor units whose amount is not below {@code amount}
+	 */
+	public static long lowerBound(double amount) {
+		if (amount <= -Long.MAX_VALUE / MINOR_UNITS) {
+			return -Long.MAX_VALUE;
+		}
+		if (amount >= Long.MAX_VALUE / MINOR_UNITS) {
+			return Long.MAX_VALUE;
+		}
+		long minorUnits = (long) Math.ceil(amount * MINOR_UNITS);
+		while (minorUnits / MINOR_UNITS < amount) {
+			minorUnits++;
+		}
+		while ((minorUnits - 1) / MINOR_UNITS >= amount) {
+			minorUnits--;
+		}
+		return minorUnits;
+	}
+
+	/**
+	 * @param amount : upper bound of an amount range, inclusive
+	 * @return {@code long} : largest number of minor units whose amount is not above {@code amount}
+	 */
+	public static long upperBound(double amount) {
+		if (amount >= Long.MAX_VALUE / MINOR_UNITS) {
+			return Long.MAX_VALUE;
+		}
+		if (amount <= -Long.MAX_VALUE / MINOR_UNITS) {
+			return -Long.MAX_VALUE;
+		}
+		long minorUnits = (long) Math.floor(amount * MINOR_UNITS);
+		while (minorUnits / MINOR_UNITS > amount) {
+			minorUnits--;
+		}
+		while ((minorUnits + 1) / MINOR_UNITS <= amount) {
+			minorUnits++;
+		}
+		return minorUnits;
+	}
+}
@@ -0,0 +1,76 @@
+package com.nwg.ezpay.repository.storage;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of one run of the {@link LogCompactor}: where the log was cut, how big
+ * the new checkpoint is, how much disk was given back and how long it took.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public final class CompactionReport {
+
+	private final String checkpointPath;
+	private final long lsn;
+	private final long rows;
+	private final long checkpointBytes;
+	private final long reclaimedBytes;
+	private final long pauseNanos;
+	private final long elapsedNanos;
+
+	CompactionReport(String checkpointPath, long lsn, long rows, long checkpointBytes, long reclaimedBytes, long pauseNanos,
+			long elapsedNanos) {
+		this.checkpointPath = checkpointPath;
+		this.lsn = lsn;
+		this.rows = rows;
+		this.checkpointBytes = checkpointBytes;
+		this.reclaimedBytes = reclaimedBytes;
+		this.pauseNanos = pauseNanos;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	public String getCheckpointPath() {
+		return checkpointPath;
+	}
+
+	/**
+	 * @return {@code long} : LSN of the first log record the checkpoint doesn't hold
+	 */
+	public long getLsn() {
+		return lsn;
+	}
+
+	public long getRows() {
+		return rows;
+	}
+
+	public long getCheckpointBytes() {
+		return checkpointBytes;
+	}
+
+	/**
+	 * @return {@code long} : bytes of log segments and older checkpoints deleted
+	 */
+	public long getReclaimedBytes() {
+		return reclaimedBytes;
+	}
+
+	/**
+	 * @return {@code long} : time writers were held back while the rows were captured
+	 */
+	public long getPauseMicros() {
+		return TimeUnit.NANOSECONDS.toMicros(pauseNanos);
+	}
+
+	public long getElapsedMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+	}
+
+	@Override
+	public String toString() {
+		return "Compacted " + rows + " rows at LSN " + lsn + " into " + checkpointPath + " (" + checkpointBytes + " bytes) in "
+				+ getElapsedMillis() + " ms, writers paused " + getPauseMicros() + " us, " + reclaimedBytes + " bytes reclaimed";
+	}
+}
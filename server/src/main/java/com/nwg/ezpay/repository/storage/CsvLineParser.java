@@ -0,0 +1,25 @@
+package com.nwg.ezpay.repository.storage;
+
+import java.text.ParseException;
+
+/**
+ * Turns one line of a CSV file into a row. Implementations are called from
+ * several loader threads at once, so they must not keep mutable state; each
+ * thread passes in its own {@link CsvRecord}.
+ *
+ * @param <T> : type of the rows in the file
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+@FunctionalInterface
+public interface CsvLineParser<T> {
+
+	/**
+	 * @param record : one non-empty line of the file, already split into fields
+	 * @return {@code T} : the row held by the line
+	 * @throws ParseException if the line doesn't hold a valid row
+	 */
+	T parse(CsvRecord record) throws ParseException;
+}
@@ -0,0 +1,305 @@
+package com.nwg.ezpay.repository.storage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+
+/**
+ * A reusable view of one CSV line held in a {@link ByteBuffer}, with parsers that
+ * read the fields straight from the bytes.
+ *
+ * <p>{@link #reset(ByteBuffer, int, int)} only records where each field starts and
+ * ends, so splitting a line allocates nothing. Amounts are parsed into fixed-point
+ * {@code long} values and {@code yyyy-MM-dd HH:mm:ss} timestamps into epoch millis
+ * with plain arithmetic. Only {@link #getString(int)} and
+ * {@link #getSharedString(int)} create objects.</p>
+ *
+ * <p>Timestamps are read in the time zone given to the constructor. The zone
+ * offset is cached for the period between two offset transitions, so the
+ * {@code java.time} zone rules are only consulted again when a timestamp falls
+ * outside that period.</p>
+ *
+ * <p>A record is not thread-safe; every loader thread uses its own.</p>
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public final class CsvRecord {
+
+	/**
+	 * Returned by {@link #getFixedPoint(int, int)} when a field isn't a plain decimal number.
+	 */
+	public static final long NOT_FIXED_POINT = Long.MIN_VALUE;
+
+	private static final int TIMESTAMP_LENGTH = 19;
+	private static final int SHARED_STRINGS = 32;
+	private static final long[] POWERS_OF_TEN = { 1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L };
+
+	private final ZoneId zone;
+	private final ZoneRules zoneRules;
+
+	private ByteBuffer buffer;
+	private int[] fieldStarts = new int[8];
+	private int[] fieldEnds = new int[8];
+	private int fieldCount;
+	private byte[] scratch = new byte[64];
+
+	private final String[] sharedStrings = new String[SHARED_STRINGS];
+	private final byte[][] sharedBytes = new byte[SHARED_STRINGS][];
+	private int sharedCount;
+
+	// Local epoch seconds in [offsetFrom, offsetTo) map to UTC with offsetSeconds.
+	private long offsetFrom = Long.MAX_VALUE;
+	private long offsetTo = Long.MIN_VALUE;
+	private int offsetSeconds;
+
+	public CsvRecord() {
+		this(ZoneId.systemDefault());
+	}
+
+	/**
+	 * @param zone : time zone the timestamps in the file are written in
+	 */
+	public CsvRecord(ZoneId zone) {
+		this.zone = zone;
+		this.zoneRules = zone.getRules();
+		if (zoneRules.isFixedOffset()) {
+			offsetFrom = Long.MIN_VALUE;
+			offsetTo = Long.MAX_VALUE;
+			offsetSeconds = zoneRules.getOffset(Instant.EPOCH).getTotalSeconds();
+		}
+	}
+
+	/**
+	 * Points the record at the line held in {@code buffer} between {@code start}
+	 * and {@code end}, and splits it on commas.
+	 *
+	 * @param buffer : buffer holding the line
+	 * @param start  : index of the first byte of the line
+	 * @param end    : index just past the last byte of the line, without the line terminator
+	 */
+	public void reset(ByteBuffer buffer, int start, int end) {
+		this.buffer = buffer;
+		fieldCount = 0;
+		int fieldStart = start;
+		for (int i = start; i < end; i++) {
+			if (buffer.get(i) == ',') {
+				addField(fieldStart, i);
+				fieldStart = i + 1;
+			}
+		}
+		addField(fieldStart, end);
+	}
+
+	/**
+	 * @return {@code int} : number of fields in the line
+	 */
+	public int fieldCount() {
+		return fieldCount;
+	}
+
+	/**
+	 * @param field : index of the field
+	 * @return {@code String} : the field decoded as UTF-8
+	 */
+	public String getString(int field) {
+		int length = fieldEnds[field] - fieldStarts[field];
+		if (length > scratch.length) {
+			scratch = new byte[Math.max(length, scratch.length * 2)];
+		}
+		copy(field, scratch);
+		return new String(scratch, 0, length, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Like {@link #getString(int)}, but returns the same {@code String} instance
+	 * every time a recently seen value comes back. Meant for low-cardinality
+	 * columns such as the type and status, which then allocate nothing per line.
+	 *
+	 * @param field : index of the field
+	 * @return {@code String} : the field decoded as UTF-8
+	 */
+	public String getSharedString(int field) {
+		int start = fieldStarts[field];
+		int length = fieldEnds[field] - start;
+		for (int i = 0; i < sharedCount; i++) {
+			if (matches(sharedBytes[i], start, length)) {
+				return sharedStrings[i];
+			}
+		}
+		String value = getString(field);
+		int slot = sharedCount < SHARED_STRINGS ? sharedCount++ : SHARED_STRINGS - 1;
+		sharedStrings[slot] = value;
+		sharedBytes[slot] = Arrays.copyOf(scratch, length);
+		return value;
+	}
+
+	/**
+	 * Parses a plain decimal number such as {@code -250.5} into a fixed-point value
+	 * with {@code scale} decimal places, so {@code 250.5} with scale 2 is {@code 25050}.
+	 *
+	 * @param field : index of the field
+	 * @param scale : number of decimal places of the result, at most 6
+	 * @return {@code long} : the fixed-point value, or {@link #NOT_FIXED_POINT} if the field
+	 * isn't an optionally signed run of digits with at most {@code scale} decimals, or is too long
+	 */
+	public long getFixedPoint(int field, int scale) {
+		int i = fieldStarts[field];
+		int end = fieldEnds[field];
+		boolean negative = i < end && buffer.get(i) == '-';
+		if (negative) {
+			i++;
+		}
+		long value = 0;
+		int digits = 0;
+		int decimals = -1;
+		for (; i < end; i++) {
+			byte b = buffer.get(i);
+			if (b >= '0' && b <= '9') {
+				if (++digits > 18 || decimals == scale) {
+					return NOT_FIXED_POINT;
+				}
+				value = value * 10 + (b - '0');
+				if (decimals >= 0) {
+					decimals++;
+				}
+			} else if (b == '.' && decimals < 0) {
+				decimals = 0;
+			} else {
+				return NOT_FIXED_POINT;
+			}
+		}
+		int missingDecimals = scale - Math.max(decimals, 0);
+		if (digits == 0 || digits + missingDecimals > 18) {
+			return NOT_FIXED_POINT;
+		}
+		value *= POWERS_OF_TEN[missingDecimals];
+		return negative ? -value : value;
+	}
+
+	/**
+	 * Parses a {@code yyyy-MM-dd HH:mm:ss} timestamp in the record's time zone.
+	 * Times in a daylight-saving gap are moved forward and ambiguous times take
+	 * the earlier offset, as {@link LocalDateTime#atZone(ZoneId)} does.
+	 *
+	 * @param field : index of the field
+	 * @return {@code long} : the timestamp in epoch millis
+	 * @throws ParseException if the field isn't a valid timestamp
+	 */
+	public long getEpochMillis(int field) throws ParseException {
+		int start = fieldStarts[field];
+		if (fieldEnds[field] - start != TIMESTAMP_LENGTH || buffer.get(start + 4) != '-' || buffer.get(start + 7) != '-'
+				|| buffer.get(start + 10) != ' ' || buffer.get(start + 13) != ':' || buffer.get(start + 16) != ':') {
+			throw new ParseException("Unparseable date: \"" + getString(field) + "\"", 0);
+		}
+		int year = digits(start, 4);
+		int month = digits(start + 5, 2);
+		int day = digits(start + 8, 2);
+		int hour = digits(start + 11, 2);
+		int minute = digits(start + 14, 2);
+		int second = digits(start + 17, 2);
+		if ((year | month | day | hour | minute | second) < 0 || month < 1 || month > 12 || day < 1
+				|| day > lengthOfMonth(year, month) || hour > 23 || minute > 59 || second > 59) {
+			throw new ParseException("Unparseable date: \"" + getString(field) + "\"", 0);
+		}
+		long localSeconds = epochDay(year, month, day) * 86_400L + hour * 3_600 + minute * 60 + second;
+		if (localSeconds < offsetFrom || localSeconds >= offsetTo) {
+			return slowEpochMillis(year, month, day, hour, minute, second, localSeconds);
+		}
+		return (localSeconds - offsetSeconds) * 1_000L;
+	}
+
+	/**
+	 * Converts a local time the cache doesn't cover, then caches the offset for
+	 * the local times around it that map to UTC unambiguously with the same offset.
+	 */
+	private long slowEpochMillis(int year, int month, int day, int hour, int minute, int second, long localSeconds) {
+		ZonedDateTime zoned = LocalDateTime.of(year, month, day, hour, minute, second).atZone(zone);
+		Instant instant = zoned.toInstant();
+		int offset = zoned.getOffset().getTotalSeconds();
+		ZoneOffsetTransition previous = zoneRules.previousTransition(instant.plusSeconds(1));
+		ZoneOffsetTransition next = zoneRules.nextTransition(instant);
+		long from = previous == null ? Long.MIN_VALUE
+				: previous.toEpochSecond() + Math.max(offset, previous.getOffsetBefore().getTotalSeconds());
+		long to = next == null ? Long.MAX_VALUE
+				: next.toEpochSecond() + Math.min(offset, next.getOffsetAfter().getTotalSeconds());
+		if (localSeconds >= from && localSeconds < to) {
+			offsetFrom = from;
+			offsetTo = to;
+			offsetSeconds = offset;
+		}
+		return instant.toEpochMilli();
+	}
+
+	private void addField(int start, int end) {
+		if (fieldCount == fieldStarts.length) {
+			fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+			fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+		}
+		fieldStarts[fieldCount] = start;
+		fieldEnds[fieldCount] = end;
+		fieldCount++;
+	}
+
+	private void copy(int field, byte[] target) {
+		int start = fieldStarts[field];
+		int length = fieldEnds[field] - start;
+		for (int i = 0; i < length; i++) {
+			target[i] = buffer.get(start + i);
+		}
+	}
+
+	private boolean matches(byte[] value, int start, int length) {
+		if (value.length != length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (value[i] != buffer.get(start + i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the number held by {@code count} ASCII digits, or -1 if a byte isn't a digit
+	 */
+	private int digits(int start, int count) {
+		int value = 0;
+		for (int i = start; i < start + count; i++) {
+			int digit = buffer.get(i) - '0';
+			if (digit < 0 || digit > 9) {
+				return -1;
+			}
+			value = value * 10 + digit;
+		}
+		return value;
+	}
+
+	private static int lengthOfMonth(int year, int month) {
+		if (month == 2) {
+			return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0 ? 29 : 28;
+		}
+		return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+	}
+
+	/**
+	 * Days since 1970-01-01 of a proleptic Gregorian date.
+	 */
+	static long epochDay(int year, int month, int day) {
+		long y = month <= 2 ? year - 1 : year;
+		long era = Math.floorDiv(y, 400);
+		long yearOfEra = y - era * 400;
+		long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+		long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+		return era * 146_097 + dayOfEra - 719_468;
+	}
+}
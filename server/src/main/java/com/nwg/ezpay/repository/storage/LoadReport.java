@@ -0,0 +1,95 @@
+package com.nwg.ezpay.repository.storage;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Outcome of loading a CSV file with {@link ParallelCsvLoader}: how many rows were
+ * loaded, how many lines were rejected and how long it took.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public final class LoadReport {
+
+	private final String path;
+	private final long rows;
+	private final long badLines;
+	private final List<String> badLineSamples;
+	private final long bytes;
+	private final long elapsedNanos;
+
+	LoadReport(String path, long rows, long badLines, List<String> badLineSamples, long bytes, long elapsedNanos) {
+		this.path = path;
+		this.rows = rows;
+		this.badLines = badLines;
+		this.badLineSamples = Collections.unmodifiableList(badLineSamples);
+		this.bytes = bytes;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	public String getPath() {
+		return path;
+	}
+
+	/**
+	 * @return {@code long} : number of rows passed to the sink
+	 */
+	public long getRows() {
+		return rows;
+	}
+
+	/**
+	 * @return {@code long} : number of non-empty lines that couldn't be parsed
+	 */
+	public long getBadLines() {
+		return badLines;
+	}
+
+	/**
+	 * @return {@code List<String>} : line number and reason of the first bad lines in the file
+	 */
+	public List<String> getBadLineSamples() {
+		return badLineSamples;
+	}
+
+	public long getBytes() {
+		return bytes;
+	}
+
+	public long getElapsedMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+	}
+
+	/**
+	 * @return {@code long} : rows loaded per second of wall-clock time
+	 */
+	public long getRowsPerSecond() {
+		return elapsedNanos == 0 ? rows : rows * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+	}
+
+	/**
+	 * Logs the summary at info, followed by the sampled bad lines at warn.
+	 *
+	 * @param logger : logger to write to
+	 */
+	public void logTo(Logger logger) {
+		logger.info(this);
+		for (String badLine : badLineSamples) {
+			logger.warn("Bad line in " + path + ": " + badLine);
+		}
+		if (badLines > badLineSamples.size()) {
+			logger.warn("... and " + (badLines - badLineSamples.size()) + " more bad lines in " + path);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "Loaded " + rows + " rows from " + path + " in " + getElapsedMillis() + " ms (" + getRowsPerSecond()
+				+ " rows/sec), " + badLines + " bad lines";
+	}
+}
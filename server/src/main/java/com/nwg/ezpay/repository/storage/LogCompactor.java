@@ -0,0 +1,227 @@
+package com.nwg.ezpay.repository.storage;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+
+import org.apache.log4j.Logger;
+
+import com.nwg.ezpay.entity.Transaction;
+import com.nwg.ezpay.repository.index.ConcurrentTransactionTable;
+
+/**
+ * Folds the {@link TransactionLog} into checkpoints, so that the log and the time
+ * to replay it stay bounded.
+ *
+ * <p>A compaction takes the writer lock of the store just long enough to start a
+ * new log segment and open a {@link ConcurrentTransactionTable.Snapshot} of the
+ * store, which pins a consistent image of it at the LSN where the new segment
+ * starts. Readers are never held back. The rows are then gathered from the
+ * snapshot and written, without any lock, to a checkpoint named
+ * {@code <path>.<LSN>} in the snapshot format, and once it is on disk the older
+ * checkpoints and the log segments it covers are deleted.</p>
+ *
+ * <p>At the next start the store loads the latest checkpoint instead of the CSV
+ * file or its snapshot, and replays the log from the checkpoint's LSN. Like the
+ * log, a checkpoint made from another version of the CSV file fails the start
+ * rather than being dropped. {@link #start()} runs a compaction in the background
+ * whenever the log has grown past the size set by {@value #COMPACT_BYTES_PROPERTY}
+ * (default 64 MB).</p>
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public final class LogCompactor implements Closeable {
+
+	public static final String TRANSACTIONS_CHECKPOINT = "data/transactions.checkpoint";
+	public static final String COMPACT_BYTES_PROPERTY = "ezpay.wal.compactBytes";
+	public static final long DEFAULT_COMPACT_BYTES = 64L << 20;
+	static final long CHECK_INTERVAL_SECONDS = 10;
+
+	private static final Logger LOGGER = Logger.getLogger(LogCompactor.class);
+
+	private final String path;
+	private final File baseline;
+	private final TransactionLog log;
+	private final Lock writerLock;
+	private final ConcurrentTransactionTable store;
+	private final long compactBytes;
+	private ScheduledExecutorService scheduler;
+
+	private final AtomicLong compactions = new AtomicLong();
+	private final AtomicLong totalElapsedNanos = new AtomicLong();
+	private final AtomicLong totalReclaimedBytes = new AtomicLong();
+	private volatile CompactionReport lastReport;
+
+	/**
+	 * @param path         : path of the checkpoints, the LSN is appended to it
+	 * @param baseline     : CSV file the store was loaded from
+	 * @param log          : log of the store's mutations
+	 * @param writerLock   : lock that keeps every mutation of the store, including its log write, out while held
+	 * @param store        : rows of the store
+	 * @param compactBytes : log size at which {@link #start()} compacts in the background
+	 */
+	public LogCompactor(String path, File baseline, TransactionLog log, Lock writerLock, ConcurrentTransactionTable store,
+			long compactBytes) {
+		this.path = path;
+		this.baseline = baseline;
+		this.log = log;
+		this.writerLock = writerLock;
+		this.store = store;
+		this.compactBytes = compactBytes;
+	}
+
+	/**
+	 * @return {@code long} : LSN of the latest checkpoint at {@code path}, or -1 if there is none
+	 * @throws IOException if the latest checkpoint wasn't made from the current version of
+	 * {@code baseline}. The log segments it covers are gone, so it is the only copy of their
+	 * mutations and is left in place for an operator to decide on.
+	 */
+	public static long latestCheckpoint(String path, File baseline) throws IOException {
+		TreeMap<Long, File> checkpoints = TransactionLog.listSegments(path);
+		if (checkpoints.isEmpty()) {
+			return -1;
+		}
+		Map.Entry<Long, File> latest = checkpoints.lastEntry();
+		if (!checkpointFile(path, latest.getKey()).isCurrentFor(baseline)) {
+			throw new IOException(latest.getValue() + " was not made from the current version of " + baseline
+					+ "; restore that file, or move the checkpoints and the log aside to start without their mutations");
+		}
+		return latest.getKey();
+	}
+
+	/**
+	 * Passes the rows of the checkpoint at {@code lsn} to {@code sink}.
+	 *
+	 * @throws IOException if the checkpoint can't be read or fails a check, before any row is passed on
+	 */
+	public static LoadReport readCheckpoint(String path, long lsn, Consumer<? super Transaction> sink) throws IOException {
+		return checkpointFile(path, lsn).read(sink);
+	}
+
+	private static SnapshotFile<Transaction> checkpointFile(String path, long lsn) {
+		return new SnapshotFile<Transaction>(TransactionLog.segmentFile(path, lsn).getPath(), SnapshotFile.TRANSACTIONS,
+				new TransactionRowCodec());
+	}
+
+	/**
+	 * Checks the size of the log every {@value #CHECK_INTERVAL_SECONDS} seconds on a
+	 * background thread, and compacts it once it has grown too large.
+	 */
+	public synchronized void start() {
+		if (scheduler != null) {
+			return;
+		}
+		scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "ezpay-wal-compactor");
+			thread.setDaemon(true);
+			return thread;
+		});
+		scheduler.scheduleWithFixedDelay(this::compactIfNeeded, CHECK_INTERVAL_SECONDS, CHECK_INTERVAL_SECONDS, TimeUnit.SECONDS);
+	}
+
+	private void compactIfNeeded() {
+		try {
+			if (log.getSizeBytes() >= compactBytes) {
+				LOGGER.info(compact());
+			}
+		} catch (IOException | RuntimeException e) {
+			LOGGER.error("Compaction of " + log.getPath() + " failed", e);
+		}
+	}
+
+	/**
+	 * Writes a checkpoint of the store and deletes the log segments it covers.
+	 *
+	 * @return {@code CompactionReport} : where the log was cut and what was written and deleted
+	 * @throws IOException if the checkpoint can't be written; the log is then left as it was
+	 */
+	public synchronized CompactionReport compact() throws IOException {
+		long started = System.nanoTime();
+		long lsn;
+		ConcurrentTransactionTable.Snapshot snapshot;
+		writerLock.lock();
+		try {
+			lsn = log.rollSegment();
+			snapshot = store.snapshot();
+		} finally {
+			writerLock.unlock();
+		}
+		long pauseNanos = System.nanoTime() - started;
+
+		SnapshotFile<Transaction> checkpoint = checkpointFile(path, lsn);
+		List<Transaction> rows;
+		long checkpointBytes;
+		try {
+			rows = snapshot.transactions();
+			checkpointBytes = checkpoint.write(baseline, rows);
+		} finally {
+			snapshot.close();
+		}
+		long reclaimedBytes = 0;
+		for (File older : TransactionLog.listSegments(path).headMap(lsn).values()) {
+			long length = older.length();
+			Files.delete(older.toPath());
+			reclaimedBytes += length;
+		}
+		reclaimedBytes += log.deleteSegmentsBefore(lsn);
+
+		long elapsedNanos = System.nanoTime() - started;
+		CompactionReport report = new CompactionReport(checkpoint.getPath(), lsn, rows.size(), checkpointBytes, reclaimedBytes,
+				pauseNanos, elapsedNanos);
+		compactions.incrementAndGet();
+		totalElapsedNanos.addAndGet(elapsedNanos);
+		totalReclaimedBytes.addAndGet(reclaimedBytes);
+		lastReport = report;
+		return report;
+	}
+
+	/**
+	 * @return {@code long} : number of compactions since the compactor was created
+	 */
+	public long getCompactions() {
+		return compactions.get();
+	}
+
+	/**
+	 * @return {@code long} : time spent compacting since the compactor was created
+	 */
+	public long getTotalElapsedMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(totalElapsedNanos.get());
+	}
+
+	/**
+	 * @return {@code long} : bytes deleted by compactions since the compactor was created
+	 */
+	public long getTotalReclaimedBytes() {
+		return totalReclaimedBytes.get();
+	}
+
+	/**
+	 * @return {@code CompactionReport} : the latest compaction, or null if there was none
+	 */
+	public CompactionReport getLastReport() {
+		return lastReport;
+	}
+
+	/**
+	 * Stops the background compactions. A compaction that is running finishes first.
+	 */
+	@Override
+	public synchronized void close() {
+		if (scheduler != null) {
+			scheduler.shutdown();
+		}
+	}
+}
@@ -0,0 +1,203 @@
+package com.nwg.ezpay.repository.storage;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.text.ParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+/**
+ * Loads a CSV file by memory-mapping it and parsing it in parallel.
+ *
+ * <p>The file is cut into chunks that end on a line boundary. Every chunk is
+ * mapped and parsed by its own task on the common {@link ForkJoinPool}, while the
+ * calling thread hands the parsed rows of each chunk to the sink in file order.
+ * The sink therefore always runs on one thread and sees the rows in the same
+ * order as a sequential read, so it can write to a store that isn't thread-safe.
+ * Only a small window of chunks is parsed ahead of the sink.</p>
+ *
+ * <p>Lines are handed to the parser as a {@link CsvRecord} over the mapped bytes,
+ * so no {@code String} is made for a line unless the parser asks for one.</p>
+ *
+ * <p>A line that can't be parsed doesn't stop the load: it is skipped, counted
+ * and reported in the returned {@link LoadReport}. Empty lines are ignored.</p>
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public final class ParallelCsvLoader {
+
+	static final int MIN_CHUNK_BYTES = 1 << 20;
+	static final int MAX_CHUNK_BYTES = 1 << 26;
+	static final int MAX_BAD_LINE_SAMPLES = 20;
+
+	private ParallelCsvLoader() {
+	}
+
+	/**
+	 * Parses every line of the file with {@code parser} and passes the rows to
+	 * {@code sink}, in file order, on the calling thread.
+	 *
+	 * @param path   : path of the CSV file
+	 * @param parser : parser of a single line, shared by the loader threads
+	 * @param sink   : consumer of the parsed rows
+	 * @return {@code LoadReport} : number of rows and bad lines, and the load time
+	 * @throws java.io.FileNotFoundException if the file doesn't exist
+	 * @throws IOException                   if the file can't be read
+	 */
+	public static <T> LoadReport load(String path, CsvLineParser<T> parser, Consumer<? super T> sink) throws IOException {
+		long started = System.nanoTime();
+		try (RandomAccessFile file = new RandomAccessFile(path, "r"); FileChannel channel = file.getChannel()) {
+			long size = channel.size();
+			ForkJoinPool pool = ForkJoinPool.commonPool();
+			long chunkBytes = Math.max(MIN_CHUNK_BYTES, Math.min(MAX_CHUNK_BYTES, size / (pool.getParallelism() * 4L)));
+			int window = pool.getParallelism() * 2 + 1;
+
+			Deque<ForkJoinTask<Chunk<T>>> pending = new ArrayDeque<ForkJoinTask<Chunk<T>>>();
+			Totals totals = new Totals();
+			try {
+				long start = 0;
+				while (start < size) {
+					long end = start + chunkBytes >= size ? size : nextLineStart(channel, start + chunkBytes);
+					if (pending.size() == window) {
+						totals.drain(pending.poll(), sink);
+					}
+					pending.add(pool.submit(new ChunkTask<T>(channel, start, end, parser)));
+					start = end;
+				}
+				while (!pending.isEmpty()) {
+					totals.drain(pending.poll(), sink);
+				}
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			} finally {
+				for (ForkJoinTask<Chunk<T>> task : pending) {
+					task.cancel(false);
+				}
+			}
+			return new LoadReport(path, totals.rows, totals.badLines, totals.badLineSamples, size, System.nanoTime() - started);
+		}
+	}
+
+	/**
+	 * @return offset just past the first line terminator at or after {@code offset}, or the file size
+	 */
+	private static long nextLineStart(FileChannel channel, long offset) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(8192);
+		long position = offset;
+		int read;
+		while ((read = channel.read(buffer, position)) > 0) {
+			for (int i = 0; i < read; i++) {
+				if (buffer.get(i) == '\n') {
+					return position + i + 1;
+				}
+			}
+			position += read;
+			buffer.clear();
+		}
+		return channel.size();
+	}
+
+	/**
+	 * Running totals of the chunks handed to the sink so far.
+	 */
+	private static final class Totals {
+
+		private long lines;
+		private long rows;
+		private long badLines;
+		private final List<String> badLineSamples = new ArrayList<String>();
+
+		<T> void drain(ForkJoinTask<Chunk<T>> task, Consumer<? super T> sink) {
+			Chunk<T> chunk = task.join();
+			for (T row : chunk.rows) {
+				sink.accept(row);
+			}
+			for (int i = 0; i < chunk.badLineNumbers.size() && badLineSamples.size() < MAX_BAD_LINE_SAMPLES; i++) {
+				badLineSamples.add("line " + (lines + chunk.badLineNumbers.get(i)) + ": " + chunk.badLineReasons.get(i));
+			}
+			lines += chunk.lines;
+			rows += chunk.rows.size();
+			badLines += chunk.badLines;
+		}
+	}
+
+	/**
+	 * Rows parsed from one chunk. Bad line numbers are relative to the chunk.
+	 */
+	private static final class Chunk<T> {
+
+		private final List<T> rows = new ArrayList<T>();
+		private final List<Long> badLineNumbers = new ArrayList<Long>();
+		private final List<String> badLineReasons = new ArrayList<String>();
+		private long lines;
+		private long badLines;
+	}
+
+	private static final class ChunkTask<T> extends RecursiveTask<Chunk<T>> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient FileChannel channel;
+		private final long start;
+		private final long end;
+		private final transient CsvLineParser<T> parser;
+
+		ChunkTask(FileChannel channel, long start, long end, CsvLineParser<T> parser) {
+			this.channel = channel;
+			this.start = start;
+			this.end = end;
+			this.parser = parser;
+		}
+
+		@Override
+		protected Chunk<T> compute() {
+			MappedByteBuffer buffer;
+			try {
+				buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			Chunk<T> chunk = new Chunk<T>();
+			CsvRecord record = new CsvRecord();
+			int limit = buffer.limit();
+			int lineStart = 0;
+			while (lineStart < limit) {
+				int lineEnd = lineStart;
+				while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+					lineEnd++;
+				}
+				int next = lineEnd + 1;
+				if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') {
+					lineEnd--;
+				}
+				chunk.lines++;
+				if (lineEnd > lineStart) {
+					record.reset(buffer, lineStart, lineEnd);
+					try {
+						chunk.rows.add(parser.parse(record));
+					} catch (ParseException | RuntimeException e) {
+						chunk.badLines++;
+						if (chunk.badLineNumbers.size() < MAX_BAD_LINE_SAMPLES) {
+							chunk.badLineNumbers.add(chunk.lines);
+							chunk.badLineReasons.add(e.toString());
+						}
+					}
+				}
+				lineStart = next;
+			}
+			return chunk;
+		}
+	}
+}
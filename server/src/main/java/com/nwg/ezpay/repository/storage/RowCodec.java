@@ -0,0 +1,29 @@
+package com.nwg.ezpay.repository.storage;
+
+import java.io.IOException;
+
+/**
+ * Writes rows of one type to a snapshot file and reads them back.
+ *
+ * @param <T> : type of the rows
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public interface RowCodec<T> {
+
+	/**
+	 * @param out : snapshot being written
+	 * @param row : row to write
+	 * @throws IOException if the snapshot can't be written
+	 */
+	void write(SnapshotWriter out, T row) throws IOException;
+
+	/**
+	 * @param in : snapshot being read, positioned at the start of a row
+	 * @return {@code T} : the row
+	 * @throws IOException if the snapshot can't be read
+	 */
+	T read(SnapshotReader in) throws IOException;
+}
@@ -0,0 +1,235 @@
+package com.nwg.ezpay.repository.storage;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.apache.log4j.Logger;
+
+/**
+ * A binary snapshot of the rows loaded from a CSV file, so that later starts can
+ * map the snapshot instead of parsing the CSV again.
+ *
+ * <p>Layout, all numbers big-endian:</p>
+ * <pre>
+ * int    magic "EZPS"
+ * int    format version
+ * byte   kind of rows, {@link #TRANSACTIONS} or {@link #TRANSACTION_STATUSES}
+ * long   length of the CSV file the snapshot was made from
+ * long   last-modified time of that CSV file
+ * ...    rows, as written by the {@link RowCodec}
+ * long   number of rows
+ * long   CRC32 of everything before it
+ * </pre>
+ *
+ * <p>A snapshot is only used when the length and last-modified time of the CSV
+ * file still match the ones recorded in it; otherwise the CSV file is parsed
+ * and a new snapshot written. The checksum is verified before any row is
+ * handed out, and a snapshot that fails any check is ignored.</p>
+ *
+ * @param <T> : type of the rows
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public final class SnapshotFile<T> {
+
+	public static final byte TRANSACTIONS = 1;
+	public static final byte TRANSACTION_STATUSES = 2;
+
+	static final int MAGIC = 0x455A5053;
+	static final int VERSION = 1;
+	static final int HEADER_BYTES = 4 + 4 + 1 + 8 + 8;
+	static final int TRAILER_BYTES = 8 + 8;
+
+	// Codes written by SnapshotWriter.writeSharedString, dictionary codes start at FIRST_CODE.
+	static final int NULL_STRING = 0;
+	static final int NEW_STRING = 1;
+	static final int INLINE_STRING = 2;
+	static final int FIRST_CODE = 3;
+
+	private static final Logger LOGGER = Logger.getLogger(SnapshotFile.class);
+
+	private final String path;
+	private final byte kind;
+	private final RowCodec<T> codec;
+
+	/**
+	 * @param path  : path of the snapshot file
+	 * @param kind  : kind of rows, recorded in and checked against the file
+	 * @param codec : writes and reads a row
+	 */
+	public SnapshotFile(String path, byte kind, RowCodec<T> codec) {
+		this.path = path;
+		this.kind = kind;
+		this.codec = codec;
+	}
+
+	public String getPath() {
+		return path;
+	}
+
+	/**
+	 * Loads the rows of {@code csvPath} into {@code sink}, from the snapshot if it
+	 * is current for the CSV file, otherwise from the CSV file with
+	 * {@code parser}. In the second case the rows {@code sink} accepts are written
+	 * to a new snapshot as they are loaded. Failing to write the snapshot is
+	 * reported but doesn't fail the load.
+	 *
+	 * @param csvPath : path of the CSV file
+	 * @param parser  : parser of a line of the CSV file
+	 * @param sink    : store of the rows; returns false for rows it rejects
+	 * @return {@code LoadReport} : what was loaded from where, and how long it took
+	 * @throws FileNotFoundException if the CSV file doesn't exist
+	 * @throws IOException           if the CSV file can't be read
+	 */
+	public LoadReport load(String csvPath, CsvLineParser<T> parser, Predicate<? super T> sink) throws IOException {
+		File source = new File(csvPath);
+		if (!source.isFile()) {
+			throw new FileNotFoundException(csvPath + " (No such file)");
+		}
+		if (isCurrentFor(source)) {
+			try {
+				return read(sink::test);
+			} catch (IOException e) {
+				LOGGER.warn("Ignoring snapshot " + path, e);
+			}
+		}
+		SnapshotSink snapshotSink = new SnapshotSink(sink);
+		try {
+			snapshotSink.writer = new SnapshotWriter(new File(path), kind, source);
+		} catch (IOException e) {
+			LOGGER.warn("Can't write snapshot " + path, e);
+		}
+		try {
+			LoadReport loadReport = ParallelCsvLoader.load(csvPath, parser, snapshotSink);
+			snapshotSink.commit();
+			return loadReport;
+		} finally {
+			snapshotSink.close();
+		}
+	}
+
+	/**
+	 * @param source : CSV file the snapshot should have been made from
+	 * @return {@code boolean} : true if the snapshot exists, has this kind and version,
+	 * and was made from the current contents of {@code source}
+	 */
+	public boolean isCurrentFor(File source) {
+		File file = new File(path);
+		if (!file.isFile() || file.length() < HEADER_BYTES + TRAILER_BYTES) {
+			return false;
+		}
+		try (SnapshotReader in = new SnapshotReader(path)) {
+			return readHeader(in) && in.readLong() == source.length() && in.readLong() == source.lastModified();
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Verifies the snapshot and passes its rows to {@code sink}, in the order they were written.
+	 *
+	 * @param sink : consumer of the rows
+	 * @return {@code LoadReport} : number of rows read and how long it took
+	 * @throws IOException if the snapshot can't be read or fails a check, before any row is passed on
+	 */
+	public LoadReport read(Consumer<? super T> sink) throws IOException {
+		long started = System.nanoTime();
+		try (SnapshotReader in = new SnapshotReader(path)) {
+			long size = in.size();
+			if (size < HEADER_BYTES + TRAILER_BYTES || !readHeader(in)) {
+				throw new IOException("Not a version " + VERSION + " snapshot of this kind");
+			}
+			in.seek(size - TRAILER_BYTES);
+			long rows = in.readLong();
+			long checksum = in.readLong();
+			if (in.checksum(size - 8) != checksum) {
+				throw new IOException("Checksum mismatch");
+			}
+			in.seek(HEADER_BYTES);
+			for (long row = 0; row < rows; row++) {
+				sink.accept(codec.read(in));
+			}
+			return new LoadReport(path, rows, 0, Collections.<String>emptyList(), size, System.nanoTime() - started);
+		}
+	}
+
+	/**
+	 * Writes {@code rows} as a new snapshot stamped with {@code source}, replacing
+	 * the file only once it is complete and on disk.
+	 *
+	 * @param source : CSV file the rows derive from
+	 * @param rows   : rows to write, in the order they are read back
+	 * @return {@code long} : size of the snapshot file
+	 * @throws IOException if the snapshot can't be written
+	 */
+	public long write(File source, Iterable<? extends T> rows) throws IOException {
+		try (SnapshotWriter writer = new SnapshotWriter(new File(path), kind, source)) {
+			for (T row : rows) {
+				writer.append(codec, row);
+			}
+			writer.commit();
+		}
+		return new File(path).length();
+	}
+
+	private boolean readHeader(SnapshotReader in) throws IOException {
+		return in.readInt() == MAGIC && in.readInt() == VERSION && in.readByte() == kind;
+	}
+
+	/**
+	 * Passes rows to the store and appends the accepted ones to the new snapshot.
+	 * Stops writing, and keeps loading, after the first write error.
+	 */
+	private final class SnapshotSink implements Consumer<T> {
+
+		private final Predicate<? super T> store;
+		private SnapshotWriter writer;
+
+		SnapshotSink(Predicate<? super T> store) {
+			this.store = store;
+		}
+
+		@Override
+		public void accept(T row) {
+			if (store.test(row) && writer != null) {
+				try {
+					writer.append(codec, row);
+				} catch (IOException e) {
+					abandon(e);
+				}
+			}
+		}
+
+		void commit() {
+			if (writer != null) {
+				try {
+					writer.commit();
+				} catch (IOException e) {
+					abandon(e);
+				}
+			}
+		}
+
+		void close() throws IOException {
+			if (writer != null) {
+				writer.close();
+			}
+		}
+
+		private void abandon(IOException e) {
+			LOGGER.warn("Can't write snapshot " + path, e);
+			try {
+				writer.close();
+			} catch (IOException closeFailure) {
+				e.addSuppressed(closeFailure);
+			}
+			writer = null;
+		}
+	}
+}
@@ -0,0 +1,161 @@
+package com.nwg.ezpay.repository.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Reads a snapshot file, see {@link SnapshotFile} for the layout. The file is
+ * memory-mapped in windows of up to {@value #WINDOW_BYTES} bytes, so snapshots
+ * larger than a single mapping can hold are read too.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public final class SnapshotReader implements Closeable {
+
+	static final int WINDOW_BYTES = 1 << 30;
+
+	private final RandomAccessFile file;
+	private final FileChannel channel;
+	private final long size;
+	private final List<String> dictionary = new ArrayList<String>();
+	private MappedByteBuffer window;
+	private long windowStart;
+	private byte[] scratch = new byte[64];
+
+	SnapshotReader(String path) throws IOException {
+		this.file = new RandomAccessFile(path, "r");
+		this.channel = file.getChannel();
+		this.size = channel.size();
+		map(0, 0);
+	}
+
+	long size() {
+		return size;
+	}
+
+	/**
+	 * @return {@code long} : CRC32 of the first {@code length} bytes of the file
+	 */
+	long checksum(long length) throws IOException {
+		CRC32 crc = new CRC32();
+		for (long start = 0; start < length; start += WINDOW_BYTES) {
+			crc.update(channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_BYTES, length - start)));
+		}
+		return crc.getValue();
+	}
+
+	/**
+	 * Moves the reader to an absolute position in the file.
+	 */
+	void seek(long position) throws IOException {
+		map(position, 0);
+	}
+
+	public int readByte() throws IOException {
+		ensure(1);
+		return window.get();
+	}
+
+	public long readLong() throws IOException {
+		ensure(8);
+		return window.getLong();
+	}
+
+	public double readDouble() throws IOException {
+		ensure(8);
+		return window.getDouble();
+	}
+
+	public int readInt() throws IOException {
+		ensure(4);
+		return window.getInt();
+	}
+
+	/**
+	 * Reads an integer written by {@link SnapshotWriter#writeVarInt(int)}.
+	 */
+	public int readVarInt() throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			int b = readByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed variable-length integer in snapshot");
+	}
+
+	/**
+	 * Reads a string written by {@link SnapshotWriter#writeString(String)}.
+	 */
+	public String readString() throws IOException {
+		int length = readVarInt() - 1;
+		if (length < 0) {
+			return null;
+		}
+		ensure(length);
+		if (length > scratch.length) {
+			scratch = new byte[Math.max(length, scratch.length * 2)];
+		}
+		window.get(scratch, 0, length);
+		return new String(scratch, 0, length, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Reads a string written by {@link SnapshotWriter#writeSharedString(String)}.
+	 * Every occurrence of a dictionary value returns the same instance.
+	 */
+	public String readSharedString() throws IOException {
+		int code = readVarInt();
+		switch (code) {
+		case SnapshotFile.NULL_STRING:
+			return null;
+		case SnapshotFile.NEW_STRING:
+			String value = readString();
+			dictionary.add(value);
+			return value;
+		case SnapshotFile.INLINE_STRING:
+			return readString();
+		default:
+			int index = code - SnapshotFile.FIRST_CODE;
+			if (index >= dictionary.size()) {
+				throw new IOException("Unknown dictionary code " + code + " in snapshot");
+			}
+			return dictionary.get(index);
+		}
+	}
+
+	/**
+	 * Makes sure the next {@code length} bytes are inside the mapped window.
+	 */
+	private void ensure(int length) throws IOException {
+		if (window.remaining() < length) {
+			long position = windowStart + window.position();
+			if (position + length > size) {
+				throw new IOException("Snapshot is truncated");
+			}
+			map(position, length);
+		}
+	}
+
+	private void map(long position, int minimumLength) throws IOException {
+		long length = Math.min(size - position, Math.max(WINDOW_BYTES, minimumLength));
+		window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+		windowStart = position;
+	}
+
+	@Override
+	public void close() throws IOException {
+		file.close();
+	}
+}
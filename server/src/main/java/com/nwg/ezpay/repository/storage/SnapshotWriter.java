@@ -0,0 +1,146 @@
+package com.nwg.ezpay.repository.storage;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Writes a snapshot file, see {@link SnapshotFile} for the layout. The data goes
+ * to a temporary file next to the target, which only replaces the target when
+ * {@link #commit()} is called, so readers never see a half-written snapshot.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public final class SnapshotWriter implements Closeable {
+
+	// Low-cardinality strings are replaced by a dictionary code after their first occurrence.
+	static final int MAX_DICTIONARY_SIZE = 4096;
+
+	private final File target;
+	private final File temporary;
+	private final FileOutputStream fileOutputStream;
+	private final CheckedOutputStream checkedOutputStream;
+	private final DataOutputStream out;
+	private final Map<String, Integer> dictionary = new HashMap<String, Integer>();
+	private long rows;
+	private boolean committed;
+
+	SnapshotWriter(File target, byte kind, File source) throws IOException {
+		this.target = target;
+		this.temporary = new File(target.getPath() + ".tmp");
+		this.fileOutputStream = new FileOutputStream(temporary);
+		this.checkedOutputStream = new CheckedOutputStream(new BufferedOutputStream(fileOutputStream, 1 << 16), new CRC32());
+		this.out = new DataOutputStream(checkedOutputStream);
+		out.writeInt(SnapshotFile.MAGIC);
+		out.writeInt(SnapshotFile.VERSION);
+		out.writeByte(kind);
+		out.writeLong(source.length());
+		out.writeLong(source.lastModified());
+	}
+
+	/**
+	 * Writes one row with {@code codec} and counts it.
+	 */
+	<T> void append(RowCodec<? super T> codec, T row) throws IOException {
+		codec.write(this, row);
+		rows++;
+	}
+
+	public void writeByte(int value) throws IOException {
+		out.writeByte(value);
+	}
+
+	public void writeLong(long value) throws IOException {
+		out.writeLong(value);
+	}
+
+	public void writeDouble(double value) throws IOException {
+		out.writeDouble(value);
+	}
+
+	/**
+	 * Writes an unsigned variable-length integer, seven bits per byte.
+	 */
+	public void writeVarInt(int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	/**
+	 * Writes a string, which may be {@code null}, as its UTF-8 length plus one
+	 * followed by the bytes.
+	 */
+	public void writeString(String value) throws IOException {
+		if (value == null) {
+			writeVarInt(0);
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeVarInt(bytes.length + 1);
+		out.write(bytes);
+	}
+
+	/**
+	 * Writes a string from a low-cardinality column. The first occurrence is
+	 * written in full and added to the dictionary, later ones only as its code.
+	 */
+	public void writeSharedString(String value) throws IOException {
+		if (value == null) {
+			writeVarInt(SnapshotFile.NULL_STRING);
+			return;
+		}
+		Integer code = dictionary.get(value);
+		if (code != null) {
+			writeVarInt(SnapshotFile.FIRST_CODE + code);
+		} else if (dictionary.size() < MAX_DICTIONARY_SIZE) {
+			dictionary.put(value, dictionary.size());
+			writeVarInt(SnapshotFile.NEW_STRING);
+			writeString(value);
+		} else {
+			writeVarInt(SnapshotFile.INLINE_STRING);
+			writeString(value);
+		}
+	}
+
+	/**
+	 * Writes the row count and checksum, forces the file to disk and moves it
+	 * over the target.
+	 *
+	 * @throws IOException if the snapshot can't be written
+	 */
+	public void commit() throws IOException {
+		out.writeLong(rows);
+		out.writeLong(checkedOutputStream.getChecksum().getValue());
+		out.flush();
+		fileOutputStream.getFD().sync();
+		out.close();
+		Files.move(temporary.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		committed = true;
+	}
+
+	/**
+	 * Closes the writer. A snapshot that wasn't committed is deleted.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (!committed) {
+			out.close();
+			temporary.delete();
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package com.nwg.ezpay.repository.storage;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.Date;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import com.nwg.ezpay.entity.Transaction;
+
+/**
+ * Reads transactions from a CSV file with the columns
+ * {@code transactionId,type,amount,status,yyyy-MM-dd HH:mm:ss}, using
+ * {@link ParallelCsvLoader}.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public final class TransactionCsvReader {
+
+	public static final String TRANSACTIONS_CSV = "data/transactions.csv";
+	public static final String TRANSACTIONS_SNAPSHOT = "data/transactions.snapshot";
+
+	private static final long EXACT_MINOR_UNITS = 1L << 53;
+
+	private TransactionCsvReader() {
+	}
+
+	/**
+	 * Loads the transactions of {@code csvPath} into {@code sink}, from the binary snapshot at
+	 * {@code snapshotPath} when it was made from the current CSV file, otherwise
+	 * from the CSV file, writing a new snapshot of the rows {@code sink} accepts.
+	 *
+	 * @param csvPath      : path of the CSV file
+	 * @param snapshotPath : path of the snapshot file
+	 * @param sink         : store of the transactions; returns false for rows it rejects
+	 * @return {@code LoadReport} : what was loaded from where, and how long it took
+	 * @throws java.io.FileNotFoundException if the CSV file doesn't exist
+	 * @throws IOException                   if the CSV file can't be read
+	 */
+	public static LoadReport load(String csvPath, String snapshotPath, Predicate<Transaction> sink) throws IOException {
+		return new SnapshotFile<Transaction>(snapshotPath, SnapshotFile.TRANSACTIONS, new TransactionRowCodec())
+				.load(csvPath, TransactionCsvReader::parse, sink);
+	}
+
+	/**
+	 * Passes every transaction in the file to {@code sink}, in file order. Lines
+	 * that can't be parsed are skipped and counted in the returned report.
+	 *
+	 * @param path : path of the CSV file
+	 * @param sink : consumer of the transactions
+	 * @return {@code LoadReport} : number of transactions and bad lines, and the load time
+	 * @throws java.io.FileNotFoundException if the file doesn't exist
+	 * @throws IOException                   if the file can't be read
+	 */
+	public static LoadReport read(String path, Consumer<Transaction> sink) throws IOException {
+		return ParallelCsvLoader.load(path, TransactionCsvReader::parse, sink);
+	}
+
+	/**
+	 * Parses a line without intermediate objects: the amount is read as a
+	 * fixed-point number of minor units and the date as epoch millis. Only the ID,
+	 * the boxed amount and the {@code Date} of the returned transaction are
+	 * allocated; the type and status strings are shared between rows.
+	 *
+	 * @param record : one line of the transactions file
+	 * @return {@code Transaction} : the transaction held by the line
+	 * @throws ParseException if the line has fewer than five columns, an invalid amount or an invalid date
+	 */
+	public static Transaction parse(CsvRecord record) throws ParseException {
+		if (record.fieldCount() < 5) {
+			throw new ParseException("Expected 5 columns but found " + record.fieldCount(), 0);
+		}
+		String transactionId = record.getString(0);
+		String type = record.getSharedString(1);
+		Double amount = parseAmount(record, 2);
+		String status = record.getSharedString(3);
+		Date date = new Date(record.getEpochMillis(4));
+		return new Transaction(transactionId, type, amount, status, date);
+	}
+
+	/**
+	 * Reads an amount. Amounts with at most two decimals are turned into the same
+	 * {@code double} that {@code Double.parseDouble} gives, through minor units;
+	 * dividing two exact integers rounds once, so the results match as long as the
+	 * minor units fit in a double's 53-bit mantissa. Anything else, such as an
+	 * exponent, more decimals or a larger amount, falls back to
+	 * {@code Double.parseDouble} so no precision is lost.
+	 */
+	static Double parseAmount(CsvRecord record, int field) {
+		long minorUnits = record.getFixedPoint(field, 2);
+		if (minorUnits != CsvRecord.NOT_FIXED_POINT && Math.abs(minorUnits) <= EXACT_MINOR_UNITS) {
+			return Amounts.fromMinorUnits(minorUnits);
+		}
+		return Double.parseDouble(record.getString(field));
+	}
+}
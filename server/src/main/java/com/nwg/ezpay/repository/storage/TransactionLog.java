@@ -0,0 +1,811 @@
+package com.nwg.ezpay.repository.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+import org.apache.log4j.Logger;
+
+import com.nwg.ezpay.entity.Transaction;
+
+/**
+ * An append-only write-ahead log of the creates, updates and deletes made to the
+ * transaction store. A mutation is written and forced to disk before the store
+ * applies it, and the log is replayed on top of the CSV or snapshot baseline, or
+ * of the latest checkpoint, at the next start.
+ *
+ * <p>Every record has a log sequence number (LSN), counted from 0 for the first
+ * record written against a baseline. The log is a series of segment files named
+ * {@code <path>.<LSN of the first record>}; the flusher starts a new segment once
+ * the current one reaches the size set by {@value #SEGMENT_BYTES_PROPERTY}
+ * (default 64 MB), and {@link #rollSegment()} starts one on demand, so that a {@link LogCompactor}
+ * can delete the segments a checkpoint covers with
+ * {@link #deleteSegmentsBefore(long)}.</p>
+ *
+ * <p>Segment layout, all numbers big-endian:</p>
+ * <pre>
+ * int    magic "EZPW"
+ * int    format version
+ * long   length of the baseline CSV file the log applies to
+ * long   last-modified time of that CSV file
+ * long   LSN of the first record in the segment
+ * then one record per mutation:
+ * int    payload length
+ * int    CRC32 of the payload
+ * byte[] payload: the operation, then the transaction, or the ID for a delete
+ * </pre>
+ *
+ * <p>Appends are group-committed: callers encode their record and queue it, and
+ * a single flusher thread writes whatever is queued as one batch and forces it to
+ * disk once. Every caller's future completes when its batch is durable, so many
+ * concurrent writers share one {@code fsync}. A batch holds at most the number of
+ * records set by {@value #BATCH_SIZE_PROPERTY} (default {@value #DEFAULT_BATCH_SIZE}),
+ * and the flusher waits for a batch to fill up to the number of microseconds set
+ * by {@value #LINGER_PROPERTY} (default {@value #DEFAULT_LINGER_MICROS}). Once a
+ * write fails, the log refuses all later appends, because records after a torn
+ * one would not be replayed.</p>
+ *
+ * <p>Replay stops at the first record of the last segment that is incomplete or
+ * fails its checksum, which is what a crash in the middle of an append leaves
+ * behind, and the segment is truncated there. Damage anywhere else, or a gap
+ * between the segments, fails the open. So does a log written against a
+ * different version of the baseline CSV file: its records are acknowledged
+ * mutations, so it is neither replayed onto the new file nor discarded, and an
+ * operator has to decide what to do with it.</p>
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public final class TransactionLog implements Closeable {
+
+	public static final String TRANSACTIONS_WAL = "data/transactions.wal";
+	public static final String BATCH_SIZE_PROPERTY = "ezpay.wal.batchSize";
+	public static final String LINGER_PROPERTY = "ezpay.wal.lingerMicros";
+	public static final String SEGMENT_BYTES_PROPERTY = "ezpay.wal.segmentBytes";
+	public static final int DEFAULT_BATCH_SIZE = 512;
+	public static final int DEFAULT_LINGER_MICROS = 0;
+	public static final long DEFAULT_SEGMENT_BYTES = 64L << 20;
+
+	static final int MAGIC = 0x455A5057;
+	static final int VERSION = 2;
+	static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 8;
+	static final int RECORD_HEADER_BYTES = 4 + 4;
+	static final int MAX_PAYLOAD_BYTES = 1 << 20;
+	static final int LSN_DIGITS = 20;
+
+	static final byte CREATE = 1;
+	static final byte UPDATE = 2;
+	static final byte DELETE = 3;
+
+	private static final int HAS_ID = 1;
+	private static final int HAS_TYPE = 2;
+	private static final int HAS_STATUS = 4;
+	private static final int HAS_AMOUNT = 8;
+	private static final int HAS_DATE = 16;
+
+	private static final Logger LOGGER = Logger.getLogger(TransactionLog.class);
+
+	/**
+	 * Applies replayed mutations to the store.
+	 */
+	public interface Replay {
+		void create(Transaction transaction);
+
+		void update(Transaction transaction);
+
+		void delete(String transactionId);
+	}
+
+	/**
+	 * How many records the flusher writes per {@code fsync}, and how long it waits
+	 * for a batch to fill.
+	 */
+	public static final class GroupCommit {
+
+		private final int batchSize;
+		private final long lingerNanos;
+
+		/**
+		 * @param batchSize    : most records written per {@code fsync}; 1 forces every record on its own
+		 * @param lingerMicros : longest wait for more records once a batch has one; 0 writes what is queued
+		 */
+		public GroupCommit(int batchSize, long lingerMicros) {
+			if (batchSize < 1 || lingerMicros < 0) {
+				throw new IllegalArgumentException("Invalid group commit: batch size " + batchSize + ", linger " + lingerMicros);
+			}
+			this.batchSize = batchSize;
+			this.lingerNanos = TimeUnit.MICROSECONDS.toNanos(lingerMicros);
+		}
+
+		/**
+		 * @return {@code GroupCommit} : settings from {@value #BATCH_SIZE_PROPERTY} and {@value #LINGER_PROPERTY}
+		 */
+		public static GroupCommit fromSystemProperties() {
+			return new GroupCommit(Integer.getInteger(BATCH_SIZE_PROPERTY, DEFAULT_BATCH_SIZE),
+					Long.getLong(LINGER_PROPERTY, DEFAULT_LINGER_MICROS));
+		}
+	}
+
+	/**
+	 * An encoded record waiting for the flusher.
+	 */
+	private static final class Pending {
+
+		private final ByteBuffer record;
+		private final CompletableFuture<Void> durable = new CompletableFuture<Void>();
+
+		Pending(ByteBuffer record) {
+			this.record = record;
+		}
+	}
+
+	// Queued by close() after the last record; the flusher stops when it reaches it.
+	private static final Pending CLOSE = new Pending(null);
+
+	private final String path;
+	private final File baseline;
+	private final GroupCommit groupCommit;
+	private final long segmentBytes;
+	private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<Pending>();
+	private long replayed;
+	private Thread flusher;
+	private volatile boolean closed;
+	private volatile IOException failure;
+	private final AtomicLong batches = new AtomicLong();
+	private final AtomicLong records = new AtomicLong();
+
+	// The segments and the append position, guarded by segmentLock.
+	private final Object segmentLock = new Object();
+	private final TreeMap<Long, File> segments = new TreeMap<Long, File>();
+	private RandomAccessFile file;
+	private FileChannel channel;
+	private long segmentFirstLsn;
+	private long nextLsn;
+
+	private TransactionLog(String path, File baseline, GroupCommit groupCommit, long segmentBytes) {
+		this.path = path;
+		this.baseline = baseline;
+		this.groupCommit = groupCommit;
+		this.segmentBytes = segmentBytes;
+	}
+
+	/**
+	 * Opens the log, replaying all its records into {@code replay} first, with
+	 * group commit and segment size settings from the system properties.
+	 *
+	 * @param path     : path of the log, the segment files get the LSN appended to it
+	 * @param baseline : CSV file the store was loaded from
+	 * @param replay   : store the logged mutations are applied to
+	 * @return {@code TransactionLog} : the log, positioned to append
+	 * @throws IOException if the log can't be read or created
+	 */
+	public static TransactionLog open(String path, File baseline, Replay replay) throws IOException {
+		return open(path, baseline, 0, replay, GroupCommit.fromSystemProperties(),
+				Long.getLong(SEGMENT_BYTES_PROPERTY, DEFAULT_SEGMENT_BYTES));
+	}
+
+	/**
+	 * Like {@link #open(String, File, Replay)}, with explicit group commit settings.
+	 */
+	public static TransactionLog open(String path, File baseline, Replay replay, GroupCommit groupCommit) throws IOException {
+		return open(path, baseline, 0, replay, groupCommit, DEFAULT_SEGMENT_BYTES);
+	}
+
+	/**
+	 * Opens the log, replaying the records from {@code fromLsn} on into {@code replay}
+	 * first. A missing log is created.
+	 *
+	 * @param path         : path of the log, the segment files get the LSN appended to it
+	 * @param baseline     : CSV file the store was loaded from
+	 * @param fromLsn      : LSN of the first record the store doesn't hold yet, 0 unless it
+	 *                     was loaded from a checkpoint
+	 * @param replay       : store the logged mutations are applied to
+	 * @param groupCommit  : batching of the appends
+	 * @param segmentBytes : size at which the flusher starts a new segment
+	 * @return {@code TransactionLog} : the log, positioned to append
+	 * @throws IOException if the log can't be read or created, doesn't reach back to {@code fromLsn}, or was
+	 * written for another version of {@code baseline}
+	 */
+	public static TransactionLog open(String path, File baseline, long fromLsn, Replay replay, GroupCommit groupCommit,
+			long segmentBytes) throws IOException {
+		TreeMap<Long, File> found = listSegments(path);
+		if (!found.isEmpty() && found.lastEntry().getValue().length() < HEADER_BYTES) {
+			// Crashed while the header of a new segment was written, so it holds no record.
+			Files.delete(found.pollLastEntry().getValue().toPath());
+		}
+		for (Map.Entry<Long, File> segment : found.entrySet()) {
+			checkHeader(segment.getValue(), baseline, segment.getKey());
+		}
+		TransactionLog log = new TransactionLog(path, baseline, groupCommit, segmentBytes);
+		try {
+			long lsn = found.isEmpty() ? fromLsn : found.firstKey();
+			if (lsn > fromLsn) {
+				throw new IOException("Log " + path + " starts at LSN " + lsn + ", after the store's LSN " + fromLsn);
+			}
+			for (Map.Entry<Long, File> segment : found.entrySet()) {
+				if (segment.getKey() != lsn) {
+					throw new IOException("Log " + path + " has a gap: expected LSN " + lsn + " in " + segment.getValue());
+				}
+				lsn = log.replaySegment(segment.getValue(), lsn, fromLsn, replay, segment.getKey().equals(found.lastKey()));
+				log.segments.put(segment.getKey(), segment.getValue());
+			}
+			if (lsn < fromLsn) {
+				throw new IOException("Log " + path + " ends at LSN " + lsn + ", before the store's LSN " + fromLsn);
+			}
+			log.nextLsn = lsn;
+			if (found.isEmpty()) {
+				log.startSegment();
+			} else {
+				log.openSegment(found.lastKey(), found.lastEntry().getValue());
+			}
+		} catch (IOException | RuntimeException e) {
+			if (log.file != null) {
+				log.file.close();
+			}
+			throw e;
+		}
+		log.flusher = new Thread(log::flushLoop, "ezpay-wal-flusher");
+		log.flusher.setDaemon(true);
+		log.flusher.start();
+		return log;
+	}
+
+	/**
+	 * @return {@code long} : number of records replayed when the log was opened
+	 */
+	public long getReplayed() {
+		return replayed;
+	}
+
+	public String getPath() {
+		return path;
+	}
+
+	/**
+	 * @return {@code long} : number of batches forced to disk since the log was opened
+	 */
+	public long getBatches() {
+		return batches.get();
+	}
+
+	/**
+	 * @return {@code long} : number of records forced to disk since the log was opened
+	 */
+	public long getRecords() {
+		return records.get();
+	}
+
+	/**
+	 * @return {@code long} : LSN the next record written will get
+	 */
+	public long getNextLsn() {
+		synchronized (segmentLock) {
+			return nextLsn;
+		}
+	}
+
+	/**
+	 * @return {@code long} : total size of the segment files
+	 */
+	public long getSizeBytes() {
+		synchronized (segmentLock) {
+			long size = 0;
+			for (File segment : segments.values()) {
+				size += segment.length();
+			}
+			return size;
+		}
+	}
+
+	/**
+	 * @return {@code int} : number of segment files
+	 */
+	public int getSegmentCount() {
+		synchronized (segmentLock) {
+			return segments.size();
+		}
+	}
+
+	/**
+	 * Starts a new segment, unless the current one is still empty. Every record
+	 * written before the call is in an earlier segment.
+	 *
+	 * @return {@code long} : LSN of the first record of the new segment
+	 * @throws IOException if the new segment can't be created
+	 */
+	public long rollSegment() throws IOException {
+		synchronized (segmentLock) {
+			if (nextLsn != segmentFirstLsn) {
+				startSegment();
+			}
+			return segmentFirstLsn;
+		}
+	}
+
+	/**
+	 * Deletes the segments that only hold records before {@code lsn}, typically
+	 * because a checkpoint at {@code lsn} covers them.
+	 *
+	 * @param lsn : LSN of the first record that must be kept
+	 * @return {@code long} : number of bytes deleted
+	 * @throws IOException if a segment can't be deleted
+	 */
+	public long deleteSegmentsBefore(long lsn) throws IOException {
+		synchronized (segmentLock) {
+			long deleted = 0;
+			while (segments.size() > 1 && segments.higherKey(segments.firstKey()) <= lsn) {
+				File segment = segments.firstEntry().getValue();
+				long length = segment.length();
+				Files.delete(segment.toPath());
+				segments.pollFirstEntry();
+				deleted += length;
+			}
+			return deleted;
+		}
+	}
+
+	/**
+	 * Records the creation of {@code transaction} and waits until it is on disk.
+	 */
+	public void logCreate(Transaction transaction) throws IOException {
+		await(submit(CREATE, transaction, null));
+	}
+
+	/**
+	 * Records the update of {@code transaction} and waits until it is on disk.
+	 */
+	public void logUpdate(Transaction transaction) throws IOException {
+		await(submit(UPDATE, transaction, null));
+	}
+
+	/**
+	 * Records the deletion of the transaction {@code transactionId} and waits until it is on disk.
+	 */
+	public void logDelete(String transactionId) throws IOException {
+		await(submit(DELETE, null, transactionId));
+	}
+
+	/**
+	 * Queues the creation of {@code transaction} without waiting for it.
+	 *
+	 * @return {@code CompletableFuture<Void>} : completes once the record is on disk, or
+	 * exceptionally with an {@code IOException} if it can't be written
+	 */
+	public CompletableFuture<Void> submitCreate(Transaction transaction) {
+		return submit(CREATE, transaction, null);
+	}
+
+	/**
+	 * Queues the update of {@code transaction} without waiting for it.
+	 *
+	 * @return {@code CompletableFuture<Void>} : completes once the record is on disk
+	 */
+	public CompletableFuture<Void> submitUpdate(Transaction transaction) {
+		return submit(UPDATE, transaction, null);
+	}
+
+	/**
+	 * Queues the deletion of the transaction {@code transactionId} without waiting for it.
+	 *
+	 * @return {@code CompletableFuture<Void>} : completes once the record is on disk
+	 */
+	public CompletableFuture<Void> submitDelete(String transactionId) {
+		return submit(DELETE, null, transactionId);
+	}
+
+	private CompletableFuture<Void> submit(byte operation, Transaction transaction, String transactionId) {
+		Pending pending;
+		try {
+			pending = new Pending(encode(operation, transaction, transactionId));
+		} catch (IOException e) {
+			CompletableFuture<Void> failed = new CompletableFuture<Void>();
+			failed.completeExceptionally(e);
+			return failed;
+		}
+		// Checked under the lock close() takes, so no record is queued behind CLOSE.
+		synchronized (queue) {
+			IOException refused = closed ? new IOException(path + " is closed") : failure;
+			if (refused != null) {
+				pending.durable.completeExceptionally(refused);
+			} else {
+				queue.add(pending);
+			}
+		}
+		return pending.durable;
+	}
+
+	private static void await(CompletableFuture<Void> durable) throws IOException {
+		try {
+			durable.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Encodes a record on the calling thread, so writers don't wait on each other to do it.
+	 */
+	private static ByteBuffer encode(byte operation, Transaction transaction, String transactionId) throws IOException {
+		ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream(64);
+		DataOutputStream payload = new DataOutputStream(payloadBytes);
+		payload.writeByte(operation);
+		if (transaction != null) {
+			writeTransaction(payload, transaction);
+		} else {
+			payload.writeByte(transactionId != null ? HAS_ID : 0);
+			if (transactionId != null) {
+				payload.writeUTF(transactionId);
+			}
+		}
+		if (payloadBytes.size() > MAX_PAYLOAD_BYTES) {
+			throw new IOException("Log record of " + payloadBytes.size() + " bytes is too large");
+		}
+		byte[] bytes = payloadBytes.toByteArray();
+		CRC32 crc = new CRC32();
+		crc.update(bytes, 0, bytes.length);
+		ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + bytes.length);
+		record.putInt(bytes.length).putInt((int) crc.getValue()).put(bytes).flip();
+		return record;
+	}
+
+	/**
+	 * Runs on the flusher thread: takes a batch off the queue, writes it with one
+	 * gathering write, forces it, and completes its futures.
+	 */
+	private void flushLoop() {
+		List<Pending> batch = new ArrayList<Pending>(Math.min(groupCommit.batchSize, 1024));
+		boolean closing = false;
+		while (!closing) {
+			batch.clear();
+			try {
+				closing = fillBatch(batch);
+			} catch (InterruptedException e) {
+				closing = true;
+			}
+			if (batch.isEmpty()) {
+				continue;
+			}
+			try {
+				if (failure != null) {
+					throw failure;
+				}
+				write(batch);
+				batches.incrementAndGet();
+				records.addAndGet(batch.size());
+				for (Pending pending : batch) {
+					pending.durable.complete(null);
+				}
+			} catch (IOException e) {
+				if (failure == null) {
+					LOGGER.error("Could not write " + path + ", refusing further mutations", e);
+				}
+				synchronized (queue) {
+					failure = e;
+				}
+				for (Pending pending : batch) {
+					pending.durable.completeExceptionally(e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return true if the flusher reached {@link #CLOSE}
+	 */
+	private boolean fillBatch(List<Pending> batch) throws InterruptedException {
+		Pending next = queue.take();
+		long deadline = System.nanoTime() + groupCommit.lingerNanos;
+		while (next != CLOSE) {
+			batch.add(next);
+			if (batch.size() == groupCommit.batchSize) {
+				return false;
+			}
+			next = queue.poll();
+			if (next == null && groupCommit.lingerNanos > 0) {
+				long wait = deadline - System.nanoTime();
+				next = wait > 0 ? queue.poll(wait, TimeUnit.NANOSECONDS) : null;
+			}
+			if (next == null) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void write(List<Pending> batch) throws IOException {
+		ByteBuffer[] buffers = new ByteBuffer[batch.size()];
+		long remaining = 0;
+		for (int i = 0; i < buffers.length; i++) {
+			buffers[i] = batch.get(i).record;
+			remaining += buffers[i].remaining();
+		}
+		synchronized (segmentLock) {
+			while (remaining > 0) {
+				remaining -= channel.write(buffers);
+			}
+			channel.force(false);
+			nextLsn += batch.size();
+			if (channel.size() >= segmentBytes) {
+				try {
+					startSegment();
+				} catch (IOException e) {
+					// The records are durable; keep appending to the current segment.
+					LOGGER.warn("Could not start a new segment of " + path + ", appending to the current one", e);
+				}
+			}
+		}
+	}
+
+	private static void writeTransaction(DataOutputStream payload, Transaction transaction) throws IOException {
+		Double amount = transaction.getAmount();
+		Date date = transaction.getDate();
+		int flags = (transaction.getTransactionId() != null ? HAS_ID : 0) | (transaction.getType() != null ? HAS_TYPE : 0)
+				| (transaction.getStatus() != null ? HAS_STATUS : 0) | (amount != null ? HAS_AMOUNT : 0)
+				| (date != null ? HAS_DATE : 0);
+		payload.writeByte(flags);
+		if (transaction.getTransactionId() != null) {
+			payload.writeUTF(transaction.getTransactionId());
+		}
+		if (transaction.getType() != null) {
+			payload.writeUTF(transaction.getType());
+		}
+		if (transaction.getStatus() != null) {
+			payload.writeUTF(transaction.getStatus());
+		}
+		if (amount != null) {
+			payload.writeDouble(amount);
+		}
+		if (date != null) {
+			payload.writeLong(date.getTime());
+		}
+	}
+
+	private static Transaction readTransaction(DataInputStream in) throws IOException {
+		int flags = in.readUnsignedByte();
+		String transactionId = (flags & HAS_ID) != 0 ? in.readUTF() : null;
+		String type = (flags & HAS_TYPE) != 0 ? in.readUTF() : null;
+		String status = (flags & HAS_STATUS) != 0 ? in.readUTF() : null;
+		Double amount = (flags & HAS_AMOUNT) != 0 ? in.readDouble() : null;
+		Date date = (flags & HAS_DATE) != 0 ? new Date(in.readLong()) : null;
+		return new Transaction(transactionId, type, amount, status, date);
+	}
+
+	/**
+	 * Creates a segment starting at {@link #nextLsn} and makes it the one appended
+	 * to. The current segment is only closed once the new one is on disk.
+	 */
+	private void startSegment() throws IOException {
+		File segmentFile = segmentFile(path, nextLsn);
+		RandomAccessFile segment = new RandomAccessFile(segmentFile, "rw");
+		try {
+			segment.setLength(0);
+			ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+			header.putInt(MAGIC).putInt(VERSION).putLong(baseline.length()).putLong(baseline.lastModified()).putLong(nextLsn)
+					.flip();
+			FileChannel segmentChannel = segment.getChannel();
+			while (header.hasRemaining()) {
+				segmentChannel.write(header);
+			}
+			segmentChannel.force(true);
+		} catch (IOException | RuntimeException e) {
+			segment.close();
+			segmentFile.delete();
+			throw e;
+		}
+		if (file != null) {
+			file.close();
+		}
+		file = segment;
+		channel = segment.getChannel();
+		segmentFirstLsn = nextLsn;
+		segments.put(nextLsn, segmentFile);
+	}
+
+	private void openSegment(long firstLsn, File segmentFile) throws IOException {
+		file = new RandomAccessFile(segmentFile, "rw");
+		channel = file.getChannel();
+		channel.position(channel.size());
+		segmentFirstLsn = firstLsn;
+	}
+
+	/**
+	 * Applies the records of a segment from {@code fromLsn} on. A torn tail is
+	 * truncated if the segment is the last one, and fails the replay otherwise.
+	 *
+	 * @return LSN just past the last record of the segment
+	 */
+	private long replaySegment(File segmentFile, long firstLsn, long fromLsn, Replay replay, boolean last) throws IOException {
+		try (RandomAccessFile in = new RandomAccessFile(segmentFile, last ? "rw" : "r")) {
+			FileChannel segmentChannel = in.getChannel();
+			CRC32 crc = new CRC32();
+			long size = segmentChannel.size();
+			long position = HEADER_BYTES;
+			long lsn = firstLsn;
+			ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+			while (position + RECORD_HEADER_BYTES <= size) {
+				recordHeader.clear();
+				readFully(segmentChannel, recordHeader, position);
+				int length = recordHeader.getInt(0);
+				int checksum = recordHeader.getInt(4);
+				if (length <= 0 || length > MAX_PAYLOAD_BYTES || position + RECORD_HEADER_BYTES + length > size) {
+					break;
+				}
+				ByteBuffer bytes = ByteBuffer.allocate(length);
+				readFully(segmentChannel, bytes, position + RECORD_HEADER_BYTES);
+				crc.reset();
+				crc.update(bytes.array(), 0, length);
+				if ((int) crc.getValue() != checksum) {
+					break;
+				}
+				if (lsn >= fromLsn) {
+					apply(bytes.array(), replay);
+					replayed++;
+				}
+				lsn++;
+				position += RECORD_HEADER_BYTES + length;
+			}
+			if (position < size) {
+				if (!last) {
+					throw new IOException("Damaged record in " + segmentFile + " at offset " + position);
+				}
+				LOGGER.warn("Truncating torn tail of " + segmentFile + " at offset " + position + " (" + (size - position) + " bytes)");
+				segmentChannel.truncate(position);
+				segmentChannel.force(true);
+			}
+			return lsn;
+		}
+	}
+
+	private static void apply(byte[] record, Replay replay) throws IOException {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+		byte operation = in.readByte();
+		switch (operation) {
+		case CREATE:
+			replay.create(readTransaction(in));
+			break;
+		case UPDATE:
+			replay.update(readTransaction(in));
+			break;
+		case DELETE:
+			replay.delete((in.readUnsignedByte() & HAS_ID) != 0 ? in.readUTF() : null);
+			break;
+		default:
+			throw new IOException("Unknown log operation " + operation);
+		}
+	}
+
+	private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				throw new IOException("Unexpected end of log segment");
+			}
+		}
+	}
+
+	static File segmentFile(String path, long firstLsn) {
+		return new File(String.format("%s.%0" + LSN_DIGITS + "d", path, firstLsn));
+	}
+
+	/**
+	 * @return the segment files of the log at {@code path}, by the LSN of their first record
+	 */
+	static TreeMap<Long, File> listSegments(String path) {
+		File base = new File(path).getAbsoluteFile();
+		String prefix = base.getName() + ".";
+		TreeMap<Long, File> found = new TreeMap<Long, File>();
+		File[] files = base.getParentFile().listFiles();
+		if (files != null) {
+			for (File candidate : files) {
+				String name = candidate.getName();
+				if (name.startsWith(prefix) && name.length() == prefix.length() + LSN_DIGITS && isDigits(name, prefix.length())) {
+					found.put(Long.parseLong(name.substring(prefix.length())), candidate);
+				}
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * @param path : path of the log
+	 * @return {@code boolean} : true if a segment of the log at {@code path} holds
+	 * anything past its header, so opening it may change the rows of the store
+	 */
+	public static boolean hasRecords(String path) {
+		for (File segment : listSegments(path).values()) {
+			if (segment.length() > HEADER_BYTES) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isDigits(String value, int from) {
+		for (int i = from; i < value.length(); i++) {
+			if (value.charAt(i) < '0' || value.charAt(i) > '9') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks that {@code segment} has a valid header written for the current {@code baseline}.
+	 *
+	 * @throws IOException naming the mismatch if it hasn't
+	 */
+	private static void checkHeader(File segment, File baseline, long firstLsn) throws IOException {
+		if (segment.length() < HEADER_BYTES) {
+			throw new IOException(segment + " has no complete header");
+		}
+		try (RandomAccessFile in = new RandomAccessFile(segment, "r")) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				throw new IOException(segment + " is not a version " + VERSION + " log segment");
+			}
+			long length = in.readLong();
+			long lastModified = in.readLong();
+			if (length != baseline.length() || lastModified != baseline.lastModified()) {
+				throw new IOException(segment + " holds mutations made to " + baseline + " when it had " + length
+						+ " bytes and was last modified at " + Instant.ofEpochMilli(lastModified) + ", but it now has "
+						+ baseline.length() + " bytes and was last modified at " + Instant.ofEpochMilli(baseline.lastModified())
+						+ "; restore that file, or move the log aside to start without its mutations");
+			}
+			if (in.readLong() != firstLsn) {
+				throw new IOException(segment + " doesn't start at LSN " + firstLsn);
+			}
+		}
+	}
+
+	/**
+	 * Waits for the queued records to be written, then closes the file. Appends
+	 * after this fail.
+	 */
+	@Override
+	public void close() throws IOException {
+		synchronized (queue) {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			queue.add(CLOSE);
+		}
+		boolean interrupted = false;
+		while (flusher.isAlive()) {
+			try {
+				flusher.join();
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		synchronized (segmentLock) {
+			file.close();
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package com.nwg.ezpay.repository.storage;
+
+import java.io.IOException;
+import java.util.Date;
+
+import com.nwg.ezpay.entity.Transaction;
+
+/**
+ * Snapshot encoding of a {@link Transaction}: the ID, the type and status as
+ * dictionary strings, a byte of flags for the {@code null} amount and date, then
+ * the amount as the exact {@code double} and the date as epoch millis.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public final class TransactionRowCodec implements RowCodec<Transaction> {
+
+	private static final int HAS_AMOUNT = 1;
+	private static final int HAS_DATE = 2;
+
+	@Override
+	public void write(SnapshotWriter out, Transaction transaction) throws IOException {
+		out.writeString(transaction.getTransactionId());
+		out.writeSharedString(transaction.getType());
+		out.writeSharedString(transaction.getStatus());
+		Double amount = transaction.getAmount();
+		Date date = transaction.getDate();
+		out.writeByte((amount != null ? HAS_AMOUNT : 0) | (date != null ? HAS_DATE : 0));
+		if (amount != null) {
+			out.writeDouble(amount);
+		}
+		if (date != null) {
+			out.writeLong(date.getTime());
+		}
+	}
+
+	@Override
+	public Transaction read(SnapshotReader in) throws IOException {
+		String transactionId = in.readString();
+		String type = in.readSharedString();
+		String status = in.readSharedString();
+		int flags = in.readByte();
+		Double amount = (flags & HAS_AMOUNT) != 0 ? in.readDouble() : null;
+		Date date = (flags & HAS_DATE) != 0 ? new Date(in.readLong()) : null;
+		return new Transaction(transactionId, type, amount, status, date);
+	}
+}
@@ -0,0 +1,71 @@
+package com.nwg.ezpay.repository.storage;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.Date;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import com.nwg.ezpay.entity.TransactionStatus;
+
+/**
+ * Reads transaction statuses from a CSV file with the columns
+ * {@code transactionStatusId,statusType,reason,yyyy-MM-dd HH:mm:ss}, using
+ * {@link ParallelCsvLoader}.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public final class TransactionStatusCsvReader {
+
+	public static final String TRANSACTION_STATUSES_CSV = "data/transaction_statuses.csv";
+	public static final String TRANSACTION_STATUSES_SNAPSHOT = "data/transaction_statuses.snapshot";
+
+	private TransactionStatusCsvReader() {
+	}
+
+	/**
+	 * Loads the transaction statuses of {@code csvPath} into {@code sink}, from the binary snapshot at
+	 * {@code snapshotPath} when it was made from the current CSV file, otherwise
+	 * from the CSV file, writing a new snapshot of the rows {@code sink} accepts.
+	 *
+	 * @param csvPath      : path of the CSV file
+	 * @param snapshotPath : path of the snapshot file
+	 * @param sink         : store of the transaction statuses; returns false for rows it rejects
+	 * @return {@code LoadReport} : what was loaded from where, and how long it took
+	 * @throws java.io.FileNotFoundException if the CSV file doesn't exist
+	 * @throws IOException                   if the CSV file can't be read
+	 */
+	public static LoadReport load(String csvPath, String snapshotPath, Predicate<TransactionStatus> sink) throws IOException {
+		return new SnapshotFile<TransactionStatus>(snapshotPath, SnapshotFile.TRANSACTION_STATUSES, new TransactionStatusRowCodec())
+				.load(csvPath, TransactionStatusCsvReader::parse, sink);
+	}
+
+	/**
+	 * Passes every transaction status in the file to {@code sink}, in file order.
+	 * Lines that can't be parsed are skipped and counted in the returned report.
+	 *
+	 * @param path : path of the CSV file
+	 * @param sink : consumer of the transaction statuses
+	 * @return {@code LoadReport} : number of statuses and bad lines, and the load time
+	 * @throws java.io.FileNotFoundException if the file doesn't exist
+	 * @throws IOException                   if the file can't be read
+	 */
+	public static LoadReport read(String path, Consumer<TransactionStatus> sink) throws IOException {
+		return ParallelCsvLoader.load(path, TransactionStatusCsvReader::parse, sink);
+	}
+
+	/**
+	 * @param record : one line of the transaction statuses file
+	 * @return {@code TransactionStatus} : the status held by the line
+	 * @throws ParseException if the line has fewer than four columns or an invalid timestamp
+	 */
+	public static TransactionStatus parse(CsvRecord record) throws ParseException {
+		if (record.fieldCount() < 4) {
+			throw new ParseException("Expected 4 columns but found " + record.fieldCount(), 0);
+		}
+		return new TransactionStatus(record.getString(0), record.getSharedString(1), record.getSharedString(2),
+				new Date(record.getEpochMillis(3)));
+	}
+}
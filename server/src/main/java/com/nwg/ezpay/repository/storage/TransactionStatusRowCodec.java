@@ -0,0 +1,41 @@
+package com.nwg.ezpay.repository.storage;
+
+import java.io.IOException;
+import java.util.Date;
+
+import com.nwg.ezpay.entity.TransactionStatus;
+
+/**
+ * Snapshot encoding of a {@link TransactionStatus}: the ID, the status type and
+ * reason as dictionary strings, a byte flagging a {@code null} timestamp, then
+ * the timestamp as epoch millis.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public final class TransactionStatusRowCodec implements RowCodec<TransactionStatus> {
+
+	private static final int HAS_TIMESTAMP = 1;
+
+	@Override
+	public void write(SnapshotWriter out, TransactionStatus transactionStatus) throws IOException {
+		out.writeString(transactionStatus.getTransactionStatusId());
+		out.writeSharedString(transactionStatus.getStatusType());
+		out.writeSharedString(transactionStatus.getReason());
+		Date timestamp = transactionStatus.getTimestamp();
+		out.writeByte(timestamp != null ? HAS_TIMESTAMP : 0);
+		if (timestamp != null) {
+			out.writeLong(timestamp.getTime());
+		}
+	}
+
+	@Override
+	public TransactionStatus read(SnapshotReader in) throws IOException {
+		String transactionStatusId = in.readString();
+		String statusType = in.readSharedString();
+		String reason = in.readSharedString();
+		Date timestamp = (in.readByte() & HAS_TIMESTAMP) != 0 ? new Date(in.readLong()) : null;
+		return new TransactionStatus(transactionStatusId, statusType, reason, timestamp);
+	}
+}
@@ -0,0 +1,77 @@
+package com.nwg.ezpay.repository.storage;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dictionary encoding for low-cardinality string columns such as the transaction
+ * type and status. Every distinct value is given a one-byte code; code 0 is
+ * reserved for {@code null}, which leaves room for 255 distinct values.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public class ValueDictionary {
+
+	public static final byte NULL_CODE = 0;
+	private static final int MAX_CODES = 256;
+
+	private final Map<String, Byte> codes = new HashMap<String, Byte>();
+	private String[] values = new String[] { null };
+
+	/**
+	 * Returns the code of {@code value}, adding the value to the dictionary if it
+	 * hasn't been seen before.
+	 *
+	 * @param value : column value, may be {@code null}
+	 * @return {@code byte} : code of the value
+	 * @throws IllegalStateException if the dictionary already holds 255 values
+	 */
+	public synchronized byte encode(String value) {
+		if (value == null) {
+			return NULL_CODE;
+		}
+		Byte code = codes.get(value);
+		if (code == null) {
+			if (values.length == MAX_CODES) {
+				throw new IllegalStateException("Dictionary can't hold more than " + (MAX_CODES - 1) + " values.");
+			}
+			code = (byte) values.length;
+			values = Arrays.copyOf(values, values.length + 1);
+			values[values.length - 1] = value;
+			codes.put(value, code);
+		}
+		return code;
+	}
+
+	/**
+	 * Returns the code of {@code value} without adding it to the dictionary.
+	 *
+	 * @param value : column value, may be {@code null}
+	 * @return {@code int} : code of the value, or -1 if the value is unknown
+	 */
+	public synchronized int lookup(String value) {
+		if (value == null) {
+			return NULL_CODE;
+		}
+		Byte code = codes.get(value);
+		return code == null ? -1 : code;
+	}
+
+	/**
+	 * @param code : code returned by {@link #encode(String)}
+	 * @return the value of the code
+	 */
+	public String decode(byte code) {
+		return values[code & 0xFF];
+	}
+
+	/**
+	 * @return {@code int} : number of codes in use, including the {@code null} code
+	 */
+	public int size() {
+		return values.length;
+	}
+}
@@ -2,8 +2,13 @@ package com.nwg.ezpay.service;
 
 import java.util.List;
 import java.util.Date;
+import java.util.Set;
 
 import com.nwg.ezpay.entity.Transaction;
+import com.nwg.ezpay.repository.aggregate.AggregateRow;
+import com.nwg.ezpay.repository.aggregate.GroupBy;
+import com.nwg.ezpay.repository.page.Page;
+import com.nwg.ezpay.repository.query.TransactionQuery;
 
 /**
  * This interface contains method declaration for the Transaction Service
@@ -15,6 +20,7 @@ import com.nwg.ezpay.entity.Transaction;
  */
 
 import com.nwg.ezpay.exception.InvalidDateFormatException;
+import com.nwg.ezpay.exception.InvalidPageRequestException;
 import com.nwg.ezpay.exception.InvalidRangeException;
 import com.nwg.ezpay.exception.InvalidTransactionIDException;
 import com.nwg.ezpay.exception.InvalidTransactionObjectException;
@@ -53,6 +59,26 @@ public interface ITransactionService {
 	 */
 	List<Transaction> getTransactionByStatusService(String status) throws InvalidTransactionStatusException;
 
+	/**
+	 * Returns the number of transactions that match the provided type. This method
+	 * validates the transaction type.
+	 *
+	 * @param type : Type of transaction (e.g., "upi" or "bank")
+	 * @return {@code int} : Number of transactions belonging to the specified type.
+	 * @throws InvalidTransactionTypeException if the provided type is null or not a valid type.
+	 */
+	int countTransactionByTypeService(String type) throws InvalidTransactionTypeException;
+
+	/**
+	 * Returns the number of transactions that have the provided status. This method
+	 * validates the transaction status.
+	 *
+	 * @param status : Status of the transaction (e.g., "initiated", "pending", "completed", "failed")
+	 * @return {@code int} : Number of transactions with the specified status.
+	 * @throws InvalidTransactionStatusException if the provided status is null or not a valid status.
+	 */
+	int countTransactionByStatusService(String status) throws InvalidTransactionStatusException;
+
 	/**
 	 * Returns a {@code List<Transaction>} containing all transactions that occurred on
 	 * the specified date. This method validates the date object.
@@ -86,6 +112,110 @@ public interface ITransactionService {
 	 */
 	List<Transaction> getTransactionByAmountRangeService(Double startAmount, Double endAmount) throws InvalidRangeException;
 
+	/**
+	 * Returns a {@code List<Transaction>} containing all transactions that meet every
+	 * filter of the query, such as failed upi transactions over an amount within a
+	 * week. This method validates the type, status and ranges that are set.
+	 *
+	 * @param query : Filters the transactions must meet, or null for all transactions.
+	 * @return {@code List<Transaction>} : A list of matching transactions in date and then ID order.
+	 * @throws InvalidTransactionTypeException if the type is set and not a valid type.
+	 * @throws InvalidTransactionStatusException if the status is set and not a valid status.
+	 * @throws InvalidRangeException if the start of the date or amount range is after its end.
+	 */
+	List<Transaction> getTransactionByQueryService(TransactionQuery query)
+			throws InvalidTransactionTypeException, InvalidTransactionStatusException, InvalidRangeException;
+
+	/**
+	 * Returns the count, sum, minimum, maximum and average amount of the transactions
+	 * that meet every filter of the query, per group of the keys, such as the totals
+	 * per type and day of a month. The store computes them in one pass without
+	 * returning the transactions. This method validates the query like
+	 * {@link #getTransactionByQueryService(TransactionQuery)}.
+	 *
+	 * @param query   : Filters the transactions must meet, or null for all transactions.
+	 * @param groupBy : Keys to group the transactions on, or null or empty for one group of all of them.
+	 * @return {@code List<AggregateRow>} : One row per group in type, status and then period order.
+	 * @throws InvalidTransactionTypeException if the type is set and not a valid type.
+	 * @throws InvalidTransactionStatusException if the status is set and not a valid status.
+	 * @throws InvalidRangeException if the start of the date or amount range is after its end.
+	 */
+	List<AggregateRow> aggregateTransactionsService(TransactionQuery query, Set<GroupBy> groupBy)
+			throws InvalidTransactionTypeException, InvalidTransactionStatusException, InvalidRangeException;
+
+	/**
+	 * Returns one page of the transactions that match the provided type, in date and
+	 * then ID order. This method validates the transaction type and the page.
+	 *
+	 * @param type      : Type of transaction (e.g., "upi" or "bank")
+	 * @param pageSize  : Number of transactions on the page.
+	 * @param pageToken : Next page token of the previous page, or {@code null} for the first page.
+	 * @return {@code Page<Transaction>} : A page of transactions belonging to the specified type.
+	 * @throws InvalidTransactionTypeException if the provided type is null or not a valid type.
+	 * @throws InvalidPageRequestException if the page size is out of bounds or the token is not a page token.
+	 */
+	Page<Transaction> getTransactionByTypeService(String type, int pageSize, String pageToken)
+			throws InvalidTransactionTypeException, InvalidPageRequestException;
+
+	/**
+	 * Returns one page of the transactions that have the provided status, in date and
+	 * then ID order. This method validates the transaction status and the page.
+	 *
+	 * @param status    : Status of the transaction (e.g., "initiated", "pending", "completed", "failed")
+	 * @param pageSize  : Number of transactions on the page.
+	 * @param pageToken : Next page token of the previous page, or {@code null} for the first page.
+	 * @return {@code Page<Transaction>} : A page of transactions with the specified status.
+	 * @throws InvalidTransactionStatusException if the provided status is null or not a valid status.
+	 * @throws InvalidPageRequestException if the page size is out of bounds or the token is not a page token.
+	 */
+	Page<Transaction> getTransactionByStatusService(String status, int pageSize, String pageToken)
+			throws InvalidTransactionStatusException, InvalidPageRequestException;
+
+	/**
+	 * Returns one page of the transactions that occurred on the specified date, in date
+	 * and then ID order. This method validates the date object and the page.
+	 *
+	 * @param date      : Date of the transaction
+	 * @param pageSize  : Number of transactions on the page.
+	 * @param pageToken : Next page token of the previous page, or {@code null} for the first page.
+	 * @return {@code Page<Transaction>} : A page of transactions performed on the specified date.
+	 * @throws InvalidDateFormatException if the provided date object is null.
+	 * @throws InvalidPageRequestException if the page size is out of bounds or the token is not a page token.
+	 */
+	Page<Transaction> getTransactionByDateService(Date date, int pageSize, String pageToken)
+			throws InvalidDateFormatException, InvalidPageRequestException;
+
+	/**
+	 * Returns one page of the transactions that occurred within the specified date
+	 * range, in date and then ID order. This method validates the dates, the range and the page.
+	 *
+	 * @param startDate : The start date for the transaction range.
+	 * @param endDate   : The end date for the transaction range.
+	 * @param pageSize  : Number of transactions on the page.
+	 * @param pageToken : Next page token of the previous page, or {@code null} for the first page.
+	 * @return {@code Page<Transaction>} : A page of transactions within the specified date range.
+	 * @throws InvalidDateFormatException if either the start or end date is null.
+	 * @throws InvalidRangeException if the start date is after the end date.
+	 * @throws InvalidPageRequestException if the page size is out of bounds or the token is not a page token.
+	 */
+	Page<Transaction> getTransactionByDateRangeService(Date startDate, Date endDate, int pageSize, String pageToken)
+			throws InvalidDateFormatException, InvalidRangeException, InvalidPageRequestException;
+
+	/**
+	 * Returns one page of the transactions whose amount is within the specified range,
+	 * in date and then ID order. This method validates the range and the page.
+	 *
+	 * @param startAmount : The starting amount for the transaction range.
+	 * @param endAmount   : The ending amount for the transaction range.
+	 * @param pageSize    : Number of transactions on the page.
+	 * @param pageToken   : Next page token of the previous page, or {@code null} for the first page.
+	 * @return {@code Page<Transaction>} : A page of transactions within the specified amount range.
+	 * @throws InvalidRangeException if either the start or end amount is null, or if the start amount is greater than the end amount.
+	 * @throws InvalidPageRequestException if the page size is out of bounds or the token is not a page token.
+	 */
+	Page<Transaction> getTransactionByAmountRangeService(Double startAmount, Double endAmount, int pageSize, String pageToken)
+			throws InvalidRangeException, InvalidPageRequestException;
+
 	/**
 	 * Creates a new transaction and returns the created object. This method validates
 	 * the provided transaction object before attempting to create it.
@@ -5,10 +5,12 @@ import java.util.List;
 
 import com.nwg.ezpay.entity.TransactionStatus;
 import com.nwg.ezpay.exception.InvalidDateFormatException;
+import com.nwg.ezpay.exception.InvalidPageRequestException;
 import com.nwg.ezpay.exception.InvalidRangeException;
 import com.nwg.ezpay.exception.InvalidTransactionStatusException;
 import com.nwg.ezpay.exception.InvalidTransactionStatusIdException;
 import com.nwg.ezpay.exception.InvalidTransactionStatusObjectException;
+import com.nwg.ezpay.repository.page.Page;
 
 /**
  * Service interface for managing transaction statuses.
@@ -71,6 +73,60 @@ public interface ITransactionStatusService {
     List<TransactionStatus> getStatusesByDateRangeService(Date startDate, Date endDate) 
         throws InvalidDateFormatException, InvalidRangeException;
 
+    /**
+     * Retrieves one page of the transaction statuses filtered by type, in timestamp order.
+     *
+     * @param statusType the type to filter by (e.g., completed, pending)
+     * @param pageSize number of statuses on the page
+     * @param pageToken next page token of the previous page, or null for the first page
+     * @return page of matching {@link TransactionStatus} objects
+     * @throws InvalidTransactionStatusException if the status type is null or invalid
+     * @throws InvalidPageRequestException if the page size is out of bounds or the token is not a page token
+     */
+    Page<TransactionStatus> getStatusesByTypeService(String statusType, int pageSize, String pageToken)
+        throws InvalidTransactionStatusException, InvalidPageRequestException;
+
+    /**
+     * Retrieves one page of the transaction statuses filtered by reason, in timestamp order.
+     *
+     * @param reason the reason string to filter by
+     * @param pageSize number of statuses on the page
+     * @param pageToken next page token of the previous page, or null for the first page
+     * @return page of matching {@link TransactionStatus} objects
+     * @throws InvalidTransactionStatusException if the reason is null or invalid
+     * @throws InvalidPageRequestException if the page size is out of bounds or the token is not a page token
+     */
+    Page<TransactionStatus> getStatusesByReasonService(String reason, int pageSize, String pageToken)
+        throws InvalidTransactionStatusException, InvalidPageRequestException;
+
+    /**
+     * Retrieves one page of the transaction statuses of a specific date, in timestamp order.
+     *
+     * @param date the date to filter by
+     * @param pageSize number of statuses on the page
+     * @param pageToken next page token of the previous page, or null for the first page
+     * @return page of {@link TransactionStatus} on that date
+     * @throws InvalidDateFormatException if the date is null
+     * @throws InvalidPageRequestException if the page size is out of bounds or the token is not a page token
+     */
+    Page<TransactionStatus> getStatusesByDateService(Date date, int pageSize, String pageToken)
+        throws InvalidDateFormatException, InvalidPageRequestException;
+
+    /**
+     * Retrieves one page of the transaction statuses within a specified date range, in timestamp order.
+     *
+     * @param startDate starting date
+     * @param endDate ending date
+     * @param pageSize number of statuses on the page
+     * @param pageToken next page token of the previous page, or null for the first page
+     * @return page of {@link TransactionStatus} within the range
+     * @throws InvalidDateFormatException if either date is null
+     * @throws InvalidRangeException if start date is after end date
+     * @throws InvalidPageRequestException if the page size is out of bounds or the token is not a page token
+     */
+    Page<TransactionStatus> getStatusesByDateRangeService(Date startDate, Date endDate, int pageSize, String pageToken)
+        throws InvalidDateFormatException, InvalidRangeException, InvalidPageRequestException;
+
     /**
      * Creates a new transaction status entry.
      *
@@ -1,7 +1,9 @@
 package com.nwg.ezpay.service;
 
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * This class contains the implementation for the Transaction Status Service {@link ITransactionService} interface.
@@ -14,13 +16,19 @@ import java.util.List;
  */
 
 import com.nwg.ezpay.exception.InvalidDateFormatException;
+import com.nwg.ezpay.exception.InvalidPageRequestException;
 import com.nwg.ezpay.exception.InvalidRangeException;
 import com.nwg.ezpay.exception.InvalidTransactionIDException;
 import com.nwg.ezpay.exception.InvalidTransactionObjectException;
 import com.nwg.ezpay.exception.InvalidTransactionStatusException;
 import com.nwg.ezpay.exception.InvalidTransactionTypeException;
 import com.nwg.ezpay.repository.ITransactionDAO;
-import com.nwg.ezpay.repository.TransactionDAOImpl;
+import com.nwg.ezpay.repository.aggregate.AggregateRow;
+import com.nwg.ezpay.repository.aggregate.GroupBy;
+import com.nwg.ezpay.repository.page.Page;
+import com.nwg.ezpay.repository.page.PageRequest;
+import com.nwg.ezpay.repository.query.TransactionQuery;
+import com.nwg.ezpay.repository.spi.StorageProviders;
 import com.nwg.ezpay.entity.Transaction;
 
 public class TransactionServiceImpl implements ITransactionService {
@@ -28,11 +36,22 @@ public class TransactionServiceImpl implements ITransactionService {
 	ITransactionDAO iTransactionDAO;
 
 	/**
-	 * Constructor for the Transaction Service. It initializes a new
-	 * {@link TransactionDAOImpl} to establish a connection to the data layer.
+	 * Constructor for the Transaction Service. It asks {@link StorageProviders}
+	 * for the storage engine selected at startup to establish a connection to the data layer.
+	 * The default engine starts loading its data in the background and answers as soon as it can.
 	 */
 	public TransactionServiceImpl() {
-		iTransactionDAO = new TransactionDAOImpl();
+		this(StorageProviders.selected().createTransactionDAO());
+	}
+
+	/**
+	 * Constructor for the Transaction Service on a given data layer, for instance
+	 * to run the same service on several storage engines side by side.
+	 *
+	 * @param iTransactionDAO : the transaction store to use
+	 */
+	public TransactionServiceImpl(ITransactionDAO iTransactionDAO) {
+		this.iTransactionDAO = iTransactionDAO;
 	}
 
 	
@@ -104,6 +123,45 @@ public class TransactionServiceImpl implements ITransactionService {
 	
 	
 	
+	/**
+	 * Returns the number of transactions that match the provided type. This method
+	 * validates that the transaction type is one of the allowed types ("upi" or "bank").
+	 *
+	 * @param type : Type of transaction (e.g., "upi" or "bank")
+	 * @return {@code int} : Number of transactions belonging to the specified type.
+	 * @throws InvalidTransactionTypeException if the provided type is {@code null} or not a valid type.
+	 */
+	@Override
+	public int countTransactionByTypeService(String type) throws InvalidTransactionTypeException {
+		if (type != null && (type.equals("upi") || type.equals("bank"))) {
+			return iTransactionDAO.countTransactionByType(type);
+		} else {
+			throw new InvalidTransactionTypeException("Transaction type can be \"upi\" or \"bank\" only.");
+		}
+	}
+	
+	
+	/**
+	 * Returns the number of transactions that have the provided status. This method
+	 * validates that the transaction status is one of the allowed statuses.
+	 *
+	 * @param status : Status of the transaction (e.g., "initiated", "pending", "completed", "failed")
+	 * @return {@code int} : Number of transactions with the specified status.
+	 * @throws InvalidTransactionStatusException if the provided status is {@code null} or not a valid status.
+	 */
+	@Override
+	public int countTransactionByStatusService(String status) throws InvalidTransactionStatusException {
+		if (status != null && (status.equals("initiated") || status.equals("pending") || status.equals("completed")
+				|| status.equals("failed"))) {
+			return iTransactionDAO.countTransactionByStatus(status);
+		} else {
+			throw new InvalidTransactionStatusException(
+					"Invalid transaction status. Status can be either \"initiated\", \"pending\", \"completed\" or \"pending\"");
+		}
+	}
+	
+	
+	
 	/**
 	 * Returns a {@code List<Transaction>} containing all transactions that occurred on
 	 * the specified date. This method validates the provided date object.
@@ -173,6 +231,200 @@ public class TransactionServiceImpl implements ITransactionService {
 
 	
 	
+	/**
+	 * Returns a {@code List<Transaction>} containing all transactions that meet every
+	 * filter of the query. The type and status are validated like in
+	 * {@link #getTransactionByTypeService(String)} and {@link #getTransactionByStatusService(String)}
+	 * when they are set, and the store answers the whole query in one pass.
+	 *
+	 * @param query : Filters the transactions must meet, or {@code null} for all transactions.
+	 * @return {@code List<Transaction>} : A list of matching transactions in date and then ID order.
+	 * @throws InvalidTransactionTypeException if the type is set and not a valid type.
+	 * @throws InvalidTransactionStatusException if the status is set and not a valid status.
+	 * @throws InvalidRangeException if the start of the date or amount range is after its end.
+	 */
+	@Override
+	public List<Transaction> getTransactionByQueryService(TransactionQuery query)
+			throws InvalidTransactionTypeException, InvalidTransactionStatusException, InvalidRangeException {
+		return iTransactionDAO.getTransactionByQuery(validated(query));
+	}
+
+	/**
+	 * Returns the aggregates of the transactions that meet every filter of the query,
+	 * per group of the keys. The query is validated like in
+	 * {@link #getTransactionByQueryService(TransactionQuery)}, and the store groups the
+	 * matching transactions in the same pass that finds them.
+	 *
+	 * @param query   : Filters the transactions must meet, or {@code null} for all transactions.
+	 * @param groupBy : Keys to group the transactions on, or {@code null} or empty for one group of all of them.
+	 * @return {@code List<AggregateRow>} : One row per group in type, status and then period order.
+	 * @throws InvalidTransactionTypeException if the type is set and not a valid type.
+	 * @throws InvalidTransactionStatusException if the status is set and not a valid status.
+	 * @throws InvalidRangeException if the start of the date or amount range is after its end.
+	 */
+	@Override
+	public List<AggregateRow> aggregateTransactionsService(TransactionQuery query, Set<GroupBy> groupBy)
+			throws InvalidTransactionTypeException, InvalidTransactionStatusException, InvalidRangeException {
+		return iTransactionDAO.aggregateTransactions(validated(query),
+				groupBy == null ? EnumSet.noneOf(GroupBy.class) : groupBy);
+	}
+
+	/**
+	 * @return the query, or a query for all transactions if it is {@code null}
+	 */
+	private TransactionQuery validated(TransactionQuery query)
+			throws InvalidTransactionTypeException, InvalidTransactionStatusException, InvalidRangeException {
+		if (query == null) {
+			query = TransactionQuery.all();
+		}
+		String type = query.getType();
+		if (type != null && !(type.equals("upi") || type.equals("bank"))) {
+			throw new InvalidTransactionTypeException("Transaction type can be \"upi\" or \"bank\" only.");
+		}
+		String status = query.getStatus();
+		if (status != null && !(status.equals("initiated") || status.equals("pending") || status.equals("completed")
+				|| status.equals("failed"))) {
+			throw new InvalidTransactionStatusException(
+					"Invalid transaction status. Status can be either \"initiated\", \"pending\", \"completed\" or \"pending\"");
+		}
+		if (query.isEmpty()) {
+			throw new InvalidRangeException("Start should be smaller or equal to end.");
+		}
+		return query;
+	}
+
+	
+	
+	/**
+	 * Returns one page of the transactions that match the provided type. This method
+	 * validates the type like {@link #getTransactionByTypeService(String)} and then the page.
+	 *
+	 * @param type      : Type of transaction (e.g., "upi" or "bank")
+	 * @param pageSize  : Number of transactions on the page.
+	 * @param pageToken : Next page token of the previous page, or {@code null} for the first page.
+	 * @return {@code Page<Transaction>} : A page of transactions belonging to the specified type.
+	 * @throws InvalidTransactionTypeException if the provided type is {@code null} or not a valid type.
+	 * @throws InvalidPageRequestException if the page size is out of bounds or the token is not a page token.
+	 */
+	@Override
+	public Page<Transaction> getTransactionByTypeService(String type, int pageSize, String pageToken)
+			throws InvalidTransactionTypeException, InvalidPageRequestException {
+		if (type != null && (type.equals("upi") || type.equals("bank"))) {
+			return iTransactionDAO.getTransactionByType(type, pageRequest(pageSize, pageToken));
+		} else {
+			throw new InvalidTransactionTypeException("Transaction type can be \"upi\" or \"bank\" only.");
+		}
+	}
+
+	
+	/**
+	 * Returns one page of the transactions that have the provided status. This method
+	 * validates the status like {@link #getTransactionByStatusService(String)} and then the page.
+	 *
+	 * @param status    : Status of the transaction (e.g., "initiated", "pending", "completed", "failed")
+	 * @param pageSize  : Number of transactions on the page.
+	 * @param pageToken : Next page token of the previous page, or {@code null} for the first page.
+	 * @return {@code Page<Transaction>} : A page of transactions with the specified status.
+	 * @throws InvalidTransactionStatusException if the provided status is {@code null} or not a valid status.
+	 * @throws InvalidPageRequestException if the page size is out of bounds or the token is not a page token.
+	 */
+	@Override
+	public Page<Transaction> getTransactionByStatusService(String status, int pageSize, String pageToken)
+			throws InvalidTransactionStatusException, InvalidPageRequestException {
+		if (status != null && (status.equals("initiated") || status.equals("pending") || status.equals("completed")
+				|| status.equals("failed"))) {
+			return iTransactionDAO.getTransactionByStatus(status, pageRequest(pageSize, pageToken));
+		} else {
+			throw new InvalidTransactionStatusException(
+					"Invalid transaction status. Status can be either \"initiated\", \"pending\", \"completed\" or \"pending\"");
+		}
+	}
+
+	
+	/**
+	 * Returns one page of the transactions that occurred on the specified date. This
+	 * method validates the provided date object and then the page.
+	 *
+	 * @param date      : Date of the transaction
+	 * @param pageSize  : Number of transactions on the page.
+	 * @param pageToken : Next page token of the previous page, or {@code null} for the first page.
+	 * @return {@code Page<Transaction>} : A page of transactions performed on the specified date.
+	 * @throws InvalidDateFormatException if the provided date object is {@code null}.
+	 * @throws InvalidPageRequestException if the page size is out of bounds or the token is not a page token.
+	 */
+	@Override
+	public Page<Transaction> getTransactionByDateService(Date date, int pageSize, String pageToken)
+			throws InvalidDateFormatException, InvalidPageRequestException {
+		if (date != null) {
+			return iTransactionDAO.getTransactionByDate(date, pageRequest(pageSize, pageToken));
+		} else {
+			throw new InvalidDateFormatException("Invalid date format");
+		}
+	}
+
+	
+	/**
+	 * Returns one page of the transactions that occurred within the specified date
+	 * range. This method validates the dates and the range, then the page.
+	 *
+	 * @param startDate : The start date for the transaction range.
+	 * @param endDate   : The end date for the transaction range.
+	 * @param pageSize  : Number of transactions on the page.
+	 * @param pageToken : Next page token of the previous page, or {@code null} for the first page.
+	 * @return {@code Page<Transaction>} : A page of transactions within the specified date range.
+	 * @throws InvalidDateFormatException if either the start or end date is {@code null}.
+	 * @throws InvalidRangeException if the start date is after the end date.
+	 * @throws InvalidPageRequestException if the page size is out of bounds or the token is not a page token.
+	 */
+	@Override
+	public Page<Transaction> getTransactionByDateRangeService(Date startDate, Date endDate, int pageSize, String pageToken)
+			throws InvalidDateFormatException, InvalidRangeException, InvalidPageRequestException {
+		if (startDate == null || endDate == null) {
+			throw new InvalidDateFormatException("Invalid date format");
+		}
+		if (startDate.compareTo(endDate) > 0) {
+			throw new InvalidRangeException("Start should be smaller or equal to end.");
+		}
+		return iTransactionDAO.getTransactionByDateRange(startDate, endDate, pageRequest(pageSize, pageToken));
+	}
+
+	
+	/**
+	 * Returns one page of the transactions whose amount is within the specified range.
+	 * This method validates the amount range and then the page.
+	 *
+	 * @param startAmount : The starting amount for the transaction range.
+	 * @param endAmount   : The ending amount for the transaction range.
+	 * @param pageSize    : Number of transactions on the page.
+	 * @param pageToken   : Next page token of the previous page, or {@code null} for the first page.
+	 * @return {@code Page<Transaction>} : A page of transactions within the specified amount range.
+	 * @throws InvalidRangeException if either amount is {@code null} or the start amount is greater than the end amount.
+	 * @throws InvalidPageRequestException if the page size is out of bounds or the token is not a page token.
+	 */
+	@Override
+	public Page<Transaction> getTransactionByAmountRangeService(Double startAmount, Double endAmount, int pageSize,
+			String pageToken) throws InvalidRangeException, InvalidPageRequestException {
+		if (startAmount != null && endAmount != null && startAmount <= endAmount) {
+			return iTransactionDAO.getTransactionByAmountRange(startAmount, endAmount, pageRequest(pageSize, pageToken));
+		} else {
+			throw new InvalidRangeException("Start should be smaller or equal to end.");
+		}
+	}
+
+	
+	/**
+	 * Validates the page size and the token of a paged query.
+	 */
+	private static PageRequest pageRequest(int pageSize, String pageToken) throws InvalidPageRequestException {
+		try {
+			return PageRequest.of(pageSize, pageToken);
+		} catch (IllegalArgumentException e) {
+			throw new InvalidPageRequestException(e.getMessage());
+		}
+	}
+
+	
+	
 	/**
 	 * Creates a new transaction and returns the created object. This method validates
 	 * that the provided transaction object is not {@code null}.
@@ -5,12 +5,15 @@ import java.util.List;
 
 import com.nwg.ezpay.entity.TransactionStatus;
 import com.nwg.ezpay.exception.InvalidDateFormatException;
+import com.nwg.ezpay.exception.InvalidPageRequestException;
 import com.nwg.ezpay.exception.InvalidRangeException;
 import com.nwg.ezpay.exception.InvalidTransactionStatusException;
 import com.nwg.ezpay.exception.InvalidTransactionStatusIdException;
 import com.nwg.ezpay.exception.InvalidTransactionStatusObjectException;
 import com.nwg.ezpay.repository.ITransactionStatusDAO;
-import com.nwg.ezpay.repository.TransactionStatusDAOImpl;
+import com.nwg.ezpay.repository.page.Page;
+import com.nwg.ezpay.repository.page.PageRequest;
+import com.nwg.ezpay.repository.spi.StorageProviders;
 
 /**
  * Service implementation for managing transaction statuses.
@@ -28,10 +31,20 @@ public class TransactionStatusServiceImpl implements ITransactionStatusService {
     ITransactionStatusDAO iTransactionStatusDAO;
 
     /**
-     * Default constructor. Initializes the DAO layer.
+     * Default constructor. Initializes the DAO layer of the storage engine selected
+     * at startup, which starts loading the statuses in the background.
      */
     public TransactionStatusServiceImpl() {
-        iTransactionStatusDAO = new TransactionStatusDAOImpl();
+        this(StorageProviders.selected().createTransactionStatusDAO());
+    }
+
+    /**
+     * Constructor on a given DAO layer.
+     *
+     * @param iTransactionStatusDAO the transaction status store to use
+     */
+    public TransactionStatusServiceImpl(ITransactionStatusDAO iTransactionStatusDAO) {
+        this.iTransactionStatusDAO = iTransactionStatusDAO;
     }
 
     /**
@@ -132,6 +145,98 @@ public class TransactionStatusServiceImpl implements ITransactionStatusService {
         return statusesByDateRange;
     }
 
+    /**
+     * Fetches one page of the statuses of a specified type.
+     *
+     * @param statusType status type to filter by
+     * @param pageSize number of statuses on the page
+     * @param pageToken next page token of the previous page, or null for the first page
+     * @return page of matching statuses, in timestamp order
+     * @throws InvalidTransactionStatusException if the type is null or empty
+     * @throws InvalidPageRequestException if the page size is out of bounds or the token is not a page token
+     */
+    @Override
+    public Page<TransactionStatus> getStatusesByTypeService(String statusType, int pageSize, String pageToken)
+            throws InvalidTransactionStatusException, InvalidPageRequestException {
+        if (statusType == null || statusType.trim().isEmpty()) {
+            throw new InvalidTransactionStatusException("Transaction status type cannot be null or empty.");
+        }
+        return iTransactionStatusDAO.getStatusesByType(statusType, pageRequest(pageSize, pageToken));
+    }
+
+    /**
+     * Fetches one page of the statuses with a given reason.
+     *
+     * @param reason reason to filter by
+     * @param pageSize number of statuses on the page
+     * @param pageToken next page token of the previous page, or null for the first page
+     * @return page of matching statuses, in timestamp order
+     * @throws InvalidTransactionStatusException if the reason is null or empty
+     * @throws InvalidPageRequestException if the page size is out of bounds or the token is not a page token
+     */
+    @Override
+    public Page<TransactionStatus> getStatusesByReasonService(String reason, int pageSize, String pageToken)
+            throws InvalidTransactionStatusException, InvalidPageRequestException {
+        if (reason == null || reason.trim().isEmpty()) {
+            throw new InvalidTransactionStatusException("Reason cannot be null or empty.");
+        }
+        return iTransactionStatusDAO.getStatusesByReason(reason, pageRequest(pageSize, pageToken));
+    }
+
+    /**
+     * Fetches one page of the statuses of a specific date.
+     *
+     * @param date the date to match
+     * @param pageSize number of statuses on the page
+     * @param pageToken next page token of the previous page, or null for the first page
+     * @return page of statuses on that date, in timestamp order
+     * @throws InvalidDateFormatException if the date is null
+     * @throws InvalidPageRequestException if the page size is out of bounds or the token is not a page token
+     */
+    @Override
+    public Page<TransactionStatus> getStatusesByDateService(Date date, int pageSize, String pageToken)
+            throws InvalidDateFormatException, InvalidPageRequestException {
+        if (date == null) {
+            throw new InvalidDateFormatException("Invalid date format.");
+        }
+        return iTransactionStatusDAO.getStatusesByDate(date, pageRequest(pageSize, pageToken));
+    }
+
+    /**
+     * Fetches one page of the statuses within the specified date range.
+     *
+     * @param startDate beginning of the range
+     * @param endDate end of the range
+     * @param pageSize number of statuses on the page
+     * @param pageToken next page token of the previous page, or null for the first page
+     * @return page of matching statuses, in timestamp order
+     * @throws InvalidDateFormatException if either date is null
+     * @throws InvalidRangeException if startDate is after endDate
+     * @throws InvalidPageRequestException if the page size is out of bounds or the token is not a page token
+     */
+    @Override
+    public Page<TransactionStatus> getStatusesByDateRangeService(Date startDate, Date endDate, int pageSize, String pageToken)
+            throws InvalidDateFormatException, InvalidRangeException, InvalidPageRequestException {
+        if (startDate == null || endDate == null) {
+            throw new InvalidDateFormatException("Start date and end date cannot be null.");
+        }
+        if (startDate.compareTo(endDate) > 0) {
+            throw new InvalidRangeException("Start date should be smaller or equal to end date.");
+        }
+        return iTransactionStatusDAO.getStatusesByDateRange(startDate, endDate, pageRequest(pageSize, pageToken));
+    }
+
+    /**
+     * Validates the page size and the token of a paged query.
+     */
+    private static PageRequest pageRequest(int pageSize, String pageToken) throws InvalidPageRequestException {
+        try {
+            return PageRequest.of(pageSize, pageToken);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPageRequestException(e.getMessage());
+        }
+    }
+
     /**
      * Creates a new transaction status entry.
      *
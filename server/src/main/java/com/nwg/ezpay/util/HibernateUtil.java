@@ -1,5 +1,146 @@
 package com.nwg.ezpay.util;
 
-public class HibernateUtil {
+import java.net.URL;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.service.spi.Stoppable;
+
+import com.nwg.ezpay.entity.Transaction;
+import com.nwg.ezpay.entity.TransactionStatus;
+import com.nwg.ezpay.exception.DataAccessException;
+import com.nwg.ezpay.repository.JdbcTransactionDAO;
+import com.nwg.ezpay.repository.jdbc.ConnectionPool;
+
+/**
+ * Bootstraps the Hibernate {@link SessionFactory} of the mapped entities.
+ *
+ * <p>Hibernate takes its connections from a {@link ConnectionPool}. Writes are
+ * sent in JDBC batches of {@value JdbcTransactionDAO#DEFAULT_BATCH_SIZE}
+ * statements, or the {@value JdbcTransactionDAO#BATCH_SIZE_PROPERTY} system
+ * property, with inserts and updates ordered by entity so that they batch, and
+ * queries fetch {@value JdbcTransactionDAO#DEFAULT_FETCH_SIZE} rows per round trip,
+ * or the {@value JdbcTransactionDAO#FETCH_SIZE_PROPERTY} system property. Entities
+ * looked up by ID are kept in a second-level cache in Ehcache, whose regions are
+ * bounded by {@value #CACHE_CONFIG}.</p>
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public final class HibernateUtil {
+
+	public static final String CACHE_CONFIG = "/ezpay-ehcache.xml";
+
+	private static SessionFactory sessionFactory;
+
+	private HibernateUtil() {
+	}
+
+	/**
+	 * Builds the session factory the first time it is called, on a connection pool
+	 * to the database named by the {@code ezpay.jdbc.*} system properties.
+	 *
+	 * @return {@code SessionFactory} : the application's session factory
+	 * @throws DataAccessException if the database can't be reached or the mapping is invalid
+	 */
+	public static synchronized SessionFactory getSessionFactory() {
+		if (sessionFactory == null || sessionFactory.isClosed()) {
+			sessionFactory = buildSessionFactory(JdbcTransactionDAO.connectPool());
+		}
+		return sessionFactory;
+	}
+
+	/**
+	 * @param pool : pool of connections to a database holding the tables of {@code sql/createTable.sql};
+	 *             closed with the session factory
+	 * @return {@code SessionFactory} : a new session factory on {@code pool}
+	 * @throws DataAccessException if the mapping is invalid
+	 */
+	public static SessionFactory buildSessionFactory(ConnectionPool pool) {
+		URL cacheConfig = HibernateUtil.class.getResource(CACHE_CONFIG);
+		if (cacheConfig == null) {
+			throw new DataAccessException("The cache configuration " + CACHE_CONFIG + " is missing from the class path", null);
+		}
+		StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+				.applySetting(AvailableSettings.CONNECTION_PROVIDER, new PooledConnectionProvider(pool))
+				.applySetting(AvailableSettings.STATEMENT_BATCH_SIZE,
+						Integer.getInteger(JdbcTransactionDAO.BATCH_SIZE_PROPERTY, JdbcTransactionDAO.DEFAULT_BATCH_SIZE))
+				.applySetting(AvailableSettings.ORDER_INSERTS, true)
+				.applySetting(AvailableSettings.ORDER_UPDATES, true)
+				.applySetting(AvailableSettings.STATEMENT_FETCH_SIZE,
+						Integer.getInteger(JdbcTransactionDAO.FETCH_SIZE_PROPERTY, JdbcTransactionDAO.DEFAULT_FETCH_SIZE))
+				.applySetting(AvailableSettings.USE_SECOND_LEVEL_CACHE, true)
+				.applySetting(AvailableSettings.CACHE_REGION_FACTORY, "jcache")
+				.applySetting(ConfigSettings.PROVIDER, "org.ehcache.jsr107.EhcacheCachingProvider")
+				.applySetting(ConfigSettings.CONFIG_URI, cacheConfig.toExternalForm())
+				.applySetting(ConfigSettings.MISSING_CACHE_STRATEGY, "fail")
+				.build();
+		try {
+			return new MetadataSources(registry).addAnnotatedClass(Transaction.class).addAnnotatedClass(TransactionStatus.class)
+					.buildMetadata().buildSessionFactory();
+		} catch (RuntimeException e) {
+			StandardServiceRegistryBuilder.destroy(registry);
+			throw new DataAccessException("Could not build the Hibernate session factory: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Lends Hibernate the connections of a {@link ConnectionPool}.
+	 */
+	private static final class PooledConnectionProvider implements ConnectionProvider, Stoppable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient ConnectionPool pool;
+		private final transient Map<Connection, ConnectionPool.Lease> leases = new ConcurrentHashMap<Connection, ConnectionPool.Lease>();
+
+		PooledConnectionProvider(ConnectionPool pool) {
+			this.pool = pool;
+		}
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			ConnectionPool.Lease lease = pool.borrow();
+			leases.put(lease.getConnection(), lease);
+			return lease.getConnection();
+		}
+
+		@Override
+		public void closeConnection(Connection connection) throws SQLException {
+			ConnectionPool.Lease lease = leases.remove(connection);
+			if (lease != null) {
+				lease.close();
+			}
+		}
+
+		@Override
+		public boolean supportsAggressiveRelease() {
+			return false;
+		}
+
+		@Override
+		public void stop() {
+			pool.close();
+		}
+
+		@Override
+		public boolean isUnwrappableAs(Class<?> unwrapType) {
+			return unwrapType.isInstance(this) || unwrapType == ConnectionPool.class;
+		}
+
+		@Override
+		public <T> T unwrap(Class<T> unwrapType) {
+			return unwrapType == ConnectionPool.class ? unwrapType.cast(pool) : unwrapType.cast(this);
+		}
+	}
 }
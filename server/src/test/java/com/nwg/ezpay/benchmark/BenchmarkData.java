@@ -0,0 +1,80 @@
+package com.nwg.ezpay.benchmark;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Random;
+
+import com.nwg.ezpay.entity.Transaction;
+
+/**
+ * Generates deterministic synthetic transactions for the benchmarks.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+final class BenchmarkData {
+
+	static final String[] TYPES = { "upi", "bank" };
+	static final String[] STATUSES = { "initiated", "pending", "completed", "failed" };
+
+	// 2024-01-01 00:00:00 UTC, rows are spread over one year.
+	private static final long FIRST_INSTANT = 1704067200000L;
+	private static final long YEAR_MILLIS = 366L * 24 * 60 * 60 * 1000;
+
+	private BenchmarkData() {
+	}
+
+	/**
+	 * Builds the {@code index}-th synthetic transaction. Type and status strings are
+	 * fresh instances, the same as rows read from the CSV file with {@code String.split}.
+	 *
+	 * @param index : row number, also used as the seed of the row
+	 * @return {@code Transaction}
+	 */
+	static Transaction transaction(int index) {
+		Random random = new Random(index);
+		String type = new String(TYPES[random.nextInt(TYPES.length)]);
+		double amount = random.nextInt(1_000_000) / 100.0;
+		String status = new String(STATUSES[random.nextInt(STATUSES.length)]);
+		Date date = new Date(FIRST_INSTANT + (long) (random.nextDouble() * YEAR_MILLIS) / 1000 * 1000);
+		return new Transaction(id(index), type, amount, status, date);
+	}
+
+	/**
+	 * @param index : row number
+	 * @return the transaction ID of the {@code index}-th synthetic transaction
+	 */
+	static String id(int index) {
+		return String.format("TRX%07d", index);
+	}
+
+	/**
+	 * @param index : row number
+	 * @return the {@code index}-th synthetic transaction as a line of the transactions CSV file
+	 */
+	static String csvLine(int index) {
+		Transaction transaction = transaction(index);
+		return transaction.getTransactionId() + "," + transaction.getType() + ","
+				+ String.format("%.2f", transaction.getAmount()) + "," + transaction.getStatus() + ","
+				+ new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(transaction.getDate());
+	}
+
+	/**
+	 * @return {@code long} : heap in use after a few rounds of garbage collection
+	 */
+	static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		long used = Long.MAX_VALUE;
+		for (int i = 0; i < 5; i++) {
+			System.gc();
+			try {
+				Thread.sleep(100);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+		}
+		return used;
+	}
+}
@@ -0,0 +1,132 @@
+package com.nwg.ezpay.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import com.nwg.ezpay.entity.Transaction;
+import com.nwg.ezpay.repository.storage.CsvRecord;
+import com.nwg.ezpay.repository.storage.TransactionCsvReader;
+
+/**
+ * Compares the old line parsing of the transactions CSV file, {@code String.split},
+ * {@code Double.parseDouble} and {@code SimpleDateFormat.parse}, with the byte
+ * parser in {@link CsvRecord}. Reports the time and the heap allocated per line
+ * for three variants:
+ *
+ * <ul>
+ * <li>{@code split+SimpleDateFormat} : the parsing that {@code TransactionDAOImpl} used to do</li>
+ * <li>{@code CsvRecord -> Transaction} : {@link TransactionCsvReader#parse(CsvRecord)}, building the entity</li>
+ * <li>{@code CsvRecord fields only} : the amount and date read as primitives, nothing built</li>
+ * </ul>
+ *
+ * <p>JMH isn't available to the build, so this is a plain program with warm-up
+ * rounds; allocation is measured with the HotSpot per-thread allocation counter.
+ * Run from the {@code server} directory:</p>
+ *
+ * <pre>
+ * java -cp target/classes:target/test-classes com.nwg.ezpay.benchmark.CsvParserBenchmark 1000000
+ * </pre>
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public class CsvParserBenchmark {
+
+	private static final int WARM_UP_ROUNDS = 5;
+	private static final int MEASURED_ROUNDS = 5;
+
+	private interface Variant {
+		long run(ByteBuffer buffer, int[] lineEnds) throws ParseException;
+	}
+
+	public static void main(String[] args) throws ParseException {
+		int lines = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+		StringBuilder csv = new StringBuilder();
+		for (int i = 0; i < lines; i++) {
+			csv.append(BenchmarkData.csvLine(i)).append('\n');
+		}
+		byte[] bytes = csv.toString().getBytes(StandardCharsets.UTF_8);
+		ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+		buffer.put(bytes);
+		int[] lineEnds = new int[lines];
+		for (int i = 0, line = 0; i < bytes.length; i++) {
+			if (bytes[i] == '\n') {
+				lineEnds[line++] = i;
+			}
+		}
+
+		measure("split+SimpleDateFormat", lines, buffer, lineEnds, CsvParserBenchmark::splitAndSimpleDateFormat);
+		measure("CsvRecord -> Transaction", lines, buffer, lineEnds, CsvParserBenchmark::csvRecordTransactions);
+		measure("CsvRecord fields only", lines, buffer, lineEnds, CsvParserBenchmark::csvRecordFields);
+	}
+
+	private static long splitAndSimpleDateFormat(ByteBuffer buffer, int[] lineEnds) throws ParseException {
+		SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+		byte[] lineBytes = new byte[256];
+		long checksum = 0;
+		int start = 0;
+		for (int end : lineEnds) {
+			buffer.position(start);
+			buffer.get(lineBytes, 0, end - start);
+			String details[] = new String(lineBytes, 0, end - start, StandardCharsets.UTF_8).split(",");
+			Double amount = Double.parseDouble(details[2]);
+			Date date = sdf.parse(details[4]);
+			Transaction transaction = new Transaction(details[0], details[1], amount, details[3], date);
+			checksum += transaction.getDate().getTime();
+			start = end + 1;
+		}
+		return checksum;
+	}
+
+	private static long csvRecordTransactions(ByteBuffer buffer, int[] lineEnds) throws ParseException {
+		CsvRecord record = new CsvRecord();
+		long checksum = 0;
+		int start = 0;
+		for (int end : lineEnds) {
+			record.reset(buffer, start, end);
+			checksum += TransactionCsvReader.parse(record).getDate().getTime();
+			start = end + 1;
+		}
+		return checksum;
+	}
+
+	private static long csvRecordFields(ByteBuffer buffer, int[] lineEnds) throws ParseException {
+		CsvRecord record = new CsvRecord();
+		long checksum = 0;
+		int start = 0;
+		for (int end : lineEnds) {
+			record.reset(buffer, start, end);
+			checksum += record.getFixedPoint(2, 2) + record.getEpochMillis(4);
+			start = end + 1;
+		}
+		return checksum;
+	}
+
+	private static void measure(String name, int lines, ByteBuffer buffer, int[] lineEnds, Variant variant) throws ParseException {
+		long checksum = 0;
+		for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+			checksum += variant.run(buffer, lineEnds);
+		}
+		long bestNanos = Long.MAX_VALUE;
+		long allocated = 0;
+		for (int i = 0; i < MEASURED_ROUNDS; i++) {
+			long allocatedBefore = allocatedBytes();
+			long started = System.nanoTime();
+			checksum += variant.run(buffer, lineEnds);
+			bestNanos = Math.min(bestNanos, System.nanoTime() - started);
+			allocated += allocatedBytes() - allocatedBefore;
+		}
+		System.out.printf("%-26s %8.1f ns/line %10.1f bytes/line   (checksum %d)%n", name, (double) bestNanos / lines,
+				(double) allocated / MEASURED_ROUNDS / lines, checksum);
+	}
+
+	private static long allocatedBytes() {
+		return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+				.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+}
@@ -0,0 +1,126 @@
+package com.nwg.ezpay.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.Date;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.hibernate.SessionFactory;
+
+import com.nwg.ezpay.entity.Transaction;
+import com.nwg.ezpay.repository.HibernateTransactionDAO;
+import com.nwg.ezpay.repository.ITransactionDAO;
+import com.nwg.ezpay.repository.JdbcTransactionDAO;
+import com.nwg.ezpay.repository.TransactionDAOImpl;
+import com.nwg.ezpay.repository.jdbc.ConnectionPool;
+import com.nwg.ezpay.util.HibernateUtil;
+
+/**
+ * Compares {@link HibernateTransactionDAO} with {@link JdbcTransactionDAO} on the
+ * same embedded H2 database in Oracle mode, and with the in-memory
+ * {@link TransactionDAOImpl}.
+ *
+ * <p>Each store is bulk loaded with the same synthetic rows, through
+ * {@code insertAll} for the database stores, and then measured for lookups of
+ * random IDs, lookups of a hot set of 1,000 IDs that fits the second-level cache,
+ * updates of random rows and one-day date queries, each for a fixed time on one
+ * thread. Run from the {@code server} directory with the H2 jar on the class
+ * path:</p>
+ *
+ * <pre>
+ * java -Xmx4g -cp target/classes:target/test-classes:h2.jar:... com.nwg.ezpay.benchmark.HibernateBenchmark 200000
+ * </pre>
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public class HibernateBenchmark {
+
+	private static final long RUN_MILLIS = 3_000;
+	private static final int HOT_IDS = 1_000;
+	private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+	private static int databases;
+
+	public static void main(String[] args) throws Exception {
+		int rows = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+		System.out.println("store                     load rows/s      gets/s  hot gets/s   updates/s    days/s");
+		TransactionDAOImpl.transactionsList.clear();
+		TransactionDAOImpl memoryDAO = new TransactionDAOImpl();
+		long started = System.nanoTime();
+		for (int i = 0; i < rows; i++) {
+			memoryDAO.createTransaction(BenchmarkData.transaction(i));
+		}
+		run("TransactionDAOImpl", memoryDAO, rows, rows * 1e9 / (System.nanoTime() - started));
+		TransactionDAOImpl.transactionsList.clear();
+
+		try (JdbcTransactionDAO jdbcDAO = new JdbcTransactionDAO(newPool())) {
+			run("JdbcTransactionDAO", jdbcDAO, rows, jdbcDAO.insertAll(transactions(rows)).getRowsPerSecond());
+		}
+		SessionFactory sessionFactory = HibernateUtil.buildSessionFactory(newPool());
+		try {
+			HibernateTransactionDAO hibernateDAO = new HibernateTransactionDAO(sessionFactory);
+			run("HibernateTransactionDAO", hibernateDAO, rows, hibernateDAO.insertAll(transactions(rows)).getRowsPerSecond());
+		} finally {
+			sessionFactory.close();
+		}
+	}
+
+	private static void run(String store, ITransactionDAO iTransactionDAO, int rows, double loadRate) {
+		Random random = new Random(1);
+		double gets = rate(() -> iTransactionDAO.getTransactionById(BenchmarkData.id(random.nextInt(rows))));
+		double hotGets = rate(() -> iTransactionDAO.getTransactionById(BenchmarkData.id(random.nextInt(HOT_IDS))));
+		double updates = rate(() -> {
+			Transaction transaction = BenchmarkData.transaction(random.nextInt(rows));
+			transaction.setStatus(BenchmarkData.STATUSES[random.nextInt(BenchmarkData.STATUSES.length)]);
+			iTransactionDAO.updateTransaction(transaction);
+		});
+		double days = rate(() -> iTransactionDAO.getTransactionByDate(
+				new Date(BenchmarkData.transaction(random.nextInt(rows)).getDate().getTime() / DAY_MILLIS * DAY_MILLIS)));
+		System.out.printf("%-24s %12.0f %11.0f %11.0f %11.0f %9.1f%n", store, loadRate, gets, hotGets, updates, days);
+	}
+
+	private static Iterable<Transaction> transactions(int count) {
+		return () -> IntStream.range(0, count).mapToObj(BenchmarkData::transaction).iterator();
+	}
+
+	private static ConnectionPool newPool() throws Exception {
+		String url = "jdbc:h2:mem:orm" + (++databases) + ";MODE=Oracle;DB_CLOSE_DELAY=-1";
+		String schema = new String(Files.readAllBytes(Paths.get("sql/createTable.sql")), StandardCharsets.UTF_8);
+		try (Connection connection = DriverManager.getConnection(url); Statement statement = connection.createStatement()) {
+			for (String sql : schema.replace("NUMBER(*,2)", "NUMBER(38,2)").split(";")) {
+				if (!sql.trim().isEmpty()) {
+					statement.execute(sql);
+				}
+			}
+		}
+		return new ConnectionPool(() -> DriverManager.getConnection(url), ConnectionPool.Settings.fromSystemProperties());
+	}
+
+	/**
+	 * @return operations per second of {@code operation} run back to back on the calling thread
+	 */
+	private static double rate(Runnable operation) {
+		for (int i = 0; i < 1_000; i++) {
+			operation.run();
+		}
+		long operations = 0;
+		long started = System.nanoTime();
+		long deadline = started + RUN_MILLIS * 1_000_000L;
+		long now;
+		do {
+			for (int i = 0; i < 16; i++) {
+				operation.run();
+			}
+			operations += 16;
+			now = System.nanoTime();
+		} while (now < deadline);
+		return operations * 1e9 / (now - started);
+	}
+}
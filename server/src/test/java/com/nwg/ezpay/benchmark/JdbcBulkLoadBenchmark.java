@@ -0,0 +1,88 @@
+package com.nwg.ezpay.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.stream.IntStream;
+
+import com.nwg.ezpay.entity.Transaction;
+import com.nwg.ezpay.repository.JdbcTransactionDAO;
+import com.nwg.ezpay.repository.jdbc.BulkWriteReport;
+import com.nwg.ezpay.repository.jdbc.ConnectionPool;
+
+/**
+ * Measures how fast {@link JdbcTransactionDAO} loads rows into an embedded H2
+ * database in Oracle mode: one {@code createTransaction} call per row, then
+ * {@link JdbcTransactionDAO#insertAll(Iterable, int)} at several batch sizes,
+ * and finally {@link JdbcTransactionDAO#upsertAll(Iterable, int)} over a mix of
+ * stored and new rows. Every run starts from an empty table. The single-row run
+ * is capped at 100,000 rows. Run from the {@code server} directory with the H2
+ * jar on the class path:
+ *
+ * <pre>
+ * java -Xmx4g -cp target/classes:target/test-classes:h2.jar com.nwg.ezpay.benchmark.JdbcBulkLoadBenchmark 1000000 1,100,1000,10000
+ * </pre>
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public class JdbcBulkLoadBenchmark {
+
+	private static final int SINGLE_ROW_LIMIT = 100_000;
+	private static int databases;
+
+	public static void main(String[] args) throws Exception {
+		int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+		String[] batchSizes = (args.length > 1 ? args[1] : "1,100,1000,10000").split(",");
+
+		System.out.println("write                          rows    batches       ms      rows/s");
+		try (JdbcTransactionDAO transactionDAO = newDAO()) {
+			int singleRows = Math.min(rows, SINGLE_ROW_LIMIT);
+			long started = System.nanoTime();
+			for (int i = 0; i < singleRows; i++) {
+				transactionDAO.createTransaction(BenchmarkData.transaction(i));
+			}
+			print("createTransaction", new BulkWriteReport(singleRows, singleRows, System.nanoTime() - started));
+		}
+		for (String batchSize : batchSizes) {
+			try (JdbcTransactionDAO transactionDAO = newDAO()) {
+				print("insertAll, batch " + batchSize, transactionDAO.insertAll(transactions(0, rows), Integer.parseInt(batchSize)));
+			}
+		}
+		try (JdbcTransactionDAO transactionDAO = newDAO()) {
+			transactionDAO.insertAll(transactions(0, rows / 2));
+			print("upsertAll, batch " + JdbcTransactionDAO.DEFAULT_BATCH_SIZE,
+					transactionDAO.upsertAll(transactions(rows / 4, rows), JdbcTransactionDAO.DEFAULT_BATCH_SIZE));
+		}
+	}
+
+	/**
+	 * @return the synthetic transactions {@code first} to {@code first + count - 1}, built as they are iterated
+	 */
+	private static Iterable<Transaction> transactions(int first, int count) {
+		return () -> IntStream.range(first, first + count).mapToObj(BenchmarkData::transaction).iterator();
+	}
+
+	private static JdbcTransactionDAO newDAO() throws Exception {
+		String url = "jdbc:h2:mem:bulk" + (++databases) + ";MODE=Oracle;DB_CLOSE_DELAY=-1";
+		String schema = new String(Files.readAllBytes(Paths.get("sql/createTable.sql")), StandardCharsets.UTF_8);
+		try (Connection connection = DriverManager.getConnection(url); Statement statement = connection.createStatement()) {
+			for (String sql : schema.replace("NUMBER(*,2)", "NUMBER(38,2)").split(";")) {
+				if (!sql.trim().isEmpty()) {
+					statement.execute(sql);
+				}
+			}
+		}
+		return new JdbcTransactionDAO(new ConnectionPool(() -> DriverManager.getConnection(url),
+				ConnectionPool.Settings.fromSystemProperties()));
+	}
+
+	private static void print(String write, BulkWriteReport report) {
+		System.out.printf("%-28s %8d %10d %8d %11.0f%n", write, report.getRows(), report.getBatches(),
+				report.getElapsedMillis(), report.getRowsPerSecond());
+	}
+}
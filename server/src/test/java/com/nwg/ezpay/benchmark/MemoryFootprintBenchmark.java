@@ -0,0 +1,51 @@
+package com.nwg.ezpay.benchmark;
+
+import com.nwg.ezpay.repository.ColumnarTransactionDAO;
+import com.nwg.ezpay.repository.TransactionDAOImpl;
+
+/**
+ * Compares the heap used per row by {@link TransactionDAOImpl}, which holds one
+ * {@code Transaction} object per row plus its indexes, with
+ * {@link ColumnarTransactionDAO}, which holds primitive columns.
+ *
+ * <p>Run from the {@code server} directory with enough heap for the row count:</p>
+ *
+ * <pre>
+ * java -Xmx8g -cp target/classes:target/test-classes com.nwg.ezpay.benchmark.MemoryFootprintBenchmark 10000000
+ * </pre>
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public class MemoryFootprintBenchmark {
+
+	public static void main(String[] args) {
+		int rows = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+		TransactionDAOImpl.transactionsList.clear();
+
+		long baseline = BenchmarkData.usedHeap();
+		ColumnarTransactionDAO columnar = new ColumnarTransactionDAO(rows);
+		for (int i = 0; i < rows; i++) {
+			columnar.createTransaction(BenchmarkData.transaction(i));
+		}
+		long columnarBytes = BenchmarkData.usedHeap() - baseline;
+		report("ColumnarTransactionDAO", columnar.size(), columnarBytes);
+		columnar = null;
+
+		baseline = BenchmarkData.usedHeap();
+		TransactionDAOImpl objects = new TransactionDAOImpl();
+		for (int i = 0; i < rows; i++) {
+			objects.createTransaction(BenchmarkData.transaction(i));
+		}
+		long objectBytes = BenchmarkData.usedHeap() - baseline;
+		report("TransactionDAOImpl", TransactionDAOImpl.transactionsList.size(), objectBytes);
+		TransactionDAOImpl.transactionsList.clear();
+
+		System.out.printf("Columnar store uses %.1fx less heap per row%n", (double) objectBytes / columnarBytes);
+	}
+
+	private static void report(String store, int rows, long bytes) {
+		System.out.printf("%-24s %,12d rows %,10d MB %8.1f bytes/row%n", store, rows, bytes >> 20, (double) bytes / rows);
+	}
+}
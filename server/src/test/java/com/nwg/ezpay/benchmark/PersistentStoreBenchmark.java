@@ -0,0 +1,134 @@
+package com.nwg.ezpay.benchmark;
+
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.nwg.ezpay.entity.Transaction;
+import com.nwg.ezpay.repository.ITransactionDAO;
+import com.nwg.ezpay.repository.PersistentTransactionDAO;
+import com.nwg.ezpay.repository.TransactionDAOImpl;
+
+/**
+ * Compares read and write throughput of {@link PersistentTransactionDAO}, which
+ * swaps in immutable tries with a compare-and-set, with the mutable, lock-striped
+ * {@link TransactionDAOImpl}.
+ *
+ * <p>Each store is loaded with the same synthetic rows and then measured for
+ * creates, updates, lookups by ID and one-week date-range queries, each on its
+ * own for a fixed time, and finally for date-range queries run by reader threads
+ * while one thread keeps updating. The write-ahead log isn't attached, so only the
+ * in-memory structures are compared. Run from the {@code server} directory:</p>
+ *
+ * <pre>
+ * java -Xmx4g -cp target/classes:target/test-classes com.nwg.ezpay.benchmark.PersistentStoreBenchmark 1000000 4
+ * </pre>
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public class PersistentStoreBenchmark {
+
+	private static final long RUN_MILLIS = 3_000;
+	private static final long WEEK_MILLIS = 7L * 24 * 60 * 60 * 1000;
+
+	public static void main(String[] args) throws Exception {
+		int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+		int readers = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+
+		System.out.println("store                 load s   creates/s   updates/s    gets/s  ranges/s  ranges/s (+writer)");
+		TransactionDAOImpl.transactionsList.clear();
+		run("TransactionDAOImpl", new TransactionDAOImpl(), rows, readers);
+		TransactionDAOImpl.transactionsList.clear();
+		run("PersistentTransactionDAO", new PersistentTransactionDAO(), rows, readers);
+	}
+
+	private static void run(String store, ITransactionDAO iTransactionDAO, int rows, int readers) throws Exception {
+		long started = System.nanoTime();
+		for (int i = 0; i < rows; i++) {
+			iTransactionDAO.createTransaction(BenchmarkData.transaction(i));
+		}
+		double loadSeconds = (System.nanoTime() - started) / 1e9;
+
+		int[] next = { rows };
+		double creates = rate(() -> iTransactionDAO.createTransaction(BenchmarkData.transaction(next[0]++)));
+		Random random = new Random(1);
+		double updates = rate(() -> {
+			Transaction transaction = BenchmarkData.transaction(random.nextInt(rows));
+			transaction.setStatus(BenchmarkData.STATUSES[random.nextInt(BenchmarkData.STATUSES.length)]);
+			iTransactionDAO.updateTransaction(transaction);
+		});
+		double gets = rate(() -> iTransactionDAO.getTransactionById(BenchmarkData.id(random.nextInt(rows))));
+		double ranges = rate(() -> weekQuery(iTransactionDAO, random));
+		double rangesWithWriter = rangesWithWriter(iTransactionDAO, rows, readers);
+
+		System.out.printf("%-24s %6.1f %11.0f %11.0f %9.0f %9.1f %9.1f%n", store, loadSeconds, creates, updates, gets,
+				ranges, rangesWithWriter);
+	}
+
+	/**
+	 * @return date-range queries per second of all readers while one thread updates random rows
+	 */
+	private static double rangesWithWriter(ITransactionDAO iTransactionDAO, int rows, int readers) throws InterruptedException {
+		AtomicBoolean running = new AtomicBoolean(true);
+		LongAdder queries = new LongAdder();
+		Thread writer = new Thread(() -> {
+			Random random = new Random(2);
+			while (running.get()) {
+				Transaction transaction = BenchmarkData.transaction(random.nextInt(rows));
+				transaction.setAmount(random.nextInt(1_000_000) / 100.0);
+				iTransactionDAO.updateTransaction(transaction);
+			}
+		});
+		Thread[] threads = new Thread[readers];
+		for (int i = 0; i < readers; i++) {
+			int seed = i;
+			threads[i] = new Thread(() -> {
+				Random random = new Random(seed);
+				while (running.get()) {
+					weekQuery(iTransactionDAO, random);
+					queries.increment();
+				}
+			});
+		}
+		writer.start();
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		Thread.sleep(RUN_MILLIS);
+		running.set(false);
+		writer.join();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		return queries.sum() * 1000.0 / RUN_MILLIS;
+	}
+
+	private static void weekQuery(ITransactionDAO iTransactionDAO, Random random) {
+		long from = BenchmarkData.transaction(random.nextInt(1_000)).getDate().getTime();
+		iTransactionDAO.getTransactionByDateRange(new Date(from), new Date(from + WEEK_MILLIS));
+	}
+
+	/**
+	 * @return operations per second of {@code operation} run back to back on the calling thread
+	 */
+	private static double rate(Runnable operation) {
+		for (int i = 0; i < 1_000; i++) {
+			operation.run();
+		}
+		long operations = 0;
+		long started = System.nanoTime();
+		long deadline = started + RUN_MILLIS * 1_000_000L;
+		long now;
+		do {
+			for (int i = 0; i < 64; i++) {
+				operation.run();
+			}
+			operations += 64;
+			now = System.nanoTime();
+		} while (now < deadline);
+		return operations * 1e9 / (now - started);
+	}
+}
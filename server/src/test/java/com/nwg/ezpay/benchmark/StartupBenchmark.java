@@ -0,0 +1,77 @@
+package com.nwg.ezpay.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+import com.nwg.ezpay.repository.storage.LoadReport;
+import com.nwg.ezpay.repository.storage.TransactionCsvReader;
+
+/**
+ * Measures how long it takes to load the transactions at startup: parsing the CSV
+ * file (and writing the snapshot alongside, as the first start after a CSV change
+ * does) against reading the binary snapshot (as every later start does).
+ *
+ * <p>Every load builds each {@code Transaction} and hands it to a sink that only
+ * counts it, so the numbers are the cost of getting rows off disk, not of
+ * indexing them, and large row counts fit in a small heap. Run from the
+ * {@code server} directory; the files are written to the temporary directory:</p>
+ *
+ * <pre>
+ * java -cp target/classes:target/test-classes com.nwg.ezpay.benchmark.StartupBenchmark 1000000 10000000
+ * </pre>
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public class StartupBenchmark {
+
+	private static final int ROUNDS = 3;
+
+	public static void main(String[] args) throws IOException {
+		String[] rowCounts = args.length > 0 ? args : new String[] { "1000000", "10000000" };
+		for (String rowCount : rowCounts) {
+			run(Integer.parseInt(rowCount));
+		}
+	}
+
+	private static void run(int rows) throws IOException {
+		File csvFile = File.createTempFile("ezpay-startup", ".csv");
+		File snapshotFile = new File(csvFile.getPath() + ".snapshot");
+		try {
+			try (BufferedWriter writer = new BufferedWriter(new FileWriter(csvFile), 1 << 16)) {
+				for (int i = 0; i < rows; i++) {
+					writer.write(BenchmarkData.csvLine(i));
+					writer.write('\n');
+				}
+			}
+			long csvMillis = Long.MAX_VALUE;
+			long snapshotMillis = Long.MAX_VALUE;
+			for (int round = 0; round < ROUNDS; round++) {
+				snapshotFile.delete();
+				csvMillis = Math.min(csvMillis, load(csvFile, snapshotFile, csvFile).getElapsedMillis());
+				snapshotMillis = Math.min(snapshotMillis, load(csvFile, snapshotFile, snapshotFile).getElapsedMillis());
+			}
+			System.out.printf("%,11d rows  CSV %,7d MB %,8d ms   snapshot %,7d MB %,8d ms   %.1fx faster%n", rows,
+					csvFile.length() >> 20, csvMillis, snapshotFile.length() >> 20, snapshotMillis,
+					(double) csvMillis / Math.max(snapshotMillis, 1));
+		} finally {
+			csvFile.delete();
+			snapshotFile.delete();
+		}
+	}
+
+	private static LoadReport load(File csvFile, File snapshotFile, File expectedSource) throws IOException {
+		long[] count = new long[1];
+		LoadReport loadReport = TransactionCsvReader.load(csvFile.getPath(), snapshotFile.getPath(), transaction -> {
+			count[0]++;
+			return true;
+		});
+		if (!loadReport.getPath().equals(expectedSource.getPath()) || count[0] != loadReport.getRows()) {
+			throw new IllegalStateException("Unexpected load: " + loadReport);
+		}
+		return loadReport;
+	}
+}
@@ -0,0 +1,102 @@
+package com.nwg.ezpay.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+
+import com.nwg.ezpay.entity.Transaction;
+import com.nwg.ezpay.repository.storage.TransactionLog;
+
+/**
+ * Measures create throughput and latency of the write-ahead log for a number of
+ * concurrent writers, with group commit off (one {@code fsync} per record) and
+ * with a few batch size and linger settings.
+ *
+ * <p>Every writer logs creates back to back and waits for each to be durable, as
+ * {@code createTransactionService} does. The log is written to the temporary
+ * directory, so the numbers depend on the disk behind it. Run from the
+ * {@code server} directory:</p>
+ *
+ * <pre>
+ * java -cp target/classes:target/test-classes com.nwg.ezpay.benchmark.WalGroupCommitBenchmark 2000
+ * </pre>
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+public class WalGroupCommitBenchmark {
+
+	private static final int[] WRITERS = { 1, 4, 16, 64 };
+	// { batch size, linger micros }; a batch size of 1 is an fsync per record.
+	private static final int[][] SETTINGS = { { 1, 0 }, { 512, 0 }, { 512, 200 }, { 64, 1000 } };
+
+	public static void main(String[] args) throws Exception {
+		int recordsPerRun = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+		File baseline = File.createTempFile("ezpay-wal", ".csv");
+		try {
+			System.out.println("writers  batch  linger(us)   creates/sec   p50 us   p99 us  records/fsync");
+			for (int[] setting : SETTINGS) {
+				for (int writers : WRITERS) {
+					run(baseline, writers, recordsPerRun, new TransactionLog.GroupCommit(setting[0], setting[1]), setting);
+				}
+			}
+		} finally {
+			baseline.delete();
+		}
+	}
+
+	private static void run(File baseline, int writers, int recordsPerRun, TransactionLog.GroupCommit groupCommit,
+			int[] setting) throws Exception {
+		File logFile = new File(baseline.getPath() + ".wal");
+		logFile.delete();
+		int perWriter = Math.max(1, recordsPerRun / writers);
+		long[][] latencies = new long[writers][perWriter];
+		try (TransactionLog log = TransactionLog.open(logFile.getPath(), baseline, null, groupCommit)) {
+			CountDownLatch start = new CountDownLatch(1);
+			Thread[] threads = new Thread[writers];
+			IOException[] failure = new IOException[1];
+			for (int w = 0; w < writers; w++) {
+				int writer = w;
+				threads[w] = new Thread(() -> {
+					try {
+						start.await();
+						for (int i = 0; i < perWriter; i++) {
+							Transaction transaction = new Transaction("TRX" + writer + "-" + i, "upi", 100.0 + i, "initiated",
+									new Date(1721466000000L + i));
+							long began = System.nanoTime();
+							log.logCreate(transaction);
+							latencies[writer][i] = System.nanoTime() - began;
+						}
+					} catch (IOException e) {
+						failure[0] = e;
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				});
+				threads[w].start();
+			}
+			long began = System.nanoTime();
+			start.countDown();
+			for (Thread thread : threads) {
+				thread.join();
+			}
+			long elapsed = System.nanoTime() - began;
+			if (failure[0] != null) {
+				throw failure[0];
+			}
+			long[] all = new long[writers * perWriter];
+			for (int w = 0; w < writers; w++) {
+				System.arraycopy(latencies[w], 0, all, w * perWriter, perWriter);
+			}
+			Arrays.sort(all);
+			System.out.printf("%7d  %5d  %10d  %12.0f  %7d  %7d  %13.1f%n", writers, setting[0], setting[1],
+					all.length * 1e9 / elapsed, all[all.length / 2] / 1000, all[(int) (all.length * 0.99)] / 1000,
+					(double) log.getRecords() / Math.max(log.getBatches(), 1));
+		} finally {
+			logFile.delete();
+		}
+	}
+}
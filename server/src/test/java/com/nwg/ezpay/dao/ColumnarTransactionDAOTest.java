@@ -0,0 +1,22 @@
+package com.nwg.ezpay.dao;
+
+import com.nwg.ezpay.repository.ColumnarTransactionDAO;
+import com.nwg.ezpay.repository.ITransactionDAO;
+
+
+/**
+ * Description: Runs the {@link ITransactionDAO} contract against {@link ColumnarTransactionDAO}.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+
+
+class ColumnarTransactionDAOTest extends TransactionDAOContractTest {
+
+    @Override
+    protected ITransactionDAO newTransactionDAO() {
+        return new ColumnarTransactionDAO();
+    }
+}
@@ -0,0 +1,295 @@
+package com.nwg.ezpay.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.nwg.ezpay.repository.jdbc.ConnectionPool;
+import com.nwg.ezpay.repository.jdbc.LatencyHistogram;
+import com.nwg.ezpay.repository.jdbc.PoolMetrics;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Description: Checks the sizing, validation, eviction, leak detection, statement
+ * cache and metrics of {@link ConnectionPool} on an in-memory H2 database.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+
+
+class ConnectionPoolTest {
+
+    private ConnectionPool pool;
+
+    private ConnectionPool newPool(int minIdle, int maxSize, long borrowTimeoutMillis, long idleTimeoutMillis,
+            long validateAfterMillis, long leakThresholdMillis, int statementCacheSize) throws SQLException, IOException {
+        pool = JdbcTransactionDAOTest.newPool(new ConnectionPool.Settings(minIdle, maxSize, borrowTimeoutMillis,
+                idleTimeoutMillis, validateAfterMillis, leakThresholdMillis, statementCacheSize));
+        return pool;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+
+    @Test
+    @DisplayName("Pool - never opens more than the maximum and times out when all are in use")
+    void testMaxSizeAndTimeout() throws Exception {
+        newPool(0, 2, 100, 60000, 500, 0, 8);
+
+        //Test Case 1: Borrowing up to the maximum opens a connection each
+        ConnectionPool.Lease first = pool.borrow();
+        ConnectionPool.Lease second = pool.borrow();
+        PoolMetrics metrics = pool.getMetrics();
+        assertEquals(2, metrics.getActive());
+        assertEquals(2, metrics.getTotal());
+
+        //Test Case 2: One more borrow gives up after the borrow timeout
+        long started = System.nanoTime();
+        assertThrows(SQLTimeoutException.class, () -> pool.borrow());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) >= 100);
+        assertEquals(1, pool.getMetrics().getTimeouts());
+
+        //Test Case 3: A returned connection is lent out again rather than a new one opened
+        Connection connection = second.getConnection();
+        second.close();
+        second.close();
+        try (ConnectionPool.Lease third = pool.borrow()) {
+            assertSame(connection, third.getConnection());
+        }
+        first.close();
+        metrics = pool.getMetrics();
+        assertEquals(0, metrics.getActive());
+        assertEquals(2, metrics.getIdle());
+        assertEquals(2, metrics.getCreated());
+        assertThrows(IllegalStateException.class, () -> first.getConnection());
+    }
+
+    @Test
+    @DisplayName("Pool - a waiting borrower gets the next connection returned")
+    void testWaiterIsHandedReturnedConnection() throws Exception {
+        newPool(0, 1, 10000, 60000, 500, 0, 8);
+        ConnectionPool.Lease held = pool.borrow();
+
+        //Test Case 1: The second borrower waits while the only connection is held
+        CompletableFuture<Connection> waiter = CompletableFuture.supplyAsync(() -> {
+            try (ConnectionPool.Lease lease = pool.borrow()) {
+                return lease.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (pool.getMetrics().getWaiting() == 0) {
+            Thread.sleep(1);
+        }
+        Thread.sleep(20);
+        assertFalse(waiter.isDone());
+
+        //Test Case 2: Returning the connection hands it to the waiter
+        Connection connection = held.getConnection();
+        held.close();
+        assertSame(connection, waiter.get(10, TimeUnit.SECONDS));
+        PoolMetrics metrics = pool.getMetrics();
+        assertEquals(0, metrics.getWaiting());
+        assertTrue(metrics.getTotalWaitMillis() >= 20);
+        assertEquals(1, metrics.getCreated());
+    }
+
+    @Test
+    @DisplayName("Pool - broken idle connections are replaced when borrowed")
+    void testValidationOnBorrow() throws Exception {
+        newPool(0, 2, 1000, 60000, 0, 0, 8);
+        Connection broken;
+        try (ConnectionPool.Lease lease = pool.borrow()) {
+            broken = lease.getConnection();
+        }
+        broken.close();
+
+        //Test Case 1: The closed connection fails validation and a new one is opened
+        try (ConnectionPool.Lease lease = pool.borrow()) {
+            assertTrue(lease.getConnection() != broken);
+            assertTrue(lease.getConnection().isValid(1));
+        }
+        PoolMetrics metrics = pool.getMetrics();
+        assertEquals(1, metrics.getValidationFailures());
+        assertEquals(2, metrics.getCreated());
+        assertEquals(1, metrics.getDestroyed());
+        assertEquals(1, metrics.getTotal());
+
+        //Test Case 2: A connection closed by its borrower is dropped when returned
+        try (ConnectionPool.Lease lease = pool.borrow()) {
+            lease.getConnection().close();
+        }
+        assertEquals(0, pool.getMetrics().getTotal());
+    }
+
+    @Test
+    @DisplayName("Pool - idle connections are closed down to the minimum and topped back up")
+    void testIdleEvictionAndMinIdle() throws Exception {
+        newPool(1, 4, 1000, 0, 500, 0, 8);
+
+        //Test Case 1: Maintenance opens connections up to the minimum
+        pool.maintain();
+        assertEquals(1, pool.getMetrics().getIdle());
+
+        //Test Case 2: Idle connections past the idle timeout are closed, keeping the minimum
+        ConnectionPool.Lease[] leases = new ConnectionPool.Lease[3];
+        for (int i = 0; i < leases.length; i++) {
+            leases[i] = pool.borrow();
+        }
+        for (ConnectionPool.Lease lease : leases) {
+            lease.close();
+        }
+        assertEquals(3, pool.getMetrics().getIdle());
+        Thread.sleep(5);
+        pool.maintain();
+        PoolMetrics metrics = pool.getMetrics();
+        assertEquals(1, metrics.getIdle());
+        assertEquals(1, metrics.getTotal());
+        assertEquals(2, metrics.getDestroyed());
+
+        //Test Case 3: Connections lent out are never evicted
+        try (ConnectionPool.Lease lease = pool.borrow()) {
+            pool.maintain();
+            assertTrue(lease.getConnection().isValid(1));
+            assertEquals(1, pool.getMetrics().getActive());
+            assertEquals(1, pool.getMetrics().getIdle());
+        }
+    }
+
+    @Test
+    @DisplayName("Pool - connections lent out do not count towards the idle minimum")
+    void testIdleEvictionWithLeases() throws Exception {
+        newPool(2, 4, 1000, 0, 500, 0, 8);
+        ConnectionPool.Lease[] leases = new ConnectionPool.Lease[4];
+        for (int i = 0; i < leases.length; i++) {
+            leases[i] = pool.borrow();
+        }
+        leases[2].close();
+        leases[3].close();
+        Thread.sleep(5);
+
+        //Test Case 1: Idle connections at the minimum are kept while others are lent out
+        pool.maintain();
+        PoolMetrics metrics = pool.getMetrics();
+        assertEquals(2, metrics.getActive());
+        assertEquals(2, metrics.getIdle());
+        assertEquals(0, metrics.getDestroyed());
+        assertEquals(4, metrics.getCreated());
+
+        //Test Case 2: Once they are returned, the idle ones above the minimum are closed
+        leases[0].close();
+        leases[1].close();
+        Thread.sleep(5);
+        pool.maintain();
+        metrics = pool.getMetrics();
+        assertEquals(2, metrics.getIdle());
+        assertEquals(2, metrics.getDestroyed());
+        assertEquals(4, metrics.getCreated());
+    }
+
+    @Test
+    @DisplayName("Pool - a connection held past the leak threshold is reported once")
+    void testLeakDetection() throws Exception {
+        newPool(0, 2, 1000, 60000, 500, 10, 8);
+        try (ConnectionPool.Lease quick = pool.borrow()) {
+            pool.maintain();
+            assertTrue(quick.getConnection().isValid(1));
+            assertEquals(0, pool.getMetrics().getLeaks());
+        }
+        ConnectionPool.Lease leaked = pool.borrow();
+
+        //Test Case 1: The held connection is counted as a leak after the threshold
+        Thread.sleep(30);
+        pool.maintain();
+        assertEquals(1, pool.getMetrics().getLeaks());
+
+        //Test Case 2: It is not reported again
+        pool.maintain();
+        assertEquals(1, pool.getMetrics().getLeaks());
+        leaked.close();
+        assertEquals(0, pool.getMetrics().getActive());
+    }
+
+    @Test
+    @DisplayName("Pool - statements are cached per connection and transactions rolled back on return")
+    void testStatementCacheAndReset() throws Exception {
+        newPool(0, 1, 1000, 60000, 500, 0, 2);
+
+        //Test Case 1: The least recently used statement is closed once the cache is full
+        try (ConnectionPool.Lease lease = pool.borrow()) {
+            PreparedStatement first = lease.prepare("SELECT 1 FROM dual");
+            PreparedStatement second = lease.prepare("SELECT 2 FROM dual");
+            assertSame(first, lease.prepare("SELECT 1 FROM dual"));
+            lease.prepare("SELECT 3 FROM dual");
+            assertTrue(second.isClosed());
+            assertFalse(first.isClosed());
+        }
+        PoolMetrics metrics = pool.getMetrics();
+        assertEquals(3, metrics.getStatementsPrepared());
+        assertEquals(1, metrics.getStatementCacheHits());
+
+        //Test Case 2: Work left uncommitted is rolled back when the connection is returned
+        try (ConnectionPool.Lease lease = pool.borrow()) {
+            lease.getConnection().setAutoCommit(false);
+            lease.getConnection().createStatement().executeUpdate("INSERT INTO transaction_tab (transaction_id, type, amount,"
+                    + " status, tr_date) VALUES ('TRX900', 'upi', 1, 'completed', CURRENT_TIMESTAMP)");
+        }
+        try (ConnectionPool.Lease lease = pool.borrow()) {
+            assertTrue(lease.getConnection().getAutoCommit());
+            try (ResultSet resultSet = lease.getConnection().createStatement()
+                    .executeQuery("SELECT COUNT(*) FROM transaction_tab")) {
+                resultSet.next();
+                assertEquals(0, resultSet.getInt(1));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Pool - borrow latencies are recorded in the histogram")
+    void testBorrowLatencyHistogram() throws Exception {
+        newPool(0, 2, 1000, 60000, 500, 0, 8);
+        for (int i = 0; i < 50; i++) {
+            pool.borrow().close();
+        }
+
+        //Test Case 1: Every borrow is recorded and the percentiles are ordered
+        LatencyHistogram latency = pool.getMetrics().getBorrowLatency();
+        assertEquals(50, latency.getCount());
+        assertTrue(latency.getPercentileNanos(50) <= latency.getPercentileNanos(99));
+        assertTrue(latency.getPercentileNanos(99) <= latency.getMaxNanos());
+
+        //Test Case 2: Buckets are powers of two nanoseconds
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1);
+        histogram.record(1000);
+        histogram.record(1024);
+        histogram.record(1025);
+        assertEquals(1, histogram.getBuckets()[0]);
+        assertEquals(2, histogram.getBuckets()[10]);
+        assertEquals(1, histogram.getBuckets()[11]);
+        assertEquals(1024, histogram.getPercentileNanos(75));
+        assertEquals(1025, histogram.getPercentileNanos(100));
+    }
+}
@@ -0,0 +1,101 @@
+package com.nwg.ezpay.dao;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.nwg.ezpay.repository.storage.CsvRecord;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+
+/**
+ * Description: Unit tests for {@link CsvRecord}, the byte parser used to load the
+ * CSV files. Results are compared with what {@code Double.parseDouble} and
+ * {@code java.time} give for the same text.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+
+
+class CsvRecordTest {
+
+    private static CsvRecord record(CsvRecord record, String line) {
+        ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+        record.reset(buffer, 0, buffer.limit());
+        return record;
+    }
+
+
+    @Test
+    @DisplayName("Split fields - counts empty fields and decodes strings")
+    void testFields() {
+
+        //Test Case 1: Empty fields are kept
+        CsvRecord record = record(new CsvRecord(), "TS001,failed,,2024-07-20 10:00:00");
+        assertEquals(4, record.fieldCount());
+        assertEquals("", record.getString(2));
+        assertEquals("failed", record.getSharedString(1));
+
+        //Test Case 2: Shared strings come back as the same instance
+        String first = record.getSharedString(1);
+        record(record, "TS002,failed,timeout,2024-07-20 10:00:00");
+        assertSame(first, record.getSharedString(1));
+        assertEquals("timeout", record.getSharedString(2));
+    }
+
+
+    @Test
+    @DisplayName("Fixed-point amounts - plain decimals are parsed, anything else is rejected")
+    void testGetFixedPoint() {
+        CsvRecord record = new CsvRecord();
+
+        //Test Case 1: Plain decimals with up to two decimals
+        assertEquals(25050L, record(record, "250.50").getFixedPoint(0, 2));
+        assertEquals(25050L, record(record, "250.5").getFixedPoint(0, 2));
+        assertEquals(300L, record(record, "3").getFixedPoint(0, 2));
+        assertEquals(-50L, record(record, "-.5").getFixedPoint(0, 2));
+
+        //Test Case 2: Values the fixed-point form can't hold exactly
+        assertEquals(CsvRecord.NOT_FIXED_POINT, record(record, "0.125").getFixedPoint(0, 2));
+        assertEquals(CsvRecord.NOT_FIXED_POINT, record(record, "1e3").getFixedPoint(0, 2));
+        assertEquals(CsvRecord.NOT_FIXED_POINT, record(record, "").getFixedPoint(0, 2));
+        assertEquals(CsvRecord.NOT_FIXED_POINT, record(record, "-").getFixedPoint(0, 2));
+        assertEquals(CsvRecord.NOT_FIXED_POINT, record(record, "1.2.3").getFixedPoint(0, 2));
+        assertEquals(CsvRecord.NOT_FIXED_POINT, record(record, "12345678901234567.12").getFixedPoint(0, 2));
+    }
+
+
+    @Test
+    @DisplayName("Timestamps - match java.time across daylight-saving changes and reject invalid dates")
+    void testGetEpochMillis() throws ParseException {
+        ZoneId london = ZoneId.of("Europe/London");
+        CsvRecord record = new CsvRecord(london);
+        String[] timestamps = {
+                "2024-07-20 10:00:00", "2024-01-15 23:59:59", "2024-02-29 12:00:00", "1969-12-31 23:00:00",
+                // Clocks go forward at 01:00 on 2024-03-31 and back at 02:00 on 2024-10-27.
+                "2024-03-31 00:59:59", "2024-03-31 01:30:00", "2024-03-31 02:00:00",
+                "2024-10-27 00:59:59", "2024-10-27 01:30:00", "2024-10-27 02:00:00", "2024-07-20 10:00:00" };
+
+        //Test Case 1: Same instant as LocalDateTime.atZone, in gaps and overlaps too
+        for (String timestamp : timestamps) {
+            long expected = LocalDateTime.parse(timestamp.replace(' ', 'T')).atZone(london).toInstant().toEpochMilli();
+            assertEquals(expected, record(record, "X," + timestamp).getEpochMillis(1));
+        }
+
+        //Test Case 2: Invalid timestamps throw ParseException
+        assertThrows(ParseException.class, () -> record(record, "2024-02-30 10:00:00").getEpochMillis(0));
+        assertThrows(ParseException.class, () -> record(record, "2024-07-20 24:00:00").getEpochMillis(0));
+        assertThrows(ParseException.class, () -> record(record, "2024-7-20 10:00:00").getEpochMillis(0));
+        assertThrows(ParseException.class, () -> record(record, "20-07-2024 10:00:00").getEpochMillis(0));
+    }
+}
@@ -0,0 +1,137 @@
+package com.nwg.ezpay.dao;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.nwg.ezpay.entity.Transaction;
+import com.nwg.ezpay.entity.TransactionStatus;
+import com.nwg.ezpay.exception.DataAccessException;
+import com.nwg.ezpay.repository.HibernateTransactionDAO;
+import com.nwg.ezpay.repository.ITransactionDAO;
+import com.nwg.ezpay.repository.jdbc.BulkWriteReport;
+import com.nwg.ezpay.repository.jdbc.ConnectionPool;
+import com.nwg.ezpay.util.HibernateUtil;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Description: Runs the {@link ITransactionDAO} contract against {@link HibernateTransactionDAO}
+ * on an in-memory H2 database, and checks the second-level cache, the bulk writes and the
+ * mapping of {@link TransactionStatus}.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+
+
+class HibernateTransactionDAOTest extends TransactionDAOContractTest {
+
+    private SessionFactory sessionFactory;
+
+    @Override
+    protected ITransactionDAO newTransactionDAO() {
+        try {
+            sessionFactory = HibernateUtil.buildSessionFactory(
+                    JdbcTransactionDAOTest.newPool(ConnectionPool.Settings.fromSystemProperties()));
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("Could not create the test database", e);
+        }
+        return new HibernateTransactionDAO(sessionFactory, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionFactory.close();
+    }
+
+    private static List<Transaction> newTransactions(int first, int count, String status) {
+        List<Transaction> transactions = new ArrayList<Transaction>();
+        for (int i = first; i < first + count; i++) {
+            transactions.add(new Transaction(String.format("HBN%05d", i), i % 2 == 0 ? "upi" : "bank", i / 100.0, status,
+                    new Date(1704067200000L + i * 60000L)));
+        }
+        return transactions;
+    }
+
+
+    @Test
+    @DisplayName("Hibernate - repeated lookups by ID are served by the second-level cache")
+    void testSecondLevelCache() {
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        sessionFactory.getCache().evictAllRegions();
+
+        //Test Case 1: The first lookup misses and fills the cache, the next ones hit it
+        for (int i = 0; i < 5; i++) {
+            assertEquals("TRX001", transactionDAO.getTransactionById("TRX001").getTransactionId());
+        }
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(Transaction.CACHE_REGION);
+        assertEquals(1, region.getMissCount());
+        assertEquals(4, region.getHitCount());
+        assertEquals(1, statistics.getEntityLoadCount());
+
+        //Test Case 2: Updates and deletes reach the cached entry
+        Transaction changed = transactionDAO.getTransactionById("TRX001");
+        changed.setStatus("failed");
+        transactionDAO.updateTransaction(changed);
+        assertEquals("failed", transactionDAO.getTransactionById("TRX001").getStatus());
+        transactionDAO.deleteTransaction("TRX001");
+        assertNull(transactionDAO.getTransactionById("TRX001"));
+    }
+
+    @Test
+    @DisplayName("Hibernate - bulk writes commit per batch and keep the cache current")
+    void testBulkWrites() {
+        HibernateTransactionDAO hibernateDAO = (HibernateTransactionDAO) transactionDAO;
+
+        //Test Case 1: 25 rows in batches of 10 take three batches
+        BulkWriteReport report = hibernateDAO.insertAll(newTransactions(0, 25, "initiated"));
+        assertEquals(25, report.getRows());
+        assertEquals(3, report.getBatches());
+        assertEquals(26, transactionDAO.countTransactionByStatus("initiated"));
+
+        //Test Case 2: An upsert updates stored rows, including cached ones, and inserts new ones
+        assertEquals("initiated", transactionDAO.getTransactionById("HBN00020").getStatus());
+        report = hibernateDAO.upsertAll(newTransactions(20, 10, "completed"));
+        assertEquals(10, report.getRows());
+        assertEquals("completed", transactionDAO.getTransactionById("HBN00020").getStatus());
+        assertEquals("completed", transactionDAO.getTransactionById("HBN00029").getStatus());
+        assertEquals(21, transactionDAO.countTransactionByStatus("initiated"));
+
+        //Test Case 3: A failed batch leaves the earlier batches committed
+        List<Transaction> duplicates = newTransactions(100, 15, "pending");
+        duplicates.set(12, duplicates.get(0));
+        assertThrows(DataAccessException.class, () -> hibernateDAO.insertAll(duplicates));
+        assertEquals(10 + 1, transactionDAO.countTransactionByStatus("pending"));
+    }
+
+    @Test
+    @DisplayName("Hibernate - transaction statuses are mapped to their table")
+    void testTransactionStatusMapping() {
+        Date timestamp = new Date(1704067200000L);
+        sessionFactory.inTransaction(session -> session.persist(new TransactionStatus("TS001", "failed", "Insufficient funds", timestamp)));
+
+        //Test Case 1: The status reads back from a new session
+        TransactionStatus status = sessionFactory.fromSession(session -> session.find(TransactionStatus.class, "TS001"));
+        assertEquals("failed", status.getStatusType());
+        assertEquals("Insufficient funds", status.getReason());
+        assertEquals(timestamp.getTime(), status.getTimestamp().getTime());
+        assertTrue(sessionFactory.fromSession(session -> session.find(TransactionStatus.class, "TS002")) == null);
+    }
+}
@@ -0,0 +1,138 @@
+package com.nwg.ezpay.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.nwg.ezpay.entity.TransactionStatus;
+import com.nwg.ezpay.repository.index.DateIndex;
+import com.nwg.ezpay.repository.index.IndexedTable;
+import com.nwg.ezpay.repository.index.ValueDateIndex;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Description: Checks that {@link IndexedTable} and its {@link DateIndex} and
+ * {@link ValueDateIndex} stay in sync when a stored row is changed in place and
+ * handed back to the table, and that a value's rows are read in date order.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+
+
+class IndexedTableTest {
+
+    private static final long DAY = 86400000L;
+    private static final long FIRST = 1704067200000L;
+
+    private IndexedTable<TransactionStatus> table;
+    private DateIndex<TransactionStatus> dateIndex;
+    private ValueDateIndex<TransactionStatus> reasonIndex;
+
+    @BeforeEach
+    void setUp() {
+        table = new IndexedTable<TransactionStatus>(TransactionStatus::getTransactionStatusId);
+        dateIndex = new DateIndex<TransactionStatus>(TransactionStatus::getTimestamp);
+        table.addIndex(dateIndex);
+        reasonIndex = new ValueDateIndex<TransactionStatus>(TransactionStatus::getReason, TransactionStatus::getTimestamp);
+        table.addIndex(reasonIndex);
+        for (int i = 0; i < 3; i++) {
+            table.add(new TransactionStatus("TS00" + i, "completed", "Success", new Date(FIRST + i * DAY)));
+        }
+    }
+
+    private List<String> idsInRange(long fromMillis, long toMillis) {
+        List<String> ids = new ArrayList<String>();
+        dateIndex.forEachInRange(fromMillis, toMillis, position -> ids.add(table.get(position).getTransactionStatusId()));
+        return ids;
+    }
+
+    private List<String> idsWithReason(String reason, long fromMillis, int limit) {
+        List<String> ids = new ArrayList<String>();
+        reasonIndex.forEachInRangeWhile(reason, fromMillis, Long.MAX_VALUE, instant -> ids.size() < limit,
+                position -> ids.add(table.get(position).getTransactionStatusId()));
+        return ids;
+    }
+
+
+    @Test
+    @DisplayName("Indexed table - a stored row changed in place is re-indexed under its new date")
+    void testReplaceSameInstance() {
+        TransactionStatus stored = table.getByKey("TS000");
+        stored.setTimestamp(new Date(FIRST + 10 * DAY));
+
+        //Test Case 1: Handing the changed row back removes it from its old date
+        assertSame(stored, table.replaceByKey(stored));
+        assertTrue(idsInRange(FIRST, FIRST + DAY).isEmpty());
+        assertEquals(List.of("TS001", "TS002", "TS000"), idsInRange(FIRST, FIRST + 11 * DAY));
+
+        //Test Case 2: Replacing it at its position by index does the same
+        stored.setTimestamp(new Date(FIRST + 20 * DAY));
+        table.set(table.positionOf("TS000"), stored);
+        assertTrue(idsInRange(FIRST + 10 * DAY, FIRST + 11 * DAY).isEmpty());
+        assertEquals(List.of("TS000"), idsInRange(FIRST + 20 * DAY, FIRST + 21 * DAY));
+    }
+
+    @Test
+    @DisplayName("Indexed table - removing a row changed in place leaves no entries behind")
+    void testRemoveChangedRow() {
+        TransactionStatus first = table.getByKey("TS000");
+        TransactionStatus last = table.getByKey("TS002");
+        first.setTimestamp(null);
+        last.setTimestamp(new Date(FIRST + 5 * DAY));
+
+        //Test Case 1: The removed row is taken out under the date it was indexed with
+        assertTrue(table.removeByKey("TS000"));
+        assertEquals(2, table.size());
+        assertTrue(idsInRange(FIRST, FIRST + DAY).isEmpty());
+
+        //Test Case 2: The last row, moved into the freed position, is indexed there under one date only
+        assertEquals(0, table.positionOf("TS002"));
+        assertEquals(List.of("TS001"), idsInRange(FIRST, FIRST + 3 * DAY));
+        assertEquals(List.of("TS002"), idsInRange(FIRST + 5 * DAY, FIRST + 6 * DAY));
+        table.replaceByKey(last);
+        assertEquals(List.of("TS001", "TS002"), idsInRange(FIRST, FIRST + 6 * DAY));
+    }
+
+    @Test
+    @DisplayName("Value date index - reads the rows of one value in date order and follows changes to them")
+    void testValueDateIndex() {
+        table.add(new TransactionStatus("TS003", "failed", "Timeout", new Date(FIRST + 4 * DAY)));
+        table.add(new TransactionStatus("TS004", "failed", "Timeout", new Date(FIRST + 3 * DAY)));
+
+        //Test Case 1: Only the rows of the value are read, in date order, from the given instant on
+        assertEquals(List.of("TS004", "TS003"), idsWithReason("Timeout", FIRST, 10));
+        assertEquals(List.of("TS003"), idsWithReason("Timeout", FIRST + 4 * DAY, 10));
+        assertEquals(List.of("TS000", "TS001", "TS002"), idsWithReason("Success", FIRST, 10));
+        assertTrue(idsWithReason("Declined", FIRST, 10).isEmpty());
+        assertTrue(idsWithReason(null, FIRST, 10).isEmpty());
+
+        //Test Case 2: The walk stops at the first date refused
+        assertEquals(List.of("TS000", "TS001"), idsWithReason("Success", FIRST, 2));
+
+        //Test Case 3: A row changed in place moves to its new value and date when handed back
+        TransactionStatus stored = table.getByKey("TS000");
+        stored.setReason("Timeout");
+        stored.setTimestamp(new Date(FIRST + 5 * DAY));
+        table.replaceByKey(stored);
+        assertEquals(List.of("TS001", "TS002"), idsWithReason("Success", FIRST, 10));
+        assertEquals(List.of("TS004", "TS003", "TS000"), idsWithReason("Timeout", FIRST, 10));
+
+        //Test Case 4: Removed rows are taken out under the value they were indexed with
+        table.getByKey("TS004").setReason("Declined");
+        assertTrue(table.removeByKey("TS004"));
+        assertTrue(table.removeByKey("TS001"));
+        assertEquals(List.of("TS003", "TS000"), idsWithReason("Timeout", FIRST, 10));
+        assertEquals(List.of("TS002"), idsWithReason("Success", FIRST, 10));
+        assertTrue(idsWithReason("Declined", FIRST, 10).isEmpty());
+    }
+}
@@ -0,0 +1,192 @@
+package com.nwg.ezpay.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.nwg.ezpay.entity.Transaction;
+import com.nwg.ezpay.exception.DataAccessException;
+import com.nwg.ezpay.repository.ITransactionDAO;
+import com.nwg.ezpay.repository.JdbcTransactionDAO;
+import com.nwg.ezpay.repository.jdbc.BulkWriteReport;
+import com.nwg.ezpay.repository.jdbc.ConnectionPool;
+import com.nwg.ezpay.repository.jdbc.PoolMetrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Description: Runs the {@link ITransactionDAO} contract against {@link JdbcTransactionDAO}
+ * on an in-memory H2 database in Oracle mode, created from {@code sql/createTable.sql},
+ * so no Oracle instance is needed.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+
+
+class JdbcTransactionDAOTest extends TransactionDAOContractTest {
+
+    private static final AtomicInteger databases = new AtomicInteger();
+
+    /**
+     * Creates a new in-memory database holding the tables of {@code sql/createTable.sql}.
+     *
+     * @return the URL of the database, which stays open until the JVM exits
+     */
+    static String newDatabase() throws SQLException, IOException {
+        String url = "jdbc:h2:mem:ezpay" + databases.incrementAndGet() + ";MODE=Oracle;DB_CLOSE_DELAY=-1";
+        String schema = new String(Files.readAllBytes(Paths.get("sql/createTable.sql")), StandardCharsets.UTF_8);
+        try (Connection connection = DriverManager.getConnection(url); Statement statement = connection.createStatement()) {
+            // H2 needs a precision where Oracle takes "*".
+            for (String sql : schema.replace("NUMBER(*,2)", "NUMBER(38,2)").split(";")) {
+                if (!sql.trim().isEmpty()) {
+                    statement.execute(sql);
+                }
+            }
+        }
+        return url;
+    }
+
+    /**
+     * Creates a pool on a new in-memory database.
+     */
+    static ConnectionPool newPool(ConnectionPool.Settings settings) throws SQLException, IOException {
+        String url = newDatabase();
+        return new ConnectionPool(() -> DriverManager.getConnection(url), settings);
+    }
+
+    @Override
+    protected ITransactionDAO newTransactionDAO() {
+        try {
+            return new JdbcTransactionDAO(newPool(ConnectionPool.Settings.fromSystemProperties()));
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("Could not create the test database", e);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        ((JdbcTransactionDAO) transactionDAO).close();
+    }
+
+
+    @Test
+    @DisplayName("JDBC - every statement is prepared once per connection and reused")
+    void testStatementsAreReused() {
+        JdbcTransactionDAO jdbcDAO = (JdbcTransactionDAO) transactionDAO;
+
+        //Test Case 1: Only the insert has been prepared by the initial rows, on one connection
+        assertEquals(1, jdbcDAO.getPoolMetrics().getStatementsPrepared());
+        assertEquals(1, jdbcDAO.getPoolMetrics().getCreated());
+
+        //Test Case 2: Repeating queries doesn't prepare them again
+        for (int i = 0; i < 100; i++) {
+            jdbcDAO.getTransactionById("TRX00" + (i % 6 + 1));
+            jdbcDAO.getTransactionByStatus("completed");
+            jdbcDAO.countTransactionByType("upi");
+        }
+        PoolMetrics metrics = jdbcDAO.getPoolMetrics();
+        assertEquals(4, metrics.getStatementsPrepared());
+        assertEquals(metrics.getBorrows() - 4, metrics.getStatementCacheHits());
+
+        //Test Case 3: Every connection was returned
+        assertEquals(0, metrics.getActive());
+        assertEquals(1, metrics.getIdle());
+    }
+
+    @Test
+    @DisplayName("JDBC - rows missing a required column are rejected by the schema")
+    void testNotNullColumns() {
+        //Test Case 1: A missing type is a data access error, not a duplicate ID
+        assertThrows(DataAccessException.class, () -> transactionDAO.createTransaction(
+                new Transaction("TRX100", null, 1.00, "completed", new Date())));
+        assertEquals(6, transactionDAO.countTransactionByType("upi") + transactionDAO.countTransactionByType("bank"));
+    }
+
+    private static List<Transaction> newTransactions(int first, int count, String status) {
+        List<Transaction> transactions = new ArrayList<Transaction>();
+        for (int i = first; i < first + count; i++) {
+            transactions.add(new Transaction(String.format("BLK%05d", i), i % 2 == 0 ? "upi" : "bank", i / 100.0, status,
+                    new Date(1704067200000L + i * 60000L)));
+        }
+        return transactions;
+    }
+
+    @Test
+    @DisplayName("JDBC - bulk insert writes rows in committed batches")
+    void testInsertAll() {
+        JdbcTransactionDAO jdbcDAO = (JdbcTransactionDAO) transactionDAO;
+
+        //Test Case 1: 2500 rows in batches of 1000 take three batches
+        BulkWriteReport report = jdbcDAO.insertAll(newTransactions(0, 2500, "completed"), 1000);
+        assertEquals(2500, report.getRows());
+        assertEquals(3, report.getBatches());
+        assertEquals(2500 + 6, transactionDAO.countTransactionByType("upi") + transactionDAO.countTransactionByType("bank"));
+        assertEquals(24.99, transactionDAO.getTransactionById("BLK02499").getAmount());
+
+        //Test Case 2: Null elements are skipped
+        report = jdbcDAO.insertAll(Arrays.asList(null, newTransactions(2500, 1, "completed").get(0)), 10);
+        assertEquals(1, report.getRows());
+
+        //Test Case 3: A batch size below 1 is rejected
+        assertThrows(IllegalArgumentException.class, () -> jdbcDAO.insertAll(newTransactions(3000, 1, "failed"), 0));
+    }
+
+    @Test
+    @DisplayName("JDBC - a failed batch is rolled back and earlier batches stay committed")
+    void testInsertAllFailure() {
+        JdbcTransactionDAO jdbcDAO = (JdbcTransactionDAO) transactionDAO;
+        List<Transaction> transactions = newTransactions(0, 25, "pending");
+        // Row 15 repeats row 3, so the second batch of 10 fails.
+        transactions.set(15, transactions.get(3));
+
+        //Test Case 1: The error says how far the load got
+        DataAccessException error = assertThrows(DataAccessException.class, () -> jdbcDAO.insertAll(transactions, 10));
+        assertTrue(error.getMessage().contains("batch 2"));
+        assertTrue(error.getMessage().contains("10 rows were committed"));
+
+        //Test Case 2: Only the first batch is stored
+        assertEquals(10, transactionDAO.countTransactionByStatus("pending") - 1);
+        assertNull(transactionDAO.getTransactionById("BLK00012"));
+
+        //Test Case 3: The connection is usable again for single-row writes
+        transactionDAO.createTransaction(newTransactions(12, 1, "pending").get(0));
+        assertEquals(12, transactionDAO.countTransactionByStatus("pending"));
+    }
+
+    @Test
+    @DisplayName("JDBC - bulk upsert updates stored rows and inserts new ones")
+    void testUpsertAll() {
+        JdbcTransactionDAO jdbcDAO = (JdbcTransactionDAO) transactionDAO;
+        jdbcDAO.insertAll(newTransactions(0, 100, "initiated"));
+
+        //Test Case 1: Half the rows exist and are updated, the other half are new
+        BulkWriteReport report = jdbcDAO.upsertAll(newTransactions(50, 100, "completed"), 30);
+        assertEquals(100, report.getRows());
+        assertEquals(4, report.getBatches());
+        assertEquals(50, transactionDAO.getTransactionByStatus("initiated").size() - 1);
+        assertEquals("completed", transactionDAO.getTransactionById("BLK00050").getStatus());
+        assertEquals("completed", transactionDAO.getTransactionById("BLK00149").getStatus());
+        assertEquals(new Date(1704067200000L + 149 * 60000L), transactionDAO.getTransactionById("BLK00149").getDate());
+        assertEquals(150 + 6, transactionDAO.countTransactionByType("upi") + transactionDAO.countTransactionByType("bank"));
+    }
+}
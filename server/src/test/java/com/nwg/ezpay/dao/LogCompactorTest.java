@@ -0,0 +1,237 @@
+package com.nwg.ezpay.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.nwg.ezpay.entity.Transaction;
+import com.nwg.ezpay.repository.index.ConcurrentTransactionTable;
+import com.nwg.ezpay.repository.storage.CompactionReport;
+import com.nwg.ezpay.repository.storage.LogCompactor;
+import com.nwg.ezpay.repository.storage.TransactionLog;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Description: Unit tests for the compaction of the write-ahead log into checkpoints.
+ * They check that a checkpoint plus the log after it gives back the store, and
+ * that the log segments and older checkpoints it covers are deleted, and that
+ * writers are only held back while the log is cut, not while the rows are copied.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+
+
+class LogCompactorTest {
+
+    private File csvFile;
+    private String logPath;
+    private String checkpointPath;
+    private final ConcurrentTransactionTable store = new ConcurrentTransactionTable();
+    private final ReentrantReadWriteLock mutationLock = new ReentrantReadWriteLock();
+
+    @BeforeEach
+    void setup() throws IOException {
+        csvFile = File.createTempFile("ezpay-compact", ".csv");
+        logPath = csvFile.getPath() + ".wal";
+        checkpointPath = csvFile.getPath() + ".checkpoint";
+        try (FileWriter fileWriter = new FileWriter(csvFile)) {
+            fileWriter.write("TRX001,upi,100.00,completed,2024-07-20 10:00:00\n");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        File[] files = csvFile.getParentFile().listFiles((dir, name) -> name.startsWith(csvFile.getName()));
+        for (File file : files) {
+            file.delete();
+        }
+    }
+
+    private TransactionLog.Replay replayInto(ConcurrentTransactionTable target) {
+        return new TransactionLog.Replay() {
+            @Override
+            public void create(Transaction transaction) {
+                target.add(transaction);
+            }
+
+            @Override
+            public void update(Transaction transaction) {
+                target.replace(transaction, null);
+            }
+
+            @Override
+            public void delete(String transactionId) {
+                target.remove(transactionId, null);
+            }
+        };
+    }
+
+    private TransactionLog open(long fromLsn, ConcurrentTransactionTable target) throws IOException {
+        return TransactionLog.open(logPath, csvFile, fromLsn, replayInto(target), new TransactionLog.GroupCommit(16, 0), 256);
+    }
+
+    /**
+     * Logs and applies a creation the way the DAO does, under the read side of the mutation lock.
+     */
+    private void create(TransactionLog log, int i) throws IOException {
+        Transaction transaction = new Transaction("TRX" + i, i % 2 == 0 ? "upi" : "bank", 10.0 * i, "initiated", new Date(i * 1000L));
+        mutationLock.readLock().lock();
+        try {
+            log.logCreate(transaction);
+            store.add(transaction);
+        } finally {
+            mutationLock.readLock().unlock();
+        }
+    }
+
+    private void delete(TransactionLog log, String transactionId) throws IOException {
+        mutationLock.readLock().lock();
+        try {
+            log.logDelete(transactionId);
+            store.remove(transactionId, null);
+        } finally {
+            mutationLock.readLock().unlock();
+        }
+    }
+
+    private static String describe(ConcurrentTransactionTable transactions) {
+        StringBuilder description = new StringBuilder();
+        for (Transaction transaction : transactions) {
+            description.append(transaction.getTransactionId()).append(',').append(transaction.getType()).append(',')
+                    .append(transaction.getAmount()).append(',').append(transaction.getStatus()).append(',')
+                    .append(transaction.getDate().getTime()).append(';');
+        }
+        return description.toString();
+    }
+
+
+    @Test
+    @DisplayName("Compaction - a checkpoint plus the log after it restores the store")
+    void testCompactAndRecover() throws IOException {
+        long compactedLsn;
+        try (TransactionLog log = open(0, store)) {
+            LogCompactor compactor = new LogCompactor(checkpointPath, csvFile, log, mutationLock.writeLock(), store,
+                    Long.MAX_VALUE);
+            for (int i = 0; i < 50; i++) {
+                create(log, i);
+            }
+            delete(log, "TRX7");
+            int segmentsBefore = log.getSegmentCount();
+            assertTrue(segmentsBefore > 1);
+
+            //Test Case 1: Compaction cuts the log after the last mutation and deletes the covered segments
+            CompactionReport report = compactor.compact();
+            compactedLsn = report.getLsn();
+            assertEquals(51, compactedLsn);
+            assertEquals(49, report.getRows());
+            assertTrue(report.getReclaimedBytes() > 0);
+            assertTrue(new File(report.getCheckpointPath()).isFile());
+            assertEquals(1, log.getSegmentCount());
+
+            //Test Case 2: The metrics add up over compactions
+            create(log, 50);
+            CompactionReport second = compactor.compact();
+            assertEquals(52, second.getLsn());
+            assertTrue(second.getReclaimedBytes() >= report.getCheckpointBytes());
+            assertEquals(2, compactor.getCompactions());
+            assertEquals(report.getReclaimedBytes() + second.getReclaimedBytes(), compactor.getTotalReclaimedBytes());
+            assertEquals(second, compactor.getLastReport());
+            compactedLsn = second.getLsn();
+
+            create(log, 51);
+            delete(log, "TRX8");
+        }
+
+        //Test Case 3: Only the latest checkpoint is kept
+        assertEquals(compactedLsn, LogCompactor.latestCheckpoint(checkpointPath, csvFile));
+        assertEquals(1, csvFile.getParentFile().listFiles((dir, name) -> name.startsWith(csvFile.getName() + ".checkpoint.")).length);
+
+        //Test Case 4: Loading the checkpoint and replaying the log from its LSN gives the same store
+        ConcurrentTransactionTable recovered = new ConcurrentTransactionTable();
+        assertEquals(50, LogCompactor.readCheckpoint(checkpointPath, compactedLsn, recovered::add).getRows());
+        try (TransactionLog log = open(compactedLsn, recovered)) {
+            assertEquals(2, log.getReplayed());
+        }
+        assertEquals(describe(store), describe(recovered));
+    }
+
+    @Test
+    @DisplayName("Compaction - a checkpoint made from another CSV file fails the start and is kept")
+    void testStaleCheckpoint() throws IOException {
+        try (TransactionLog log = open(0, store)) {
+            create(log, 1);
+            new LogCompactor(checkpointPath, csvFile, log, mutationLock.writeLock(), store, Long.MAX_VALUE).compact();
+        }
+        assertEquals(1, LogCompactor.latestCheckpoint(checkpointPath, csvFile));
+
+        //Test Case 1: Changing the CSV file fails the lookup with the mismatch
+        try (FileWriter fileWriter = new FileWriter(csvFile, true)) {
+            fileWriter.write("TRX002,bank,250.5,pending,2024-07-20 11:30:00\n");
+        }
+        IOException failure = assertThrows(IOException.class, () -> LogCompactor.latestCheckpoint(checkpointPath, csvFile));
+        assertTrue(failure.getMessage().contains(csvFile.getPath()));
+
+        //Test Case 2: The checkpoint is left in place
+        assertTrue(new File(checkpointPath + ".00000000000000000001").isFile());
+        assertEquals(0, csvFile.getParentFile().listFiles((dir, name) -> name.startsWith(csvFile.getName() + ".checkpoint.")
+                && name.endsWith(".stale")).length);
+    }
+
+    @Test
+    @DisplayName("Compaction - writers are held back while the log is cut, not while the rows are copied")
+    void testWritersNotBlockedByCopy() throws Exception {
+        int rows = 300000;
+        try (TransactionLog log = open(0, store)) {
+            for (int i = 0; i < rows; i++) {
+                store.add(new Transaction("TRX" + i, "upi", 10.0, "initiated", new Date(i * 1000L)));
+            }
+            long copyNanos = Long.MAX_VALUE;
+            for (int round = 0; round < 3; round++) {
+                long started = System.nanoTime();
+                store.toArray(new Transaction[0]);
+                copyNanos = Math.min(copyNanos, System.nanoTime() - started);
+            }
+            LogCompactor compactor = new LogCompactor(checkpointPath, csvFile, log, mutationLock.writeLock(), store,
+                    Long.MAX_VALUE);
+
+            //Test Case 1: Writers keep going while the checkpoint is made, each waiting far less than a copy of the rows takes
+            CompletableFuture<CompactionReport> compaction = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return compactor.compact();
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            int written = 0;
+            long slowestNanos = 0;
+            while (!compaction.isDone()) {
+                long writeStarted = System.nanoTime();
+                create(log, rows + written++);
+                slowestNanos = Math.max(slowestNanos, System.nanoTime() - writeStarted);
+            }
+            CompactionReport report = compaction.get(60, TimeUnit.SECONDS);
+            assertTrue(written > 1);
+            assertTrue(slowestNanos < copyNanos / 2, slowestNanos + " ns write against a " + copyNanos + " ns copy");
+            assertTrue(TimeUnit.MICROSECONDS.toNanos(report.getPauseMicros()) < copyNanos / 2);
+
+            //Test Case 2: The checkpoint holds the rows as of the cut, the writes after it stay in the store
+            assertTrue(report.getRows() >= rows && report.getRows() <= rows + written);
+            assertEquals(rows + written, store.size());
+        }
+    }
+}
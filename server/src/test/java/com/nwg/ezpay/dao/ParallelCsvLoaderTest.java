@@ -0,0 +1,129 @@
+package com.nwg.ezpay.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.nwg.ezpay.entity.Transaction;
+import com.nwg.ezpay.entity.TransactionStatus;
+import com.nwg.ezpay.repository.storage.LoadReport;
+import com.nwg.ezpay.repository.storage.TransactionCsvReader;
+import com.nwg.ezpay.repository.storage.TransactionStatusCsvReader;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Description: Unit tests for the parallel CSV loader used by the transaction and
+ * transaction status DAOs. The files are large enough to be split into several
+ * chunks, so they also check that rows come back in file order and that bad
+ * lines are reported with their line number instead of stopping the load.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+
+
+class ParallelCsvLoaderTest {
+
+    private File csvFile;
+
+    @BeforeEach
+    void setup() throws IOException {
+        csvFile = File.createTempFile("ezpay-loader", ".csv");
+    }
+
+    @AfterEach
+    void tearDown() {
+        csvFile.delete();
+    }
+
+
+    @Test
+    @DisplayName("Load transactions - keeps file order across chunks and reports bad lines")
+    void testReadTransactions() throws IOException {
+
+        int rows = 60_000;
+        try (FileWriter fileWriter = new FileWriter(csvFile)) {
+            for (int i = 0; i < rows; i++) {
+                fileWriter.write("TRX" + i + ",upi," + i + ".25,completed,2024-07-20 10:00:00" + (i % 2 == 0 ? "\n" : "\r\n"));
+                if (i == 10) {
+                    fileWriter.write("\n");
+                }
+                if (i == 40_000) {
+                    fileWriter.write("TRXBAD1,upi,notanumber,completed,2024-07-20 10:00:00\n");
+                    fileWriter.write("TRXBAD2,upi,1.00,completed,20-07-2024\n");
+                    fileWriter.write("TRXBAD3,upi\n");
+                }
+            }
+        }
+        assertTrue(csvFile.length() > 2 << 20);
+
+        List<Transaction> transactions = new ArrayList<Transaction>();
+        LoadReport loadReport = TransactionCsvReader.read(csvFile.getPath(), transactions::add);
+
+        //Test Case 1: Every good line is loaded, in file order
+        assertEquals(rows, loadReport.getRows());
+        assertEquals(rows, transactions.size());
+        for (int i = 0; i < rows; i++) {
+            assertEquals("TRX" + i, transactions.get(i).getTransactionId());
+        }
+        assertEquals(59_999.25, transactions.get(rows - 1).getAmount());
+
+        //Test Case 2: Bad lines are counted with their line number, the empty line is ignored
+        assertEquals(3, loadReport.getBadLines());
+        assertEquals(3, loadReport.getBadLineSamples().size());
+        assertTrue(loadReport.getBadLineSamples().get(0).startsWith("line 40003:"));
+        assertTrue(loadReport.getBadLineSamples().get(2).startsWith("line 40005:"));
+    }
+
+
+    @Test
+    @DisplayName("Load transaction statuses - parses rows and rejects short lines")
+    void testReadTransactionStatuses() throws IOException {
+
+        try (FileWriter fileWriter = new FileWriter(csvFile)) {
+            fileWriter.write("TS001,completed,ok,2024-07-20 10:00:00\n");
+            fileWriter.write("TS002,failed\n");
+            fileWriter.write("TS003,failed,,2024-07-21 11:00:00");
+        }
+
+        List<TransactionStatus> transactionStatuses = new ArrayList<TransactionStatus>();
+        LoadReport loadReport = TransactionStatusCsvReader.read(csvFile.getPath(), transactionStatuses::add);
+
+        //Test Case 1: Valid lines, including one with an empty reason and no trailing newline
+        assertEquals(2, transactionStatuses.size());
+        assertEquals("TS003", transactionStatuses.get(1).getTransactionStatusId());
+        assertEquals("", transactionStatuses.get(1).getReason());
+
+        //Test Case 2: The short line is reported
+        assertEquals(1, loadReport.getBadLines());
+        assertTrue(loadReport.getBadLineSamples().get(0).startsWith("line 2:"));
+    }
+
+
+    @Test
+    @DisplayName("Load missing or empty file - missing file throws, empty file loads nothing")
+    void testMissingAndEmptyFile() throws IOException {
+
+        //Test Case 1: Empty file
+        LoadReport loadReport = TransactionCsvReader.read(csvFile.getPath(), transaction -> { });
+        assertEquals(0, loadReport.getRows());
+        assertEquals(0, loadReport.getBadLines());
+
+        //Test Case 2: Missing file
+        csvFile.delete();
+        assertThrows(FileNotFoundException.class, () -> TransactionCsvReader.read(csvFile.getPath(), transaction -> { }));
+    }
+}
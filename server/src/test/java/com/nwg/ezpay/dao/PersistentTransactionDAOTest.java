@@ -0,0 +1,157 @@
+package com.nwg.ezpay.dao;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.nwg.ezpay.entity.Transaction;
+import com.nwg.ezpay.repository.ITransactionDAO;
+import com.nwg.ezpay.repository.PersistentTransactionDAO;
+import com.nwg.ezpay.repository.index.PersistentHashMap;
+import com.nwg.ezpay.repository.index.PersistentSortedMap;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+
+/**
+ * Description: Runs the {@link ITransactionDAO} contract against {@link PersistentTransactionDAO},
+ * and checks that its snapshots never change and that the persistent maps it is built
+ * from behave like their {@code java.util} counterparts.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+
+
+class PersistentTransactionDAOTest extends TransactionDAOContractTest {
+
+    @Override
+    protected ITransactionDAO newTransactionDAO() {
+        return new PersistentTransactionDAO();
+    }
+
+
+    @Test
+    @DisplayName("Persistent - snapshots are unaffected by later writes and by callers changing rows")
+    void testSnapshotsNeverChange() {
+        PersistentTransactionDAO persistentDAO = (PersistentTransactionDAO) transactionDAO;
+        PersistentTransactionDAO.Snapshot before = persistentDAO.snapshot();
+
+        persistentDAO.updateTransaction(new Transaction("TRX001", "bank", 999.00, "failed", new Date()));
+        persistentDAO.deleteTransaction("TRX002");
+        persistentDAO.createTransaction(new Transaction("TRX007", "upi", 1.00, "pending", new Date()));
+        persistentDAO.getTransactionById("TRX003").setStatus("failed");
+
+        //Test Case 1: The old snapshot still answers as before the writes
+        assertEquals(6, before.size());
+        assertEquals("completed", before.getTransactionById("TRX001").getStatus());
+        assertNotNull(before.getTransactionById("TRX002"));
+        assertNull(before.getTransactionById("TRX007"));
+        assertEquals(3, before.countTransactionByStatus("completed"));
+        assertEquals(1, before.countTransactionByStatus("failed"));
+
+        //Test Case 2: The current snapshot sees the writes, but not the change made to a returned copy
+        PersistentTransactionDAO.Snapshot after = persistentDAO.snapshot();
+        assertEquals(6, after.size());
+        assertEquals("failed", after.getTransactionById("TRX001").getStatus());
+        assertEquals("initiated", after.getTransactionById("TRX003").getStatus());
+        assertEquals(2, after.countTransactionByStatus("failed"));
+        assertEquals(1, after.getTransactionByAmountRange(99_900, 99_900).size());
+
+        //Test Case 3: Reads don't make a new snapshot
+        assertSame(after, persistentDAO.snapshot());
+    }
+
+
+    @Test
+    @DisplayName("Persistent - the hash trie and sorted map match HashMap and TreeMap under random writes")
+    void testPersistentMapsMatchJavaUtil() {
+        Random random = new Random(42);
+        PersistentHashMap<Object, Integer> trie = PersistentHashMap.empty();
+        PersistentSortedMap<Integer, Integer> tree = PersistentSortedMap.empty();
+        Map<Object, Integer> expectedTrie = new HashMap<Object, Integer>();
+        TreeMap<Integer, Integer> expectedTree = new TreeMap<Integer, Integer>();
+        List<PersistentHashMap<Object, Integer>> versions = new ArrayList<PersistentHashMap<Object, Integer>>();
+        List<Map<Object, Integer>> expectedVersions = new ArrayList<Map<Object, Integer>>();
+
+        for (int step = 0; step < 200_000; step++) {
+            int number = random.nextInt(5_000);
+            // Keys with a fixed hash code force collision nodes in the trie.
+            Object key = number % 10 == 0 ? new CollidingKey(number) : (Object) number;
+            if (random.nextInt(3) == 0) {
+                trie = trie.remove(key);
+                tree = tree.remove(number);
+                expectedTrie.remove(key);
+                expectedTree.remove(number);
+            } else {
+                trie = trie.put(key, step);
+                tree = tree.put(number, step);
+                expectedTrie.put(key, step);
+                expectedTree.put(number, step);
+            }
+            if (step % 50_000 == 0) {
+                versions.add(trie);
+                expectedVersions.add(new HashMap<Object, Integer>(expectedTrie));
+            }
+        }
+
+        //Test Case 1: Sizes and lookups agree
+        assertEquals(expectedTrie.size(), trie.size());
+        assertEquals(expectedTree.size(), tree.size());
+        for (int number = 0; number < 5_000; number++) {
+            Object key = number % 10 == 0 ? new CollidingKey(number) : (Object) number;
+            assertEquals(expectedTrie.get(key), trie.get(key));
+            assertEquals(expectedTree.get(number), tree.get(number));
+        }
+
+        //Test Case 2: Iteration visits every key once, and the tree visits them in order
+        Map<Object, Integer> visited = new HashMap<Object, Integer>();
+        trie.forEach((key, value) -> assertNull(visited.put(key, value)));
+        assertEquals(expectedTrie, visited);
+        List<Integer> inRange = new ArrayList<Integer>();
+        tree.forEachInRange(1_000, 2_000, (key, value) -> inRange.add(key));
+        assertEquals(new ArrayList<Integer>(expectedTree.subMap(1_000, true, 2_000, true).keySet()), inRange);
+
+        //Test Case 3: Older versions are untouched by the writes made after them
+        for (int i = 0; i < versions.size(); i++) {
+            Map<Object, Integer> contents = new HashMap<Object, Integer>();
+            versions.get(i).forEach(contents::put);
+            assertEquals(expectedVersions.get(i), contents);
+            assertEquals(expectedVersions.get(i).size(), versions.get(i).size());
+        }
+    }
+
+
+    /**
+     * A key whose hash code is the same for every instance.
+     */
+    private static final class CollidingKey {
+
+        private final int number;
+
+        CollidingKey(int number) {
+            this.number = number;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof CollidingKey && ((CollidingKey) other).number == number;
+        }
+
+        @Override
+        public int hashCode() {
+            return 7;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.nwg.ezpay.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.nwg.ezpay.entity.Transaction;
+import com.nwg.ezpay.entity.TransactionStatus;
+import com.nwg.ezpay.repository.storage.LoadReport;
+import com.nwg.ezpay.repository.storage.TransactionCsvReader;
+import com.nwg.ezpay.repository.storage.TransactionStatusCsvReader;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Description: Unit tests for the binary snapshots written next to the CSV files.
+ * They check that a snapshot gives back exactly the rows loaded from the CSV file,
+ * and that stale or damaged snapshots are replaced instead of being used.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+
+
+class SnapshotFileTest {
+
+    private File csvFile;
+    private File snapshotFile;
+
+    @BeforeEach
+    void setup() throws IOException {
+        csvFile = File.createTempFile("ezpay-snapshot", ".csv");
+        snapshotFile = new File(csvFile.getPath() + ".snapshot");
+        try (FileWriter fileWriter = new FileWriter(csvFile)) {
+            fileWriter.write("TRX001,upi,100.00,completed,2024-07-20 10:00:00\n");
+            fileWriter.write("TRX002,bank,250.5,pending,2024-07-20 11:30:00\n");
+            fileWriter.write("TRX002,bank,1.00,failed,2024-07-20 11:30:00\n");
+            fileWriter.write("TRX003,upi,0.125,completed,2024-07-21 09:00:00\n");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        csvFile.delete();
+        snapshotFile.delete();
+    }
+
+    private LoadReport load(List<Transaction> transactions) throws IOException {
+        transactions.clear();
+        return TransactionCsvReader.load(csvFile.getPath(), snapshotFile.getPath(),
+                transaction -> !"failed".equals(transaction.getStatus()) && transactions.add(transaction));
+    }
+
+
+    @Test
+    @DisplayName("Snapshot - written on the first load and read back on the next one")
+    void testSnapshotRoundTrip() throws IOException {
+        List<Transaction> fromCsv = new ArrayList<Transaction>();
+        List<Transaction> fromSnapshot = new ArrayList<Transaction>();
+
+        //Test Case 1: First load parses the CSV file and writes the snapshot
+        assertEquals(csvFile.getPath(), load(fromCsv).getPath());
+        assertTrue(snapshotFile.isFile());
+
+        //Test Case 2: Second load reads the same accepted rows from the snapshot
+        LoadReport loadReport = load(fromSnapshot);
+        assertEquals(snapshotFile.getPath(), loadReport.getPath());
+        assertEquals(3, loadReport.getRows());
+        assertEquals(fromCsv.size(), fromSnapshot.size());
+        for (int i = 0; i < fromCsv.size(); i++) {
+            Transaction expected = fromCsv.get(i);
+            Transaction actual = fromSnapshot.get(i);
+            assertEquals(expected.getTransactionId(), actual.getTransactionId());
+            assertEquals(expected.getType(), actual.getType());
+            assertEquals(expected.getAmount(), actual.getAmount());
+            assertEquals(expected.getStatus(), actual.getStatus());
+            assertEquals(expected.getDate(), actual.getDate());
+        }
+        assertEquals(0.125, fromSnapshot.get(2).getAmount());
+        assertSame(fromSnapshot.get(0).getType(), fromSnapshot.get(2).getType());
+    }
+
+
+    @Test
+    @DisplayName("Snapshot - rebuilt when the CSV file changes or the snapshot is damaged")
+    void testStaleAndCorruptSnapshot() throws IOException {
+        List<Transaction> transactions = new ArrayList<Transaction>();
+        load(transactions);
+
+        //Test Case 1: A newer CSV file is parsed again
+        try (FileWriter fileWriter = new FileWriter(csvFile, true)) {
+            fileWriter.write("TRX004,bank,10.00,completed,2024-07-22 17:00:00\n");
+        }
+        assertTrue(csvFile.setLastModified(csvFile.lastModified() + 2000));
+        assertEquals(csvFile.getPath(), load(transactions).getPath());
+        assertEquals(4, transactions.size());
+        assertEquals(snapshotFile.getPath(), load(transactions).getPath());
+        assertEquals(4, transactions.size());
+
+        //Test Case 2: A damaged snapshot fails its checksum and is replaced
+        try (RandomAccessFile file = new RandomAccessFile(snapshotFile, "rw")) {
+            file.seek(30);
+            int damaged = file.read() ^ 0x01;
+            file.seek(30);
+            file.write(damaged);
+        }
+        assertEquals(csvFile.getPath(), load(transactions).getPath());
+        assertEquals(4, transactions.size());
+        assertEquals(snapshotFile.getPath(), load(transactions).getPath());
+    }
+
+
+    @Test
+    @DisplayName("Snapshot - transaction statuses keep empty reasons")
+    void testTransactionStatusSnapshot() throws IOException {
+        try (FileWriter fileWriter = new FileWriter(csvFile)) {
+            fileWriter.write("TS001,completed,ok,2024-07-20 10:00:00\n");
+            fileWriter.write("TS002,failed,,2024-07-21 11:00:00\n");
+        }
+        List<TransactionStatus> fromCsv = new ArrayList<TransactionStatus>();
+        List<TransactionStatus> fromSnapshot = new ArrayList<TransactionStatus>();
+        TransactionStatusCsvReader.load(csvFile.getPath(), snapshotFile.getPath(), fromCsv::add);
+        LoadReport loadReport = TransactionStatusCsvReader.load(csvFile.getPath(), snapshotFile.getPath(), fromSnapshot::add);
+
+        assertEquals(snapshotFile.getPath(), loadReport.getPath());
+        assertEquals(2, fromSnapshot.size());
+        assertEquals("", fromSnapshot.get(1).getReason());
+        assertEquals(fromCsv.get(1).getTimestamp(), fromSnapshot.get(1).getTimestamp());
+        assertFalse(new File(snapshotFile.getPath() + ".tmp").exists());
+    }
+}
@@ -0,0 +1,100 @@
+package com.nwg.ezpay.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.nwg.ezpay.entity.Transaction;
+import com.nwg.ezpay.repository.PersistentTransactionDAO;
+import com.nwg.ezpay.repository.spi.StorageProvider;
+import com.nwg.ezpay.repository.spi.StorageProviders;
+import com.nwg.ezpay.service.TransactionServiceImpl;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Description: Checks that the storage providers are discovered through the
+ * {@code ServiceLoader}, that the engine is selected by system property or
+ * configuration file, and that the service runs on an injected DAO.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+
+
+class StorageProvidersTest {
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(StorageProviders.STORAGE_PROPERTY);
+        System.clearProperty(StorageProviders.CONFIG_PROPERTY);
+    }
+
+
+    @Test
+    @DisplayName("Storage providers - every engine shipped is discovered by name")
+    void testAvailable() {
+        //Test Case 1: All engines are on the class path, in name order
+        assertEquals(Arrays.asList("columnar", "hibernate", "jdbc", "memory", "offheap", "persistent"),
+                Arrays.asList(StorageProviders.available().keySet().toArray()));
+
+        //Test Case 2: Each provider is found under its own name
+        for (StorageProvider provider : StorageProviders.available().values()) {
+            assertEquals(provider.getName(), StorageProviders.get(provider.getName()).getName());
+            assertTrue(provider.getDescription().length() > 0);
+        }
+
+        //Test Case 3: An unknown engine names the ones available
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> StorageProviders.get("tape"));
+        assertTrue(exception.getMessage().contains("persistent"));
+    }
+
+    @Test
+    @DisplayName("Storage providers - the engine is selected by system property, then configuration file")
+    void testSelection() throws IOException {
+        File config = File.createTempFile("ezpay", ".properties");
+        config.deleteOnExit();
+        try (Writer writer = new FileWriter(config)) {
+            writer.write(StorageProviders.STORAGE_PROPERTY + " = offheap\n");
+        }
+
+        //Test Case 1: Without either the default engine is used
+        System.setProperty(StorageProviders.CONFIG_PROPERTY, new File(config.getParentFile(), "missing.properties").getPath());
+        assertEquals(StorageProviders.DEFAULT_STORAGE, StorageProviders.selectedName());
+
+        //Test Case 2: The configuration file names the engine
+        System.setProperty(StorageProviders.CONFIG_PROPERTY, config.getPath());
+        assertEquals("offheap", StorageProviders.selected().getName());
+
+        //Test Case 3: The system property wins over the configuration file
+        System.setProperty(StorageProviders.STORAGE_PROPERTY, "columnar");
+        assertEquals("columnar", StorageProviders.selected().getName());
+
+        //Test Case 4: An unknown engine fails at startup
+        System.setProperty(StorageProviders.STORAGE_PROPERTY, "tape");
+        assertThrows(IllegalArgumentException.class, StorageProviders::selected);
+    }
+
+    @Test
+    @DisplayName("Storage providers - the service runs on an injected DAO")
+    void testInjectedDAO() throws Exception {
+        PersistentTransactionDAO transactionDAO = new PersistentTransactionDAO();
+        TransactionServiceImpl transactionService = new TransactionServiceImpl(transactionDAO);
+
+        //Test Case 1: Transactions created through the service land in the injected DAO
+        transactionService.createTransactionService(new Transaction("TRX900", "upi", 250.0, "completed", new Date()));
+        assertEquals("TRX900", transactionDAO.getTransactionById("TRX900").getTransactionId());
+        assertEquals(1, transactionService.countTransactionByTypeService("upi"));
+    }
+}
@@ -0,0 +1,183 @@
+package com.nwg.ezpay.dao;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.nwg.ezpay.entity.Transaction;
+import com.nwg.ezpay.exception.DataLoadException;
+import com.nwg.ezpay.repository.StoreLoader;
+import com.nwg.ezpay.repository.TransactionDAOImpl;
+import com.nwg.ezpay.repository.storage.TransactionCsvReader;
+import com.nwg.ezpay.repository.storage.TransactionLog;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileWriter;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Description: Unit tests for {@link StoreLoader}, the background loading lifecycle
+ * of the transaction and transaction status stores. The restart test runs the
+ * transaction store in a separate JVM, as its loader runs only once per JVM.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+
+
+class StoreLoaderTest {
+
+    private static final int FILLER_ROWS = 100000;
+
+    @Test
+    @DisplayName("Store loader - loads once, in the background, and reports readiness")
+    void testLoadOnce() {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        StoreLoader storeLoader = new StoreLoader("test", () -> {
+            loads.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException();
+            }
+            return TransactionCsvReader.read("data/transactions.csv", transaction -> { });
+        });
+
+        //Test Case 1: Nothing is loaded and nothing waits before the load is started
+        assertFalse(storeLoader.isLoading());
+        storeLoader.awaitLoaded();
+        assertEquals(0, loads.get());
+
+        //Test Case 2: Starting returns at once and starting again doesn't load twice
+        assertSame(storeLoader.ready(), storeLoader.start());
+        storeLoader.start();
+        assertTrue(storeLoader.isLoading());
+        assertFalse(storeLoader.ready().isDone());
+
+        //Test Case 3: The readiness future completes when the load finishes
+        release.countDown();
+        storeLoader.awaitLoaded();
+        assertTrue(storeLoader.ready().isDone());
+        assertFalse(storeLoader.isLoading());
+        assertEquals(1, loads.get());
+    }
+
+
+    @Test
+    @DisplayName("Store loader - a failed load surfaces as DataLoadException instead of exiting")
+    void testLoadFailure() {
+        StoreLoader storeLoader = new StoreLoader("missing", () -> TransactionCsvReader.read("data/missing.csv", transaction -> { }));
+        storeLoader.start();
+
+        DataLoadException exception = assertThrows(DataLoadException.class, storeLoader::awaitLoaded);
+        assertTrue(exception.getCause() instanceof FileNotFoundException);
+        assertTrue(storeLoader.ready().isCompletedExceptionally());
+        assertThrows(DataLoadException.class, storeLoader::awaitLoaded);
+    }
+
+
+    @Test
+    @DisplayName("Store loader - lookups during a restart see the mutations in the log")
+    void testLookupsDuringRestart() throws Exception {
+        File directory = Files.createTempDirectory("ezpay-restart").toFile();
+        File dataDirectory = new File(directory, "data");
+        dataDirectory.mkdir();
+        try {
+            File csvFile = new File(directory, TransactionCsvReader.TRANSACTIONS_CSV);
+            try (BufferedWriter writer = new BufferedWriter(new FileWriter(csvFile))) {
+                writer.write("TRX000001,upi,100.00,initiated,2024-07-20 10:00:00\n");
+                writer.write("TRX000002,bank,250.50,pending,2024-07-20 11:30:00\n");
+                for (int i = 3; i < FILLER_ROWS; i++) {
+                    writer.write(String.format("TRX%06d,upi,10.00,completed,2024-07-21 09:00:00%n", i));
+                }
+            }
+            try (TransactionLog log = TransactionLog.open(new File(directory, TransactionLog.TRANSACTIONS_WAL).getPath(),
+                    csvFile, new TransactionLog.Replay() {
+                        @Override
+                        public void create(Transaction transaction) {
+                        }
+
+                        @Override
+                        public void update(Transaction transaction) {
+                        }
+
+                        @Override
+                        public void delete(String transactionId) {
+                        }
+                    })) {
+                log.logUpdate(new Transaction("TRX000001", "upi", 100.00, "completed", new Date()));
+                log.logDelete("TRX000002");
+            }
+
+            Process process = new ProcessBuilder(new File(System.getProperty("java.home"), "bin/java").getPath(), "-cp",
+                    System.getProperty("java.class.path"), Restart.class.getName(), "TRX000001", "TRX000002")
+                    .directory(directory).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+            List<String> lines = new ArrayList<String>();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lines.add(line);
+                }
+            }
+            assertTrue(process.waitFor(60, TimeUnit.SECONDS));
+            assertEquals(0, process.exitValue());
+
+            //Test Case 1: The lookups were made while the restarted store was still loading
+            assertEquals("loading", lines.get(0));
+
+            //Test Case 2: The updated row is returned as the log left it and the deleted row not at all
+            assertEquals(Arrays.asList("TRX000001 completed", "TRX000002 null"), lines.subList(1, lines.size()));
+        } finally {
+            try (Stream<Path> paths = Files.walk(directory.toPath())) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    /**
+     * Starts the transaction store in the working directory, waits until the
+     * given rows are in the table, and prints whether it was still loading then
+     * followed by each row's status as {@code getTransactionById} returns it.
+     */
+    static final class Restart {
+
+        public static void main(String[] args) {
+            TransactionDAOImpl.startLoading();
+            for (String transactionId : args) {
+                while (TransactionDAOImpl.transactionsList.get(transactionId) == null && !TransactionDAOImpl.ready().isDone()) {
+                    Thread.onSpinWait();
+                }
+            }
+            System.out.println(TransactionDAOImpl.ready().isDone() ? "loaded" : "loading");
+            TransactionDAOImpl transactionDAO = new TransactionDAOImpl();
+            for (String transactionId : args) {
+                Transaction transaction = transactionDAO.getTransactionById(transactionId);
+                System.out.println(transactionId + " " + (transaction == null ? null : transaction.getStatus()));
+            }
+            TransactionDAOImpl.ready().join();
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package com.nwg.ezpay.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.nwg.ezpay.entity.Transaction;
+import com.nwg.ezpay.repository.ITransactionDAO;
+import com.nwg.ezpay.repository.TransactionDAOImpl;
+import com.nwg.ezpay.repository.index.ConcurrentTransactionTable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Description: Stress tests for TransactionDAOImpl shared between threads. Many
+ * writers race on the same IDs while readers query the indexes, and the tests
+ * check that no ID is stored twice, no update is lost, snapshot readers only see
+ * whole updates and the indexes agree with the rows afterwards.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+
+
+class TransactionDAOConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS = 2000;
+    private static final String[] STATUSES = { "initiated", "pending", "completed", "failed" };
+
+    private ITransactionDAO transactionDAO;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setup() {
+        TransactionDAOImpl.transactionsList.clear();
+        transactionDAO = new TransactionDAOImpl();
+        executor = Executors.newFixedThreadPool(THREADS + 3);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        TransactionDAOImpl.transactionsList.clear();
+    }
+
+    private static Transaction transaction(int id, String status, double amount) {
+        return new Transaction("TRX" + id, id % 2 == 0 ? "upi" : "bank", amount, status, new Date(1721466000000L + id * 60_000L));
+    }
+
+    /**
+     * Runs every task at once, behind a common start gate, and rethrows the first failure.
+     */
+    private <T> List<T> runTogether(List<Callable<T>> tasks) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<Future<T>>();
+        for (Callable<T> task : tasks) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+        List<T> results = new ArrayList<T>();
+        for (Future<T> future : futures) {
+            results.add(future.get(120, TimeUnit.SECONDS));
+        }
+        return results;
+    }
+
+    /**
+     * Checks that every query agrees with the rows stored by ID.
+     */
+    private void assertIndexesMatchRows(int expectedRows) {
+        assertEquals(expectedRows, TransactionDAOImpl.transactionsList.size());
+        int byStatus = 0;
+        for (String status : STATUSES) {
+            List<Transaction> withStatus = transactionDAO.getTransactionByStatus(status);
+            assertEquals(withStatus.size(), transactionDAO.countTransactionByStatus(status));
+            for (Transaction transaction : withStatus) {
+                assertEquals(status, transaction.getStatus());
+                assertEquals(transaction, transactionDAO.getTransactionById(transaction.getTransactionId()));
+            }
+            byStatus += withStatus.size();
+        }
+        assertEquals(expectedRows, byStatus);
+        assertEquals(expectedRows, transactionDAO.countTransactionByType("upi") + transactionDAO.countTransactionByType("bank"));
+        assertEquals(expectedRows, transactionDAO.getTransactionByAmountRange(0.0, null).size());
+        assertEquals(expectedRows, transactionDAO.getTransactionByDateRange(new Date(0), new Date(4102444800000L)).size());
+    }
+
+
+    @Test
+    @DisplayName("Concurrency - racing creates of the same IDs store each ID exactly once")
+    void testConcurrentCreatesOfSameIds() throws Exception {
+        List<Callable<Integer>> writers = new ArrayList<Callable<Integer>>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            int seed = thread;
+            writers.add(() -> {
+                List<Integer> ids = new ArrayList<Integer>();
+                for (int id = 0; id < IDS; id++) {
+                    ids.add(id);
+                }
+                Collections.shuffle(ids, new Random(seed));
+                int created = 0;
+                for (int id : ids) {
+                    try {
+                        transactionDAO.createTransaction(transaction(id, "initiated", id));
+                        created++;
+                    } catch (IllegalArgumentException e) {
+                        // Another thread created the ID first.
+                    }
+                }
+                return created;
+            });
+        }
+
+        //Test Case 1: Exactly one create per ID succeeds across all threads
+        int created = 0;
+        for (int perThread : runTogether(writers)) {
+            created += perThread;
+        }
+        assertEquals(IDS, created);
+
+        //Test Case 2: Every ID is stored once and indexed once
+        assertIndexesMatchRows(IDS);
+        Set<String> ids = new HashSet<String>();
+        for (Transaction transaction : transactionDAO.getTransactionByStatus("initiated")) {
+            assertTrue(ids.add(transaction.getTransactionId()), "Duplicate " + transaction.getTransactionId());
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrency - concurrent updates and deletes are not lost while readers query")
+    void testConcurrentUpdatesWithReaders() throws Exception {
+        for (int id = 0; id < IDS; id++) {
+            transactionDAO.createTransaction(transaction(id, "initiated", id));
+        }
+        int rounds = 20;
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicInteger deleted = new AtomicInteger();
+
+        CountDownLatch writersDone = new CountDownLatch(THREADS);
+        List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            int owner = thread;
+            // Each writer owns the IDs equal to its number modulo THREADS, which share lock stripes with the others.
+            tasks.add(() -> {
+                try {
+                    for (int round = 1; round <= rounds; round++) {
+                        for (int id = owner; id < IDS; id += THREADS) {
+                            assertNotNull(transactionDAO.updateTransaction(transaction(id, STATUSES[round % STATUSES.length], id + round)));
+                        }
+                    }
+                    for (int id = owner; id < IDS; id += THREADS * 10) {
+                        assertTrue(transactionDAO.deleteTransaction("TRX" + id));
+                        assertFalse(transactionDAO.deleteTransaction("TRX" + id));
+                        deleted.incrementAndGet();
+                    }
+                    return 0;
+                } finally {
+                    writersDone.countDown();
+                }
+            });
+        }
+        tasks.add(() -> {
+            writersDone.await();
+            writing.set(false);
+            return 0;
+        });
+        for (int reader = 0; reader < 2; reader++) {
+            tasks.add(() -> {
+                int queries = 0;
+                while (writing.get()) {
+                    for (String status : STATUSES) {
+                        Set<String> seen = new HashSet<String>();
+                        for (Transaction transaction : transactionDAO.getTransactionByStatus(status)) {
+                            assertTrue(seen.add(transaction.getTransactionId()), "Row returned twice");
+                        }
+                    }
+                    transactionDAO.getTransactionByAmountRange(100.0, 500.0);
+                    queries++;
+                }
+                return queries;
+            });
+        }
+
+        //Test Case 1: Writers and readers finish without errors
+        runTogether(tasks);
+
+        //Test Case 2: Every surviving row holds its last update
+        String lastStatus = STATUSES[rounds % STATUSES.length];
+        for (int id = 0; id < IDS; id++) {
+            Transaction stored = transactionDAO.getTransactionById("TRX" + id);
+            if (id % (THREADS * 10) < THREADS) {
+                assertNull(stored);
+            } else {
+                assertEquals(lastStatus, stored.getStatus());
+                assertEquals(id + rounds, stored.getAmount(), 0.0);
+            }
+        }
+
+        //Test Case 3: The indexes agree with the rows
+        assertIndexesMatchRows(IDS - deleted.get());
+        assertEquals(IDS - deleted.get(), transactionDAO.countTransactionByStatus(lastStatus));
+    }
+
+    @Test
+    @DisplayName("Concurrency - a snapshot keeps seeing the rows as they were when it was opened")
+    void testSnapshotIsolation() {
+        for (int id = 0; id < 10; id++) {
+            transactionDAO.createTransaction(transaction(id, "initiated", id));
+        }
+        ConcurrentTransactionTable.Snapshot snapshot = TransactionDAOImpl.transactionsList.snapshot();
+        transactionDAO.updateTransaction(transaction(1, "completed", 100.0));
+        transactionDAO.deleteTransaction("TRX2");
+        transactionDAO.createTransaction(transaction(10, "initiated", 10.0));
+
+        //Test Case 1: The snapshot sees neither the update, the delete nor the create
+        assertEquals("initiated", snapshot.get("TRX1").getStatus());
+        assertNotNull(snapshot.get("TRX2"));
+        assertNull(snapshot.get("TRX10"));
+        assertEquals(10, snapshot.withStatus("initiated").size());
+        assertEquals(0, snapshot.withStatus("completed").size());
+        assertEquals(0, snapshot.inAmountRange(100.0, 100.0).size());
+        assertEquals(10, snapshot.transactions().size());
+
+        //Test Case 2: New readers see the writes
+        assertEquals("completed", transactionDAO.getTransactionById("TRX1").getStatus());
+        assertNull(transactionDAO.getTransactionById("TRX2"));
+        assertEquals(9, transactionDAO.getTransactionByStatus("initiated").size());
+        assertEquals(1, transactionDAO.getTransactionByAmountRange(100.0, 100.0).size());
+
+        //Test Case 3: Old versions are kept while the snapshot is open and reclaimed once it closes
+        assertEquals(2, TransactionDAOImpl.transactionsList.getRetainedVersions());
+        snapshot.close();
+        assertEquals(0, TransactionDAOImpl.transactionsList.getRetainedVersions());
+        assertEquals(10, TransactionDAOImpl.transactionsList.size());
+        assertIndexesMatchRows(10);
+    }
+
+    @Test
+    @DisplayName("Concurrency - long scans never see a row in both or neither status while it moves")
+    void testScansSeeConsistentVersions() throws Exception {
+        for (int id = 0; id < IDS; id++) {
+            transactionDAO.createTransaction(transaction(id, "pending", id));
+        }
+        AtomicBoolean writing = new AtomicBoolean(true);
+        CountDownLatch writersDone = new CountDownLatch(THREADS);
+        List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            int owner = thread;
+            tasks.add(() -> {
+                try {
+                    for (int round = 1; round <= 10; round++) {
+                        String status = round % 2 == 0 ? "pending" : "completed";
+                        for (int id = owner; id < IDS; id += THREADS) {
+                            transactionDAO.updateTransaction(transaction(id, status, id));
+                        }
+                    }
+                    return 0;
+                } finally {
+                    writersDone.countDown();
+                }
+            });
+        }
+        tasks.add(() -> {
+            writersDone.await();
+            writing.set(false);
+            return 0;
+        });
+        for (int reader = 0; reader < 2; reader++) {
+            tasks.add(() -> {
+                int scans = 0;
+                do {
+                    try (ConcurrentTransactionTable.Snapshot snapshot = TransactionDAOImpl.transactionsList.snapshot()) {
+                        Set<String> seen = new HashSet<String>();
+                        for (String status : new String[] { "pending", "completed" }) {
+                            for (Transaction transaction : snapshot.withStatus(status)) {
+                                assertTrue(seen.add(transaction.getTransactionId()), "Row in two statuses");
+                            }
+                        }
+                        assertEquals(IDS, seen.size());
+                        assertEquals(IDS, snapshot.inInstantRange(0, Long.MAX_VALUE).size());
+                        assertEquals(IDS, snapshot.inAmountRange(0.0, IDS).size());
+                    }
+                    scans++;
+                } while (writing.get());
+                return scans;
+            });
+        }
+
+        //Test Case 1: Every snapshot scan sees each row exactly once
+        runTogether(tasks);
+
+        //Test Case 2: All versions are reclaimed once the readers are done
+        assertEquals(0, TransactionDAOImpl.transactionsList.getRetainedVersions());
+        assertIndexesMatchRows(IDS);
+    }
+}
@@ -0,0 +1,503 @@
+package com.nwg.ezpay.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.nwg.ezpay.entity.Transaction;
+import com.nwg.ezpay.repository.ITransactionDAO;
+import com.nwg.ezpay.repository.aggregate.AggregateRow;
+import com.nwg.ezpay.repository.aggregate.GroupBy;
+import com.nwg.ezpay.repository.page.Page;
+import com.nwg.ezpay.repository.page.PageRequest;
+import com.nwg.ezpay.repository.query.TransactionQuery;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Description: Contract tests for {@link ITransactionDAO} storage engines. Every engine
+ * is loaded with the same rows as {@link TransactionDAOImplTest} and must give the
+ * same answers, also when it is shared between threads. Subclasses only say how
+ * to create an empty engine.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+
+
+abstract class TransactionDAOContractTest {
+
+    protected ITransactionDAO transactionDAO;
+    protected final SimpleDateFormat dateTimeSdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+    protected final SimpleDateFormat dateOnlySdf = new SimpleDateFormat("yyyy-MM-dd");
+
+    private static final int THREADS = 4;
+    private static final int ROWS_PER_THREAD = 2000;
+
+    // Same rows as the transactions.csv written by TransactionDAOImplTest.
+    private static final String[] INITIAL_ROWS = {
+            "TRX001,upi,100.00,completed,2024-07-20 10:00:00",
+            "TRX002,bank,250.50,pending,2024-07-20 11:30:00",
+            "TRX003,upi,50.00,initiated,2024-07-21 09:00:00",
+            "TRX004,bank,150.75,completed,2024-07-21 14:45:00",
+            "TRX005,upi,300.00,completed,2024-07-22 16:00:00",
+            "TRX006,bank,10.00,failed,2024-07-22 17:00:00" };
+
+
+    /**
+     * @return a new, empty instance of the storage engine under test.
+     */
+    protected abstract ITransactionDAO newTransactionDAO();
+
+
+    /**
+     * Creates a fresh engine and loads the initial rows through {@code createTransaction}.
+     *
+     * @throws ParseException if the initial rows can't be parsed.
+     */
+    @BeforeEach
+    void setupContract() throws ParseException {
+        transactionDAO = newTransactionDAO();
+        for (String row : INITIAL_ROWS) {
+            String[] details = row.split(",");
+            transactionDAO.createTransaction(new Transaction(details[0], details[1],
+                    Double.parseDouble(details[2]), details[3], dateTimeSdf.parse(details[4])));
+        }
+    }
+
+
+    @Test
+    @DisplayName("Contract: get transaction by ID - existing, non-existing, null and empty IDs")
+    void testGetTransactionById() {
+        Transaction existingTransaction = transactionDAO.getTransactionById("TRX002");
+        assertNotNull(existingTransaction);
+        assertEquals("TRX002", existingTransaction.getTransactionId());
+        assertEquals("bank", existingTransaction.getType());
+        assertEquals(250.50, existingTransaction.getAmount());
+        assertEquals("pending", existingTransaction.getStatus());
+
+        assertNull(transactionDAO.getTransactionById("NONEXISTENT"));
+        assertNull(transactionDAO.getTransactionById(null));
+        assertNull(transactionDAO.getTransactionById(""));
+    }
+
+
+    @Test
+    @DisplayName("Contract: get and count transactions by type and status")
+    void testGetTransactionByTypeAndStatus() {
+        List<Transaction> upiTransactions = transactionDAO.getTransactionByType("upi");
+        assertEquals(3, upiTransactions.size());
+        assertTrue(upiTransactions.stream().allMatch(t -> "upi".equals(t.getType())));
+        assertTrue(transactionDAO.getTransactionByType("crypto").isEmpty());
+        assertTrue(transactionDAO.getTransactionByType(null).isEmpty());
+        assertTrue(transactionDAO.getTransactionByType("Upi").isEmpty());
+
+        List<Transaction> completedTransactions = transactionDAO.getTransactionByStatus("completed");
+        assertEquals(3, completedTransactions.size());
+        assertTrue(completedTransactions.stream().allMatch(t -> "completed".equals(t.getStatus())));
+        assertTrue(transactionDAO.getTransactionByStatus("unknown").isEmpty());
+        assertTrue(transactionDAO.getTransactionByStatus(null).isEmpty());
+
+        assertEquals(3, transactionDAO.countTransactionByType("bank"));
+        assertEquals(1, transactionDAO.countTransactionByStatus("failed"));
+        assertEquals(0, transactionDAO.countTransactionByStatus(null));
+    }
+
+
+    @Test
+    @DisplayName("Contract: get transactions by date and date range")
+    void testGetTransactionByDateAndDateRange() throws ParseException {
+        assertEquals(2, transactionDAO.getTransactionByDate(dateOnlySdf.parse("2024-07-20")).size());
+        assertTrue(transactionDAO.getTransactionByDate(dateOnlySdf.parse("2025-01-01")).isEmpty());
+        assertTrue(transactionDAO.getTransactionByDate(null).isEmpty());
+
+        Date startDate = dateOnlySdf.parse("2024-07-20");
+        Date endDate = dateOnlySdf.parse("2024-07-21");
+        assertEquals(4, transactionDAO.getTransactionByDateRange(startDate, endDate).size());
+        assertEquals(2, transactionDAO.getTransactionByDateRange(endDate, endDate).size());
+        assertTrue(transactionDAO.getTransactionByDateRange(dateOnlySdf.parse("2025-01-01"),
+                dateOnlySdf.parse("2025-01-31")).isEmpty());
+        assertNull(transactionDAO.getTransactionByDateRange(null, endDate));
+        assertNull(transactionDAO.getTransactionByDateRange(startDate, null));
+        assertTrue(transactionDAO.getTransactionByDateRange(endDate, startDate).isEmpty());
+    }
+
+
+    @Test
+    @DisplayName("Contract: get transactions by amount range")
+    void testGetTransactionByAmountRange() {
+        List<Transaction> transactionsInRange = transactionDAO.getTransactionByAmountRange(50.00, 150.00);
+        assertEquals(2, transactionsInRange.size());
+        assertTrue(transactionsInRange.stream().allMatch(t -> t.getAmount() >= 50.00 && t.getAmount() <= 150.00));
+        assertEquals(1, transactionDAO.getTransactionByAmountRange(150.75, 150.75).size());
+        assertTrue(transactionDAO.getTransactionByAmountRange(1000.00, 2000.00).isEmpty());
+        assertTrue(transactionDAO.getTransactionByAmountRange(200.00, 100.00).isEmpty());
+        assertTrue(transactionDAO.getTransactionByAmountRange(null, 100.00).isEmpty());
+        assertEquals(4, transactionDAO.getTransactionByAmountRange(100.00, null).size());
+
+        Transaction unpriced = new Transaction("TRX008", "upi", null, "pending", new Date());
+        assertEquals(unpriced, transactionDAO.createTransaction(unpriced));
+        assertNull(transactionDAO.getTransactionById("TRX008").getAmount());
+        assertEquals(4, transactionDAO.getTransactionByAmountRange(100.00, null).size());
+        assertEquals(6, transactionDAO.getTransactionByAmountRange(0.00, null).size());
+    }
+
+
+    @Test
+    @DisplayName("Contract: paged queries return pages in date and ID order with a continuation token")
+    void testPagedQueries() throws ParseException {
+        // Two more upi rows at the same instant as TRX001, to order by ID within a date.
+        Date tie = dateTimeSdf.parse("2024-07-20 10:00:00");
+        transactionDAO.createTransaction(new Transaction("TRX010", "upi", 75.00, "pending", tie));
+        transactionDAO.createTransaction(new Transaction("TRX000", "upi", 125.00, "failed", tie));
+
+        //Test Case 1: Pages of a type come in date then ID order, the last one without a token
+        assertEquals(Arrays.asList("TRX000", "TRX001", "TRX010", "TRX003", "TRX005"),
+                allPages(pageRequest -> transactionDAO.getTransactionByType("upi", pageRequest), 2));
+        assertEquals(Arrays.asList("TRX002", "TRX004", "TRX006"),
+                allPages(pageRequest -> transactionDAO.getTransactionByType("bank", pageRequest), 3));
+
+        //Test Case 2: Status, date, date range and amount range pages hold the same rows as the lists
+        assertEquals(Arrays.asList("TRX001", "TRX004", "TRX005"),
+                allPages(pageRequest -> transactionDAO.getTransactionByStatus("completed", pageRequest), 1));
+        assertEquals(Arrays.asList("TRX000", "TRX001", "TRX010", "TRX002"),
+                allPages(pageRequest -> transactionDAO.getTransactionByDate(dateOnlySdf.parse("2024-07-20"), pageRequest), 3));
+        assertEquals(Arrays.asList("TRX000", "TRX001", "TRX010", "TRX002", "TRX003", "TRX004"),
+                allPages(pageRequest -> transactionDAO.getTransactionByDateRange(dateOnlySdf.parse("2024-07-20"),
+                        dateOnlySdf.parse("2024-07-21"), pageRequest), 3));
+        assertEquals(Arrays.asList("TRX000", "TRX001", "TRX004"),
+                allPages(pageRequest -> transactionDAO.getTransactionByAmountRange(100.00, 200.00, pageRequest), 2));
+        assertEquals(Arrays.asList("TRX000", "TRX001", "TRX002", "TRX004", "TRX005"),
+                allPages(pageRequest -> transactionDAO.getTransactionByAmountRange(100.00, null, pageRequest), 4));
+
+        //Test Case 3: A token still points after the last row shown once rows are written before and after it
+        Page<Transaction> firstPage = transactionDAO.getTransactionByType("upi", PageRequest.first(2));
+        assertEquals(2, firstPage.size());
+        assertTrue(firstPage.hasNext());
+        assertTrue(transactionDAO.deleteTransaction("TRX000"));
+        transactionDAO.createTransaction(new Transaction("TRX011", "upi", 20.00, "pending", dateTimeSdf.parse("2024-07-23 08:00:00")));
+        Page<Transaction> secondPage = transactionDAO.getTransactionByType("upi", PageRequest.of(2, firstPage.getNextPageToken()));
+        assertEquals(Arrays.asList("TRX010", "TRX003"), ids(secondPage.getItems()));
+
+        //Test Case 4: Empty results, null filters and malformed tokens
+        assertTrue(transactionDAO.getTransactionByType("crypto", PageRequest.first(5)).getItems().isEmpty());
+        assertFalse(transactionDAO.getTransactionByType(null, PageRequest.first(5)).hasNext());
+        assertTrue(transactionDAO.getTransactionByDateRange(null, tie, PageRequest.first(5)).getItems().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> PageRequest.of(2, "not a token"));
+        assertThrows(IllegalArgumentException.class, () -> PageRequest.first(0));
+    }
+
+
+    /**
+     * Walks every page of a paged query.
+     *
+     * @param query    : the query, for one page request
+     * @param pageSize : number of rows per page
+     * @return the IDs of the rows of all pages, in the order returned
+     */
+    private static List<String> allPages(PagedQuery query, int pageSize) throws ParseException {
+        List<String> ids = new ArrayList<>();
+        String pageToken = null;
+        do {
+            Page<Transaction> page = query.apply(PageRequest.of(pageSize, pageToken));
+            assertTrue(page.size() <= pageSize);
+            if (page.hasNext()) {
+                assertEquals(pageSize, page.size());
+            }
+            ids.addAll(ids(page.getItems()));
+            pageToken = page.getNextPageToken();
+        } while (pageToken != null);
+        return ids;
+    }
+
+    private static List<String> ids(List<Transaction> transactions) {
+        List<String> ids = new ArrayList<>();
+        transactions.forEach(transaction -> ids.add(transaction.getTransactionId()));
+        return ids;
+    }
+
+    /**
+     * A paged query of the engine under test.
+     */
+    interface PagedQuery {
+        Page<Transaction> apply(PageRequest pageRequest) throws ParseException;
+    }
+
+
+    @Test
+    @DisplayName("Contract: a query combining filters returns the rows meeting all of them, in date and ID order")
+    void testGetTransactionByQuery() throws ParseException {
+        Date startDate = dateOnlySdf.parse("2024-07-20");
+        Date endDate = dateOnlySdf.parse("2024-07-21");
+
+        //Test Case 1: Every filter set must hold
+        assertEquals(Arrays.asList("TRX001", "TRX005"), ids(transactionDAO.getTransactionByQuery(
+                TransactionQuery.all().withType("upi").withAmountBetween(100.00, null))));
+        assertEquals(Arrays.asList("TRX004"), ids(transactionDAO.getTransactionByQuery(
+                TransactionQuery.all().withType("bank").withStatus("completed").onDays(startDate, endDate))));
+        assertEquals(Arrays.asList("TRX002", "TRX004"), ids(transactionDAO.getTransactionByQuery(
+                TransactionQuery.all().onDays(startDate, endDate).withAmountBetween(150.00, 300.00))));
+
+        //Test Case 2: Open-ended ranges and a query without filters
+        assertEquals(Arrays.asList("TRX005", "TRX006"), ids(transactionDAO.getTransactionByQuery(
+                TransactionQuery.all().onDays(dateOnlySdf.parse("2024-07-22"), null))));
+        assertEquals(Arrays.asList("TRX003", "TRX006"), ids(transactionDAO.getTransactionByQuery(
+                TransactionQuery.all().withAmountBetween(null, 50.00))));
+        assertEquals(Arrays.asList("TRX001", "TRX002", "TRX003", "TRX004", "TRX005", "TRX006"),
+                ids(transactionDAO.getTransactionByQuery(TransactionQuery.all())));
+
+        //Test Case 3: The result follows writes
+        transactionDAO.createTransaction(new Transaction("TRX007", "upi", 120.00, "failed", dateTimeSdf.parse("2024-07-20 08:00:00")));
+        assertEquals(Arrays.asList("TRX007", "TRX001"), ids(transactionDAO.getTransactionByQuery(
+                TransactionQuery.all().withType("upi").onDays(startDate, startDate))));
+
+        //Test Case 4: No match, unknown values, inverted ranges and a null query give empty lists
+        assertTrue(transactionDAO.getTransactionByQuery(TransactionQuery.all().withType("upi").withStatus("pending")).isEmpty());
+        assertTrue(transactionDAO.getTransactionByQuery(TransactionQuery.all().withType("crypto")).isEmpty());
+        assertTrue(transactionDAO.getTransactionByQuery(TransactionQuery.all().onDays(endDate, startDate)).isEmpty());
+        assertTrue(transactionDAO.getTransactionByQuery(TransactionQuery.all().withAmountBetween(200.00, 100.00)).isEmpty());
+        assertTrue(transactionDAO.getTransactionByQuery(null).isEmpty());
+    }
+
+
+    @Test
+    @DisplayName("Contract: aggregates are grouped on any combination of type, status, day and month")
+    void testAggregateTransactions() throws ParseException {
+        //Test Case 1: Without keys, every transaction falls in one group
+        List<AggregateRow> total = transactionDAO.aggregateTransactions(TransactionQuery.all(), EnumSet.noneOf(GroupBy.class));
+        assertEquals(Arrays.asList("null/null/null: 6 861.25 10.0 300.0"), describe(total));
+        assertEquals(143.5417, total.get(0).getAverage(), 0.0001);
+
+        //Test Case 2: Grouped on one key
+        List<AggregateRow> byType = transactionDAO.aggregateTransactions(TransactionQuery.all(), EnumSet.of(GroupBy.TYPE));
+        assertEquals(Arrays.asList("bank/null/null: 3 411.25 10.0 250.5", "upi/null/null: 3 450.0 50.0 300.0"), describe(byType));
+        assertEquals(150.0, byType.get(1).getAverage(), 0.0001);
+
+        //Test Case 3: Grouped on several keys, of the transactions meeting the query only
+        assertEquals(Arrays.asList("bank/null/2024-07-21: 1 150.75 150.75 150.75", "upi/null/2024-07-20: 1 100.0 100.0 100.0",
+                "upi/null/2024-07-22: 1 300.0 300.0 300.0"), describe(transactionDAO.aggregateTransactions(
+                        TransactionQuery.all().withStatus("completed"), EnumSet.of(GroupBy.TYPE, GroupBy.DAY))));
+        assertEquals(Arrays.asList("null/completed/2024-07-01: 3 550.75 100.0 300.0", "null/failed/2024-07-01: 1 10.0 10.0 10.0",
+                "null/initiated/2024-07-01: 1 50.0 50.0 50.0", "null/pending/2024-07-01: 1 250.5 250.5 250.5"),
+                describe(transactionDAO.aggregateTransactions(TransactionQuery.all(), EnumSet.of(GroupBy.STATUS, GroupBy.MONTH))));
+        assertEquals(Arrays.asList("null/null/2024-07-20: 2 350.5 100.0 250.5", "null/null/2024-07-21: 2 200.75 50.0 150.75"),
+                describe(transactionDAO.aggregateTransactions(TransactionQuery.all().onDays(dateOnlySdf.parse("2024-07-20"),
+                        dateOnlySdf.parse("2024-07-21")), EnumSet.of(GroupBy.DAY, GroupBy.MONTH))));
+
+        //Test Case 4: Aggregates follow writes
+        transactionDAO.createTransaction(new Transaction("TRX007", "upi", 20.00, "failed", dateTimeSdf.parse("2024-08-01 09:00:00")));
+        transactionDAO.updateTransaction(new Transaction("TRX006", "bank", 12.00, "failed", dateTimeSdf.parse("2024-07-22 17:00:00")));
+        assertEquals(Arrays.asList("bank/null/2024-07-01: 1 12.0 12.0 12.0", "upi/null/2024-08-01: 1 20.0 20.0 20.0"),
+                describe(transactionDAO.aggregateTransactions(TransactionQuery.all().withStatus("failed"),
+                        EnumSet.of(GroupBy.TYPE, GroupBy.MONTH))));
+
+        //Test Case 5: No match, inverted ranges and a null query give no groups
+        assertTrue(transactionDAO.aggregateTransactions(TransactionQuery.all().withType("crypto"), EnumSet.noneOf(GroupBy.class)).isEmpty());
+        assertTrue(transactionDAO.aggregateTransactions(TransactionQuery.all().withAmountBetween(200.00, 100.00),
+                EnumSet.of(GroupBy.TYPE)).isEmpty());
+        assertTrue(transactionDAO.aggregateTransactions(null, EnumSet.of(GroupBy.TYPE)).isEmpty());
+    }
+
+
+    /**
+     * @return each aggregate row as "type/status/period: count sum min max"
+     */
+    private static List<String> describe(List<AggregateRow> rows) {
+        List<String> described = new ArrayList<>();
+        rows.forEach(row -> described.add(row.getType() + "/" + row.getStatus() + "/" + row.getPeriod() + ": " + row.getCount()
+                + " " + row.getSum() + " " + row.getMin() + " " + row.getMax()));
+        return described;
+    }
+
+
+    @Test
+    @DisplayName("Contract: streaming queries return the rows of the list queries and stop early")
+    void testStreamingQueries() throws ParseException {
+        Date startDate = dateOnlySdf.parse("2024-07-20");
+        Date endDate = dateOnlySdf.parse("2024-07-21");
+
+        //Test Case 1: Every stream holds the same rows as its list query
+        assertEquals(sortedIds(transactionDAO.getTransactionByType("upi")), streamedIds(transactionDAO.streamTransactionByType("upi")));
+        assertEquals(sortedIds(transactionDAO.getTransactionByStatus("completed")),
+                streamedIds(transactionDAO.streamTransactionByStatus("completed")));
+        assertEquals(sortedIds(transactionDAO.getTransactionByDate(startDate)), streamedIds(transactionDAO.streamTransactionByDate(startDate)));
+        assertEquals(sortedIds(transactionDAO.getTransactionByDateRange(startDate, endDate)),
+                streamedIds(transactionDAO.streamTransactionByDateRange(startDate, endDate)));
+        assertEquals(sortedIds(transactionDAO.getTransactionByAmountRange(50.00, 150.00)),
+                streamedIds(transactionDAO.streamTransactionByAmountRange(50.00, 150.00)));
+        assertEquals(sortedIds(transactionDAO.getTransactionByAmountRange(100.00, null)),
+                streamedIds(transactionDAO.streamTransactionByAmountRange(100.00, null)));
+
+        //Test Case 2: A short-circuited stream stops reading
+        try (Stream<Transaction> stream = transactionDAO.streamTransactionByDateRange(startDate, endDate)) {
+            Optional<Transaction> first = stream.filter(transaction -> "bank".equals(transaction.getType())).findFirst();
+            assertTrue(first.isPresent());
+            assertEquals("bank", first.get().getType());
+        }
+        try (Stream<Transaction> stream = transactionDAO.streamTransactionByAmountRange(0.00, null)) {
+            assertEquals(2, stream.limit(2).count());
+        }
+
+        //Test Case 3: A parallel stream sees every row once
+        try (Stream<Transaction> stream = transactionDAO.streamTransactionByType("bank").parallel()) {
+            assertEquals(3, stream.map(Transaction::getTransactionId).distinct().count());
+        }
+
+        //Test Case 4: Empty results and null arguments give empty streams
+        assertTrue(streamedIds(transactionDAO.streamTransactionByType("crypto")).isEmpty());
+        assertTrue(streamedIds(transactionDAO.streamTransactionByType(null)).isEmpty());
+        assertTrue(streamedIds(transactionDAO.streamTransactionByDate(null)).isEmpty());
+        assertTrue(streamedIds(transactionDAO.streamTransactionByDateRange(null, endDate)).isEmpty());
+        assertTrue(streamedIds(transactionDAO.streamTransactionByDateRange(endDate, startDate)).isEmpty());
+        assertTrue(streamedIds(transactionDAO.streamTransactionByAmountRange(null, 100.00)).isEmpty());
+        assertTrue(streamedIds(transactionDAO.streamTransactionByAmountRange(200.00, 100.00)).isEmpty());
+    }
+
+
+    /**
+     * Reads and closes a stream.
+     *
+     * @return the IDs of the streamed rows, sorted, since engines may stream in another order than they list
+     */
+    private static List<String> streamedIds(Stream<Transaction> stream) {
+        try (Stream<Transaction> transactions = stream) {
+            List<String> ids = new ArrayList<>();
+            transactions.forEach(transaction -> ids.add(transaction.getTransactionId()));
+            ids.sort(null);
+            return ids;
+        }
+    }
+
+    private static List<String> sortedIds(List<Transaction> transactions) {
+        List<String> ids = ids(transactions);
+        ids.sort(null);
+        return ids;
+    }
+
+
+    @Test
+    @DisplayName("Contract: create, update and delete transactions")
+    void testCreateUpdateDeleteTransaction() throws ParseException {
+        Transaction newTransaction = new Transaction("TRX007", "upi", 500.00, "completed", dateTimeSdf.parse("2024-07-23 10:00:00"));
+        assertEquals(newTransaction, transactionDAO.createTransaction(newTransaction));
+        assertEquals(500.00, transactionDAO.getTransactionById("TRX007").getAmount());
+        assertNull(transactionDAO.createTransaction(null));
+        assertThrows(IllegalArgumentException.class, () -> transactionDAO.createTransaction(
+                new Transaction("TRX001", "upi", 1.00, "completed", new Date())));
+
+        Transaction updated = transactionDAO.updateTransaction(new Transaction(
+                "TRX002", "upi", 260.00, "completed", dateTimeSdf.parse("2024-07-20 12:00:00")));
+        assertNotNull(updated);
+        assertEquals("upi", transactionDAO.getTransactionById("TRX002").getType());
+        assertEquals(5, transactionDAO.countTransactionByType("upi"));
+        assertNull(transactionDAO.updateTransaction(new Transaction("NONEXISTENT", "upi", 1.00, "completed", new Date())));
+        assertNull(transactionDAO.updateTransaction(null));
+
+        assertTrue(transactionDAO.deleteTransaction("TRX001"));
+        assertNull(transactionDAO.getTransactionById("TRX001"));
+        assertFalse(transactionDAO.deleteTransaction("TRX001"));
+        assertFalse(transactionDAO.deleteTransaction(null));
+        assertEquals(4, transactionDAO.countTransactionByStatus("completed"));
+        assertNotNull(transactionDAO.getTransactionById("TRX006"));
+    }
+
+
+    @Test
+    @DisplayName("Contract: ID lookups stay correct across many inserts and deletes")
+    void testManyCreatesAndDeletes() {
+        int rows = 100_000;
+        for (int i = 0; i < rows; i++) {
+            transactionDAO.createTransaction(new Transaction("BULK" + i, i % 2 == 0 ? "upi" : "bank",
+                    i / 100.0, "pending", new Date(1721466000000L + i * 1000L)));
+        }
+        for (int i = 0; i < rows; i += 3) {
+            assertTrue(transactionDAO.deleteTransaction("BULK" + i));
+        }
+        for (int i = 0; i < rows; i++) {
+            Transaction transaction = transactionDAO.getTransactionById("BULK" + i);
+            if (i % 3 == 0) {
+                assertNull(transaction);
+            } else {
+                assertNotNull(transaction);
+                assertEquals(i / 100.0, transaction.getAmount());
+            }
+        }
+        assertEquals(1 + rows - (rows + 2) / 3, transactionDAO.countTransactionByStatus("pending"));
+    }
+
+
+    @Test
+    @DisplayName("Contract: writers and readers on several threads keep every row stored once")
+    void testConcurrentWriters() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        try {
+            List<Future<?>> writers = new ArrayList<Future<?>>();
+            for (int t = 0; t < THREADS; t++) {
+                int first = t * ROWS_PER_THREAD;
+                writers.add(executor.submit(() -> {
+                    for (int i = first; i < first + ROWS_PER_THREAD; i++) {
+                        transactionDAO.createTransaction(new Transaction("CON" + i, "upi", (double) i, "initiated", new Date(i * 1000L)));
+                        if (i % 4 == 0) {
+                            assertTrue(transactionDAO.deleteTransaction("CON" + i));
+                        } else if (i % 4 == 1) {
+                            assertNotNull(transactionDAO.updateTransaction(new Transaction("CON" + i, "upi", (double) i, "completed",
+                                    new Date(i * 1000L))));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            Future<?> reader = executor.submit(() -> {
+                while (!writers.stream().allMatch(Future::isDone)) {
+                    for (Transaction transaction : transactionDAO.getTransactionByType("upi")) {
+                        assertNotNull(transaction.getTransactionId());
+                    }
+                }
+                return null;
+            });
+            for (Future<?> writer : writers) {
+                writer.get(60, TimeUnit.SECONDS);
+            }
+            reader.get(60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        //Test Case 1: Every row created and not deleted is stored once
+        int rows = THREADS * ROWS_PER_THREAD;
+        assertEquals(3 + rows * 3 / 4, transactionDAO.countTransactionByType("upi"));
+        assertEquals(rows / 4, transactionDAO.getTransactionByStatus("completed").size() - 3);
+
+        //Test Case 2: Each row holds the values last written for its ID
+        for (int i = 0; i < rows; i++) {
+            Transaction transaction = transactionDAO.getTransactionById("CON" + i);
+            if (i % 4 == 0) {
+                assertNull(transaction);
+            } else {
+                assertEquals(i % 4 == 1 ? "completed" : "initiated", transaction.getStatus());
+                assertEquals((double) i, transaction.getAmount());
+            }
+        }
+    }
+}
@@ -8,6 +8,12 @@ import org.junit.jupiter.api.Test;
 import com.nwg.ezpay.entity.Transaction;
 import com.nwg.ezpay.repository.ITransactionDAO;
 import com.nwg.ezpay.repository.TransactionDAOImpl;
+import com.nwg.ezpay.repository.aggregate.AggregateRow;
+import com.nwg.ezpay.repository.aggregate.GroupBy;
+import com.nwg.ezpay.repository.page.Page;
+import com.nwg.ezpay.repository.page.PageRequest;
+import com.nwg.ezpay.repository.query.QueryPlan;
+import com.nwg.ezpay.repository.query.TransactionQuery;
 
 import java.io.BufferedReader;
 import java.io.FileReader;
@@ -15,8 +21,17 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -191,7 +206,45 @@ class TransactionDAOImplTest {
         assertTrue(nullStatusTransactions.isEmpty());
     }
 
-    
+
+
+    // --- countTransactionByType / countTransactionByStatus Tests ---
+    /**
+     * Unit tests for the {@code TransactionDAOImpl.countTransactionByType} and
+     * {@code TransactionDAOImpl.countTransactionByStatus} methods.
+     * This suite verifies that the counts follow creates, updates and deletes.
+     */
+    @Test
+    @DisplayName("Count transactions by type and status - follows create, update and delete")
+    void testCountTransactionByTypeAndStatus() throws ParseException {
+
+        //Test Case 1: Counts match the initial data
+        assertEquals(3, transactionDAO.countTransactionByType("upi"));
+        assertEquals(3, transactionDAO.countTransactionByType("bank"));
+        assertEquals(3, transactionDAO.countTransactionByStatus("completed"));
+        assertEquals(1, transactionDAO.countTransactionByStatus("failed"));
+
+        //Test Case 2: Unknown and null values count zero
+        assertEquals(0, transactionDAO.countTransactionByType("crypto"));
+        assertEquals(0, transactionDAO.countTransactionByType(null));
+        assertEquals(0, transactionDAO.countTransactionByStatus(null));
+
+        //Test Case 3: Counts follow create, update and delete
+        transactionDAO.createTransaction(new Transaction(
+                "TRX007", "upi", 75.00, "pending", dateTimeSdf.parse("2024-07-23 10:00:00")));
+        transactionDAO.updateTransaction(new Transaction(
+                "TRX006", "bank", 10.00, "completed", dateTimeSdf.parse("2024-07-22 17:00:00")));
+        transactionDAO.deleteTransaction("TRX001");
+
+        assertEquals(3, transactionDAO.countTransactionByType("upi"));
+        assertEquals(2, transactionDAO.countTransactionByStatus("pending"));
+        assertEquals(3, transactionDAO.countTransactionByStatus("completed"));
+        assertEquals(0, transactionDAO.countTransactionByStatus("failed"));
+        assertEquals(3, transactionDAO.getTransactionByStatus("completed").size());
+        assertTrue(transactionDAO.getTransactionByType("upi").stream().noneMatch(t -> "TRX001".equals(t.getTransactionId())));
+    }
+
+
 
     // --- getTransactionByDate Tests ---
     /**
@@ -326,6 +379,182 @@ class TransactionDAOImplTest {
 
     
 
+    @Test
+    @DisplayName("Get transactions page by page - follows the continuation token to the last page")
+    void testGetTransactionPages() throws ParseException {
+
+        //Test Case 1: The first page holds the earliest rows and a token
+        Page<Transaction> firstPage = transactionDAO.getTransactionByDateRange(dateOnlySdf.parse("2024-07-20"),
+                dateOnlySdf.parse("2024-07-22"), PageRequest.first(4));
+        assertEquals(4, firstPage.size());
+        assertEquals("TRX001", firstPage.getItems().get(0).getTransactionId());
+        assertEquals("TRX004", firstPage.getItems().get(3).getTransactionId());
+        assertTrue(firstPage.hasNext());
+
+        //Test Case 2: The token asks for the rest, and the last page has no token
+        Page<Transaction> lastPage = transactionDAO.getTransactionByDateRange(dateOnlySdf.parse("2024-07-20"),
+                dateOnlySdf.parse("2024-07-22"), PageRequest.of(4, firstPage.getNextPageToken()));
+        assertEquals(2, lastPage.size());
+        assertEquals("TRX005", lastPage.getItems().get(0).getTransactionId());
+        assertFalse(lastPage.hasNext());
+
+        //Test Case 3: A page exactly as large as the result has no token
+        Page<Transaction> upiPage = transactionDAO.getTransactionByType("upi", PageRequest.first(3));
+        assertEquals(3, upiPage.size());
+        assertNull(upiPage.getNextPageToken());
+
+        //Test Case 4: Rows created after the first page was read show up on the next one
+        Page<Transaction> bankPage = transactionDAO.getTransactionByType("bank", PageRequest.first(1));
+        transactionDAO.createTransaction(new Transaction("TRX007", "bank", 80.00, "pending", dateTimeSdf.parse("2024-07-21 08:00:00")));
+        assertEquals("TRX007", transactionDAO.getTransactionByType("bank", PageRequest.of(1, bankPage.getNextPageToken()))
+                .getItems().get(0).getTransactionId());
+    }
+
+    private static List<String> pagedIds(Function<PageRequest, Page<Transaction>> query) {
+        List<String> ids = new ArrayList<String>();
+        Page<Transaction> page = query.apply(PageRequest.first(50));
+        ids.addAll(page.getItems().stream().map(Transaction::getTransactionId).collect(Collectors.toList()));
+        while (page.hasNext()) {
+            page = query.apply(PageRequest.of(50, page.getNextPageToken()));
+            ids.addAll(page.getItems().stream().map(Transaction::getTransactionId).collect(Collectors.toList()));
+        }
+        return ids;
+    }
+
+    private static List<String> inPageOrder(List<Transaction> transactions) {
+        return transactions.stream()
+                .sorted(Comparator.comparing(Transaction::getDate).thenComparing(Transaction::getTransactionId))
+                .map(Transaction::getTransactionId).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Get transactions page by page - type, status and amount pages match the list queries")
+    void testGetTransactionPagesFromIndexes() {
+        for (int i = 0; i < 2000; i++) {
+            transactionDAO.createTransaction(new Transaction(String.format("PG%05d", i), i % 3 == 0 ? "upi" : "bank",
+                    (double) (i % 500), i % 7 == 0 ? "failed" : "completed", new Date(1704067200000L + (i * 7919L % 2000) * 60000L)));
+        }
+        Transaction moved = transactionDAO.getTransactionById("PG00014");
+        transactionDAO.updateTransaction(new Transaction("PG00014", "upi", 499.00, "pending", moved.getDate()));
+
+        //Test Case 1: Type and status pages hold the rows of their list query, in date and ID order
+        assertEquals(inPageOrder(transactionDAO.getTransactionByType("upi")),
+                pagedIds(pageRequest -> transactionDAO.getTransactionByType("upi", pageRequest)));
+        assertEquals(inPageOrder(transactionDAO.getTransactionByStatus("failed")),
+                pagedIds(pageRequest -> transactionDAO.getTransactionByStatus("failed", pageRequest)));
+        assertEquals(Arrays.asList("PG00014", "TRX002"),
+                pagedIds(pageRequest -> transactionDAO.getTransactionByStatus("pending", pageRequest)));
+
+        //Test Case 2: A narrow amount range and a wide one page the same rows as their list query
+        assertEquals(inPageOrder(transactionDAO.getTransactionByAmountRange(10.00, 12.00)),
+                pagedIds(pageRequest -> transactionDAO.getTransactionByAmountRange(10.00, 12.00, pageRequest)));
+        assertEquals(inPageOrder(transactionDAO.getTransactionByAmountRange(50.00, null)),
+                pagedIds(pageRequest -> transactionDAO.getTransactionByAmountRange(50.00, null, pageRequest)));
+        assertTrue(transactionDAO.getTransactionByAmountRange(12.00, 10.00, PageRequest.first(5)).getItems().isEmpty());
+    }
+
+    
+
+    @Test
+    @DisplayName("Stream transactions - reads the snapshot it was opened on until it is closed")
+    void testStreamTransactions() throws ParseException {
+
+        //Test Case 1: The stream reads rows in insertion order, like the list
+        try (Stream<Transaction> stream = transactionDAO.streamTransactionByType("upi")) {
+            Iterator<Transaction> upi = stream.iterator();
+            assertEquals("TRX001", upi.next().getTransactionId());
+
+            //Test Case 2: Rows deleted and created while the stream is open don't change what it reads
+            assertTrue(transactionDAO.deleteTransaction("TRX003"));
+            transactionDAO.createTransaction(new Transaction("TRX007", "upi", 80.00, "pending", dateTimeSdf.parse("2024-07-23 08:00:00")));
+            assertEquals("TRX003", upi.next().getTransactionId());
+            assertEquals("TRX005", upi.next().getTransactionId());
+            assertFalse(upi.hasNext());
+            assertEquals(1, TransactionDAOImpl.transactionsList.getRetainedVersions());
+        }
+
+        //Test Case 3: Closing the stream releases the deleted row, and a new stream sees the writes
+        assertEquals(0, TransactionDAOImpl.transactionsList.getRetainedVersions());
+        try (Stream<Transaction> stream = transactionDAO.streamTransactionByDate(dateOnlySdf.parse("2024-07-21"))) {
+            assertEquals(1, stream.count());
+        }
+        try (Stream<Transaction> stream = transactionDAO.streamTransactionByStatus("pending")) {
+            assertEquals(2, stream.count());
+        }
+    }
+
+    
+
+    @Test
+    @DisplayName("Plan a combined query - reads from the index giving the fewest rows")
+    void testPlanQuery() throws ParseException {
+        TransactionQuery upi = TransactionQuery.all().withType("upi");
+
+        //Test Case 1: A single filter reads its own index
+        assertEquals(QueryPlan.Access.TYPE_INDEX, TransactionDAOImpl.transactionsList.plan(upi).getAccess());
+        assertEquals(3, TransactionDAOImpl.transactionsList.plan(upi).getEstimatedRows());
+
+        //Test Case 2: The most selective of several filters is read, the others are checked on its rows
+        QueryPlan plan = TransactionDAOImpl.transactionsList.plan(upi.withAmountBetween(250.00, 400.00));
+        assertEquals(QueryPlan.Access.AMOUNT_INDEX, plan.getAccess());
+        assertEquals(2, plan.getEstimatedRows());
+        assertEquals(QueryPlan.Access.STATUS_INDEX, TransactionDAOImpl.transactionsList.plan(upi.withStatus("failed")
+                .onDays(dateOnlySdf.parse("2024-07-20"), dateOnlySdf.parse("2024-07-22"))).getAccess());
+        assertEquals(QueryPlan.Access.DATE_INDEX, TransactionDAOImpl.transactionsList.plan(upi.withStatus("completed")
+                .onDays(dateOnlySdf.parse("2024-07-22"), null)).getAccess());
+
+        //Test Case 3: Without filters every row is scanned
+        assertEquals(QueryPlan.Access.FULL_SCAN, TransactionDAOImpl.transactionsList.plan(TransactionQuery.all()).getAccess());
+        assertEquals(Arrays.asList("TRX005"), transactionDAO.getTransactionByQuery(upi.withAmountBetween(250.00, 400.00))
+                .stream().map(Transaction::getTransactionId).collect(Collectors.toList()));
+    }
+
+    
+
+    @Test
+    @DisplayName("Aggregate transactions - undated rows, rows without an amount and many groups")
+    void testAggregateTransactions() throws ParseException {
+
+        //Test Case 1: Transactions without an amount or a date are counted in their own group
+        transactionDAO.createTransaction(new Transaction("TRX007", "upi", null, "failed", null));
+        List<AggregateRow> failed = transactionDAO.aggregateTransactions(TransactionQuery.all().withStatus("failed"),
+                EnumSet.of(GroupBy.TYPE, GroupBy.DAY));
+        assertEquals(2, failed.size());
+        assertEquals("bank", failed.get(0).getType());
+        assertEquals(LocalDate.of(2024, 7, 22), failed.get(0).getPeriod());
+        assertEquals("upi", failed.get(1).getType());
+        assertNull(failed.get(1).getPeriod());
+        assertEquals(1, failed.get(1).getCount());
+        assertEquals(0, failed.get(1).getAmountCount());
+        assertEquals(0.0, failed.get(1).getSum());
+        assertNull(failed.get(1).getMin());
+        assertNull(failed.get(1).getAverage());
+
+        //Test Case 2: Sums are exact in minor units, whatever the number of groups
+        for (int day = 1; day <= 30; day++) {
+            transactionDAO.createTransaction(new Transaction(String.format("TRX%03d", 100 + day), "upi", 0.10, "pending",
+                    dateTimeSdf.parse(String.format("2024-06-%02d 12:00:00", day))));
+            transactionDAO.createTransaction(new Transaction(String.format("TRX%03d", 200 + day), "upi", 0.20, "pending",
+                    dateTimeSdf.parse(String.format("2024-06-%02d 23:59:59", day))));
+        }
+        List<AggregateRow> june = transactionDAO.aggregateTransactions(TransactionQuery.all().withStatus("pending")
+                .onDays(dateOnlySdf.parse("2024-06-01"), dateOnlySdf.parse("2024-06-30")), EnumSet.of(GroupBy.DAY));
+        assertEquals(30, june.size());
+        for (int day = 1; day <= 30; day++) {
+            AggregateRow row = june.get(day - 1);
+            assertEquals(LocalDate.of(2024, 6, day), row.getPeriod());
+            assertEquals(2, row.getCount());
+            assertEquals(0.30, row.getSum());
+        }
+        List<AggregateRow> byMonth = transactionDAO.aggregateTransactions(TransactionQuery.all().withType("upi").withStatus("pending"),
+                EnumSet.of(GroupBy.MONTH));
+        assertEquals(1, byMonth.size());
+        assertEquals(9.0, byMonth.get(0).getSum());
+        assertEquals(0.15, byMonth.get(0).getAverage(), 0.000001);
+    }
+
+    
+
     // --- createTransaction Tests ---
     /**
      * Unit tests for the {@code TransactionDAOImpl.createTransaction} method.
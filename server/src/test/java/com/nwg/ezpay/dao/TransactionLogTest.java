@@ -0,0 +1,321 @@
+package com.nwg.ezpay.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.nwg.ezpay.entity.Transaction;
+import com.nwg.ezpay.repository.storage.TransactionLog;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Description: Unit tests for the write-ahead log of transaction mutations.
+ * They check that logged mutations are replayed in order across segments, that
+ * concurrent appends are group-committed, that a torn tail is dropped, and that a
+ * log written for another CSV file fails the open instead of being dropped.
+ *
+ * @author Sourav Behera
+ * @version 0.0.1
+ * @since 2026-10-17
+ */
+
+
+class TransactionLogTest {
+
+    private File csvFile;
+    private File logFile;
+    private File firstSegment;
+
+    @BeforeEach
+    void setup() throws IOException {
+        csvFile = File.createTempFile("ezpay-log", ".csv");
+        logFile = new File(csvFile.getPath() + ".wal");
+        firstSegment = new File(logFile.getPath() + ".00000000000000000000");
+        try (FileWriter fileWriter = new FileWriter(csvFile)) {
+            fileWriter.write("TRX001,upi,100.00,completed,2024-07-20 10:00:00\n");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        csvFile.delete();
+        logFile.delete();
+        File[] staleLogs = csvFile.getParentFile().listFiles((dir, name) -> name.startsWith(logFile.getName() + "."));
+        for (File staleLog : staleLogs) {
+            staleLog.delete();
+        }
+    }
+
+    /**
+     * Records the replayed mutations as strings.
+     */
+    private static TransactionLog.Replay recorder(List<String> replayed) {
+        return new TransactionLog.Replay() {
+            @Override
+            public void create(Transaction transaction) {
+                replayed.add("create " + describe(transaction));
+            }
+
+            @Override
+            public void update(Transaction transaction) {
+                replayed.add("update " + describe(transaction));
+            }
+
+            @Override
+            public void delete(String transactionId) {
+                replayed.add("delete " + transactionId);
+            }
+        };
+    }
+
+    private static String describe(Transaction transaction) {
+        return transaction.getTransactionId() + "," + transaction.getType() + "," + transaction.getAmount() + ","
+                + transaction.getStatus() + "," + (transaction.getDate() == null ? null : transaction.getDate().getTime());
+    }
+
+    private TransactionLog open(List<String> replayed) throws IOException {
+        replayed.clear();
+        return TransactionLog.open(logFile.getPath(), csvFile, recorder(replayed));
+    }
+
+
+    @Test
+    @DisplayName("Log - mutations are replayed in order when the log is reopened")
+    void testReplay() throws IOException {
+        List<String> replayed = new ArrayList<String>();
+
+        //Test Case 1: A new log has nothing to replay
+        try (TransactionLog log = open(replayed)) {
+            assertEquals(0, log.getReplayed());
+            log.logCreate(new Transaction("TRX002", "bank", 250.5, "pending", new Date(1721466000000L)));
+            log.logUpdate(new Transaction("TRX002", "bank", 250.5, "completed", new Date(1721466000000L)));
+            log.logCreate(new Transaction("TRX003", null, null, null, null));
+            log.logDelete("TRX001");
+        }
+
+        //Test Case 2: Reopening replays every mutation, including null fields
+        try (TransactionLog log = open(replayed)) {
+            assertEquals(4, log.getReplayed());
+        }
+        assertEquals(4, replayed.size());
+        assertEquals("create TRX002,bank,250.5,pending,1721466000000", replayed.get(0));
+        assertEquals("update TRX002,bank,250.5,completed,1721466000000", replayed.get(1));
+        assertEquals("create TRX003,null,null,null,null", replayed.get(2));
+        assertEquals("delete TRX001", replayed.get(3));
+
+        //Test Case 3: Appends after a replay follow the replayed records
+        try (TransactionLog log = open(replayed)) {
+            log.logDelete("TRX002");
+        }
+        try (TransactionLog log = open(replayed)) {
+            assertEquals(5, log.getReplayed());
+        }
+        assertEquals("delete TRX002", replayed.get(4));
+    }
+
+    @Test
+    @DisplayName("Log - a torn or damaged tail is truncated and later appends are kept")
+    void testTornTail() throws IOException {
+        List<String> replayed = new ArrayList<String>();
+        try (TransactionLog log = open(replayed)) {
+            log.logCreate(new Transaction("TRX002", "bank", 250.5, "pending", new Date(1721466000000L)));
+            log.logDelete("TRX001");
+        }
+        long intactLength = firstSegment.length();
+
+        //Test Case 1: A record cut short by a crash is dropped
+        try (RandomAccessFile file = new RandomAccessFile(firstSegment, "rw")) {
+            file.seek(intactLength);
+            file.writeInt(40);
+            file.writeInt(0);
+            file.write(new byte[] { 1, 1, 0 });
+        }
+        try (TransactionLog log = open(replayed)) {
+            assertEquals(2, log.getReplayed());
+        }
+        assertEquals(intactLength, firstSegment.length());
+
+        //Test Case 2: A record that fails its checksum ends the replay
+        try (RandomAccessFile file = new RandomAccessFile(firstSegment, "rw")) {
+            file.seek(intactLength - 1);
+            int lastByte = file.read();
+            file.seek(intactLength - 1);
+            file.write(lastByte ^ 0x7F);
+        }
+        long firstRecordEnd;
+        try (TransactionLog log = open(replayed)) {
+            assertEquals(1, log.getReplayed());
+            firstRecordEnd = firstSegment.length();
+            assertTrue(firstRecordEnd < intactLength);
+
+            //Test Case 3: New records are appended after the last intact one
+            log.logDelete("TRX003");
+        }
+        try (TransactionLog log = open(replayed)) {
+            assertEquals(2, log.getReplayed());
+        }
+        assertEquals("delete TRX003", replayed.get(1));
+    }
+
+    @Test
+    @DisplayName("Log - a log written for another CSV file fails the open and is kept")
+    void testStaleBaseline() throws IOException {
+        List<String> replayed = new ArrayList<String>();
+        try (TransactionLog log = open(replayed)) {
+            log.logDelete("TRX001");
+        }
+        long segmentBytes = firstSegment.length();
+
+        //Test Case 1: Rewriting the CSV file fails the open with the mismatch, nothing is replayed
+        try (FileWriter fileWriter = new FileWriter(csvFile, true)) {
+            fileWriter.write("TRX002,bank,250.5,pending,2024-07-20 11:30:00\n");
+        }
+        IOException failure = assertThrows(IOException.class, () -> open(replayed));
+        assertTrue(failure.getMessage().contains(csvFile.getPath()));
+        assertTrue(replayed.isEmpty());
+
+        //Test Case 2: Touching the CSV file is a mismatch too
+        assertTrue(csvFile.setLastModified(csvFile.lastModified() + 1000));
+        assertThrows(IOException.class, () -> open(replayed));
+
+        //Test Case 3: The log is left in place with its records
+        assertTrue(firstSegment.isFile());
+        assertEquals(segmentBytes, firstSegment.length());
+        assertEquals(0, csvFile.getParentFile().listFiles((dir, name) -> name.startsWith(logFile.getName() + ".")
+                && name.endsWith(".stale")).length);
+    }
+
+    @Test
+    @DisplayName("Log - concurrent appends are group-committed and all replayed")
+    void testGroupCommit() throws Exception {
+        List<String> replayed = new ArrayList<String>();
+        int writers = 8;
+        int recordsPerWriter = 200;
+
+        //Test Case 1: Every future completes once its batch is on disk
+        // Closed within the test, so it is not a try-with-resources resource.
+        TransactionLog log = TransactionLog.open(logFile.getPath(), csvFile, recorder(replayed),
+                new TransactionLog.GroupCommit(64, 200));
+        try {
+            ExecutorService executor = Executors.newFixedThreadPool(writers);
+            List<Future<?>> results = new ArrayList<Future<?>>();
+            for (int writer = 0; writer < writers; writer++) {
+                int first = writer * recordsPerWriter;
+                results.add(executor.submit(() -> {
+                    for (int i = first; i < first + recordsPerWriter; i++) {
+                        log.logCreate(new Transaction("TRX" + i, "upi", (double) i, "initiated", new Date(i)));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+            executor.shutdown();
+            assertEquals(writers * recordsPerWriter, log.getRecords());
+            assertTrue(log.getBatches() <= log.getRecords());
+
+            //Test Case 2: Records queued without waiting are written before close returns
+            CompletableFuture<Void> durable = log.submitDelete("TRX0");
+            log.close();
+            assertTrue(durable.isDone() && !durable.isCompletedExceptionally());
+
+            //Test Case 3: Appends after close are refused
+            assertThrows(IOException.class, () -> log.logDelete("TRX1"));
+        } finally {
+            log.close();
+        }
+
+        //Test Case 4: Replay sees every acknowledged record
+        try (TransactionLog reopened = open(replayed)) {
+            assertEquals(writers * recordsPerWriter + 1, reopened.getReplayed());
+        }
+        assertEquals("delete TRX0", replayed.get(replayed.size() - 1));
+    }
+
+    @Test
+    @DisplayName("Log - segments are rolled, replayed across, and deleted once covered")
+    void testSegments() throws IOException {
+        List<String> replayed = new ArrayList<String>();
+        TransactionLog.GroupCommit groupCommit = new TransactionLog.GroupCommit(1, 0);
+
+        //Test Case 1: The flusher starts a new segment once the current one is full
+        try (TransactionLog log = TransactionLog.open(logFile.getPath(), csvFile, 0, recorder(replayed), groupCommit, 100)) {
+            for (int i = 0; i < 10; i++) {
+                log.logCreate(new Transaction("TRX" + i, "upi", (double) i, "initiated", new Date(i)));
+            }
+            assertEquals(10, log.getNextLsn());
+            assertTrue(log.getSegmentCount() > 2);
+
+            //Test Case 2: Rolling cuts the log at the next LSN, and an empty segment isn't rolled again
+            assertEquals(10, log.rollSegment());
+            assertEquals(10, log.rollSegment());
+            log.logDelete("TRX0");
+        }
+
+        //Test Case 3: Replay runs across every segment in LSN order
+        try (TransactionLog log = TransactionLog.open(logFile.getPath(), csvFile, 0, recorder(replayed), groupCommit, 100)) {
+            assertEquals(11, log.getReplayed());
+            assertEquals(11, log.getNextLsn());
+        }
+        assertEquals("create TRX0,upi,0.0,initiated,0", replayed.get(0));
+        assertEquals("delete TRX0", replayed.get(10));
+
+        //Test Case 4: Replay from a checkpoint's LSN skips the records before it
+        replayed.clear();
+        try (TransactionLog log = TransactionLog.open(logFile.getPath(), csvFile, 10, recorder(replayed), groupCommit, 100)) {
+            assertEquals(1, log.getReplayed());
+
+            //Test Case 5: Only the segments before the checkpoint's LSN are deleted
+            assertTrue(log.deleteSegmentsBefore(10) > 0);
+            assertEquals(1, log.getSegmentCount());
+            assertEquals(11, log.getNextLsn());
+        }
+        replayed.clear();
+        try (TransactionLog log = TransactionLog.open(logFile.getPath(), csvFile, 10, recorder(replayed), groupCommit, 100)) {
+            assertEquals(1, log.getReplayed());
+        }
+
+        //Test Case 6: A log that doesn't reach back to the store's LSN can't be opened
+        assertThrows(IOException.class,
+                () -> TransactionLog.open(logFile.getPath(), csvFile, 0, recorder(replayed), groupCommit, 100));
+    }
+
+    @Test
+    @DisplayName("Log - a header cut short by a crash is replaced")
+    void testTornHeader() throws IOException {
+        List<String> replayed = new ArrayList<String>();
+
+        //Test Case 1: A log shorter than its header holds no records and is recreated
+        try (RandomAccessFile file = new RandomAccessFile(firstSegment, "rw")) {
+            file.writeInt(0x455A5057);
+        }
+        try (TransactionLog log = open(replayed)) {
+            assertEquals(0, log.getReplayed());
+            log.logDelete("TRX001");
+        }
+        try (TransactionLog log = open(replayed)) {
+            assertEquals(1, log.getReplayed());
+        }
+        assertEquals(0, csvFile.getParentFile().listFiles((dir, name) -> name.startsWith(logFile.getName() + ".")
+                && name.endsWith(".stale")).length);
+    }
+}
@@ -9,10 +9,12 @@ import com.nwg.ezpay.exception.InvalidTransactionStatusException;
 import com.nwg.ezpay.exception.InvalidTransactionTypeException;
 
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.text.ParseException;
@@ -58,6 +60,22 @@ class ITransactionServiceTest {
             "TRX005,upi,300.00,completed,2024-07-22 16:00:00\n";
 
 
+    /**
+     * Removes the write-ahead log and checkpoints left by an earlier run. They were
+     * made for the CSV file this suite rewrites, so the store would refuse to load.
+     */
+    @BeforeAll
+    static void removeLogs() {
+        File[] logs = new File(CSV_FILE_PATH).getAbsoluteFile().getParentFile().listFiles(
+                (dir, name) -> name.startsWith("transactions.wal.") || name.startsWith("transactions.checkpoint."));
+        if (logs != null) {
+            for (File log : logs) {
+                log.delete();
+            }
+        }
+    }
+
+
     /**
      * Sets up a fresh testing environment before each test.
      * This ensures test isolation by overwriting the CSV file and